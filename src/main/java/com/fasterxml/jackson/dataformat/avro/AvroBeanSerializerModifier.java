@@ -0,0 +1,47 @@
+package com.fasterxml.jackson.dataformat.avro;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.ser.BeanSerializer;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.std.BeanSerializerBase;
+import com.fasterxml.jackson.dataformat.avro.ser.AvroBeanSerializer;
+
+/**
+ * Serializer modifier used to replace standard {@link BeanSerializer}s
+ * with {@link AvroBeanSerializer}s, which write Avro Records in Schema
+ * order, encoding simple values directly. Registered by
+ * {@link AvroMapper#enableCompiledSerializers()}.
+ *
+ * @since 2.7.10
+ */
+public class AvroBeanSerializerModifier
+    extends BeanSerializerModifier
+{
+    /**
+     * Whether replacement serializers should use generated accessors
+     * for reading property values
+     */
+    protected final boolean _generateAccessors;
+
+    public AvroBeanSerializerModifier() {
+        this(AvroCompiledModule.DEFAULT_GENERATE_ACCESSORS);
+    }
+
+    public AvroBeanSerializerModifier(boolean generateAccessors) {
+        _generateAccessors = generateAccessors;
+    }
+
+    @Override
+    public JsonSerializer<?> modifySerializer(SerializationConfig config,
+            BeanDescription beanDesc, JsonSerializer<?> serializer)
+    {
+        // only replace standard bean serializers, not sub-classes (or ones
+        // already replaced)
+        if (serializer.getClass() == BeanSerializer.class) {
+            return new AvroBeanSerializer((BeanSerializerBase) serializer, _generateAccessors);
+        }
+        return serializer;
+    }
+}
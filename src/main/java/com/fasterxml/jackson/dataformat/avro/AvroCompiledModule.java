@@ -0,0 +1,75 @@
+package com.fasterxml.jackson.dataformat.avro;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+/**
+ * Optional module, to be registered in addition to {@link AvroModule}, that
+ * enables "compiled" reading and writing of POJOs as Avro Records (see
+ * {@link AvroMapper#enableCompiledDeserializers()} and
+ * {@link AvroMapper#enableCompiledSerializers()}). By default, generated
+ * accessor classes are used for simple scalar property values, instead of
+ * reflection; this can be disabled for environments in which classes can
+ * not be defined at runtime.
+ *
+ * @since 2.7.10
+ */
+public class AvroCompiledModule extends SimpleModule
+{
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Whether generated accessor classes are used, unless explicitly
+     * specified otherwise.
+     */
+    public final static boolean DEFAULT_GENERATE_ACCESSORS = true;
+
+    public AvroCompiledModule() {
+        this(DEFAULT_GENERATE_ACCESSORS);
+    }
+
+    /**
+     * @param generateAccessors Whether to generate accessor classes for
+     *    reading and setting property values
+     */
+    public AvroCompiledModule(boolean generateAccessors)
+    {
+        this("AvroCompiledModule", generateAccessors, true, true);
+    }
+
+    protected AvroCompiledModule(String name, boolean generateAccessors,
+            boolean serializers, boolean deserializers)
+    {
+        super(name, PackageVersion.VERSION);
+        if (serializers) {
+            setSerializerModifier(new AvroBeanSerializerModifier(generateAccessors));
+        }
+        if (deserializers) {
+            setDeserializerModifier(new AvroDeserializerModifier(generateAccessors));
+        }
+    }
+
+    /**
+     * Factory method for constructing module that only enables "compiled"
+     * reading of POJOs; used by {@link AvroMapper#enableCompiledDeserializers}.
+     */
+    public static AvroCompiledModule deserializersOnly(boolean generateAccessors) {
+        return new AvroCompiledModule("AvroCompiledDeserializers", generateAccessors, false, true);
+    }
+
+    /**
+     * Factory method for constructing module that only enables "compiled"
+     * writing of POJOs; used by {@link AvroMapper#enableCompiledSerializers}.
+     */
+    public static AvroCompiledModule serializersOnly(boolean generateAccessors) {
+        return new AvroCompiledModule("AvroCompiledSerializers", generateAccessors, true, false);
+    }
+
+    /**
+     * Since instances may register different modifiers, they are
+     * distinguished by name, not just by type.
+     */
+    @Override
+    public Object getTypeId() {
+        return getModuleName();
+    }
+}
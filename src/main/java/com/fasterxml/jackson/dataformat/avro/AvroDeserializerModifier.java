@@ -0,0 +1,46 @@
+package com.fasterxml.jackson.dataformat.avro;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.deser.BeanDeserializer;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerModifier;
+import com.fasterxml.jackson.dataformat.avro.deser.AvroBeanDeserializer;
+
+/**
+ * Deserializer modifier used to replace standard {@link BeanDeserializer}s
+ * with {@link AvroBeanDeserializer}s, which bind Avro Records in Schema
+ * order, without matching field names. Registered by
+ * {@link AvroMapper#enableCompiledDeserializers()}.
+ *
+ * @since 2.7.10
+ */
+public class AvroDeserializerModifier
+    extends BeanDeserializerModifier
+{
+    /**
+     * Whether replacement deserializers should use generated accessors
+     * for setting property values
+     */
+    protected final boolean _generateAccessors;
+
+    public AvroDeserializerModifier() {
+        this(AvroCompiledModule.DEFAULT_GENERATE_ACCESSORS);
+    }
+
+    public AvroDeserializerModifier(boolean generateAccessors) {
+        _generateAccessors = generateAccessors;
+    }
+
+    @Override
+    public JsonDeserializer<?> modifyDeserializer(DeserializationConfig config,
+            BeanDescription beanDesc, JsonDeserializer<?> deserializer)
+    {
+        // only replace standard bean deserializers, not sub-classes (or ones
+        // already replaced)
+        if (deserializer.getClass() == BeanDeserializer.class) {
+            return new AvroBeanDeserializer((BeanDeserializer) deserializer, _generateAccessors);
+        }
+        return deserializer;
+    }
+}
@@ -2,12 +2,20 @@ package com.fasterxml.jackson.dataformat.avro;
 
 import java.io.*;
 import java.net.URL;
+import java.nio.ByteBuffer;
 
 import com.fasterxml.jackson.core.*;
 import com.fasterxml.jackson.core.format.InputAccessor;
 import com.fasterxml.jackson.core.format.MatchStrength;
 import com.fasterxml.jackson.core.io.IOContext;
 import com.fasterxml.jackson.dataformat.avro.deser.AvroParserImpl;
+import com.fasterxml.jackson.dataformat.avro.deser.ContainerBlockInputStream;
+import com.fasterxml.jackson.dataformat.avro.deser.NonBlockingAvroParser;
+import com.fasterxml.jackson.dataformat.avro.registry.CachingSchemaRegistry;
+import com.fasterxml.jackson.dataformat.avro.ser.ContainerBlockOutputStream;
+
+import org.apache.avro.file.CodecFactory;
+import org.apache.avro.file.DataFileConstants;
 
 public class AvroFactory extends JsonFactory
 {
@@ -27,6 +35,14 @@ public class AvroFactory extends JsonFactory
      */
     final static int DEFAULT_SMILE_GENERATOR_FEATURE_FLAGS = AvroGenerator.Feature.collectDefaults();
 
+    /**
+     * Default size of regions of memory-mapped files to map at a time;
+     * see {@link #createMappedParser(File)}.
+     *
+     * @since 2.7.10
+     */
+    public final static int DEFAULT_MAPPED_WINDOW_SIZE = 64 * 1024 * 1024;
+
     /*
     /**********************************************************
     /* Configuration
@@ -36,6 +52,20 @@ public class AvroFactory extends JsonFactory
     protected int _avroParserFeatures;
 
     protected int _avroGeneratorFeatures;
+
+    /**
+     * @since 2.7.10
+     */
+    protected int _streamingBlockSize = AvroGenerator.DEFAULT_STREAMING_BLOCK_SIZE;
+
+    /**
+     * Resolver used for locating Schemas of content in single-object encoding;
+     * see {@link #createSingleObjectParser(byte[])}. Not serialized: a new
+     * empty {@link SimpleSchemaResolver} is used by deserialized instances.
+     *
+     * @since 2.7.10
+     */
+    protected transient SchemaResolver _schemaResolver;
     
     /*
     /**********************************************************
@@ -60,6 +90,7 @@ public class AvroFactory extends JsonFactory
         super(oc);
         _avroParserFeatures = DEFAULT_SMILE_PARSER_FEATURE_FLAGS;
         _avroGeneratorFeatures = DEFAULT_SMILE_GENERATOR_FEATURE_FLAGS;
+        _schemaResolver = new SimpleSchemaResolver();
 
         /* 04-Mar-2013, tatu: Content auto-closing is unfortunately a feature
          *    that works poorly with Avro error reporting, and generally
@@ -75,6 +106,9 @@ public class AvroFactory extends JsonFactory
         super(src, oc);
         _avroParserFeatures = src._avroParserFeatures;
         _avroGeneratorFeatures = src._avroGeneratorFeatures;
+        _streamingBlockSize = src._streamingBlockSize;
+        _schemaResolver = (src._schemaResolver == null)
+                ? new SimpleSchemaResolver() : src._schemaResolver;
     }
 
     @Override
@@ -238,6 +272,47 @@ public class AvroFactory extends JsonFactory
     public final boolean isEnabled(AvroGenerator.Feature f) {
         return (_avroGeneratorFeatures & f.getMask()) != 0;
     }
+
+    /**
+     * Method for specifying size of blocks (in bytes) in which generators
+     * write Array and Map entries when {@link AvroGenerator.Feature#STREAMING_OUTPUT}
+     * is enabled (see {@link AvroGenerator#setStreamingBlockSize}).
+     *
+     * @since 2.7.10
+     */
+    public AvroFactory setStreamingBlockSize(int size) {
+        _streamingBlockSize = (size <= 0) ? Integer.MAX_VALUE : size;
+        return this;
+    }
+
+    /**
+     * @since 2.7.10
+     */
+    public int getStreamingBlockSize() {
+        return _streamingBlockSize;
+    }
+
+    /**
+     * Method for specifying resolver to use for locating Schemas of content
+     * in single-object encoding (see {@link #createSingleObjectParser(byte[])}).
+     * By default, an empty {@link SimpleSchemaResolver} is used.
+     *
+     * @since 2.7.10
+     */
+    public AvroFactory setSchemaResolver(SchemaResolver r) {
+        if (r == null) {
+            throw new IllegalArgumentException("Can not pass null SchemaResolver");
+        }
+        _schemaResolver = r;
+        return this;
+    }
+
+    /**
+     * @since 2.7.10
+     */
+    public SchemaResolver getSchemaResolver() {
+        return _schemaResolver;
+    }
     
     /*
     /**********************************************************
@@ -284,6 +359,200 @@ public class AvroFactory extends JsonFactory
         return _createParser(data, offset, len, ctxt);
     }
 
+    /*
+    /**********************************************************
+    /* Extended parser factory methods
+    /**********************************************************
+     */
+
+    /**
+     * Method for constructing a parser for decoding contents of given
+     * {@link ByteBuffer}, from its current position to its limit.
+     * Content is not copied: for buffers backed by an accessible array,
+     * array is decoded directly; for others (such as direct buffers), buffer
+     * itself is read from. Position of the buffer is not modified.
+     *
+     * @since 2.7.10
+     */
+    public AvroParser createParser(ByteBuffer data) throws IOException
+    {
+        if (data.hasArray()) {
+            return createParser(data.array(), data.arrayOffset() + data.position(),
+                    data.remaining());
+        }
+        IOContext ctxt = _createContext(data, true);
+        return new AvroParserImpl(ctxt, _parserFeatures, _avroParserFeatures,
+                _objectCodec, data);
+    }
+
+    /**
+     * Method for constructing a parser that decodes contents of given file
+     * by memory-mapping it, instead of reading it through a stream.
+     * File is mapped in windows of {@link #DEFAULT_MAPPED_WINDOW_SIZE} bytes,
+     * so files larger than 2 gigabytes are supported.
+     *<p>
+     * Parser reports absolute file offset of the next byte to decode
+     * via {@link JsonParser#getCurrentLocation()} (as byte offset).
+     *
+     * @since 2.7.10
+     */
+    public AvroParser createMappedParser(File f) throws IOException {
+        return createMappedParser(f, 0L, DEFAULT_MAPPED_WINDOW_SIZE);
+    }
+
+    /**
+     * Method for constructing a parser that decodes contents of given file
+     * by memory-mapping it, starting at given file offset: offset must be
+     * that of the start of a root-level value (such as one reported by
+     * {@link JsonParser#getCurrentLocation()} of an earlier parser, when
+     * positioned between root-level values).
+     *
+     * @param offset File offset to start decoding from
+     * @param windowSize Maximum size of regions to map at a time (regions may
+     *    need to be bigger for individual values that are bigger)
+     *
+     * @since 2.7.10
+     */
+    @SuppressWarnings("resource")
+    public AvroParser createMappedParser(File f, long offset, int windowSize) throws IOException
+    {
+        IOContext ctxt = _createContext(f, true);
+        FileInputStream in = new FileInputStream(f);
+        try {
+            return new AvroParserImpl(ctxt, _parserFeatures, _avroParserFeatures,
+                    _objectCodec, in, offset, windowSize);
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        } catch (RuntimeException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Method for constructing a parser for reading contents of an Avro
+     * Object Container File: header is read (and validated) immediately,
+     * and Schema embedded in it is assigned to the parser, so caller need
+     * not (and should not) call {@link AvroParser#setSchema}.
+     * Records are then exposed as a sequence of root-level values, to be read
+     * using <code>ObjectReader.readValues()</code>. Blocks are decompressed
+     * one at a time, as content is read.
+     *<p>
+     * Compression codecs supported are those of Avro <code>CodecFactory</code>;
+     * "snappy" requires <code>snappy-java</code> to be available.
+     *
+     * @since 2.7.10
+     */
+    public AvroParser createContainerParser(InputStream in) throws IOException {
+        IOContext ctxt = _createContext(in, false);
+        return _createContainerParser(_decorate(in, ctxt), ctxt);
+    }
+
+    /**
+     * @since 2.7.10
+     */
+    @SuppressWarnings("resource")
+    public AvroParser createContainerParser(File f) throws IOException {
+        IOContext ctxt = _createContext(f, true);
+        return _createContainerParser(_decorate(new FileInputStream(f), ctxt), ctxt);
+    }
+
+    /**
+     * Method for constructing a parser for reading a value in Avro "single-object
+     * encoding": header that precedes the value is read immediately, and
+     * Schema with the fingerprint it contains is located using configured
+     * {@link SchemaResolver} (see {@link #setSchemaResolver}) and assigned to
+     * the parser, so caller need not (and should not) call {@link AvroParser#setSchema}.
+     *<p>
+     * If no Schema is found for the fingerprint, a
+     * {@link JsonParseException} is thrown.
+     *
+     * @since 2.7.10
+     */
+    public AvroParser createSingleObjectParser(byte[] data) throws IOException {
+        return createSingleObjectParser(data, 0, data.length);
+    }
+
+    /**
+     * @since 2.7.10
+     */
+    public AvroParser createSingleObjectParser(byte[] data, int offset, int len) throws IOException {
+        return _createSingleObjectParser(createParser(data, offset, len));
+    }
+
+    /**
+     * @since 2.7.10
+     */
+    public AvroParser createSingleObjectParser(ByteBuffer data) throws IOException {
+        return _createSingleObjectParser(createParser(data));
+    }
+
+    /**
+     * @since 2.7.10
+     */
+    public AvroParser createSingleObjectParser(InputStream in) throws IOException {
+        return _createSingleObjectParser(createParser(in));
+    }
+
+    /**
+     * Method for constructing a parser for reading a value in "schema id framing"
+     * (as used with schema registries): header that precedes the value is
+     * read immediately, and Schema with the id it contains is located using
+     * given registry and assigned to the parser, so caller need not (and should not)
+     * call {@link AvroParser#setSchema}.
+     *<p>
+     * If no Schema is found for the id, a {@link JsonParseException} is thrown.
+     *
+     * @since 2.7.10
+     */
+    public AvroParser createSchemaIdParser(byte[] data, CachingSchemaRegistry registry)
+        throws IOException
+    {
+        return createSchemaIdParser(data, 0, data.length, registry);
+    }
+
+    /**
+     * @since 2.7.10
+     */
+    public AvroParser createSchemaIdParser(byte[] data, int offset, int len,
+            CachingSchemaRegistry registry) throws IOException
+    {
+        return _createSchemaIdParser(createParser(data, offset, len), registry);
+    }
+
+    /**
+     * @since 2.7.10
+     */
+    public AvroParser createSchemaIdParser(ByteBuffer data, CachingSchemaRegistry registry)
+        throws IOException
+    {
+        return _createSchemaIdParser(createParser(data), registry);
+    }
+
+    /**
+     * @since 2.7.10
+     */
+    public AvroParser createSchemaIdParser(InputStream in, CachingSchemaRegistry registry)
+        throws IOException
+    {
+        return _createSchemaIdParser(createParser(in), registry);
+    }
+
+    /**
+     * Method for constructing a non-blocking parser, to which content is fed
+     * by caller (see {@link NonBlockingAvroParser#feedInput}), and which returns
+     * {@link JsonToken#NOT_AVAILABLE} if it needs more content to proceed.
+     * Schema has to be assigned before any tokens are requested.
+     *
+     * @since 2.7.10
+     */
+    public NonBlockingAvroParser createNonBlockingByteArrayParser() throws IOException {
+        IOContext ctxt = _createContext(null, false);
+        return new NonBlockingAvroParser(ctxt, _parserFeatures, _avroParserFeatures,
+                _objectCodec);
+    }
+
     /*
     /**********************************************************
     /* Overridden generator factory methods
@@ -311,6 +580,80 @@ public class AvroFactory extends JsonFactory
         return _createGenerator(_decorate(out, ctxt), ctxt);
     }
     
+    /*
+    /**********************************************************
+    /* Extended generator factory methods
+    /**********************************************************
+     */
+
+    /**
+     * Method for constructing a generator that writes an Avro Object Container
+     * File, without compression, using default block size
+     * (see {@link #createContainerGenerator(OutputStream, CodecFactory, int)}).
+     *
+     * @since 2.7.10
+     */
+    public AvroGenerator createContainerGenerator(OutputStream out) throws IOException {
+        return createContainerGenerator(out, CodecFactory.nullCodec(),
+                DataFileConstants.DEFAULT_SYNC_INTERVAL);
+    }
+
+    /**
+     * Method for constructing a generator that writes an Avro Object Container
+     * File: header is written once Schema is assigned (but before first value),
+     * after which root-level values are collected in blocks of (approximately)
+     * <code>blockSize</code> bytes, each compressed with specified codec.
+     * Typically used with <code>ObjectWriter.writeValues()</code>.
+     * The last block is written when generator is closed; so closing is
+     * required even if target stream is to be kept open. Note that
+     * <code>SequenceWriter</code> does not close generators passed to it,
+     * so caller has to close generator after closing <code>SequenceWriter</code>.
+     *
+     * @param codec Codec to use for compressing blocks, like
+     *    {@link CodecFactory#deflateCodec}
+     * @param blockSize Approximate size of uncompressed blocks, in bytes
+     *
+     * @since 2.7.10
+     */
+    public AvroGenerator createContainerGenerator(OutputStream out, CodecFactory codec,
+            int blockSize) throws IOException
+    {
+        IOContext ctxt = _createContext(out, false);
+        return _createGenerator(new ContainerBlockOutputStream(_decorate(out, ctxt),
+                codec, blockSize), ctxt);
+    }
+
+    /**
+     * @since 2.7.10
+     */
+    @SuppressWarnings("resource")
+    public AvroGenerator createContainerGenerator(File f, CodecFactory codec,
+            int blockSize) throws IOException
+    {
+        IOContext ctxt = _createContext(f, true);
+        return _createGenerator(new ContainerBlockOutputStream(_decorate(new FileOutputStream(f), ctxt),
+                codec, blockSize), ctxt);
+    }
+
+    /**
+     * Method for constructing a generator for writing a value in "schema id
+     * framing" (as used with schema registries): header with given Schema id
+     * is written immediately, and value is then written as usual, once Schema
+     * has been assigned. Note that caller is responsible for using the Schema
+     * that the id refers to (see {@link CachingSchemaRegistry#findId}).
+     *
+     * @since 2.7.10
+     */
+    public AvroGenerator createSchemaIdGenerator(OutputStream out, int schemaId) throws IOException
+    {
+        IOContext ctxt = _createContext(out, false);
+        out = _decorate(out, ctxt);
+        out.write(new byte[] { AvroSchema.SCHEMA_ID_MAGIC_BYTE,
+                (byte) (schemaId >> 24), (byte) (schemaId >> 16),
+                (byte) (schemaId >> 8), (byte) schemaId });
+        return _createGenerator(out, ctxt);
+    }
+
     /*
     /******************************************************
     /* Overridden internal factory methods
@@ -326,7 +669,54 @@ public class AvroFactory extends JsonFactory
     @Override
     protected AvroParser _createParser(InputStream in, IOContext ctxt) throws IOException {
         return new AvroParserImpl(ctxt, _parserFeatures, _avroParserFeatures,
-                _objectCodec, in);
+                _objectCodec, in, _recycleCodecs());
+    }
+
+    /**
+     * @since 2.7.10
+     */
+    protected AvroParser _createContainerParser(InputStream in, IOContext ctxt) throws IOException {
+        ContainerBlockInputStream blocks;
+        try {
+            blocks = new ContainerBlockInputStream(in);
+        } catch (IOException e) {
+            if (ctxt.isResourceManaged()) {
+                in.close();
+            }
+            throw e;
+        }
+        AvroParser p = _createParser(blocks, ctxt);
+        p.setSchema(new AvroSchema(blocks.getSchema()));
+        return p;
+    }
+
+    /**
+     * @since 2.7.10
+     */
+    protected AvroParser _createSingleObjectParser(AvroParser p) throws IOException
+    {
+        try {
+            ((AvroParserImpl) p).readSingleObjectHeader(_schemaResolver);
+        } catch (IOException e) {
+            p.close();
+            throw e;
+        }
+        return p;
+    }
+
+    /**
+     * @since 2.7.10
+     */
+    protected AvroParser _createSchemaIdParser(AvroParser p, CachingSchemaRegistry registry)
+        throws IOException
+    {
+        try {
+            ((AvroParserImpl) p).readSchemaIdHeader(registry);
+        } catch (IOException e) {
+            p.close();
+            throw e;
+        }
+        return p;
     }
 
     @Override
@@ -343,7 +733,7 @@ public class AvroFactory extends JsonFactory
     @Override
     protected AvroParser _createParser(byte[] data, int offset, int len, IOContext ctxt) throws IOException {
         return new AvroParserImpl(ctxt, _parserFeatures, _avroParserFeatures,
-                _objectCodec, data, offset, len);
+                _objectCodec, data, offset, len, _recycleCodecs());
     }
 
     /**
@@ -372,10 +762,23 @@ public class AvroFactory extends JsonFactory
     {
         int feats = _avroGeneratorFeatures;
         AvroGenerator gen = new AvroGenerator(ctxt, _generatorFeatures, feats,
-                _objectCodec, out);
+                _objectCodec, out, _recycleCodecs());
+        gen.setStreamingBlockSize(_streamingBlockSize);
         return gen;
     }
 
+    /**
+     * Helper method for checking whether Avro decoders and encoders should be
+     * recycled using per-thread pools; this is governed by
+     * {@link com.fasterxml.jackson.core.JsonFactory.Feature#USE_THREAD_LOCAL_FOR_BUFFER_RECYCLING},
+     * same as recycling of other buffers.
+     *
+     * @since 2.7.10
+     */
+    protected boolean _recycleCodecs() {
+        return isEnabled(JsonFactory.Feature.USE_THREAD_LOCAL_FOR_BUFFER_RECYCLING);
+    }
+
     protected <T> T _nonByteSource() throws IOException {
         throw new UnsupportedOperationException("Can not create generator for character-based (not byte-based) source");
     }
@@ -4,10 +4,12 @@ import com.fasterxml.jackson.core.*;
 import com.fasterxml.jackson.core.base.GeneratorBase;
 import com.fasterxml.jackson.core.io.IOContext;
 import com.fasterxml.jackson.dataformat.avro.ser.AvroWriteContext;
+import com.fasterxml.jackson.dataformat.avro.ser.ContainerBlockOutputStream;
 
 import org.apache.avro.io.BinaryEncoder;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
@@ -47,7 +49,54 @@ public class AvroGenerator extends GeneratorBase
          *
          * @since 2.7
          */
-        AVRO_BUFFERING(true)
+        AVRO_BUFFERING(true),
+
+        /**
+         * Feature that can be enabled to encode content directly as tokens are
+         * written, instead of first building an intermediate
+         * {@link org.apache.avro.generic.GenericRecord} (or array, map) for the
+         * whole value and only then handing it to Avro codec.
+         * If properties of a Record are written in an order that differs from
+         * the Schema order, remaining properties of that Record are buffered,
+         * and output once Record is closed.
+         *<p>
+         * Note that since output is produced as values are written, a failure
+         * part-way through a value may leave partial content in the output.
+         *<p>
+         * Disabled by default to preserve the existing behavior.
+         *
+         * @since 2.7.10
+         */
+        STREAMING_OUTPUT(false),
+
+        /**
+         * Feature that can be enabled to precede each block of Array and Map
+         * entries with the size of the block in bytes (encoded as a negative
+         * entry count followed by byte size, as allowed by Avro specification),
+         * so that readers can skip whole blocks without decoding entries.
+         * Only affects output when {@link #STREAMING_OUTPUT} is enabled.
+         *<p>
+         * Disabled by default since the resulting encoding is slightly bigger.
+         *
+         * @since 2.7.10
+         */
+        WRITE_BLOCK_SIZES(false),
+
+        /**
+         * Feature that can be enabled to write content using Avro "single-object
+         * encoding": header that consists of two marker bytes and the fingerprint
+         * of the Schema (see {@link AvroSchema#getFingerprint()}) is written
+         * when Schema is assigned, before the first value, so that readers can
+         * locate the Schema to use (see {@link AvroFactory#createSingleObjectParser(byte[])}).
+         * Since header is only written once, generator should only be used for
+         * writing a single root-level value; and feature has to be enabled before
+         * Schema is assigned (as is done by <code>ObjectWriter</code>).
+         *<p>
+         * Disabled by default.
+         *
+         * @since 2.7.10
+         */
+        WRITE_SINGLE_OBJECT_HEADER(false)
         ;
 
         protected final boolean _defaultState;
@@ -83,6 +132,14 @@ public class AvroGenerator extends GeneratorBase
         public boolean enabledIn(int flags) { return (flags & _mask) != 0; }
     }
     
+    /**
+     * Default maximum size of a block of Array or Map entries, in bytes,
+     * when using {@link Feature#STREAMING_OUTPUT}.
+     *
+     * @since 2.7.10
+     */
+    public final static int DEFAULT_STREAMING_BLOCK_SIZE = 64 * 1024;
+
     /*
     /**********************************************************
     /* Configuration
@@ -100,6 +157,14 @@ public class AvroGenerator extends GeneratorBase
 
     protected AvroSchema _rootSchema;
 
+    /**
+     * Size (in bytes) of encoded Array and Map entries after which a block
+     * is written out, when using {@link Feature#STREAMING_OUTPUT}.
+     *
+     * @since 2.7.10
+     */
+    protected int _streamingBlockSize = DEFAULT_STREAMING_BLOCK_SIZE;
+
     /*
     /**********************************************************
     /* Output state
@@ -108,6 +173,14 @@ public class AvroGenerator extends GeneratorBase
 
     final protected OutputStream _output;
 
+    /**
+     * If output is to be framed as an Avro Object Container File, stream
+     * that does that (same as {@link #_output}); otherwise null.
+     *
+     * @since 2.7.10
+     */
+    final protected ContainerBlockOutputStream _containerOutput;
+
     /**
      * Reference to the root context since that is needed for serialization
      */
@@ -123,11 +196,20 @@ public class AvroGenerator extends GeneratorBase
      */
     protected BinaryEncoder _encoder;
 
+    /**
+     * Flag that indicates whether encoder is to be claimed from, and released
+     * back to, the per-thread pool.
+     *
+     * @since 2.7.10
+     */
+    protected boolean _recycleEncoder;
+
     /**
      * Flag that is set when the whole content is complete, can
-     * be output.
+     * be output; that is, when no root-level value is being written
+     * (initially, and after each complete root-level value).
      */
-    protected boolean _complete;
+    protected boolean _complete = true;
 
     /*
     /**********************************************************
@@ -138,12 +220,28 @@ public class AvroGenerator extends GeneratorBase
     public AvroGenerator(IOContext ctxt, int jsonFeatures, int avroFeatures,
             ObjectCodec codec, OutputStream output)
         throws IOException
+    {
+        this(ctxt, jsonFeatures, avroFeatures, codec, output, false);
+    }
+
+    /**
+     * @param recycleEncoder Whether to reuse recycled encoder of the current
+     *    thread (if any), and to release encoder for reuse when generator is closed
+     *
+     * @since 2.7.10
+     */
+    public AvroGenerator(IOContext ctxt, int jsonFeatures, int avroFeatures,
+            ObjectCodec codec, OutputStream output, boolean recycleEncoder)
+        throws IOException
     {
         super(jsonFeatures, codec);
         _ioContext = ctxt;
         _formatFeatures = avroFeatures;
         _output = output;
+        _containerOutput = (output instanceof ContainerBlockOutputStream)
+                ? (ContainerBlockOutputStream) output : null;
         _avroContext = AvroWriteContext.createNullContext();
+        _recycleEncoder = recycleEncoder;
     }
 
     public void setSchema(AvroSchema schema)
@@ -152,12 +250,24 @@ public class AvroGenerator extends GeneratorBase
             return;
         }
         _rootSchema = schema;
+        if (_containerOutput != null) {
+            _containerOutput.setSchema(schema.getAvroSchema());
+        }
         // start with temporary root...
         if (_encoder == null) {
-            _encoder = AvroSchema.encoder(_output, isEnabled(Feature.AVRO_BUFFERING));
+            _encoder = AvroSchema.encoder(_output, isEnabled(Feature.AVRO_BUFFERING),
+                    _recycleEncoder ? AvroSchema.claimEncoder() : null);
         }
         _avroContext = _rootContext = AvroWriteContext.createRootContext(this,
                 schema.getAvroSchema(), _encoder);
+        if (isEnabled(Feature.WRITE_SINGLE_OBJECT_HEADER)) {
+            try {
+                _encoder.writeFixed(schema._singleObjectHeader());
+            } catch (IOException e) { // only possible with non-buffering encoder
+                throw new IllegalStateException("Failed to write single-object header: "
+                        +e.getMessage(), e);
+            }
+        }
     }
 
     /*                                                                                       
@@ -256,6 +366,28 @@ public class AvroGenerator extends GeneratorBase
         return this;
     }
 
+    /**
+     * Method for changing the size of blocks in which Array and Map entries
+     * are written when {@link Feature#STREAMING_OUTPUT} is enabled: once
+     * encoded entries of a block take at least this many bytes, the block is
+     * written out, so that amount of content buffered is bounded regardless
+     * of number of entries. Non-positive value means that all entries are
+     * written as a single block, once Array or Map is closed.
+     *
+     * @since 2.7.10
+     */
+    public AvroGenerator setStreamingBlockSize(int size) {
+        _streamingBlockSize = (size <= 0) ? Integer.MAX_VALUE : size;
+        return this;
+    }
+
+    /**
+     * @since 2.7.10
+     */
+    public int getStreamingBlockSize() {
+        return _streamingBlockSize;
+    }
+
     @Override
     public JsonGenerator overrideFormatFeatures(int values, int mask) {
         int oldF = _formatFeatures;
@@ -343,6 +475,12 @@ public class AvroGenerator extends GeneratorBase
                 throw new JsonGenerationException("Failed to close AvroGenerator: ("
                         +e.getClass().getName()+"): "+e.getMessage(), e);
             }
+        } else if (_encoder != null) { // may still have header to flush
+            _encoder.flush();
+        }
+        // Container file must have its last block written, regardless of closing
+        if (_containerOutput != null) {
+            _containerOutput.finish();
         }
         if (_output != null) {
             if (_ioContext.isResourceManaged() || isEnabled(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
@@ -371,10 +509,12 @@ public class AvroGenerator extends GeneratorBase
     @Override
     public final void writeEndArray() throws IOException
     {
-        if (!_avroContext.inArray()) {
-            _reportError("Current context not an ARRAY but "+_avroContext.getTypeDesc());
+        final AvroWriteContext ctxt = _avroContext;
+        if (!ctxt.inArray()) {
+            _reportError("Current context not an ARRAY but "+ctxt.getTypeDesc());
         }
-        _avroContext = _avroContext.getParent();
+        _avroContext = ctxt.getParent();
+        ctxt.complete();
         if (_avroContext.inRoot() && !_complete) {
             _complete();
         }
@@ -386,16 +526,40 @@ public class AvroGenerator extends GeneratorBase
         _complete = false;
     }
 
+    /**
+     * Method called by {@link com.fasterxml.jackson.dataformat.avro.ser.AvroBeanSerializer}
+     * to start a Record value, the fields of which it encodes directly in Schema
+     * order; similar to {@link #writeStartObject()}, but only succeeds if the
+     * value is of Record type and is to be encoded as written (not buffered).
+     * Value is closed with {@link #writeEndObject()} as usual.
+     *
+     * @return Context of the Record started, if direct encoding is possible;
+     *    null if not (in which case nothing is written)
+     *
+     * @since 2.7.10
+     */
+    public AvroWriteContext writeStartRecord() throws IOException
+    {
+        AvroWriteContext ctxt = _avroContext.createChildRecordContext();
+        if (ctxt != null) {
+            _avroContext = ctxt;
+            _complete = false;
+        }
+        return ctxt;
+    }
+
     @Override
     public final void writeEndObject() throws IOException
     {
-        if (!_avroContext.inObject()) {
-            _reportError("Current context not an object but "+_avroContext.getTypeDesc());
+        final AvroWriteContext ctxt = _avroContext;
+        if (!ctxt.inObject()) {
+            _reportError("Current context not an object but "+ctxt.getTypeDesc());
         }
-        if (!_avroContext.canClose()) {
+        if (!ctxt.canClose()) {
             _reportError("Can not write END_OBJECT after writing FIELD_NAME but not value");
         }
-        _avroContext = _avroContext.getParent();
+        _avroContext = ctxt.getParent();
+        ctxt.complete();
 
         if (_avroContext.inRoot() && !_complete) {
             _complete();
@@ -416,6 +580,7 @@ public class AvroGenerator extends GeneratorBase
             return;
         }
         _avroContext.writeString(text);
+        _scalarWritten();
     }
 
     @Override
@@ -493,6 +658,28 @@ public class AvroGenerator extends GeneratorBase
             return;
         }
         _avroContext.writeValue(ByteBuffer.wrap(data, offset, len));
+        _scalarWritten();
+    }
+
+    /**
+     * Overridden to copy contents of <code>bytes</code> (and <code>fixed</code>)
+     * values from given stream in chunks, when value is encoded directly
+     * (root-level values, and values written with {@link Feature#STREAMING_OUTPUT}),
+     * so that the whole value need not be held in memory.
+     * If length is not known (negative <code>dataLength</code>), or value has
+     * to be buffered, the whole value is read first.
+     *
+     * @since 2.7.10
+     */
+    @Override
+    public int writeBinary(Base64Variant b64variant, InputStream data, int dataLength) throws IOException
+    {
+        int count = _avroContext.writeBinary(data, dataLength);
+        if ((dataLength >= 0) && (count < dataLength)) {
+            _reportError("Too few bytes available: missing "+(dataLength - count)+" bytes (out of "+dataLength+")");
+        }
+        _scalarWritten();
+        return count;
     }
 
     /*
@@ -503,22 +690,26 @@ public class AvroGenerator extends GeneratorBase
 
     @Override
     public void writeBoolean(boolean state) throws IOException {
-        _avroContext.writeValue(state ? Boolean.TRUE : Boolean.FALSE);
+        _avroContext.writeBoolean(state);
+        _scalarWritten();
     }
 
     @Override
     public void writeNull() throws IOException {
         _avroContext.writeNull();
+        _scalarWritten();
     }
 
     @Override
     public void writeNumber(int i) throws IOException {
-        _avroContext.writeValue(Integer.valueOf(i));
+        _avroContext.writeInt(i);
+        _scalarWritten();
     }
 
     @Override
     public void writeNumber(long l) throws IOException {
-        _avroContext.writeValue(Long.valueOf(l));
+        _avroContext.writeLong(l);
+        _scalarWritten();
     }
 
     @Override
@@ -529,16 +720,19 @@ public class AvroGenerator extends GeneratorBase
             return;
         }
         _avroContext.writeValue(v);
+        _scalarWritten();
     }
     
     @Override
     public void writeNumber(double d) throws IOException {
-        _avroContext.writeValue(Double.valueOf(d));
+        _avroContext.writeDouble(d);
+        _scalarWritten();
     }    
 
     @Override
     public void writeNumber(float f) throws IOException {
-        _avroContext.writeValue(Float.valueOf(f));
+        _avroContext.writeFloat(f);
+        _scalarWritten();
     }
 
     @Override
@@ -549,6 +743,7 @@ public class AvroGenerator extends GeneratorBase
             return;
         }
         _avroContext.writeValue(dec);
+        _scalarWritten();
     }
 
     @Override
@@ -564,6 +759,82 @@ public class AvroGenerator extends GeneratorBase
         throw new UnsupportedOperationException("Can not write 'untyped' numbers");
     }
 
+    /*
+    /**********************************************************
+    /* Output method implementations, primitive arrays
+    /**********************************************************
+     */
+
+    /**
+     * Method for writing given slice of an <code>int[]</code> as an Array value:
+     * equivalent to calling {@link #writeStartArray()}, {@link #writeNumber(int)}
+     * for each element and {@link #writeEndArray()}, but without per-element
+     * overhead (and boxing).
+     *
+     * @since 2.7.10
+     */
+    public void writeArray(int[] array, int offset, int length) throws IOException {
+        _verifyOffsets(array.length, offset, length);
+        _writeArray(array, offset, length);
+    }
+
+    /**
+     * Method for writing given slice of a <code>long[]</code> as an Array value:
+     * equivalent to calling {@link #writeStartArray()}, {@link #writeNumber(long)}
+     * for each element and {@link #writeEndArray()}, but without per-element
+     * overhead (and boxing).
+     *
+     * @since 2.7.10
+     */
+    public void writeArray(long[] array, int offset, int length) throws IOException {
+        _verifyOffsets(array.length, offset, length);
+        _writeArray(array, offset, length);
+    }
+
+    /**
+     * Method for writing given slice of a <code>float[]</code> as an Array value:
+     * equivalent to calling {@link #writeStartArray()}, {@link #writeNumber(float)}
+     * for each element and {@link #writeEndArray()}, but without per-element
+     * overhead (and boxing).
+     *
+     * @since 2.7.10
+     */
+    public void writeArray(float[] array, int offset, int length) throws IOException {
+        _verifyOffsets(array.length, offset, length);
+        _writeArray(array, offset, length);
+    }
+
+    /**
+     * Method for writing given slice of a <code>double[]</code> as an Array value:
+     * equivalent to calling {@link #writeStartArray()}, {@link #writeNumber(double)}
+     * for each element and {@link #writeEndArray()}, but without per-element
+     * overhead (and boxing).
+     *
+     * @since 2.7.10
+     */
+    public void writeArray(double[] array, int offset, int length) throws IOException {
+        _verifyOffsets(array.length, offset, length);
+        _writeArray(array, offset, length);
+    }
+
+    private void _writeArray(Object array, int offset, int length) throws IOException
+    {
+        _avroContext.writeArray(array, offset, length);
+        // Root-level Arrays are complete values, same as when closed with writeEndArray()
+        if (_avroContext.inRoot()) {
+            _complete();
+        }
+    }
+
+    private void _verifyOffsets(int arrayLength, int offset, int length)
+    {
+        if ((offset < 0) || (length < 0) || ((offset + length) > arrayLength)) {
+            throw new IllegalArgumentException(String.format(
+                    "invalid argument(s) (offset=%d, length=%d) for input array of %d element",
+                    offset, length, arrayLength));
+        }
+    }
+
     /*
     /**********************************************************
     /* Implementations for methods from base class
@@ -577,7 +848,12 @@ public class AvroGenerator extends GeneratorBase
 
     @Override
     protected void _releaseBuffers() {
-        // nothing special to do...
+        // Only called after successful completion, so encoder has been flushed
+        if (_recycleEncoder && (_encoder != null)) {
+            BinaryEncoder enc = _encoder;
+            _encoder = null;
+            AvroSchema.releaseEncoder(enc);
+        }
     }
 
     /*
@@ -586,6 +862,17 @@ public class AvroGenerator extends GeneratorBase
     /**********************************************************
      */
 
+    /**
+     * Helper method called after writing a scalar value: at root level,
+     * it is a complete value by itself.
+     */
+    private void _scalarWritten() throws IOException
+    {
+        if (_avroContext.inRoot()) {
+            _complete();
+        }
+    }
+
     protected void _complete() throws IOException
     {
         _complete = true;
@@ -597,6 +884,9 @@ public class AvroGenerator extends GeneratorBase
         if (_rootContext != null) {
             _rootContext.complete();
             _encoder.flush();
+            if (_containerOutput != null) {
+                _containerOutput.endDatum();
+            }
         }
     }
 }
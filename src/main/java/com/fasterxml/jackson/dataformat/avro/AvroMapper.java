@@ -1,13 +1,25 @@
 package com.fasterxml.jackson.dataformat.avro;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
 import org.apache.avro.Schema;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.TreeNode;
 import com.fasterxml.jackson.core.Version;
+import com.fasterxml.jackson.databind.BeanDescription;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.dataformat.avro.deser.ContainerBlockInputStream;
+import com.fasterxml.jackson.dataformat.avro.registry.CachingSchemaRegistry;
 import com.fasterxml.jackson.dataformat.avro.schema.AvroSchemaGenerator;
 
 /**
@@ -50,6 +62,78 @@ public class AvroMapper extends ObjectMapper
     public AvroFactory getFactory() {
         return (AvroFactory) _jsonFactory;
     }
+
+    /**
+     * Method for enabling "compiled" binding of POJOs from Avro Records:
+     * properties to set are resolved once per (Schema, POJO type) combination,
+     * and Record fields are then bound in Schema order, without exposing
+     * or matching field names. Types that use features beyond simple
+     * default-constructor-and-setters binding (like creators, Object Ids,
+     * views or unwrapping) are bound the usual way.
+     *<p>
+     * Since deserializers are cached, needs to be called before mapper is
+     * used for reading.
+     *<p>
+     * Simple scalar values of public fields and setters of public classes are
+     * assigned using generated accessor classes; use
+     * {@link #enableCompiledDeserializers(boolean)} to prevent this.
+     *
+     * @since 2.7.10
+     */
+    public AvroMapper enableCompiledDeserializers() {
+        return enableCompiledDeserializers(AvroCompiledModule.DEFAULT_GENERATE_ACCESSORS);
+    }
+
+    /**
+     * Method for enabling "compiled" binding of POJOs from Avro Records
+     * (see {@link #enableCompiledDeserializers()}), with or without generated
+     * accessor classes: these should be disabled in environments where
+     * classes can not be defined at runtime.
+     *
+     * @since 2.7.10
+     */
+    public AvroMapper enableCompiledDeserializers(boolean generateAccessors)
+    {
+        registerModule(AvroCompiledModule.deserializersOnly(generateAccessors));
+        return this;
+    }
+
+    /**
+     * Method for enabling "compiled" writing of POJOs as Avro Records:
+     * properties to write are matched to fields once per (Schema, POJO type)
+     * combination, and values are then written in Schema order, with
+     * simple scalar values (Strings, numbers, booleans) encoded directly,
+     * without going through {@link com.fasterxml.jackson.core.JsonGenerator}.
+     * Only values that are encoded as they are written (root values, and values
+     * contained in directly encoded values) can be handled this way; others
+     * are written the usual way.
+     *<p>
+     * Since serializers are cached, needs to be called before mapper is
+     * used for writing.
+     *<p>
+     * Simple scalar values of public fields and getters of public classes are
+     * read using generated accessor classes; use
+     * {@link #enableCompiledSerializers(boolean)} to prevent this.
+     *
+     * @since 2.7.10
+     */
+    public AvroMapper enableCompiledSerializers() {
+        return enableCompiledSerializers(AvroCompiledModule.DEFAULT_GENERATE_ACCESSORS);
+    }
+
+    /**
+     * Method for enabling "compiled" writing of POJOs as Avro Records
+     * (see {@link #enableCompiledSerializers()}), with or without generated
+     * accessor classes: these should be disabled in environments where
+     * classes can not be defined at runtime.
+     *
+     * @since 2.7.10
+     */
+    public AvroMapper enableCompiledSerializers(boolean generateAccessors)
+    {
+        registerModule(AvroCompiledModule.serializersOnly(generateAccessors));
+        return this;
+    }
     
     /**
      * @since 2.5
@@ -71,6 +155,193 @@ public class AvroMapper extends ObjectMapper
         return gen.getGeneratedSchema();
     }
 
+    /**
+     * Method for constructing a projection of given schema (see
+     * {@link AvroSchema#withProjection}) that only exposes fields that
+     * can be deserialized into properties of given POJO type: other fields
+     * are skipped without decoding.
+     * If type is not a POJO type (or it has "any setter"), schema is
+     * returned as is.
+     *
+     * @since 2.7.10
+     */
+    public AvroSchema projectionFor(Class<?> type, AvroSchema schema)
+    {
+        return projectionFor(constructType(type), schema);
+    }
+
+    /**
+     * @since 2.7.10
+     */
+    public AvroSchema projectionFor(JavaType type, AvroSchema schema)
+    {
+        if (schema.getAvroSchema().getType() != Schema.Type.RECORD
+                || type.isContainerType() || type.isEnumType() || type.isPrimitive()
+                || type.getRawClass().getName().startsWith("java.")
+                || type.isTypeOrSubTypeOf(TreeNode.class)) {
+            return schema;
+        }
+        BeanDescription desc = getDeserializationConfig().introspect(type);
+        if (desc.findAnySetter() != null) {
+            return schema;
+        }
+        Set<String> names = new HashSet<String>();
+        for (BeanPropertyDefinition prop : desc.findProperties()) {
+            if (prop.couldDeserialize()) {
+                names.add(prop.getName());
+            }
+        }
+        return schema.withProjection(names);
+    }
+
+    /**
+     * Method for reading a single value from contents of given {@link ByteBuffer}
+     * (from its position to limit), without copying contents: works for
+     * both heap and direct buffers. Position of the buffer is not modified.
+     *
+     * @since 2.7.10
+     */
+    public <T> T readValue(ByteBuffer src, AvroSchema schema, Class<T> valueType)
+        throws IOException
+    {
+        AvroParser p = getFactory().createParser(src);
+        try {
+            p.setSchema(schema);
+            return readerFor(valueType).readValue(p);
+        } finally {
+            p.close();
+        }
+    }
+
+    /**
+     * Method for reading a sequence of root-level values from contents of given
+     * {@link ByteBuffer} (from its position to limit), without copying contents.
+     * Position of the buffer is not modified.
+     *
+     * @since 2.7.10
+     */
+    public <T> MappingIterator<T> readValues(ByteBuffer src, AvroSchema schema,
+            Class<T> valueType)
+        throws IOException
+    {
+        AvroParser p = getFactory().createParser(src);
+        p.setSchema(schema);
+        return readerFor(valueType).readValues(p);
+    }
+
+    /**
+     * Method for reading a value in Avro "single-object encoding", using
+     * Schema located by fingerprint in the header of content (see
+     * {@link AvroFactory#createSingleObjectParser(byte[])}).
+     *
+     * @since 2.7.10
+     */
+    public <T> T readSingleObject(byte[] src, Class<T> valueType) throws IOException
+    {
+        AvroParser p = getFactory().createSingleObjectParser(src);
+        try {
+            return readerFor(valueType).readValue(p);
+        } finally {
+            p.close();
+        }
+    }
+
+    /**
+     * Method for registering given Schema with the {@link SchemaResolver}
+     * of the factory of this mapper, for reading content in single-object
+     * encoding (see {@link #readSingleObject}): only works with default resolver
+     * (or another {@link SimpleSchemaResolver}).
+     *
+     * @return Fingerprint of the Schema
+     *
+     * @since 2.7.10
+     */
+    public long registerSchema(AvroSchema schema)
+    {
+        SchemaResolver r = getFactory().getSchemaResolver();
+        if (!(r instanceof SimpleSchemaResolver)) {
+            throw new IllegalStateException("Can not register Schemas with SchemaResolver of type "
+                    +r.getClass().getName());
+        }
+        return ((SimpleSchemaResolver) r).addSchema(schema);
+    }
+
+    /**
+     * Method for reading a value in "schema id framing", using Schema located
+     * by id in the header of content (see
+     * {@link AvroFactory#createSchemaIdParser(byte[], CachingSchemaRegistry)}).
+     *
+     * @since 2.7.10
+     */
+    public <T> T readWithSchemaId(byte[] src, CachingSchemaRegistry registry, Class<T> valueType)
+        throws IOException
+    {
+        AvroParser p = getFactory().createSchemaIdParser(src, registry);
+        try {
+            return readerFor(valueType).readValue(p);
+        } finally {
+            p.close();
+        }
+    }
+
+    /**
+     * Method for writing given value in "schema id framing", using given
+     * Schema, the id of which is located using given registry.
+     *
+     * @since 2.7.10
+     */
+    public byte[] writeWithSchemaId(Object value, AvroSchema schema, CachingSchemaRegistry registry)
+        throws IOException
+    {
+        int id = registry.findId(schema);
+        if (id < 0) {
+            throw JsonMappingException.from((JsonGenerator) null, String.format(
+                    "Schema '%s' (fingerprint 0x%016X) not registered",
+                    schema.getAvroSchema().getFullName(), schema.getFingerprint()));
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        AvroGenerator gen = getFactory().createSchemaIdGenerator(bytes, id);
+        try {
+            writer(schema).writeValue(gen, value);
+        } finally {
+            gen.close();
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Method for reading values of an Avro Object Container File, using Schema
+     * from its header, such that blocks of the file are decoded and bound in
+     * parallel, by tasks run on given executor (or, if null, on a thread
+     * pool created for and owned by returned iterator).
+     *
+     * @param maxInFlight Maximum number of blocks being decoded, or decoded but
+     *    not yet consumed: limits memory usage
+     * @param ordered Whether values are to be returned in file order (true), or
+     *    in order in which blocks get decoded (false)
+     *
+     * @since 2.7.10
+     */
+    public <T> ParallelBlockIterator<T> readContainerValuesInParallel(InputStream in,
+            Class<T> valueType, ExecutorService executor, int maxInFlight, boolean ordered)
+        throws IOException
+    {
+        return readContainerValuesInParallel(in, constructType(valueType),
+                executor, maxInFlight, ordered);
+    }
+
+    /**
+     * @since 2.7.10
+     */
+    public <T> ParallelBlockIterator<T> readContainerValuesInParallel(InputStream in,
+            JavaType valueType, ExecutorService executor, int maxInFlight, boolean ordered)
+        throws IOException
+    {
+        ContainerBlockInputStream blocks = new ContainerBlockInputStream(in);
+        ObjectReader r = readerFor(valueType).with(new AvroSchema(blocks.getSchema()));
+        return new ParallelBlockIterator<T>(r, blocks, executor, maxInFlight, ordered);
+    }
+
     /**
      * Method for reading an Avro Schema from given {@link InputStream},
      * and once done (successfully or not), closing the stream.
@@ -9,6 +9,8 @@ import com.fasterxml.jackson.core.*;
 import com.fasterxml.jackson.databind.*;
 import com.fasterxml.jackson.databind.module.SimpleModule;
 import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.dataformat.avro.deser.AvroPrimitiveArrayDeserializer;
+import com.fasterxml.jackson.dataformat.avro.ser.AvroPrimitiveArraySerializer;
 
 /**
  * Module that adds support for handling datatypes specific to the standard
@@ -26,6 +28,15 @@ public class AvroModule extends SimpleModule
         addSerializer(new SchemaSerializer());
         // 08-Mar-2016, tatu: to fix [dataformat-avro#35], need to prune 'schema' property:
         setSerializerModifier(new AvroSerializerModifier());
+        // 2.7.10: bulk writing and reading of primitive arrays
+        addSerializer(int[].class, new AvroPrimitiveArraySerializer(int[].class));
+        addSerializer(long[].class, new AvroPrimitiveArraySerializer(long[].class));
+        addSerializer(float[].class, new AvroPrimitiveArraySerializer(float[].class));
+        addSerializer(double[].class, new AvroPrimitiveArraySerializer(double[].class));
+        addDeserializer(int[].class, new AvroPrimitiveArrayDeserializer<int[]>(int[].class));
+        addDeserializer(long[].class, new AvroPrimitiveArrayDeserializer<long[]>(long[].class));
+        addDeserializer(float[].class, new AvroPrimitiveArrayDeserializer<float[]>(float[].class));
+        addDeserializer(double[].class, new AvroPrimitiveArrayDeserializer<double[]>(double[].class));
     }
 
     /**
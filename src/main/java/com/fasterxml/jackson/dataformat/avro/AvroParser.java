@@ -1,12 +1,15 @@
 package com.fasterxml.jackson.dataformat.avro;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
 
 import com.fasterxml.jackson.core.*;
 import com.fasterxml.jackson.core.base.ParserBase;
 import com.fasterxml.jackson.core.io.IOContext;
 import com.fasterxml.jackson.core.json.JsonReadContext;
 import com.fasterxml.jackson.core.util.ByteArrayBuilder;
+import com.fasterxml.jackson.core.util.TextBuffer;
 import com.fasterxml.jackson.dataformat.avro.deser.AvroReadContext;
 import com.fasterxml.jackson.dataformat.avro.deser.MissingReader;
 
@@ -17,6 +20,8 @@ import com.fasterxml.jackson.dataformat.avro.deser.MissingReader;
  */
 public abstract class AvroParser extends ParserBase
 {
+    private final static Charset UTF8 = Charset.forName("UTF-8");
+
     /**
      * Enumeration that defines all togglable features for Avro parsers.
      */
@@ -102,6 +107,48 @@ public abstract class AvroParser extends ParserBase
      */
     protected String _textValue;
 
+    /**
+     * Flag set when the current String value was decoded from content, and
+     * its UTF-8 encoded representation is held in {@link #_utf8Buffer}:
+     * if so, {@link #_textValue} (and character representation in
+     * {@link #_textBuffer}) is only constructed when requested.
+     *
+     * @since 2.7.10
+     */
+    protected boolean _textInBuffer;
+
+    /**
+     * Flag set when {@link #_textBuffer} contains decoded characters of
+     * the current String value (only relevant if {@link #_textInBuffer} set)
+     *
+     * @since 2.7.10
+     */
+    protected boolean _textCharsDecoded;
+
+    /**
+     * Buffer that contains raw UTF-8 encoded contents of the current String
+     * value, if {@link #_textInBuffer} is set; reused for all values.
+     *
+     * @since 2.7.10
+     */
+    protected byte[] _utf8Buffer;
+
+    /**
+     * @since 2.7.10
+     */
+    protected int _utf8Length;
+
+    /**
+     * If the current binary (<code>bytes</code> or <code>fixed</code>) value
+     * could be accessed without copying, view of its contents within input
+     * buffer; in which case {@link #_binaryValue} is only constructed when
+     * requested. Only valid while current token is
+     * {@link JsonToken#VALUE_EMBEDDED_OBJECT}.
+     *
+     * @since 2.7.10
+     */
+    protected ByteBuffer _binaryBuffer;
+
     /*
     /**********************************************************************
     /* Life-cycle
@@ -246,6 +293,7 @@ public abstract class AvroParser extends ParserBase
             return;
         }
         if (schema instanceof AvroSchema) {
+            _rootSchema = (AvroSchema) schema;
             _initSchema((AvroSchema) schema);
         } else {
             super.setSchema(schema);
@@ -283,22 +331,58 @@ public abstract class AvroParser extends ParserBase
     @Override
     public abstract JsonToken nextToken() throws IOException;
 
+    /**
+     * Alternative to {@link #nextFieldName()}, for Record values: since
+     * fields of a Record have fixed positions in its Schema, caller may
+     * dispatch on field index instead of matching names.
+     * If the next token is {@link JsonToken#FIELD_NAME} of a Record field,
+     * returns its position (same as <code>Schema.Field.pos()</code> of the
+     * reader Schema); otherwise returns -1 and caller needs to check
+     * {@link #getCurrentToken()} (which may also be {@link JsonToken#FIELD_NAME}
+     * if the key of a Map value was read).
+     *
+     * @since 2.7.10
+     */
+    public int nextFieldIndex() throws IOException {
+        return (nextFieldName() == null) ? -1 : _avroContext.getCurrentFieldIndex();
+    }
+
+    /**
+     * Accessor for position of the current Record field within its Schema,
+     * if parser is positioned at name or (scalar) value of a Record field;
+     * -1 otherwise.
+     *
+     * @since 2.7.10
+     */
+    public int getCurrentFieldIndex() {
+        return _avroContext.getCurrentFieldIndex();
+    }
+
     /*
     /**********************************************************
     /* String value handling
     /**********************************************************
      */
 
-    // For now we do not store char[] representation...
+    /**
+     * String values decoded from content are held as characters in a
+     * reusable buffer, without constructing a {@link String}, if accessed
+     * using {@link #getTextCharacters()}.
+     */
     @Override
     public boolean hasTextCharacters() {
-        return false;
+        return (_currToken == JsonToken.VALUE_STRING) && _textInBuffer;
     }
     
     @Override
     public String getText() throws IOException
     {
         if (_currToken == JsonToken.VALUE_STRING) {
+            if ((_textValue == null) && _textInBuffer) {
+                // note: decoding via TextBuffer is faster than using JDK decoder,
+                // which would create a new CharsetDecoder for each call
+                _textValue = _textBufferWithChars().contentsAsString();
+            }
             return _textValue;
         }
         if (_currToken == JsonToken.FIELD_NAME) {
@@ -338,20 +422,163 @@ public abstract class AvroParser extends ParserBase
     
     @Override
     public char[] getTextCharacters() throws IOException {
+        if (hasTextCharacters()) {
+            return _textBufferWithChars().getTextBuffer();
+        }
         String text = getText();
         return (text == null) ? null : text.toCharArray();
     }
 
     @Override
     public int getTextLength() throws IOException {
+        if (hasTextCharacters()) {
+            return _textBufferWithChars().size();
+        }
         String text = getText();
         return (text == null) ? 0 : text.length();
     }
 
     @Override
     public int getTextOffset() throws IOException {
+        if (hasTextCharacters()) {
+            return _textBufferWithChars().getTextOffset();
+        }
         return 0;
     }
+
+    /**
+     * Method for writing textual contents of the current token using given
+     * {@link Writer}: for String values decoded from content, without
+     * constructing a {@link String}.
+     *
+     * @return Number of characters written
+     *
+     * @since 2.7.10
+     */
+    public int getText(Writer w) throws IOException
+    {
+        if (hasTextCharacters()) {
+            TextBuffer tb = _textBufferWithChars();
+            w.write(tb.getTextBuffer(), tb.getTextOffset(), tb.size());
+            return tb.size();
+        }
+        String text = getText();
+        if (text == null) {
+            return 0;
+        }
+        w.write(text);
+        return text.length();
+    }
+
+    /**
+     * Method for writing textual contents of the current token as UTF-8
+     * encoded bytes, to given {@link OutputStream}: for String values decoded
+     * from content, raw bytes are written as is, without decoding (or
+     * constructing a {@link String}). Useful for transcoding.
+     *
+     * @return Number of bytes written
+     *
+     * @since 2.7.10
+     */
+    public int getTextUtf8(OutputStream out) throws IOException
+    {
+        if (hasTextCharacters()) {
+            out.write(_utf8Buffer, 0, _utf8Length);
+            return _utf8Length;
+        }
+        String text = getText();
+        if (text == null) {
+            return 0;
+        }
+        byte[] b = text.getBytes(UTF8);
+        out.write(b);
+        return b.length;
+    }
+
+    /**
+     * Helper method for ensuring that the current String value, held as UTF-8
+     * bytes, has been decoded as characters into {@link #_textBuffer}.
+     */
+    protected TextBuffer _textBufferWithChars()
+    {
+        if (!_textCharsDecoded) {
+            _textCharsDecoded = true;
+            if (!_decodeUtf8(_utf8Buffer, _utf8Length)) {
+                // malformed content: let JDK deal with it (replacing invalid bytes)
+                _textBuffer.resetWithString(new String(_utf8Buffer, 0, _utf8Length, UTF8));
+            }
+        }
+        return _textBuffer;
+    }
+
+    /**
+     * @return True if decoding succeeded; false if content was not
+     *    valid UTF-8
+     */
+    private boolean _decodeUtf8(byte[] input, int end)
+    {
+        // UTF-8 never has more characters than bytes
+        char[] outBuf = _textBuffer.emptyAndGetCurrentSegment();
+        if (outBuf.length < end) {
+            outBuf = _textBuffer.expandCurrentSegment(end);
+        }
+        int inPtr = 0;
+        int outPtr = 0;
+
+        // Fast path for ASCII first
+        while (inPtr < end) {
+            int c = input[inPtr];
+            if (c < 0) {
+                break;
+            }
+            outBuf[outPtr++] = (char) c;
+            ++inPtr;
+        }
+        while (inPtr < end) {
+            int c = input[inPtr++] & 0xFF;
+            if (c < 0x80) {
+                outBuf[outPtr++] = (char) c;
+                continue;
+            }
+            int needed;
+            if ((c & 0xE0) == 0xC0) {
+                c &= 0x1F;
+                needed = 1;
+            } else if ((c & 0xF0) == 0xE0) {
+                c &= 0x0F;
+                needed = 2;
+            } else if ((c & 0xF8) == 0xF0) {
+                c &= 0x07;
+                needed = 3;
+            } else {
+                return false;
+            }
+            if ((inPtr + needed) > end) {
+                return false;
+            }
+            for (int i = 0; i < needed; ++i) {
+                int d = input[inPtr++];
+                if ((d & 0xC0) != 0x80) {
+                    return false;
+                }
+                c = (c << 6) | (d & 0x3F);
+            }
+            if (needed == 3) { // surrogate pair
+                if (c < 0x10000 || c > 0x10FFFF) {
+                    return false;
+                }
+                c -= 0x10000;
+                outBuf[outPtr++] = (char) (0xD800 | (c >> 10));
+                c = 0xDC00 | (c & 0x3FF);
+            } else if ((needed == 2) ? (c < 0x800 || (c >= 0xD800 && c < 0xE000)) : (c < 0x80)) {
+                // overlong encodings, encoded surrogates
+                return false;
+            }
+            outBuf[outPtr++] = (char) c;
+        }
+        _textBuffer.setCurrentLength(outPtr);
+        return true;
+    }
     
     /*
     /**********************************************************************
@@ -361,13 +588,73 @@ public abstract class AvroParser extends ParserBase
 
     @Override
     public Object getEmbeddedObject() throws IOException {
+        if ((_binaryValue == null) && _hasBinaryBuffer()) {
+            _binaryValue = _copyBinaryBuffer();
+        }
         return _binaryValue;
     }
-    
+
+    /**
+     * Method that can be used to access contents of the current binary
+     * (<code>bytes</code> or <code>fixed</code>) value without copying it,
+     * if parser reads from an in-memory source: if so, returned buffer is a
+     * read-only view onto input, and is only valid until the next token.
+     * Otherwise a read-only wrapper of the value is returned.
+     *
+     * @return Buffer with contents of the current binary value; null if
+     *    current token is not {@link JsonToken#VALUE_EMBEDDED_OBJECT}
+     *
+     * @since 2.7.10
+     */
+    public ByteBuffer getBinaryBuffer() throws IOException
+    {
+        if (_hasBinaryBuffer()) {
+            return _binaryBuffer.asReadOnlyBuffer();
+        }
+        if ((_currToken == JsonToken.VALUE_EMBEDDED_OBJECT) && (_binaryValue != null)) {
+            return ByteBuffer.wrap(_binaryValue).asReadOnlyBuffer();
+        }
+        return null;
+    }
+
+    /**
+     * Overridden to write binary values directly from input buffer, when
+     * possible, without constructing a <code>byte[]</code>.
+     *
+     * @since 2.7.10
+     */
+    @Override
+    public int readBinaryValue(Base64Variant b64variant, OutputStream out) throws IOException
+    {
+        if ((_binaryValue == null) && _hasBinaryBuffer()) {
+            ByteBuffer bb = _binaryBuffer;
+            final int len = bb.remaining();
+            if (bb.hasArray()) {
+                out.write(bb.array(), bb.arrayOffset() + bb.position(), len);
+            } else {
+                bb = bb.duplicate();
+                byte[] chunk = new byte[Math.min(len, 8000)];
+                while (bb.hasRemaining()) {
+                    int count = Math.min(chunk.length, bb.remaining());
+                    bb.get(chunk, 0, count);
+                    out.write(chunk, 0, count);
+                }
+            }
+            return len;
+        }
+        byte[] b = getBinaryValue(b64variant);
+        out.write(b);
+        return b.length;
+    }
+
     @Override
     public byte[] getBinaryValue(Base64Variant variant) throws IOException
     {
         if (_binaryValue == null) {
+            if (_hasBinaryBuffer()) {
+                _binaryValue = _copyBinaryBuffer();
+                return _binaryValue;
+            }
             if (_currToken != JsonToken.VALUE_STRING) {
                 _reportError("Current token ("+_currToken+") not VALUE_STRING, can not access as binary");
             }
@@ -378,4 +665,14 @@ public abstract class AvroParser extends ParserBase
         }
         return _binaryValue;
     }
-}
\ No newline at end of file
+
+    private boolean _hasBinaryBuffer() {
+        return (_binaryBuffer != null) && (_currToken == JsonToken.VALUE_EMBEDDED_OBJECT);
+    }
+
+    private byte[] _copyBinaryBuffer() {
+        byte[] b = new byte[_binaryBuffer.remaining()];
+        _binaryBuffer.duplicate().get(b);
+        return b;
+    }
+}
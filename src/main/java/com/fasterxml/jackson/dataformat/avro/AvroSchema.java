@@ -2,15 +2,25 @@ package com.fasterxml.jackson.dataformat.avro;
 
 import java.io.*;
 import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicReference;
 
 import com.fasterxml.jackson.core.FormatSchema;
-import com.fasterxml.jackson.dataformat.avro.deser.AvroReaderFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.dataformat.avro.deser.AvroReaderCache;
 import com.fasterxml.jackson.dataformat.avro.deser.AvroStructureReader;
+import com.fasterxml.jackson.dataformat.avro.deser.ResolvingAvroSchema;
 
 import org.apache.avro.Schema;
+import org.apache.avro.SchemaCompatibility;
+import org.apache.avro.SchemaNormalization;
 import org.apache.avro.io.BinaryDecoder;
 import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.BufferedBinaryEncoder;
 import org.apache.avro.io.DecoderFactory;
 import org.apache.avro.io.EncoderFactory;
 
@@ -22,20 +32,80 @@ public class AvroSchema implements FormatSchema
 {
     public final static String TYPE_ID = "avro";
 
+    /**
+     * Length of the header that precedes values in Avro "single-object encoding":
+     * two marker bytes (<code>0xC3 0x01</code>) followed by the 8-byte
+     * (little-endian) fingerprint of the Schema.
+     *
+     * @since 2.7.10
+     */
+    public final static int SINGLE_OBJECT_HEADER_LENGTH = 10;
+
+    /**
+     * @since 2.7.10
+     */
+    public final static byte SINGLE_OBJECT_MARKER_1 = (byte) 0xC3;
+
+    /**
+     * @since 2.7.10
+     */
+    public final static byte SINGLE_OBJECT_MARKER_2 = (byte) 0x01;
+
+    /**
+     * Length of the header that precedes values in "schema id framing"
+     * (as used with schema registries): magic byte (<code>0x00</code>)
+     * followed by the 4-byte (big-endian) id of the Schema.
+     *
+     * @since 2.7.10
+     */
+    public final static int SCHEMA_ID_HEADER_LENGTH = 5;
+
+    /**
+     * @since 2.7.10
+     */
+    public final static byte SCHEMA_ID_MAGIC_BYTE = (byte) 0x00;
+
     protected final static DecoderFactory DECODER_FACTORY = DecoderFactory.get();
 
     protected final static EncoderFactory ENCODER_FACTORY = EncoderFactory.get();
 
+    protected final static byte[] NO_BYTES = new byte[0];
+
+    protected final static InputStream EMPTY_INPUT = new ByteArrayInputStream(NO_BYTES);
+
+    protected final static OutputStream NOP_OUTPUT = new OutputStream() {
+        @Override
+        public void write(int b) { }
+        @Override
+        public void write(byte[] b, int offset, int len) { }
+    };
+
+    /**
+     * Recycled decoder instance (if any) for the current thread; see
+     * {@link #claimDecoder} and {@link #releaseDecoder}.
+     */
     protected final static ThreadLocal<SoftReference<BinaryDecoder>> decoderRecycler
         = new ThreadLocal<SoftReference<BinaryDecoder>>();
     
+    /**
+     * Recycled encoder instance (if any) for the current thread; see
+     * {@link #claimEncoder} and {@link #releaseEncoder}.
+     */
     protected final static ThreadLocal<SoftReference<BinaryEncoder>> encoderRecycler
         = new ThreadLocal<SoftReference<BinaryEncoder>>();
     
     protected final Schema _avroSchema;
 
     protected final AtomicReference<AvroStructureReader> _reader = new AtomicReference<AvroStructureReader>();
-    
+
+    /**
+     * Lazily constructed single-object encoding header for this Schema;
+     * see {@link #getFingerprint()}.
+     *
+     * @since 2.7.10
+     */
+    protected volatile byte[] _singleObjectHeader;
+
     public AvroSchema(Schema asch)
     {
         _avroSchema = asch;
@@ -48,67 +118,196 @@ public class AvroSchema implements FormatSchema
 
     public Schema getAvroSchema() { return _avroSchema; }
 
-    public static BinaryDecoder decoder(InputStream in, boolean buffering)
+    /**
+     * Accessor for the CRC-64-AVRO fingerprint of Parsing Canonical Form of
+     * the (writer) Schema, as used in the header of Avro "single-object
+     * encoding" (see {@link AvroGenerator.Feature#WRITE_SINGLE_OBJECT_HEADER}).
+     * Calculated once per instance.
+     *
+     * @since 2.7.10
+     */
+    public long getFingerprint()
+    {
+        byte[] header = _singleObjectHeader();
+        long fp = 0L;
+        for (int i = SINGLE_OBJECT_HEADER_LENGTH; --i >= 2; ) {
+            fp = (fp << 8) | (header[i] & 0xFF);
+        }
+        return fp;
+    }
+
+    /**
+     * Accessor for the single-object encoding header: caller must not modify
+     * returned array.
+     */
+    protected byte[] _singleObjectHeader()
+    {
+        byte[] header = _singleObjectHeader;
+        if (header == null) {
+            long fp = SchemaNormalization.parsingFingerprint64(_avroSchema);
+            header = new byte[SINGLE_OBJECT_HEADER_LENGTH];
+            header[0] = SINGLE_OBJECT_MARKER_1;
+            header[1] = SINGLE_OBJECT_MARKER_2;
+            for (int i = 2; i < SINGLE_OBJECT_HEADER_LENGTH; ++i) {
+                header[i] = (byte) fp;
+                fp >>>= 8;
+            }
+            _singleObjectHeader = header;
+        }
+        return header;
+    }
+
+    public static BinaryDecoder decoder(InputStream in, boolean buffering) {
+        return decoder(in, buffering, null);
+    }
+
+    /**
+     * @param reuse Decoder instance to reuse, if possible (usually one claimed
+     *   using {@link #claimDecoder}); or null to construct a new instance
+     *
+     * @since 2.7.10
+     */
+    public static BinaryDecoder decoder(InputStream in, boolean buffering,
+            BinaryDecoder reuse)
     {
-        /*
-        SoftReference<BinaryDecoder> ref = decoderRecycler.get();
-        BinaryDecoder prev = (ref == null) ? null : ref.get();
         // Factory will check if the decoder has a matching type for reuse.
         // If not, it will drop the instance being reused and will return a new, proper one.
-        BinaryDecoder next = buffering
-            ? DECODER_FACTORY.binaryDecoder(in, prev)
-            : DECODER_FACTORY.directBinaryDecoder(in, prev);
+        return buffering
+                ? DECODER_FACTORY.binaryDecoder(in, reuse)
+                : DECODER_FACTORY.directBinaryDecoder(in, reuse);
+    }
+
+    public static BinaryDecoder decoder(byte[] buffer, int offset, int len) {
+        return decoder(buffer, offset, len, null);
+    }
+
+    /**
+     * @param reuse Decoder instance to reuse, if possible (usually one claimed
+     *   using {@link #claimDecoder}); or null to construct a new instance
+     *
+     * @since 2.7.10
+     */
+    public static BinaryDecoder decoder(byte[] buffer, int offset, int len,
+            BinaryDecoder reuse) {
+        return DECODER_FACTORY.binaryDecoder(buffer, offset, len, reuse);
+    }
+
+    public static BinaryEncoder encoder(OutputStream out, boolean buffering) {
+        return encoder(out, buffering, null);
+    }
 
-        decoderRecycler.set(new SoftReference<BinaryDecoder>(next));
-        return next;
-        */
+    /**
+     * @param reuse Encoder instance to reuse, if possible (usually one claimed
+     *   using {@link #claimEncoder}); or null to construct a new instance
+     *
+     * @since 2.7.10
+     */
+    public static BinaryEncoder encoder(OutputStream out, boolean buffering,
+            BinaryEncoder reuse)
+    {
+        // Factory will check if the encoder has a matching type for reuse.
+        // If not, it will drop the instance being reused and will return
+        // a new, proper one.
         return buffering
-                ? DECODER_FACTORY.binaryDecoder(in, null)
-                : DECODER_FACTORY.directBinaryDecoder(in, null);
+                ? ENCODER_FACTORY.binaryEncoder(out, reuse)
+                : ENCODER_FACTORY.directBinaryEncoder(out, reuse);
     }
 
-    public static BinaryDecoder decoder(byte[] buffer, int offset, int len)
+    /*
+    /**********************************************************
+    /* Codec recycling
+    /**********************************************************
+     */
+
+    /**
+     * Method for claiming the recycled decoder of the current thread, if any.
+     * Claimed instance is removed from the pool, so that it can not be handed
+     * to another parser (like a nested one) until released using
+     * {@link #releaseDecoder}.
+     *<p>
+     * Note that with Avro 1.7 only decoder itself is reused: when configured
+     * with an {@link InputStream}, a new read buffer is still allocated.
+     *
+     * @return Recycled decoder, if one available; null if not
+     *
+     * @since 2.7.10
+     */
+    public static BinaryDecoder claimDecoder()
     {
-        /*
         SoftReference<BinaryDecoder> ref = decoderRecycler.get();
-        BinaryDecoder prev = (ref == null) ? null : ref.get();
-        
-        if (prev != null) {
-            return DECODER_FACTORY.binaryDecoder(buffer, offset, len, prev);
+        if (ref == null) {
+            return null;
         }
-        prev = DECODER_FACTORY.binaryDecoder(buffer, offset, len, null);
-        decoderRecycler.set(new SoftReference<BinaryDecoder>(prev));
-        return prev;
-        */
-        return DECODER_FACTORY.binaryDecoder(buffer, offset, len, null);
+        decoderRecycler.set(null);
+        return ref.get();
     }
 
-    public static BinaryEncoder encoder(OutputStream out, boolean buffering)
+    /**
+     * Method for returning a decoder, claimed earlier with {@link #claimDecoder}
+     * (or constructed if none was available), into the pool of current thread.
+     * Caller must not use decoder after calling this method.
+     *
+     * @since 2.7.10
+     */
+    public static void releaseDecoder(BinaryDecoder dec)
+    {
+        // Need to detach from input, to avoid retaining input buffer or stream
+        if (dec.getClass() == BinaryDecoder.class) {
+            dec = DECODER_FACTORY.binaryDecoder(NO_BYTES, 0, 0, dec);
+        } else {
+            dec = DECODER_FACTORY.directBinaryDecoder(EMPTY_INPUT, dec);
+        }
+        decoderRecycler.set(new SoftReference<BinaryDecoder>(dec));
+    }
+
+    /**
+     * Method for claiming the recycled encoder of the current thread, if any.
+     * Claimed instance is removed from the pool, so that it can not be handed
+     * to another generator until released using {@link #releaseEncoder}.
+     *
+     * @return Recycled encoder, if one available; null if not
+     *
+     * @since 2.7.10
+     */
+    public static BinaryEncoder claimEncoder()
     {
-        /*
         SoftReference<BinaryEncoder> ref = encoderRecycler.get();
-        BinaryEncoder prev = (ref == null) ? null : ref.get();
-        // Factory will check if the encoder has a matching type for reuse.
-        // If not, it will drop the instance being reused and will return
-        // a new, proper one.
-        BinaryEncoder next =
-            buffering
-            ? ENCODER_FACTORY.binaryEncoder(out, prev)
-            : ENCODER_FACTORY.directBinaryEncoder(out, prev);
-        encoderRecycler.set(new SoftReference<BinaryEncoder>(next));
-
-        return next;
-        */
-        return buffering
-                ? ENCODER_FACTORY.binaryEncoder(out, null)
-                : ENCODER_FACTORY.directBinaryEncoder(out, null);
+        if (ref == null) {
+            return null;
+        }
+        encoderRecycler.set(null);
+        return ref.get();
+    }
+
+    /**
+     * Method for returning an encoder, claimed earlier with {@link #claimEncoder}
+     * (or constructed if none was available), into the pool of current thread.
+     * Encoder must have been flushed, and caller must not use it after calling
+     * this method.
+     *
+     * @since 2.7.10
+     */
+    public static void releaseEncoder(BinaryEncoder enc)
+    {
+        // Need to detach from output, to avoid retaining output stream
+        if (enc instanceof BufferedBinaryEncoder) {
+            enc = ENCODER_FACTORY.binaryEncoder(NOP_OUTPUT, enc);
+        } else {
+            enc = ENCODER_FACTORY.directBinaryEncoder(NOP_OUTPUT, enc);
+        }
+        encoderRecycler.set(new SoftReference<BinaryEncoder>(enc));
     }
 
     /**
      * Method that will consider this schema instance (used as so-called "Writer Schema"),
      * and specified "Reader Schema" instance, and will either construct a new schema
-     * with appropriate translations, to use for reading (if reader and writer schemas are
-     * not same); or, if schemas are the same, return `this`.
+     * that reads content written using this schema as specified by reader schema
+     * (if reader and writer schemas are not same); or, if schemas are the same, return `this`.
+     *<p>
+     * Resolution follows Avro rules: fields of writer schema that reader schema
+     * does not have are skipped, fields that only reader schema has are exposed
+     * using their default values, and numeric types are promoted as necessary
+     * (int to long, float or double; long to float or double; float to double).
      *<p>
      * Note that neither `this` instance nor `readerSchema` is ever modified: if an altered
      * version is needed, a new schema object will be constructed.
@@ -117,26 +316,83 @@ public class AvroSchema implements FormatSchema
      *    reader wants to see the data; specifies part of translation needed along with this
      *    schema (which would be "Writer Schema" in Avro terms).
      *
+     * @throws JsonProcessingException If given reader schema is not compatible with
+     *    this (writer) schema
+     *
      * @since 2.9
      */
-    public AvroSchema withReaderSchema(AvroSchema readerSchema) {
+    public AvroSchema withReaderSchema(AvroSchema readerSchema)
+        throws JsonProcessingException
+    {
         Schema w = _avroSchema;
         Schema r = readerSchema.getAvroSchema();
         
         if (r.equals(w)) {
             return this;
         }
-        Schema newSchema = Schema.applyAliases(w, r);
-System.err.println("Translated schema ->\n"+newSchema.toString(true));
-        return new AvroSchema(newSchema);
+        // First: rename types, fields of writer schema to match aliases reader schema has
+        try {
+            w = Schema.applyAliases(w, r);
+        } catch (Exception e) {
+            throw JsonMappingException.from((JsonParser) null,
+                    "Failed to resolve given writer/reader schemas, problem: "+e.getMessage(), e);
+        }
+        SchemaCompatibility.SchemaPairCompatibility compat
+            = SchemaCompatibility.checkReaderWriterCompatibility(r, w);
+        if (compat.getType() != SchemaCompatibility.SchemaCompatibilityType.COMPATIBLE) {
+            throw JsonMappingException.from((JsonParser) null,
+                    "Incompatible writer/reader schemas: "+compat.getDescription());
+        }
+        return new ResolvingAvroSchema(w, r);
     }
 
+    /**
+     * Method for constructing a schema that only exposes specified fields of
+     * the root-level record of this schema: other fields are skipped at the
+     * binary level, without decoding them. This is useful when only a small
+     * subset of values of a wide record is needed.
+     * Projection also applies to recursive references to the root-level
+     * record type, but not to other nested types.
+     *<p>
+     * Names that do not match fields of the record are ignored.
+     *
+     * @param fieldNames Names of fields to expose
+     *
+     * @since 2.7.10
+     */
+    public AvroSchema withProjection(Collection<String> fieldNames)
+    {
+        return new ResolvingAvroSchema(_avroSchema, _project(_avroSchema, fieldNames));
+    }
+
+    protected static Schema _project(Schema schema, Collection<String> fieldNames)
+    {
+        if (schema.getType() != Schema.Type.RECORD) {
+            throw new IllegalArgumentException("Can only project Schemas of type RECORD, not "
+                    +schema.getType());
+        }
+        List<Schema.Field> fields = new ArrayList<Schema.Field>();
+        for (Schema.Field f : schema.getFields()) {
+            if (fieldNames.contains(f.name())) {
+                fields.add(new Schema.Field(f.name(), f.schema(), f.doc(), f.defaultValue(), f.order()));
+            }
+        }
+        Schema projected = Schema.createRecord(schema.getName(), schema.getDoc(),
+                schema.getNamespace(), schema.isError());
+        projected.setFields(fields);
+        return projected;
+    }
+
+    /**
+     * Accessor for the reader (blue print) to use for decoding content
+     * with this schema. Readers are shared across equivalent schema instances
+     * using {@link AvroReaderCache#sharedInstance()}.
+     */
     public AvroStructureReader getReader()
     {
         AvroStructureReader r = _reader.get();
         if (r == null) {
-            AvroReaderFactory f = new AvroReaderFactory();
-            r = f.createReader(_avroSchema);
+            r = AvroReaderCache.sharedInstance().findReader(_avroSchema);
             _reader.set(r);
         }
         return r;
@@ -0,0 +1,305 @@
+package com.fasterxml.jackson.dataformat.avro;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.*;
+
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.RuntimeJsonMappingException;
+import com.fasterxml.jackson.dataformat.avro.deser.ContainerBlockInputStream;
+
+/**
+ * Iterator for values of an Avro Object Container File, decoded and bound
+ * in parallel: blocks are read (and decompressed) by the calling thread,
+ * and then decoded and bound by tasks run on an {@link ExecutorService},
+ * one task per block. Values are delivered either in file order, or in
+ * order in which blocks get decoded.
+ *<p>
+ * Number of blocks being decoded, or decoded but not yet fully consumed,
+ * is limited to configured maximum, to keep memory usage bounded.
+ *<p>
+ * Similar to {@link MappingIterator}, methods {@link #hasNextValue} and
+ * {@link #nextValue} expose checked exceptions as is, whereas {@link Iterator}
+ * methods wrap them. Iterator must be {@link #close}d if not fully read.
+ * Instances are not thread-safe: only intended to be used by one thread.
+ *
+ * @since 2.7.10
+ */
+public class ParallelBlockIterator<T> implements Iterator<T>, Closeable
+{
+    protected final ObjectReader _reader;
+
+    protected final ContainerBlockInputStream _blocks;
+
+    protected final ExecutorService _executor;
+
+    /**
+     * Whether we created {@link #_executor} and need to shut it down on close
+     */
+    protected final boolean _ownExecutor;
+
+    protected final int _maxInFlight;
+
+    protected final boolean _ordered;
+
+    /**
+     * For ordered delivery: tasks in the order blocks were submitted
+     */
+    protected final LinkedList<Future<List<T>>> _pending = new LinkedList<Future<List<T>>>();
+
+    /**
+     * For unordered delivery: service through which tasks are submitted
+     */
+    protected final CompletionService<List<T>> _completions;
+
+    /**
+     * Number of tasks submitted but not yet taken
+     */
+    protected int _inFlight;
+
+    /**
+     * Whether all blocks have been read from the input
+     */
+    protected boolean _inputDone;
+
+    protected boolean _closed;
+
+    protected List<T> _current = Collections.emptyList();
+
+    protected int _currentIndex;
+
+    /**
+     * @param reader Reader to use for binding values; must have Schema of the file
+     *    configured
+     * @param executor Executor to run decoding tasks on; if null, a new one
+     *    (with as many threads as there are processors) is created, to be
+     *    shut down when iterator is closed
+     * @param maxInFlight Maximum number of blocks submitted for decoding, but not
+     *    yet consumed
+     * @param ordered Whether values are to be delivered in file order (true), or
+     *    in order that blocks complete decoding (false)
+     */
+    public ParallelBlockIterator(ObjectReader reader, ContainerBlockInputStream blocks,
+            ExecutorService executor, int maxInFlight, boolean ordered)
+    {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("Maximum number of blocks in-flight must be positive; got "+maxInFlight);
+        }
+        _reader = reader;
+        _blocks = blocks;
+        if (executor == null) {
+            _executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+                    new DaemonThreadFactory());
+            _ownExecutor = true;
+        } else {
+            _executor = executor;
+            _ownExecutor = false;
+        }
+        _maxInFlight = maxInFlight;
+        _ordered = ordered;
+        _completions = ordered ? null : new ExecutorCompletionService<List<T>>(_executor);
+    }
+
+    /*
+    /**********************************************************
+    /* Iterator implementation
+    /**********************************************************
+     */
+
+    @Override
+    public boolean hasNext()
+    {
+        try {
+            return hasNextValue();
+        } catch (JsonMappingException e) {
+            throw new RuntimeJsonMappingException(e.getMessage(), e);
+        } catch (IOException e) {
+            throw new RuntimeException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public T next()
+    {
+        try {
+            return nextValue();
+        } catch (JsonMappingException e) {
+            throw new RuntimeJsonMappingException(e.getMessage(), e);
+        } catch (IOException e) {
+            throw new RuntimeException(e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    /*
+    /**********************************************************
+    /* Extended API, accessors
+    /**********************************************************
+     */
+
+    /**
+     * Equivalent of {@link #hasNext} but one that may throw checked
+     * exceptions from decoding and binding.
+     */
+    public boolean hasNextValue() throws IOException
+    {
+        while (_currentIndex >= _current.size()) {
+            if (_closed) {
+                return false;
+            }
+            _submitMore();
+            if (_inFlight == 0) { // all done
+                close();
+                return false;
+            }
+            _current = _takeNext();
+            _currentIndex = 0;
+        }
+        return true;
+    }
+
+    public T nextValue() throws IOException
+    {
+        if (!hasNextValue()) {
+            throw new NoSuchElementException();
+        }
+        return _current.get(_currentIndex++);
+    }
+
+    /**
+     * Convenience method for reading all remaining values into a {@link List}.
+     */
+    public List<T> readAll() throws IOException
+    {
+        List<T> result = new ArrayList<T>();
+        while (hasNextValue()) {
+            result.add(nextValue());
+        }
+        return result;
+    }
+
+    /**
+     * Method for closing iterator: cancels pending tasks and closes input;
+     * and if executor was created by this iterator, shuts it down.
+     */
+    @Override
+    public void close() throws IOException
+    {
+        if (_closed) {
+            return;
+        }
+        _closed = true;
+        _current = Collections.emptyList();
+        for (Future<List<T>> f : _pending) {
+            f.cancel(false);
+        }
+        _pending.clear();
+        _inFlight = 0;
+        try {
+            _blocks.close();
+        } finally {
+            if (_ownExecutor) {
+                _executor.shutdownNow();
+            }
+        }
+    }
+
+    /*
+    /**********************************************************
+    /* Internal methods
+    /**********************************************************
+     */
+
+    protected void _submitMore() throws IOException
+    {
+        while (!_inputDone && (_inFlight < _maxInFlight)) {
+            final byte[] block = _blocks.nextBlock();
+            if (block == null) {
+                _inputDone = true;
+                break;
+            }
+            Callable<List<T>> task = new Callable<List<T>>() {
+                @Override
+                public List<T> call() throws Exception {
+                    return _decodeBlock(block);
+                }
+            };
+            if (_ordered) {
+                _pending.add(_executor.submit(task));
+            } else {
+                // also keep track of these, to be able to cancel
+                _pending.add(_completions.submit(task));
+            }
+            ++_inFlight;
+        }
+    }
+
+    protected List<T> _takeNext() throws IOException
+    {
+        Future<List<T>> f;
+        try {
+            if (_ordered) {
+                f = _pending.removeFirst();
+            } else {
+                f = _completions.take();
+                _pending.remove(f);
+            }
+            --_inFlight;
+            return f.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new java.io.InterruptedIOException("Interrupted while waiting for block to be decoded");
+        } catch (ExecutionException e) {
+            close();
+            Throwable t = e.getCause();
+            if (t instanceof IOException) {
+                throw (IOException) t;
+            }
+            if (t instanceof RuntimeException) {
+                throw (RuntimeException) t;
+            }
+            if (t instanceof Error) {
+                throw (Error) t;
+            }
+            throw new IOException("Failed to decode block: "+t.getMessage(), t);
+        }
+    }
+
+    /**
+     * Method called (by a worker thread) to decode and bind all values
+     * of given block.
+     */
+    protected List<T> _decodeBlock(byte[] block) throws IOException
+    {
+        MappingIterator<T> it = _reader.readValues(block);
+        try {
+            List<T> result = new ArrayList<T>();
+            while (it.hasNextValue()) {
+                result.add(it.nextValue());
+            }
+            return result;
+        } finally {
+            it.close();
+        }
+    }
+
+    private final static class DaemonThreadFactory implements ThreadFactory
+    {
+        private final ThreadFactory _default = Executors.defaultThreadFactory();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread t = _default.newThread(r);
+            t.setDaemon(true);
+            return t;
+        }
+    }
+}
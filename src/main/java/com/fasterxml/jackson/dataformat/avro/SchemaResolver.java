@@ -0,0 +1,28 @@
+package com.fasterxml.jackson.dataformat.avro;
+
+import java.io.IOException;
+
+/**
+ * Interface for objects that locate {@link AvroSchema}s by the CRC-64-AVRO
+ * fingerprint of Parsing Canonical Form of the (writer) Schema; used for
+ * decoding content in Avro "single-object encoding", in which each value is
+ * preceded by the fingerprint of Schema it was written with
+ * (see {@link AvroFactory#createSingleObjectParser(byte[])}).
+ *<p>
+ * Since readers are cached per {@link AvroSchema} instance, implementations
+ * should return the same instance for repeated lookups of a fingerprint.
+ * Returned instance may also be a resolving schema (see
+ * {@link AvroSchema#withReaderSchema}), to read content as specified by
+ * a reader schema.
+ *
+ * @since 2.7.10
+ */
+public interface SchemaResolver
+{
+    /**
+     * Method called to find Schema with given fingerprint.
+     *
+     * @return Schema with given fingerprint, if known; null if not
+     */
+    public AvroSchema findSchema(long fingerprint) throws IOException;
+}
@@ -0,0 +1,56 @@
+package com.fasterxml.jackson.dataformat.avro;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.avro.Schema;
+
+/**
+ * Simple thread-safe {@link SchemaResolver} implementation that keeps
+ * registered Schemas in memory, keyed by their fingerprint
+ * (see {@link AvroSchema#getFingerprint()}). This is the default resolver
+ * used by {@link AvroFactory}.
+ *
+ * @since 2.7.10
+ */
+public class SimpleSchemaResolver implements SchemaResolver
+{
+    protected final ConcurrentHashMap<Long, AvroSchema> _schemas
+        = new ConcurrentHashMap<Long, AvroSchema>();
+
+    public SimpleSchemaResolver() { }
+
+    /**
+     * Method for registering given Schema, so that content written using it
+     * can be decoded; replaces Schema registered earlier with the same
+     * fingerprint, if any.
+     *
+     * @return Fingerprint of the Schema
+     */
+    public long addSchema(AvroSchema schema)
+    {
+        long fingerprint = schema.getFingerprint();
+        _schemas.put(fingerprint, schema);
+        return fingerprint;
+    }
+
+    public long addSchema(Schema schema) {
+        return addSchema(new AvroSchema(schema));
+    }
+
+    /**
+     * @return Schema that was removed, if any; null if none was registered
+     *    with given fingerprint
+     */
+    public AvroSchema removeSchema(long fingerprint) {
+        return _schemas.remove(fingerprint);
+    }
+
+    @Override
+    public AvroSchema findSchema(long fingerprint) {
+        return _schemas.get(fingerprint);
+    }
+
+    public int size() {
+        return _schemas.size();
+    }
+}
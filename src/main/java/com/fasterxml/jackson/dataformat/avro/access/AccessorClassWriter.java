@@ -0,0 +1,453 @@
+package com.fasterxml.jackson.dataformat.avro.access;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Minimal class file writer used for generating {@link BeanAccessor}
+ * implementations: each access method is a single <code>tableswitch</code>
+ * on member index, with one direct field access or method call per member.
+ *<p>
+ * Generated classes use class file version 49 (Java 5), which does not
+ * require stack map frames.
+ *
+ * @since 2.7.10
+ */
+final class AccessorClassWriter
+{
+    private final static String BASE_CLASS = BeanAccessor.class.getName().replace('.', '/');
+
+    private final static String GET_ARGS = "(Ljava/lang/Object;I)";
+    private final static String SET_ARGS = "(Ljava/lang/Object;I";
+
+    // Opcodes needed
+
+    private final static int ALOAD_0 = 0x2a;
+    private final static int ALOAD_1 = 0x2b;
+    private final static int ILOAD_2 = 0x1c;
+    private final static int ILOAD_3 = 0x1d;
+    private final static int LLOAD_3 = 0x21;
+    private final static int FLOAD_3 = 0x25;
+    private final static int DLOAD_3 = 0x29;
+    private final static int ALOAD_3 = 0x2d;
+    private final static int POP = 0x57;
+    private final static int POP2 = 0x58;
+    private final static int TABLESWITCH = 0xaa;
+    private final static int IRETURN = 0xac;
+    private final static int LRETURN = 0xad;
+    private final static int FRETURN = 0xae;
+    private final static int DRETURN = 0xaf;
+    private final static int ARETURN = 0xb0;
+    private final static int RETURN = 0xb1;
+    private final static int GETFIELD = 0xb4;
+    private final static int PUTFIELD = 0xb5;
+    private final static int INVOKEVIRTUAL = 0xb6;
+    private final static int INVOKESPECIAL = 0xb7;
+    private final static int INVOKESTATIC = 0xb8;
+    private final static int ATHROW = 0xbf;
+    private final static int CHECKCAST = 0xc0;
+
+    /**
+     * Primitive types for which specific access methods exist
+     */
+    private final static Class<?>[] PRIMITIVES = new Class<?>[] {
+        Integer.TYPE, Long.TYPE, Float.TYPE, Double.TYPE, Boolean.TYPE
+    };
+
+    private final String _className;
+    private final Class<?> _beanType;
+    private final Member[] _members;
+    private final Class<?>[] _types;
+    private final boolean[] _readable, _writable;
+
+    private final ByteArrayOutputStream _poolBytes = new ByteArrayOutputStream(1000);
+    private final DataOutputStream _pool = new DataOutputStream(_poolBytes);
+    private final HashMap<String,Integer> _poolIndexes = new HashMap<String,Integer>();
+    private int _poolCount = 1;
+
+    private final ByteArrayOutputStream _methodBytes = new ByteArrayOutputStream(1000);
+    private final DataOutputStream _methods = new DataOutputStream(_methodBytes);
+    private int _methodCount;
+
+    public AccessorClassWriter(String className, Class<?> beanType, Member[] members,
+            Class<?>[] types, boolean[] readable, boolean[] writable)
+    {
+        _className = className.replace('.', '/');
+        _beanType = beanType;
+        _members = members;
+        _types = types;
+        _readable = readable;
+        _writable = writable;
+    }
+
+    public byte[] generate() throws IOException
+    {
+        final int thisClass = _classRef(_className);
+        final int superClass = _classRef(BASE_CLASS);
+
+        // constructor first
+        ByteArrayOutputStream b = new ByteArrayOutputStream(8);
+        b.write(ALOAD_0);
+        _writeOp(b, INVOKESPECIAL, _methodRef(BASE_CLASS, "<init>", "()V"));
+        b.write(RETURN);
+        _addMethod("<init>", "()V", b.toByteArray(), 1, 1);
+
+        // then accessors
+        _addAccessMethod(false, null);
+        _addAccessMethod(true, null);
+        for (Class<?> prim : PRIMITIVES) {
+            _addAccessMethod(false, prim);
+            _addAccessMethod(true, prim);
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(_poolBytes.size() + _methodBytes.size() + 100);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(0xCAFEBABE);
+        out.writeShort(0); // minor version
+        out.writeShort(49); // major version: Java 5
+        out.writeShort(_poolCount);
+        _pool.flush();
+        _poolBytes.writeTo(out);
+        out.writeShort(0x0001 | 0x0010 | 0x0020); // public, final, super
+        out.writeShort(thisClass);
+        out.writeShort(superClass);
+        out.writeShort(0); // interfaces
+        out.writeShort(0); // fields
+        out.writeShort(_methodCount);
+        _methods.flush();
+        _methodBytes.writeTo(out);
+        out.writeShort(0); // attributes
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /*
+    /**********************************************************
+    /* Access methods
+    /**********************************************************
+     */
+
+    /**
+     * Method for generating a single access method, if there are members
+     * it applies to.
+     *
+     * @param setter Whether method is for setting (true) or getting (false) values
+     * @param prim Primitive type of values, for type-specific methods; null for
+     *   methods that use boxed values
+     */
+    private void _addAccessMethod(boolean setter, Class<?> prim) throws IOException
+    {
+        List<Integer> indexes = new ArrayList<Integer>();
+        for (int i = 0; i < _members.length; ++i) {
+            if ((setter ? _writable[i] : _readable[i])
+                    && ((prim == null) || (_types[i] == prim))) {
+                indexes.add(i);
+            }
+        }
+        if (indexes.isEmpty()) {
+            return;
+        }
+        final String valueDesc = (prim == null) ? "Ljava/lang/Object;" : _desc(prim);
+        final String name;
+        final String desc;
+        if (prim == null) {
+            name = setter ? "setValue" : "getValue";
+        } else {
+            String typeName = _boxed(prim).getSimpleName();
+            if (prim == Integer.TYPE) {
+                typeName = "Int";
+            }
+            name = (setter ? "set" : "get") + typeName + "Value";
+        }
+        desc = setter ? (SET_ARGS + valueDesc + ")V") : (GET_ARGS + valueDesc);
+
+        final int low = indexes.get(0);
+        final int high = indexes.get(indexes.size() - 1);
+        ByteArrayOutputStream code = new ByteArrayOutputStream(100);
+        code.write(ILOAD_2);
+        final int switchPos = code.size();
+        code.write(TABLESWITCH);
+        while ((code.size() % 4) != 0) {
+            code.write(0);
+        }
+        final int defaultSlot = code.size();
+        _writeInt(code, 0); // default, patched later
+        _writeInt(code, low);
+        _writeInt(code, high);
+        final int tableSlot = code.size();
+        final int[] offsets = new int[high - low + 1];
+        for (int i = 0; i < offsets.length; ++i) {
+            _writeInt(code, 0);
+        }
+        for (int ix : indexes) {
+            offsets[ix - low] = code.size() - switchPos;
+            if (setter) {
+                _writeSet(code, ix, prim);
+            } else {
+                _writeGet(code, ix, prim);
+            }
+        }
+        // and default, for indexes not supported:
+        final int defaultOffset = code.size() - switchPos;
+        code.write(ALOAD_0);
+        code.write(ILOAD_2);
+        _writeOp(code, INVOKEVIRTUAL, _methodRef(BASE_CLASS, "_invalidIndex",
+                "(I)Ljava/lang/IllegalArgumentException;"));
+        code.write(ATHROW);
+
+        byte[] codeBytes = code.toByteArray();
+        _putInt(codeBytes, defaultSlot, defaultOffset);
+        for (int i = 0; i < offsets.length; ++i) {
+            int offset = offsets[i];
+            _putInt(codeBytes, tableSlot + (i * 4), (offset == 0) ? defaultOffset : offset);
+        }
+        // at most bean and a long/double value on stack; locals up to this,
+        // bean, index and a long/double value
+        _addMethod(name, desc, codeBytes, 4, 5);
+    }
+
+    private void _writeGet(ByteArrayOutputStream code, int ix, Class<?> prim) throws IOException
+    {
+        final Member m = _members[ix];
+        final Class<?> type = _types[ix];
+        code.write(ALOAD_1);
+        if (m instanceof Field) {
+            String owner = _fieldOwner((Field) m);
+            _writeOp(code, CHECKCAST, _classRef(owner));
+            _writeOp(code, GETFIELD, _fieldRef(owner, m.getName(), _desc(type)));
+        } else {
+            String owner = _internalName(_beanType);
+            _writeOp(code, CHECKCAST, _classRef(owner));
+            _writeOp(code, INVOKEVIRTUAL, _methodRef(owner, m.getName(), "()"+_desc(type)));
+        }
+        if (prim == null) {
+            if (type.isPrimitive()) {
+                String box = _internalName(_boxed(type));
+                _writeOp(code, INVOKESTATIC, _methodRef(box, "valueOf", "("+_desc(type)+")L"+box+";"));
+            }
+            code.write(ARETURN);
+        } else if (prim == Long.TYPE) {
+            code.write(LRETURN);
+        } else if (prim == Float.TYPE) {
+            code.write(FRETURN);
+        } else if (prim == Double.TYPE) {
+            code.write(DRETURN);
+        } else {
+            code.write(IRETURN);
+        }
+    }
+
+    private void _writeSet(ByteArrayOutputStream code, int ix, Class<?> prim) throws IOException
+    {
+        final Member m = _members[ix];
+        final Class<?> type = _types[ix];
+        final String owner = (m instanceof Field) ? _fieldOwner((Field) m) : _internalName(_beanType);
+        code.write(ALOAD_1);
+        _writeOp(code, CHECKCAST, _classRef(owner));
+        if (prim == null) {
+            code.write(ALOAD_3);
+            if (type.isPrimitive()) {
+                String box = _internalName(_boxed(type));
+                _writeOp(code, CHECKCAST, _classRef(box));
+                _writeOp(code, INVOKEVIRTUAL, _methodRef(box, type.getName()+"Value", "()"+_desc(type)));
+            } else {
+                _writeOp(code, CHECKCAST, _classRef(_internalName(type)));
+            }
+        } else if (prim == Long.TYPE) {
+            code.write(LLOAD_3);
+        } else if (prim == Float.TYPE) {
+            code.write(FLOAD_3);
+        } else if (prim == Double.TYPE) {
+            code.write(DLOAD_3);
+        } else {
+            code.write(ILOAD_3);
+        }
+        if (m instanceof Field) {
+            _writeOp(code, PUTFIELD, _fieldRef(owner, m.getName(), _desc(type)));
+        } else {
+            Class<?> ret = ((Method) m).getReturnType();
+            _writeOp(code, INVOKEVIRTUAL, _methodRef(owner, m.getName(), "("+_desc(type)+")"+_desc(ret)));
+            // "builder-style" setters return a value, to discard
+            if ((ret == Long.TYPE) || (ret == Double.TYPE)) {
+                code.write(POP2);
+            } else if (ret != Void.TYPE) {
+                code.write(POP);
+            }
+        }
+        code.write(RETURN);
+    }
+
+    /**
+     * Fields are referenced using declaring class when possible, to avoid
+     * resolving to a field of a sub-class with the same name.
+     */
+    private String _fieldOwner(Field f) {
+        Class<?> cls = f.getDeclaringClass();
+        return _internalName(AccessorFactory._isAccessible(cls) ? cls : _beanType);
+    }
+
+    /*
+    /**********************************************************
+    /* Class file structure
+    /**********************************************************
+     */
+
+    private void _addMethod(String name, String desc, byte[] code, int maxStack, int maxLocals)
+        throws IOException
+    {
+        final int nameIx = _utf8(name);
+        final int descIx = _utf8(desc);
+        final int codeIx = _utf8("Code");
+        _methods.writeShort(0x0001); // public
+        _methods.writeShort(nameIx);
+        _methods.writeShort(descIx);
+        _methods.writeShort(1); // just Code attribute
+        _methods.writeShort(codeIx);
+        _methods.writeInt(12 + code.length);
+        _methods.writeShort(maxStack);
+        _methods.writeShort(maxLocals);
+        _methods.writeInt(code.length);
+        _methods.write(code);
+        _methods.writeShort(0); // exception table
+        _methods.writeShort(0); // attributes
+        ++_methodCount;
+    }
+
+    private int _utf8(String str) throws IOException
+    {
+        final String key = "U"+str;
+        Integer ix = _poolIndexes.get(key);
+        if (ix == null) {
+            ix = _addEntry(key);
+            _pool.writeByte(1);
+            _pool.writeUTF(str); // modified UTF-8, as expected by class file format
+        }
+        return ix;
+    }
+
+    private int _classRef(String internalName) throws IOException
+    {
+        final String key = "C"+internalName;
+        Integer ix = _poolIndexes.get(key);
+        if (ix == null) {
+            final int nameIx = _utf8(internalName);
+            ix = _addEntry(key);
+            _pool.writeByte(7);
+            _pool.writeShort(nameIx);
+        }
+        return ix;
+    }
+
+    private int _nameAndType(String name, String desc) throws IOException
+    {
+        final String key = "N"+name+" "+desc;
+        Integer ix = _poolIndexes.get(key);
+        if (ix == null) {
+            final int nameIx = _utf8(name);
+            final int descIx = _utf8(desc);
+            ix = _addEntry(key);
+            _pool.writeByte(12);
+            _pool.writeShort(nameIx);
+            _pool.writeShort(descIx);
+        }
+        return ix;
+    }
+
+    private int _fieldRef(String owner, String name, String desc) throws IOException {
+        return _memberRef(9, owner, name, desc);
+    }
+
+    private int _methodRef(String owner, String name, String desc) throws IOException {
+        return _memberRef(10, owner, name, desc);
+    }
+
+    private int _memberRef(int tag, String owner, String name, String desc) throws IOException
+    {
+        final String key = "M"+tag+owner+"."+name+" "+desc;
+        Integer ix = _poolIndexes.get(key);
+        if (ix == null) {
+            final int classIx = _classRef(owner);
+            final int natIx = _nameAndType(name, desc);
+            ix = _addEntry(key);
+            _pool.writeByte(tag);
+            _pool.writeShort(classIx);
+            _pool.writeShort(natIx);
+        }
+        return ix;
+    }
+
+    private int _addEntry(String key) {
+        int ix = _poolCount++;
+        _poolIndexes.put(key, ix);
+        return ix;
+    }
+
+    /*
+    /**********************************************************
+    /* Helper methods
+    /**********************************************************
+     */
+
+    private static void _writeOp(ByteArrayOutputStream code, int opcode, int index) {
+        code.write(opcode);
+        code.write(index >> 8);
+        code.write(index);
+    }
+
+    private static void _writeInt(ByteArrayOutputStream code, int value) {
+        code.write(value >> 24);
+        code.write(value >> 16);
+        code.write(value >> 8);
+        code.write(value);
+    }
+
+    private static void _putInt(byte[] code, int offset, int value) {
+        code[offset] = (byte) (value >> 24);
+        code[offset+1] = (byte) (value >> 16);
+        code[offset+2] = (byte) (value >> 8);
+        code[offset+3] = (byte) value;
+    }
+
+    private static String _internalName(Class<?> cls) {
+        // for arrays, descriptor is used as the name
+        return cls.isArray() ? _desc(cls) : cls.getName().replace('.', '/');
+    }
+
+    private static String _desc(Class<?> cls)
+    {
+        if (cls.isPrimitive()) {
+            if (cls == Integer.TYPE) return "I";
+            if (cls == Long.TYPE) return "J";
+            if (cls == Boolean.TYPE) return "Z";
+            if (cls == Double.TYPE) return "D";
+            if (cls == Float.TYPE) return "F";
+            if (cls == Short.TYPE) return "S";
+            if (cls == Byte.TYPE) return "B";
+            if (cls == Character.TYPE) return "C";
+            return "V";
+        }
+        if (cls.isArray()) {
+            return cls.getName().replace('.', '/');
+        }
+        return "L"+cls.getName().replace('.', '/')+";";
+    }
+
+    private static Class<?> _boxed(Class<?> prim)
+    {
+        if (prim == Integer.TYPE) return Integer.class;
+        if (prim == Long.TYPE) return Long.class;
+        if (prim == Boolean.TYPE) return Boolean.class;
+        if (prim == Double.TYPE) return Double.class;
+        if (prim == Float.TYPE) return Float.class;
+        if (prim == Short.TYPE) return Short.class;
+        if (prim == Byte.TYPE) return Byte.class;
+        return Character.class;
+    }
+}
@@ -0,0 +1,156 @@
+package com.fasterxml.jackson.dataformat.avro.access;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Factory for {@link BeanAccessor} instances: generates (and loads) a class
+ * with accessors for given members of a POJO type, so that values may be
+ * read and written without reflection.
+ *<p>
+ * Only public non-static members of public classes can be accessed; other
+ * members are reported as not accessible by the accessor. If generated
+ * classes can not be loaded (for example when running under a security
+ * manager that does not allow creating class loaders), generation is
+ * disabled and no accessors are created.
+ *
+ * @since 2.7.10
+ */
+public final class AccessorFactory
+{
+    private final static String PACKAGE_PREFIX = "com.fasterxml.jackson.dataformat.avro.access.gen.Accessor$";
+
+    /**
+     * Flag set if generation has failed in a way that suggests it can not
+     * be done in this environment.
+     */
+    private static volatile boolean _disabled;
+
+    private AccessorFactory() { }
+
+    /**
+     * Method for constructing an accessor for given members of given type.
+     * Members are fields, getter methods (no arguments) or setter methods
+     * (one argument); null entries are allowed.
+     *
+     * @return Accessor for given members, if any of them can be accessed;
+     *    null if none can be (or if accessor generation is not possible)
+     */
+    public static BeanAccessor createAccessor(Class<?> beanType, Member[] members)
+    {
+        if (_disabled || beanType.isInterface() || beanType.isArray() || beanType.isPrimitive()
+                || !_isAccessible(beanType) || (beanType.getClassLoader() == null)) {
+            return null;
+        }
+        final int len = members.length;
+        Class<?>[] types = new Class<?>[len];
+        boolean[] readable = new boolean[len];
+        boolean[] writable = new boolean[len];
+        boolean any = false;
+
+        for (int i = 0; i < len; ++i) {
+            Member m = members[i];
+            if ((m == null) || !Modifier.isPublic(m.getModifiers()) || Modifier.isStatic(m.getModifiers())
+                    || !m.getDeclaringClass().isAssignableFrom(beanType)) {
+                continue;
+            }
+            Class<?> type;
+            if (m instanceof Field) {
+                Field f = (Field) m;
+                type = f.getType();
+                readable[i] = true;
+                writable[i] = !Modifier.isFinal(f.getModifiers()) && _isAccessible(type);
+            } else if (m instanceof Method) {
+                Method method = (Method) m;
+                Class<?>[] params = method.getParameterTypes();
+                if (params.length == 0) {
+                    type = method.getReturnType();
+                    readable[i] = (type != Void.TYPE);
+                } else if (params.length == 1) {
+                    type = params[0];
+                    writable[i] = _isAccessible(type);
+                } else {
+                    continue;
+                }
+            } else {
+                continue;
+            }
+            if (readable[i] || writable[i]) {
+                types[i] = type;
+                any = true;
+            }
+        }
+        if (!any) {
+            return null;
+        }
+        String className = PACKAGE_PREFIX + beanType.getName().replace('.', '_');
+        try {
+            byte[] classBytes = new AccessorClassWriter(className, beanType, members,
+                    types, readable, writable).generate();
+            Class<?> cls = new AccessorLoader(beanType.getClassLoader())
+                    .define(className, classBytes);
+            BeanAccessor accessor = (BeanAccessor) cls.getDeclaredConstructor().newInstance();
+            accessor.init(types, readable, writable);
+            return accessor;
+        } catch (SecurityException e) {
+            _disabled = true;
+        } catch (LinkageError e) {
+            // should not occur, but if it does, just fall back to reflection
+        } catch (Exception e) {
+            // ditto
+        }
+        return null;
+    }
+
+    /**
+     * Method for disabling (or re-enabling) generation of accessors, for
+     * environments in which defining classes at runtime is not allowed
+     * or desired.
+     */
+    public static void setEnabled(boolean state) {
+        _disabled = !state;
+    }
+
+    public static boolean isEnabled() {
+        return !_disabled;
+    }
+
+    /**
+     * Helper method for checking whether given type can be referenced from
+     * a generated class.
+     */
+    static boolean _isAccessible(Class<?> type)
+    {
+        while (type.isArray()) {
+            type = type.getComponentType();
+        }
+        return type.isPrimitive() || Modifier.isPublic(type.getModifiers());
+    }
+
+    /**
+     * Class loader used for loading a single generated accessor class: it
+     * delegates to the loader of the POJO type, except for the accessor
+     * base class which may not be visible to that loader.
+     */
+    private final static class AccessorLoader extends ClassLoader
+    {
+        public AccessorLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException
+        {
+            if (name.equals(BeanAccessor.class.getName())) {
+                return BeanAccessor.class;
+            }
+            return super.loadClass(name, resolve);
+        }
+
+        public Class<?> define(String name, byte[] classBytes) {
+            return defineClass(name, classBytes, 0, classBytes.length);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.fasterxml.jackson.dataformat.avro.access;
+
+/**
+ * Base class for generated classes that access properties (fields, getters,
+ * setters) of a POJO type without reflection: each property is identified
+ * by its index in the array of members given to
+ * {@link AccessorFactory#createAccessor}. Implementations override methods
+ * for kinds of access they support; default implementations throw
+ * {@link IllegalArgumentException}.
+ *<p>
+ * Methods with primitive types are only supported for members of exactly
+ * that type; {@link #getValue} and {@link #setValue} are supported for all
+ * readable and writable members, respectively, with values of primitive
+ * types boxed.
+ *
+ * @since 2.7.10
+ */
+public abstract class BeanAccessor
+{
+    /**
+     * Types of accessible members, by index; null for members that are
+     * not accessible.
+     */
+    Class<?>[] _types;
+
+    /**
+     * Flags for members that may be read (fields, getters)
+     */
+    boolean[] _readable;
+
+    /**
+     * Flags for members that may be written (non-final fields, setters)
+     */
+    boolean[] _writable;
+
+    protected BeanAccessor() { }
+
+    void init(Class<?>[] types, boolean[] readable, boolean[] writable) {
+        _types = types;
+        _readable = readable;
+        _writable = writable;
+    }
+
+    /*
+    /**********************************************************
+    /* Metadata
+    /**********************************************************
+     */
+
+    public boolean canRead(int index) {
+        return _readable[index];
+    }
+
+    public boolean canWrite(int index) {
+        return _writable[index];
+    }
+
+    /**
+     * @return Type of value of the member with given index (return type of
+     *    getter, argument type of setter, or field type)
+     */
+    public Class<?> getValueType(int index) {
+        return _types[index];
+    }
+
+    /*
+    /**********************************************************
+    /* Reading values
+    /**********************************************************
+     */
+
+    public Object getValue(Object bean, int index) {
+        throw _invalidIndex(index);
+    }
+
+    public int getIntValue(Object bean, int index) {
+        throw _invalidIndex(index);
+    }
+
+    public long getLongValue(Object bean, int index) {
+        throw _invalidIndex(index);
+    }
+
+    public float getFloatValue(Object bean, int index) {
+        throw _invalidIndex(index);
+    }
+
+    public double getDoubleValue(Object bean, int index) {
+        throw _invalidIndex(index);
+    }
+
+    public boolean getBooleanValue(Object bean, int index) {
+        throw _invalidIndex(index);
+    }
+
+    /*
+    /**********************************************************
+    /* Writing values
+    /**********************************************************
+     */
+
+    public void setValue(Object bean, int index, Object value) {
+        throw _invalidIndex(index);
+    }
+
+    public void setIntValue(Object bean, int index, int value) {
+        throw _invalidIndex(index);
+    }
+
+    public void setLongValue(Object bean, int index, long value) {
+        throw _invalidIndex(index);
+    }
+
+    public void setFloatValue(Object bean, int index, float value) {
+        throw _invalidIndex(index);
+    }
+
+    public void setDoubleValue(Object bean, int index, double value) {
+        throw _invalidIndex(index);
+    }
+
+    public void setBooleanValue(Object bean, int index, boolean value) {
+        throw _invalidIndex(index);
+    }
+
+    /*
+    /**********************************************************
+    /* Helper methods
+    /**********************************************************
+     */
+
+    /**
+     * Method called (also by generated code) for indexes of members not
+     * supported by the access method called.
+     */
+    public IllegalArgumentException _invalidIndex(int index) {
+        return new IllegalArgumentException("Member #"+index+" not accessible using this method of "
+                +getClass().getName());
+    }
+}
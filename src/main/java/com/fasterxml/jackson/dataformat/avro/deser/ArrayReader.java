@@ -1,9 +1,11 @@
 package com.fasterxml.jackson.dataformat.avro.deser;
 
 import java.io.IOException;
+import java.lang.reflect.Array;
 
 import org.apache.avro.io.BinaryDecoder;
 
+import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.core.JsonToken;
 
 abstract class ArrayReader extends AvroStructureReader
@@ -16,25 +18,82 @@ abstract class ArrayReader extends AvroStructureReader
     protected final BinaryDecoder _decoder;
     protected final AvroParserImpl _parser;
 
+    /**
+     * Skipper for elements, if elements may be skipped without decoding
+     *
+     * @since 2.7.10
+     */
+    protected final AvroSkipper _elementSkipper;
+
     protected int _state;
     protected long _count;
 
     protected String _currentName;
     
     protected ArrayReader(AvroReadContext parent,
-            AvroParserImpl parser, BinaryDecoder decoder)
+            AvroParserImpl parser, BinaryDecoder decoder, AvroSkipper elementSkipper)
     {
         super(parent, TYPE_ARRAY);
         _parser = parser;
         _decoder = decoder;
+        _elementSkipper = elementSkipper;
     }
 
     public static ArrayReader scalar(AvroScalarReader reader) {
-        return new Scalar(reader);
+        return scalar(reader, null);
     }
 
     public static ArrayReader nonScalar(AvroStructureReader reader) {
-        return new NonScalar(reader);
+        return nonScalar(reader, null);
+    }
+
+    /**
+     * @since 2.7.10
+     */
+    public static ArrayReader scalar(AvroScalarReader reader, AvroSkipper elementSkipper) {
+        return new Scalar(reader, elementSkipper);
+    }
+
+    /**
+     * @since 2.7.10
+     */
+    public static ArrayReader nonScalar(AvroStructureReader reader, AvroSkipper elementSkipper) {
+        return new NonScalar(reader, elementSkipper);
+    }
+
+    @Override
+    public void reset() {
+        _state = STATE_START;
+        _index = 0;
+        _count = 0L;
+        _currentName = null;
+        _currToken = null;
+    }
+
+    @Override
+    public JsonToken skipValue() throws IOException
+    {
+        if (_elementSkipper == null) {
+            return null;
+        }
+        switch (_state) {
+        case STATE_ELEMENTS:
+            // First, rest of the current block, if any
+            for (long i = _index; i < _count; ++i) {
+                _elementSkipper.skipValue(_decoder);
+            }
+            // and then rest of blocks: ones with byte size get skipped as is
+            for (long count = _decoder.skipArray(); count > 0L; count = _decoder.skipArray()) {
+                for (long i = 0L; i < count; ++i) {
+                    _elementSkipper.skipValue(_decoder);
+                }
+            }
+            // fall through
+        case STATE_END:
+            return _nextAtEndArray();
+        default:
+        }
+        return null;
     }
 
     @Override
@@ -42,6 +101,23 @@ abstract class ArrayReader extends AvroStructureReader
         nextToken();
         return null;
     }
+
+    protected final JsonToken _nextAtEndArray() throws IOException
+    {
+        final AvroReadContext parent = getParent();
+        // as per [dataformats-binary#38], may need to reset, instead of bailing out
+        if (parent.inRoot()) {
+            if (!_decoder.isEnd()) {
+                _index = 0;
+                _count = 0L;
+                _state = STATE_START;
+                return (_currToken = JsonToken.END_ARRAY);
+            }
+        }
+        _state = STATE_DONE;
+        _parser.setAvroContext(parent);
+        return (_currToken = JsonToken.END_ARRAY);
+    }
     
     @Override
     public String getCurrentName() {
@@ -66,22 +142,28 @@ abstract class ArrayReader extends AvroStructureReader
 
     private final static class Scalar extends ArrayReader
     {
+        /**
+         * Maximum number of elements allocated for, ahead of decoding them,
+         * when reading primitive arrays
+         */
+        private final static int MAX_CHUNK_ELEMENTS = 4096;
+
         private final AvroScalarReader _elementReader;
         
-        public Scalar(AvroScalarReader reader) {
-            this(null, reader, null, null);
+        public Scalar(AvroScalarReader reader, AvroSkipper elementSkipper) {
+            this(null, reader, null, null, elementSkipper);
         }
 
         private Scalar(AvroReadContext parent, AvroScalarReader reader, 
-                AvroParserImpl parser, BinaryDecoder decoder) {
-            super(parent, parser, decoder);
+                AvroParserImpl parser, BinaryDecoder decoder, AvroSkipper elementSkipper) {
+            super(parent, parser, decoder, elementSkipper);
             _elementReader = reader;
         }
         
         @Override
         public Scalar newReader(AvroReadContext parent,
                 AvroParserImpl parser, BinaryDecoder decoder) {
-            return new Scalar(parent, _elementReader, parser, decoder);
+            return new Scalar(parent, _elementReader, parser, decoder, _elementSkipper);
         }
 
         @Override
@@ -89,10 +171,19 @@ abstract class ArrayReader extends AvroStructureReader
         {
             switch (_state) {
             case STATE_START:
+                // root-level value may be missing altogether, if there is no content
+                if (getParent().inRoot() && _decoder.isEnd()) {
+                    _state = STATE_DONE;
+                    _parser.setAvroContext(getParent());
+                    return (_currToken = null);
+                }
                 _parser.setAvroContext(this);
+                // Note: count of the first block is only read when needed, to
+                // allow skipping of the whole array. This works since the first
+                // block is encoded same way as following ones.
                 _index = 0;
-                _count = _decoder.readArrayStart();
-                _state = (_count > 0) ? STATE_ELEMENTS : STATE_END;
+                _count = 0L;
+                _state = STATE_ELEMENTS;
                 return (_currToken = JsonToken.START_ARRAY);
             case STATE_ELEMENTS:
                 if (_index < _count) {
@@ -104,18 +195,7 @@ abstract class ArrayReader extends AvroStructureReader
                 }
                 // otherwise, we are done: fall through
             case STATE_END:
-                final AvroReadContext parent = getParent();
-                // as per [dataformats-binary#38], may need to reset, instead of bailing out
-                if (parent.inRoot()) {
-                    if (!_decoder.isEnd()) {
-                        _index = 0;
-                        _state = STATE_START;
-                        return (_currToken = JsonToken.END_ARRAY);
-                    }
-                }
-                _state = STATE_DONE;
-                _parser.setAvroContext(parent);
-                return (_currToken = JsonToken.END_ARRAY);
+                return _nextAtEndArray();
             case STATE_DONE:
             default:
                 throwIllegalState(_state);
@@ -128,27 +208,84 @@ abstract class ArrayReader extends AvroStructureReader
             _currToken = t;
             return t;
         }
+
+        @Override
+        public Object readPrimitiveArray(Class<?> elementType) throws IOException
+        {
+            // Only supported right after START_ARRAY, and for exact element type
+            if ((_state != STATE_ELEMENTS) || (_count != 0L)
+                    || (_elementReader.valueType() != elementType)) {
+                return null;
+            }
+            Object result = null;
+            int size = 0;
+            long count;
+
+            while ((count = _decoder.arrayNext()) > 0L) {
+                if ((size + count) > Integer.MAX_VALUE) {
+                    throw new JsonParseException(_parser, "Array too long ("+(size + count)
+                            +" elements) to read as a Java array");
+                }
+                // Block count comes from input so can not be trusted for sizing:
+                // elements are decoded in chunks, growing array as they are read,
+                // so that truncated content fails before much is allocated
+                while (count > 0L) {
+                    final int chunk = (int) Math.min(count, MAX_CHUNK_ELEMENTS);
+                    final int newSize = size + chunk;
+                    if (result == null) {
+                        result = Array.newInstance(elementType, newSize);
+                    } else if (newSize > Array.getLength(result)) {
+                        result = _resize(result, elementType, (int) Math.max(newSize,
+                                Math.min(Integer.MAX_VALUE, 2L * size)), size);
+                    }
+                    _elementReader.readValues(_decoder, result, size, chunk);
+                    size = newSize;
+                    count -= chunk;
+                }
+            }
+            if (result == null) {
+                result = Array.newInstance(elementType, 0);
+            } else if (size < Array.getLength(result)) {
+                result = _resize(result, elementType, size, size);
+            }
+            _index = size;
+            _nextAtEndArray();
+            return result;
+        }
+
+        private static Object _resize(Object array, Class<?> elementType, int newLength, int used)
+        {
+            Object result = Array.newInstance(elementType, newLength);
+            System.arraycopy(array, 0, result, 0, used);
+            return result;
+        }
     }
 
     private final static class NonScalar extends ArrayReader
     {
         private final AvroStructureReader _elementReader;
+
+        /**
+         * Reader instance for elements; constructed lazily and reused for
+         * all elements.
+         */
+        private AvroStructureReader _elementInstance;
         
-        public NonScalar(AvroStructureReader reader) {
-            this(null, reader, null, null);
+        public NonScalar(AvroStructureReader reader, AvroSkipper elementSkipper) {
+            this(null, reader, null, null, elementSkipper);
         }
 
         private NonScalar(AvroReadContext parent,
                 AvroStructureReader reader, 
-                AvroParserImpl parser, BinaryDecoder decoder) {
-            super(parent, parser, decoder);
+                AvroParserImpl parser, BinaryDecoder decoder, AvroSkipper elementSkipper) {
+            super(parent, parser, decoder, elementSkipper);
             _elementReader = reader;
         }
         
         @Override
         public NonScalar newReader(AvroReadContext parent,
                 AvroParserImpl parser, BinaryDecoder decoder) {
-            return new NonScalar(parent, _elementReader, parser, decoder);
+            return new NonScalar(parent, _elementReader, parser, decoder, _elementSkipper);
         }
 
         @Override
@@ -156,9 +293,19 @@ abstract class ArrayReader extends AvroStructureReader
         {
             switch (_state) {
             case STATE_START:
+                // root-level value may be missing altogether, if there is no content
+                if (getParent().inRoot() && _decoder.isEnd()) {
+                    _state = STATE_DONE;
+                    _parser.setAvroContext(getParent());
+                    return (_currToken = null);
+                }
                 _parser.setAvroContext(this);
-                _count = _decoder.readArrayStart();
-                _state = (_count > 0) ? STATE_ELEMENTS : STATE_END;
+                // Note: count of the first block is only read when needed, to
+                // allow skipping of the whole array. This works since the first
+                // block is encoded same way as following ones.
+                _index = 0;
+                _count = 0L;
+                _state = STATE_ELEMENTS;
                 return (_currToken = JsonToken.START_ARRAY);
             case STATE_ELEMENTS:
                 if (_index < _count) {
@@ -170,24 +317,19 @@ abstract class ArrayReader extends AvroStructureReader
                 }
                 // otherwise, we are done: fall through
             case STATE_END:
-                final AvroReadContext parent = getParent();
-                // as per [dataformats-binary#38], may need to reset, instead of bailing out
-                if (parent.inRoot()) {
-                    if (!_decoder.isEnd()) {
-                        _index = 0;
-                        _state = STATE_START;
-                        return (_currToken = JsonToken.END_ARRAY);
-                    }
-                }
-                _state = STATE_DONE;
-                _parser.setAvroContext(parent);
-                return (_currToken = JsonToken.END_ARRAY);
+                return _nextAtEndArray();
             case STATE_DONE:
             default:
                 throwIllegalState(_state);
             }
             ++_index;
-            AvroStructureReader r = _elementReader.newReader(this, _parser, _decoder);
+            AvroStructureReader r = _elementInstance;
+            if (r == null) {
+                r = _elementReader.newReader(this, _parser, _decoder);
+                _elementInstance = r;
+            } else {
+                r.reset();
+            }
             _parser.setAvroContext(r);
             return (_currToken = r.nextToken());
         }
@@ -0,0 +1,355 @@
+package com.fasterxml.jackson.dataformat.avro.deser;
+
+import java.io.IOException;
+import java.lang.reflect.Member;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.BeanDeserializer;
+import com.fasterxml.jackson.databind.deser.BeanDeserializerBase;
+import com.fasterxml.jackson.databind.deser.SettableBeanProperty;
+import com.fasterxml.jackson.databind.deser.impl.BeanPropertyMap;
+import com.fasterxml.jackson.databind.deser.impl.FieldProperty;
+import com.fasterxml.jackson.databind.deser.impl.MethodProperty;
+import com.fasterxml.jackson.databind.deser.std.NumberDeserializers;
+import com.fasterxml.jackson.databind.deser.std.StringDeserializer;
+import com.fasterxml.jackson.dataformat.avro.AvroCompiledModule;
+import com.fasterxml.jackson.dataformat.avro.access.AccessorFactory;
+import com.fasterxml.jackson.dataformat.avro.access.BeanAccessor;
+
+/**
+ * {@link BeanDeserializer} variant that binds Avro Records using their
+ * Schema: since fields of a Record have fixed order, properties to set are
+ * resolved once per Schema (into an array indexed by field position), and
+ * values are then read in Schema order, without exposing (or matching)
+ * field names.
+ *<p>
+ * Used only for "vanilla" POJOs (ones constructed with default constructor,
+ * without Object Id, injectables, views or unwrapped properties) when
+ * reading Avro content; for other cases, processing is delegated to the
+ * standard {@link BeanDeserializer} implementation.
+ *<p>
+ * If enabled, simple scalar values (Strings, numbers, booleans) of
+ * properties that are fields or setters are assigned using a generated
+ * {@link BeanAccessor}, instead of reflection.
+ *
+ * @since 2.7.10
+ */
+public class AvroBeanDeserializer extends BeanDeserializer
+{
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Property binding for the most recently read Record type: since a
+     * POJO type is typically read using a single Schema, there is no need
+     * for bigger cache.
+     */
+    protected transient volatile FieldBinding _binding;
+
+    /**
+     * Whether to generate accessors for setting property values, instead
+     * of using reflection.
+     */
+    protected final boolean _generateAccessors;
+
+    /**
+     * Accessor for setting values of properties, along with the properties
+     * it sets; resolved once, when first needed.
+     */
+    protected transient volatile AccessorBinding _accessorBinding;
+
+    public AvroBeanDeserializer(BeanDeserializerBase src) {
+        this(src, AvroCompiledModule.DEFAULT_GENERATE_ACCESSORS);
+    }
+
+    public AvroBeanDeserializer(BeanDeserializerBase src, boolean generateAccessors) {
+        super(src);
+        _generateAccessors = generateAccessors;
+    }
+
+    @Override
+    public BeanDeserializer withIgnorableProperties(HashSet<String> ignorableProps) {
+        return new AvroBeanDeserializer(super.withIgnorableProperties(ignorableProps),
+                _generateAccessors);
+    }
+
+    /*
+    /**********************************************************
+    /* Deserialization
+    /**********************************************************
+     */
+
+    @Override
+    public Object deserialize(JsonParser p, DeserializationContext ctxt) throws IOException
+    {
+        if (_vanillaProcessing && (p instanceof AvroParserImpl)) {
+            AvroParserImpl parser = (AvroParserImpl) p;
+            RecordReader record = parser.startedRecord();
+            if (record != null) {
+                return _deserializeRecord(parser, ctxt, record);
+            }
+        }
+        return super.deserialize(p, ctxt);
+    }
+
+    protected Object _deserializeRecord(AvroParserImpl p, DeserializationContext ctxt,
+            RecordReader record) throws IOException
+    {
+        final Object bean = _valueInstantiator.createUsingDefault(ctxt);
+        p.setCurrentValue(bean);
+        final FieldBinding b = _binding(record);
+        final SettableBeanProperty[] props = b.properties;
+        final int[] kinds = b.kinds;
+        int ix;
+        while ((ix = p.nextFieldValue(record)) >= 0) {
+            final SettableBeanProperty prop = props[ix];
+            if (prop != null) {
+                try {
+                    if ((kinds[ix] == KIND_OTHER)
+                            || !_setDirectly(p, bean, b.accessor, b.accessIndexes[ix], kinds[ix])) {
+                        prop.deserializeAndSet(p, ctxt, bean);
+                    }
+                } catch (Exception e) {
+                    wrapAndThrow(e, bean, prop.getName(), ctxt);
+                }
+                continue;
+            }
+            handleUnknownVanilla(p, ctxt, bean, record.getCurrentName());
+        }
+        // sanity check: should now be at END_OBJECT
+        if (p.getCurrentToken() != JsonToken.END_OBJECT) {
+            ctxt.reportWrongTokenException(p, JsonToken.END_OBJECT, null);
+        }
+        return bean;
+    }
+
+    /**
+     * Helper method for assigning value of the current token using accessor,
+     * if token is of expected type: if not (for example, for nulls), returns
+     * false to let property deserializer handle value.
+     */
+    private final static boolean _setDirectly(AvroParserImpl p, Object bean,
+            BeanAccessor accessor, int index, int kind) throws IOException
+    {
+        final JsonToken t = p.getCurrentToken();
+        switch (kind) {
+        case KIND_STRING:
+            if (t == JsonToken.VALUE_STRING) {
+                accessor.setValue(bean, index, p.getText());
+                return true;
+            }
+            break;
+        case KIND_INT:
+            if (t == JsonToken.VALUE_NUMBER_INT) {
+                accessor.setIntValue(bean, index, p.getIntValue());
+                return true;
+            }
+            break;
+        case KIND_LONG:
+            if (t == JsonToken.VALUE_NUMBER_INT) {
+                accessor.setLongValue(bean, index, p.getLongValue());
+                return true;
+            }
+            break;
+        case KIND_FLOAT:
+            if (t == JsonToken.VALUE_NUMBER_FLOAT) {
+                accessor.setFloatValue(bean, index, p.getFloatValue());
+                return true;
+            }
+            break;
+        case KIND_DOUBLE:
+            if (t == JsonToken.VALUE_NUMBER_FLOAT) {
+                accessor.setDoubleValue(bean, index, p.getDoubleValue());
+                return true;
+            }
+            break;
+        case KIND_BOOLEAN:
+            if (t == JsonToken.VALUE_TRUE) {
+                accessor.setBooleanValue(bean, index, true);
+                return true;
+            }
+            if (t == JsonToken.VALUE_FALSE) {
+                accessor.setBooleanValue(bean, index, false);
+                return true;
+            }
+            break;
+        }
+        return false;
+    }
+
+    protected FieldBinding _binding(RecordReader record)
+    {
+        final AvroFieldWrapper[] fields = record.fieldReaders();
+        FieldBinding b = _binding;
+        if ((b == null) || (b.fields != fields)) {
+            AccessorBinding ab = _accessorBinding();
+            b = new FieldBinding(fields, _beanProperties, ab.accessor, ab.properties);
+            _binding = b;
+        }
+        return b;
+    }
+
+    /**
+     * Method for resolving accessor to use, if any: generated at most once
+     * (since each generated accessor is a new class), and published along
+     * with the properties it was generated for.
+     */
+    protected AccessorBinding _accessorBinding()
+    {
+        AccessorBinding b = _accessorBinding;
+        if (b == null) {
+            synchronized (this) {
+                b = _accessorBinding;
+                if (b == null) {
+                    b = _generateAccessors ? _createAccessorBinding() : AccessorBinding.NONE;
+                    _accessorBinding = b;
+                }
+            }
+        }
+        return b;
+    }
+
+    protected AccessorBinding _createAccessorBinding()
+    {
+        List<SettableBeanProperty> props = new ArrayList<SettableBeanProperty>();
+        for (SettableBeanProperty prop : _beanProperties) {
+            // only plain fields and setters are accessed directly
+            Class<?> cls = prop.getClass();
+            if ((cls == FieldProperty.class) || (cls == MethodProperty.class)) {
+                props.add(prop);
+            }
+        }
+        Member[] members = new Member[props.size()];
+        for (int i = 0; i < members.length; ++i) {
+            members[i] = props.get(i).getMember().getMember();
+        }
+        BeanAccessor accessor = AccessorFactory.createAccessor(handledType(), members);
+        if (accessor == null) {
+            return AccessorBinding.NONE;
+        }
+        return new AccessorBinding(accessor,
+                props.toArray(new SettableBeanProperty[props.size()]));
+    }
+
+    /*
+    /**********************************************************
+    /* Helper types
+    /**********************************************************
+     */
+
+    /**
+     * Kind of value of a property that is assigned directly using accessor
+     * (if any): values of other kinds are deserialized using property
+     * deserializer.
+     */
+    protected final static int KIND_OTHER = 0;
+    protected final static int KIND_STRING = 1;
+    protected final static int KIND_INT = 2;
+    protected final static int KIND_LONG = 3;
+    protected final static int KIND_FLOAT = 4;
+    protected final static int KIND_DOUBLE = 5;
+    protected final static int KIND_BOOLEAN = 6;
+
+    /**
+     * Generated accessor, along with the properties it sets (indexed the
+     * same way as accessor).
+     */
+    protected final static class AccessorBinding
+    {
+        public final static AccessorBinding NONE = new AccessorBinding(null, null);
+
+        public final BeanAccessor accessor;
+
+        public final SettableBeanProperty[] properties;
+
+        public AccessorBinding(BeanAccessor accessor, SettableBeanProperty[] properties) {
+            this.accessor = accessor;
+            this.properties = properties;
+        }
+    }
+
+    /**
+     * Container for properties to set for fields of a Record type, in
+     * the order of fields in encoded content.
+     */
+    protected final static class FieldBinding
+    {
+        public final AvroFieldWrapper[] fields;
+
+        /**
+         * Property for each field; null for fields not known (or skipped)
+         */
+        public final SettableBeanProperty[] properties;
+
+        /**
+         * Kind of value for each field, for values set using {@link #accessor};
+         * {@link #KIND_OTHER} for values set using properties
+         */
+        public final int[] kinds;
+
+        /**
+         * Index of the property for {@link #accessor}, for fields set using it
+         */
+        public final int[] accessIndexes;
+
+        public final BeanAccessor accessor;
+
+        public FieldBinding(AvroFieldWrapper[] fields, BeanPropertyMap beanProps,
+                BeanAccessor accessor, SettableBeanProperty[] accessorProps)
+        {
+            this.fields = fields;
+            this.accessor = accessor;
+            properties = new SettableBeanProperty[fields.length];
+            kinds = new int[fields.length];
+            accessIndexes = new int[fields.length];
+            for (int i = 0; i < fields.length; ++i) {
+                AvroFieldWrapper field = fields[i];
+                if (!field.isSkipped()) {
+                    properties[i] = beanProps.find(field.getName());
+                }
+                accessIndexes[i] = -1;
+                if ((accessor != null) && (properties[i] != null)) {
+                    for (int j = 0; j < accessorProps.length; ++j) {
+                        if ((accessorProps[j] == properties[i]) && accessor.canWrite(j)) {
+                            kinds[i] = _kind(properties[i], accessor.getValueType(j));
+                            accessIndexes[i] = j;
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+
+        private static int _kind(SettableBeanProperty prop, Class<?> type)
+        {
+            if (prop.hasValueTypeDeserializer() || !prop.hasValueDeserializer()) {
+                return KIND_OTHER;
+            }
+            final Class<?> deserClass = prop.getValueDeserializer().getClass();
+            if (deserClass == StringDeserializer.class) {
+                return (type == String.class) ? KIND_STRING : KIND_OTHER;
+            }
+            // Only primitive types: wrappers would need boxing anyway
+            if (type == Integer.TYPE) {
+                return (deserClass == NumberDeserializers.IntegerDeserializer.class) ? KIND_INT : KIND_OTHER;
+            }
+            if (type == Long.TYPE) {
+                return (deserClass == NumberDeserializers.LongDeserializer.class) ? KIND_LONG : KIND_OTHER;
+            }
+            if (type == Float.TYPE) {
+                return (deserClass == NumberDeserializers.FloatDeserializer.class) ? KIND_FLOAT : KIND_OTHER;
+            }
+            if (type == Double.TYPE) {
+                return (deserClass == NumberDeserializers.DoubleDeserializer.class) ? KIND_DOUBLE : KIND_OTHER;
+            }
+            if (type == Boolean.TYPE) {
+                return (deserClass == NumberDeserializers.BooleanDeserializer.class) ? KIND_BOOLEAN : KIND_OTHER;
+            }
+            return KIND_OTHER;
+        }
+    }
+}
@@ -12,20 +12,99 @@ public final class AvroFieldWrapper
     protected final AvroScalarReader _scalarReader;
     protected final AvroStructureReader _structureReader;
 
+    /**
+     * Skipper for skipping the value of this field without decoding it,
+     * if known.
+     *
+     * @since 2.7.10
+     */
+    protected final AvroSkipper _skipper;
+
     public AvroFieldWrapper(String name, AvroScalarReader scalarReader) {
+        this(name, scalarReader, null);
+    }
+
+    public AvroFieldWrapper(String name, AvroStructureReader structureReader) {
+        this(name, structureReader, null);
+    }
+
+    /**
+     * @since 2.7.10
+     */
+    public AvroFieldWrapper(String name, AvroScalarReader scalarReader, AvroSkipper skipper) {
         _name = name;
         _scalarReader = scalarReader;
         _structureReader = null;
+        _skipper = skipper;
     }
 
-    public AvroFieldWrapper(String name, AvroStructureReader structureReader) {
+    /**
+     * @since 2.7.10
+     */
+    public AvroFieldWrapper(String name, AvroStructureReader structureReader, AvroSkipper skipper) {
         _name = name;
         _structureReader = structureReader;
         _scalarReader = null;
+        _skipper = skipper;
+    }
+
+    /**
+     * Constructor for wrapper of a field that is present in the encoded
+     * content but is not to be exposed, and is just skipped.
+     *
+     * @since 2.7.10
+     */
+    public AvroFieldWrapper(String name, AvroSkipper skipper) {
+        _name = name;
+        _skipper = skipper;
+        _scalarReader = null;
+        _structureReader = null;
     }
 
     public String getName() { return _name; }
 
+    /**
+     * Whether this field is only to be skipped, and not exposed at all.
+     *
+     * @since 2.7.10
+     */
+    public boolean isSkipped() {
+        return (_scalarReader == null) && (_structureReader == null);
+    }
+
+    /**
+     * Whether value of this field can be skipped without decoding it.
+     *
+     * @since 2.7.10
+     */
+    public boolean canSkip() { return _skipper != null; }
+
+    /**
+     * Method for skipping value of this field without decoding it; only to
+     * be called if {@link #canSkip()} returns true.
+     *
+     * @since 2.7.10
+     */
+    public void skipValue(BinaryDecoder decoder) throws IOException {
+        _skipper.skipValue(decoder);
+    }
+
+    /**
+     * @since 2.7.10
+     */
+    public boolean isStructured() { return _structureReader != null; }
+
+    /**
+     * Method for constructing reader instance for structured value of this
+     * field; only to be called if {@link #isStructured()} returns true.
+     *
+     * @since 2.7.10
+     */
+    public AvroStructureReader newReader(AvroReadContext parent,
+            AvroParserImpl parser, BinaryDecoder decoder) {
+        return _structureReader.newReader(parent, parser, decoder);
+    }
+
     public JsonToken readValue(AvroReadContext parent,
             AvroParserImpl parser, BinaryDecoder decoder)
         throws IOException
@@ -1,7 +1,9 @@
 package com.fasterxml.jackson.dataformat.avro.deser;
 
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.ByteBuffer;
 
 import org.apache.avro.io.BinaryDecoder;
@@ -10,6 +12,8 @@ import com.fasterxml.jackson.core.*;
 import com.fasterxml.jackson.core.io.IOContext;
 import com.fasterxml.jackson.dataformat.avro.AvroParser;
 import com.fasterxml.jackson.dataformat.avro.AvroSchema;
+import com.fasterxml.jackson.dataformat.avro.SchemaResolver;
+import com.fasterxml.jackson.dataformat.avro.registry.CachingSchemaRegistry;
 
 /**
  * Implementation class that exposes additional internal API
@@ -18,25 +22,136 @@ import com.fasterxml.jackson.dataformat.avro.AvroSchema;
 public class AvroParserImpl extends AvroParser
 {
     protected final static byte[] NO_BYTES = new byte[0];
+
+    /**
+     * Marker for {@link #_binaryPending} to indicate that the current binary
+     * value has been read using {@link #readBinaryValue(Base64Variant, OutputStream)}
+     *
+     * @since 2.7.10
+     */
+    protected final static int BINARY_STREAMED = -1;
     
-    protected final BinaryDecoder _decoder;
+    /**
+     * Decoder used for reading content; set to null once released back
+     * to the pool, when parser is closed.
+     */
+    protected BinaryDecoder _decoder;
 
     protected ByteBuffer _byteBuffer;
 
+    /**
+     * Flag that indicates whether decoder is to be returned to the per-thread
+     * pool when parser is closed
+     *
+     * @since 2.7.10
+     */
+    protected boolean _recycleDecoder;
+
+    /**
+     * If decoding from a byte array, that array: used for exposing binary
+     * values as views, without copying.
+     *
+     * @since 2.7.10
+     */
+    protected byte[] _inputData;
+
+    /**
+     * If decoding from a byte array, end offset of content within
+     * {@link #_inputData}
+     *
+     * @since 2.7.10
+     */
+    protected int _inputDataEnd;
+
+    /**
+     * When decoding from a stream, contents of <code>bytes</code> values are
+     * only read when accessed (or skipped when moving to the next token), so
+     * that they may be streamed with {@link #readBinaryValue(Base64Variant, OutputStream)}:
+     * if so, number of bytes of the current value not yet read.
+     * Set to {@link #BINARY_STREAMED} once value has been streamed.
+     *
+     * @since 2.7.10
+     */
+    protected int _binaryPending;
+
     public AvroParserImpl(IOContext ctxt, int parserFeatures, int avroFeatures,
             ObjectCodec codec, InputStream in)
+    {
+        this(ctxt, parserFeatures, avroFeatures, codec, in, false);
+    }
+
+    /**
+     * @param recycleDecoder Whether to reuse recycled decoder of the current
+     *    thread (if any), and to release decoder for reuse when parser is closed
+     *
+     * @since 2.7.10
+     */
+    public AvroParserImpl(IOContext ctxt, int parserFeatures, int avroFeatures,
+            ObjectCodec codec, InputStream in, boolean recycleDecoder)
     {
         super(ctxt, parserFeatures, avroFeatures, codec, in);
-        _decoder = AvroSchema.decoder(in, isEnabled(Feature.AVRO_BUFFERING));
+        _recycleDecoder = recycleDecoder;
+        _decoder = AvroSchema.decoder(in, isEnabled(Feature.AVRO_BUFFERING),
+                recycleDecoder ? AvroSchema.claimDecoder() : null);
     }
 
     public AvroParserImpl(IOContext ctxt, int parserFeatures, int avroFeatures,
             ObjectCodec codec,
             byte[] data, int offset, int len)
+    {
+        this(ctxt, parserFeatures, avroFeatures, codec, data, offset, len, false);
+    }
+
+    /**
+     * @param recycleDecoder Whether to reuse recycled decoder of the current
+     *    thread (if any), and to release decoder for reuse when parser is closed
+     *
+     * @since 2.7.10
+     */
+    public AvroParserImpl(IOContext ctxt, int parserFeatures, int avroFeatures,
+            ObjectCodec codec,
+            byte[] data, int offset, int len, boolean recycleDecoder)
     {
         super(ctxt, parserFeatures, avroFeatures, codec,
                 data, offset, len);
-        _decoder = AvroSchema.decoder(data, offset, len);
+        _recycleDecoder = recycleDecoder;
+        _decoder = AvroSchema.decoder(data, offset, len,
+                recycleDecoder ? AvroSchema.claimDecoder() : null);
+        _inputData = data;
+        _inputDataEnd = offset + len;
+    }
+
+    /**
+     * Constructor for parser that decodes content directly from given
+     * {@link ByteBuffer}; usually only used for buffers that are not
+     * backed by an accessible array (like direct buffers).
+     * Position of the buffer is not modified.
+     *
+     * @since 2.7.10
+     */
+    public AvroParserImpl(IOContext ctxt, int parserFeatures, int avroFeatures,
+            ObjectCodec codec, ByteBuffer data)
+    {
+        super(ctxt, parserFeatures, avroFeatures, codec, (InputStream) null);
+        _recycleDecoder = false;
+        _decoder = new ByteBufferDecoder(data);
+    }
+
+    /**
+     * Constructor for parser that decodes contents of a file by memory-mapping
+     * it, in windows of specified size, starting at specified offset.
+     * Stream is only used for accessing the file (and closed when parser is
+     * closed), not read from.
+     *
+     * @since 2.7.10
+     */
+    public AvroParserImpl(IOContext ctxt, int parserFeatures, int avroFeatures,
+            ObjectCodec codec, FileInputStream in, long offset, int windowSize)
+        throws IOException
+    {
+        super(ctxt, parserFeatures, avroFeatures, codec, in);
+        _recycleDecoder = false;
+        _decoder = new MappedFileDecoder(in.getChannel(), offset, windowSize);
     }
 
     @Override
@@ -52,6 +167,48 @@ public class AvroParserImpl extends AvroParser
         return this;
     }
     
+    /**
+     * Overridden to make sure that a <code>bytes</code> value not yet read
+     * from the stream remains accessible after closing, similar to the
+     * current String value.
+     *
+     * @since 2.7.10
+     */
+    @Override
+    public void close() throws IOException {
+        if (!_closed && (_binaryPending > 0)) {
+            try {
+                _loadPendingBinary();
+            } finally {
+                _binaryPending = 0;
+                super.close();
+            }
+            return;
+        }
+        super.close();
+    }
+
+    @Override
+    protected void _releaseBuffers() throws IOException {
+        // make sure current String value remains accessible
+        if (_textInBuffer && (_currToken == JsonToken.VALUE_STRING)) {
+            getText();
+        }
+        _textInBuffer = false;
+        super._releaseBuffers();
+        byte[] b = _utf8Buffer;
+        if (b != null) {
+            _utf8Buffer = null;
+            _ioContext.releaseReadIOBuffer(b);
+        }
+        if (_recycleDecoder) {
+            _recycleDecoder = false;
+            AvroSchema.releaseDecoder(_decoder);
+            // may be handed to another parser, so must not be used any more
+            _decoder = null;
+        }
+    }
+
     /*
     /**********************************************************
     /* Abstract method impls
@@ -62,6 +219,9 @@ public class AvroParserImpl extends AvroParser
     public JsonToken nextToken() throws IOException
     {
         _binaryValue = null;
+        if (_binaryPending != 0) {
+            _skipPendingBinary();
+        }
         if (_closed) {
             return null;
         }
@@ -74,12 +234,17 @@ public class AvroParserImpl extends AvroParser
     public String nextFieldName() throws IOException
     {
         _binaryValue = null;
+        if (_binaryPending != 0) {
+            _skipPendingBinary();
+        }
         if (_closed) {
             return null;
         }
-        String name = _avroContext.nextFieldName();
+        // note: context may change, but current token is that of one called
+        final AvroReadContext ctxt = _avroContext;
+        String name = ctxt.nextFieldName();
         if (name == null) {
-            _currToken = _avroContext.getCurrentToken();
+            _currToken = ctxt.getCurrentToken();
             return null;
         }
         _currToken = JsonToken.FIELD_NAME;
@@ -90,30 +255,332 @@ public class AvroParserImpl extends AvroParser
     public boolean nextFieldName(SerializableString sstr) throws IOException
     {
         _binaryValue = null;
+        if (_binaryPending != 0) {
+            _skipPendingBinary();
+        }
         if (_closed) {
             return false;
         }
-        String name = _avroContext.nextFieldName();
+        // note: context may change, but current token is that of one called
+        final AvroReadContext ctxt = _avroContext;
+        String name = ctxt.nextFieldName();
         if (name == null) {
-            _currToken = _avroContext.getCurrentToken();
+            _currToken = ctxt.getCurrentToken();
             return false;
         }
         _currToken = JsonToken.FIELD_NAME;
         return name.equals(sstr.getValue());
     }
 
+    /**
+     * Overridden to skip contents of structured values without decoding them,
+     * using schema-derived skippers (and block sizes, where available), when
+     * possible.
+     *
+     * @since 2.7.10
+     */
+    @Override
+    public JsonParser skipChildren() throws IOException
+    {
+        if (_currToken != JsonToken.START_OBJECT
+                && _currToken != JsonToken.START_ARRAY) {
+            return this;
+        }
+        JsonToken t = _avroContext.skipValue();
+        if (t == null) { // not supported, need to do it the hard way
+            return super.skipChildren();
+        }
+        _binaryValue = null;
+        _currToken = t;
+        return this;
+    }
+
     @Override
     public String nextTextValue() throws IOException {
-        return (nextToken() == JsonToken.VALUE_STRING) ? _textValue : null;
+        return (nextToken() == JsonToken.VALUE_STRING) ? getText() : null;
     }
     
+    /**
+     * Method for reading the header of a value in Avro "single-object encoding"
+     * (marker bytes followed by Schema fingerprint; see
+     * {@link AvroSchema#SINGLE_OBJECT_HEADER_LENGTH}), locating the Schema
+     * using given resolver, and assigning it as the Schema of this parser.
+     * Needs to be called before any tokens are read.
+     *
+     * @return Schema assigned
+     *
+     * @since 2.7.10
+     */
+    public AvroSchema readSingleObjectHeader(SchemaResolver resolver) throws IOException
+    {
+        byte[] header = new byte[AvroSchema.SINGLE_OBJECT_HEADER_LENGTH];
+        _decoder.readFixed(header);
+        if ((header[0] != AvroSchema.SINGLE_OBJECT_MARKER_1)
+                || (header[1] != AvroSchema.SINGLE_OBJECT_MARKER_2)) {
+            _reportError(String.format("Invalid single-object encoding header: expected marker"
+                    +" bytes 0xC3 0x01, got 0x%02X 0x%02X", header[0] & 0xFF, header[1] & 0xFF));
+        }
+        long fp = 0L;
+        for (int i = header.length; --i >= 2; ) {
+            fp = (fp << 8) | (header[i] & 0xFF);
+        }
+        AvroSchema schema = resolver.findSchema(fp);
+        if (schema == null) {
+            _reportError(String.format("No Schema found for fingerprint 0x%016X", fp));
+        }
+        setSchema(schema);
+        return schema;
+    }
+
+    /**
+     * Method for reading the header of a value in "schema id framing" (magic
+     * byte followed by Schema id; see {@link AvroSchema#SCHEMA_ID_HEADER_LENGTH}),
+     * locating the Schema using given registry, and assigning it as the
+     * Schema of this parser.
+     * Needs to be called before any tokens are read.
+     *
+     * @return Schema assigned
+     *
+     * @since 2.7.10
+     */
+    public AvroSchema readSchemaIdHeader(CachingSchemaRegistry registry) throws IOException
+    {
+        byte[] header = new byte[AvroSchema.SCHEMA_ID_HEADER_LENGTH];
+        _decoder.readFixed(header);
+        if (header[0] != AvroSchema.SCHEMA_ID_MAGIC_BYTE) {
+            _reportError(String.format("Invalid schema id header: expected magic byte 0x00, got 0x%02X",
+                    header[0] & 0xFF));
+        }
+        int id = ((header[1] & 0xFF) << 24) | ((header[2] & 0xFF) << 16)
+                | ((header[3] & 0xFF) << 8) | (header[4] & 0xFF);
+        AvroSchema schema = registry.findSchema(id);
+        if (schema == null) {
+            _reportError("No Schema found for id "+id);
+        }
+        setSchema(schema);
+        return schema;
+    }
+
     @Override
     protected void _initSchema(AvroSchema schema) {
         AvroStructureReader reader = schema.getReader();
         RootReader root = new RootReader();
         _avroContext = reader.newReader(root, this, _decoder);
     }
-    
+
+    /**
+     * Overridden to report byte offset of the next byte to decode, when
+     * known: currently only for parsers that decode from a {@link ByteBuffer}
+     * or a memory-mapped file. For the latter, offset is absolute file
+     * offset; and when parser is between root-level values, may be used
+     * as the starting offset for a new parser (to resume decoding).
+     *
+     * @since 2.7.10
+     */
+    @Override
+    public JsonLocation getCurrentLocation()
+    {
+        if (_decoder instanceof ByteBufferDecoder) {
+            return new JsonLocation(_ioContext.getSourceReference(),
+                    ((ByteBufferDecoder) _decoder).getOffset(), -1L, -1, -1);
+        }
+        return super.getCurrentLocation();
+    }
+
+    /*
+    /**********************************************************
+    /* Public API: bulk reading of primitive arrays
+    /**********************************************************
+     */
+
+    /**
+     * Method that may be called when the current token is
+     * {@link JsonToken#START_ARRAY}, to read all elements of the Array
+     * at once, if elements are of type <code>int</code>: if so, elements
+     * are decoded directly (without returning tokens for them), and
+     * {@link JsonToken#END_ARRAY} becomes the current token.
+     *
+     * @return Elements of the Array, if they are of type <code>int</code>;
+     *    null if not (in which case parser state is not changed)
+     *
+     * @since 2.7.10
+     */
+    public int[] readIntArray() throws IOException {
+        return (int[]) _readPrimitiveArray(Integer.TYPE);
+    }
+
+    /**
+     * Method similar to {@link #readIntArray()}, but for Arrays with
+     * <code>long</code> elements (or <code>int</code> elements, if reader
+     * Schema promotes them to <code>long</code>).
+     *
+     * @since 2.7.10
+     */
+    public long[] readLongArray() throws IOException {
+        return (long[]) _readPrimitiveArray(Long.TYPE);
+    }
+
+    /**
+     * Method similar to {@link #readIntArray()}, but for Arrays with
+     * <code>float</code> elements.
+     *
+     * @since 2.7.10
+     */
+    public float[] readFloatArray() throws IOException {
+        return (float[]) _readPrimitiveArray(Float.TYPE);
+    }
+
+    /**
+     * Method similar to {@link #readIntArray()}, but for Arrays with
+     * <code>double</code> elements (or integral elements, if reader
+     * Schema promotes them to <code>double</code>).
+     *
+     * @since 2.7.10
+     */
+    public double[] readDoubleArray() throws IOException {
+        return (double[]) _readPrimitiveArray(Double.TYPE);
+    }
+
+    protected Object _readPrimitiveArray(Class<?> elementType) throws IOException
+    {
+        if (_closed || (_currToken != JsonToken.START_ARRAY)) {
+            return null;
+        }
+        final AvroReadContext ctxt = _avroContext;
+        Object result = ctxt.readPrimitiveArray(elementType);
+        if (result != null) {
+            _binaryValue = null;
+            _currToken = ctxt.getCurrentToken();
+        }
+        return result;
+    }
+
+    /*
+    /**********************************************************
+    /* Binary value access
+    /**********************************************************
+     */
+
+    @Override
+    public Object getEmbeddedObject() throws IOException {
+        if (_binaryPending != 0) {
+            _loadPendingBinary();
+        }
+        return super.getEmbeddedObject();
+    }
+
+    @Override
+    public byte[] getBinaryValue(Base64Variant variant) throws IOException {
+        if (_binaryPending != 0) {
+            _loadPendingBinary();
+        }
+        return super.getBinaryValue(variant);
+    }
+
+    @Override
+    public ByteBuffer getBinaryBuffer() throws IOException {
+        if (_binaryPending != 0) {
+            _loadPendingBinary();
+        }
+        return super.getBinaryBuffer();
+    }
+
+    /**
+     * Overridden to copy contents of <code>bytes</code> values decoded from
+     * a stream in chunks, without reading the whole value in memory. Note
+     * that once streamed, value can not be accessed with other methods.
+     *
+     * @since 2.7.10
+     */
+    @Override
+    public int readBinaryValue(Base64Variant b64variant, OutputStream out) throws IOException
+    {
+        if (_binaryPending == 0) {
+            return super.readBinaryValue(b64variant, out);
+        }
+        if (_binaryPending < 0) {
+            _reportError("Binary value already read with readBinaryValue()");
+        }
+        final int length = _binaryPending;
+        byte[] buf = _ioContext.allocBase64Buffer();
+        try {
+            // keep track of what is left, so it can be skipped if writing fails
+            while (_binaryPending > 0) {
+                int count = Math.min(_binaryPending, buf.length);
+                _decoder.readFixed(buf, 0, count);
+                out.write(buf, 0, count);
+                _binaryPending -= count;
+            }
+        } finally {
+            _ioContext.releaseBase64Buffer(buf);
+        }
+        _binaryPending = BINARY_STREAMED;
+        return length;
+    }
+
+    private void _loadPendingBinary() throws IOException
+    {
+        if (_binaryPending < 0) {
+            _reportError("Binary value already read with readBinaryValue()");
+        }
+        byte[] b = new byte[_binaryPending];
+        _decoder.readFixed(b);
+        _binaryPending = 0;
+        setBytes(b);
+    }
+
+    private void _skipPendingBinary() throws IOException
+    {
+        if (_binaryPending > 0) {
+            _decoder.skipFixed(_binaryPending);
+        }
+        _binaryPending = 0;
+    }
+
+    /*
+    /**********************************************************
+    /* Methods for AvroBeanDeserializer
+    /**********************************************************
+     */
+
+    /**
+     * Accessor for the Record reader, if parser has just returned
+     * {@link JsonToken#START_OBJECT} for a Record value (and not advanced
+     * further); null otherwise.
+     *
+     * @since 2.7.10
+     */
+    protected RecordReader startedRecord()
+    {
+        if ((_currToken == JsonToken.START_OBJECT) && (_avroContext instanceof RecordReader)) {
+            RecordReader r = (RecordReader) _avroContext;
+            if (r.atStart()) {
+                return r;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Method for advancing directly to the value of the next field of given
+     * Record (see {@link #startedRecord}), skipping {@link JsonToken#FIELD_NAME}.
+     *
+     * @return Position of the field (within field readers of the Record); or
+     *   -1 if there are no more fields (and current token is {@link JsonToken#END_OBJECT})
+     *
+     * @since 2.7.10
+     */
+    protected int nextFieldValue(RecordReader record) throws IOException
+    {
+        _binaryValue = null;
+        if (_binaryPending != 0) {
+            _skipPendingBinary();
+        }
+        int ix = record.nextFieldValue();
+        _currToken = record.getCurrentToken();
+        return ix;
+    }
+
     /*
     /**********************************************************
     /* Methods for AvroReadContext implementations
@@ -149,8 +616,72 @@ public class AvroParserImpl extends AvroParser
     protected JsonToken setBytes(byte[] b)
     {
         _binaryValue = b;
+        _binaryBuffer = null;
         return JsonToken.VALUE_EMBEDDED_OBJECT;
     }
+
+    /**
+     * Method called by readers of <code>bytes</code> and <code>fixed</code>
+     * values to decode the value: if input is in memory, value is exposed
+     * as a view onto input (see {@link #getBinaryBuffer()}), otherwise it
+     * is copied into a new <code>byte[]</code>.
+     *
+     * @param length Length of the value for <code>fixed</code>; negative
+     *    for <code>bytes</code>, for which length is decoded first
+     *
+     * @since 2.7.10
+     */
+    protected JsonToken decodeBytes(BinaryDecoder decoder, int length) throws IOException
+    {
+        if (length < 0) {
+            length = decoder.readInt();
+            if (length < 0) {
+                throw new IOException("Malformed data: negative length "+length);
+            }
+        }
+        if (length == 0) {
+            return setBytes(NO_BYTES);
+        }
+        ByteBuffer view = _binaryView(decoder, length);
+        if (view == null) {
+            if ((_input != null) && (decoder == _decoder)) {
+                // decoding from a stream: only read contents when needed
+                _binaryValue = null;
+                _binaryBuffer = null;
+                _binaryPending = length;
+                return JsonToken.VALUE_EMBEDDED_OBJECT;
+            }
+            byte[] b = new byte[length];
+            decoder.readFixed(b);
+            return setBytes(b);
+        }
+        _binaryValue = null;
+        _binaryBuffer = view;
+        return JsonToken.VALUE_EMBEDDED_OBJECT;
+    }
+
+    /**
+     * Helper method for reading next <code>length</code> bytes of input as
+     * a view, if possible.
+     *
+     * @return View of the bytes read; or null if input can not be accessed
+     *    directly (in which case nothing is read)
+     */
+    private ByteBuffer _binaryView(BinaryDecoder decoder, int length) throws IOException
+    {
+        if (decoder instanceof ByteBufferDecoder) {
+            return ((ByteBufferDecoder) decoder).readView(length);
+        }
+        if ((_inputData != null) && (decoder == _decoder)) {
+            // Decoder uses input array as its buffer, so "available" bytes are exactly
+            // bytes that remain
+            int start = _inputDataEnd - decoder.inputStream().available();
+            decoder.skipFixed(length);
+            ByteBuffer bb = ByteBuffer.wrap(_inputData, start, length);
+            return bb.slice();
+        }
+        return null;
+    }
     
     protected JsonToken setNumber(int v) {
         _numberInt = v;
@@ -178,6 +709,34 @@ public class AvroParserImpl extends AvroParser
 
     protected JsonToken setString(String str) {
         _textValue = str;
+        _textInBuffer = false;
+        return JsonToken.VALUE_STRING;
+    }
+
+    /**
+     * Method called to decode a String value: UTF-8 encoded bytes are read
+     * into a reusable buffer, and only decoded into characters (or
+     * {@link String}) when accessed.
+     *
+     * @since 2.7.10
+     */
+    protected JsonToken decodeString(BinaryDecoder decoder) throws IOException
+    {
+        final int len = decoder.readInt();
+        if (len < 0) {
+            _reportError("Invalid String length ("+len+"): can not be negative");
+        }
+        byte[] b = _utf8Buffer;
+        if (b == null) {
+            _utf8Buffer = b = _ioContext.allocReadIOBuffer(len);
+        } else if (b.length < len) {
+            _utf8Buffer = b = new byte[Math.max(len, b.length + (b.length >> 1))];
+        }
+        decoder.readFixed(b, 0, len);
+        _utf8Length = len;
+        _textValue = null;
+        _textInBuffer = true;
+        _textCharsDecoded = false;
         return JsonToken.VALUE_STRING;
     }
 }
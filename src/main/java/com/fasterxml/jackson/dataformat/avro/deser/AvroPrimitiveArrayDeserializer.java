@@ -0,0 +1,76 @@
+package com.fasterxml.jackson.dataformat.avro.deser;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.*;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.deser.std.PrimitiveArrayDeserializers;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+
+/**
+ * Deserializer for primitive arrays (<code>int[]</code>, <code>long[]</code>,
+ * <code>float[]</code> and <code>double[]</code>) that reads Avro Arrays
+ * with elements of matching type in bulk (see
+ * {@link AvroParserImpl#readDoubleArray()}), without per-element tokens.
+ * For other content, delegates to the standard deserializer.
+ *
+ * @since 2.7.10
+ */
+public class AvroPrimitiveArrayDeserializer<T>
+    extends StdDeserializer<T>
+    implements ContextualDeserializer
+{
+    private static final long serialVersionUID = 1L;
+
+    protected final JsonDeserializer<Object> _delegate;
+
+    protected final Class<?> _elementType;
+
+    @SuppressWarnings("unchecked")
+    public AvroPrimitiveArrayDeserializer(Class<T> arrayType) {
+        this(arrayType, (JsonDeserializer<Object>) PrimitiveArrayDeserializers.forType(
+                arrayType.getComponentType()));
+    }
+
+    protected AvroPrimitiveArrayDeserializer(Class<?> arrayType, JsonDeserializer<Object> delegate) {
+        super(arrayType);
+        _delegate = delegate;
+        _elementType = arrayType.getComponentType();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public JsonDeserializer<?> createContextual(DeserializationContext ctxt, BeanProperty property)
+        throws JsonMappingException
+    {
+        JsonDeserializer<?> deser = _delegate;
+        if (deser instanceof ContextualDeserializer) {
+            deser = ((ContextualDeserializer) deser).createContextual(ctxt, property);
+        }
+        if (deser == _delegate) {
+            return this;
+        }
+        return new AvroPrimitiveArrayDeserializer<T>(_valueClass, (JsonDeserializer<Object>) deser);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T deserialize(JsonParser p, DeserializationContext ctxt) throws IOException
+    {
+        if (p instanceof AvroParserImpl) {
+            Object result = ((AvroParserImpl) p)._readPrimitiveArray(_elementType);
+            if (result != null) {
+                return (T) result;
+            }
+        }
+        return (T) _delegate.deserialize(p, ctxt);
+    }
+
+    @Override
+    public Object deserializeWithType(JsonParser p, DeserializationContext ctxt,
+            TypeDeserializer typeDeserializer) throws IOException {
+        return _delegate.deserializeWithType(p, ctxt, typeDeserializer);
+    }
+}
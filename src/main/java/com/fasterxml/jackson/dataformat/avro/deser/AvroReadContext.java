@@ -29,6 +29,34 @@ public abstract class AvroReadContext extends JsonStreamContext
     
     public abstract String nextFieldName() throws IOException;
 
+    /**
+     * Method called to skip the rest of contents of the structured value this
+     * context represents, right after its start marker has been returned:
+     * if skipping is supported, will skip contents without decoding them,
+     * and return the end marker; if not, will return null and caller needs
+     * to skip contents token by token.
+     *
+     * @since 2.7.10
+     */
+    public JsonToken skipValue() throws IOException {
+        return null;
+    }
+
+    /**
+     * Method called to read all elements of the Array value this context
+     * represents, right after its start marker has been returned, into a
+     * primitive array with given element type (one of <code>int</code>,
+     * <code>long</code>, <code>float</code> and <code>double</code>):
+     * if elements are of that type, will decode them in bulk, return the
+     * array and make the end marker the current token; if not, will return
+     * null without reading anything.
+     *
+     * @since 2.7.10
+     */
+    public Object readPrimitiveArray(Class<?> elementType) throws IOException {
+        return null;
+    }
+
     /*
     /**********************************************************************
     /* Accessors
@@ -38,6 +66,15 @@ public abstract class AvroReadContext extends JsonStreamContext
     @Override
     public String getCurrentName() { return null; }
 
+    /**
+     * Accessor for index of the current field within Record Schema (that is,
+     * <code>Schema.Field.pos()</code>), if this context is for a Record and
+     * is positioned at a field; -1 otherwise.
+     *
+     * @since 2.7.10
+     */
+    public int getCurrentFieldIndex() { return -1; }
+
     public abstract JsonToken getCurrentToken();
     
     @Override
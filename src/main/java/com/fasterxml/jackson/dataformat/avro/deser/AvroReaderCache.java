@@ -0,0 +1,196 @@
+package com.fasterxml.jackson.dataformat.avro.deser;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaNormalization;
+
+/**
+ * Bounded, thread-safe cache of "blue print" {@link AvroStructureReader}s,
+ * keyed by the CRC-64-AVRO fingerprint of Parsing Canonical Form of the
+ * Schema (see {@link SchemaNormalization#parsingFingerprint64}).
+ * This allows sharing of reader trees between separately parsed, but
+ * equivalent, Schema instances: for example ones read from message headers.
+ *<p>
+ * Eviction is similar to that of databind <code>LRUMap</code>: when the
+ * maximum size is reached, all entries are flushed. This is crude but
+ * keeps lookups lock-free; and since readers are cached per
+ * {@link com.fasterxml.jackson.dataformat.avro.AvroSchema} instance as well,
+ * lookups are not in the hot path of decoding.
+ *
+ * @since 2.7.10
+ */
+public class AvroReaderCache
+{
+    public final static int DEFAULT_MAX_ENTRIES = 500;
+
+    private final static AvroReaderCache SHARED = new AvroReaderCache(DEFAULT_MAX_ENTRIES);
+
+    protected final int _maxEntries;
+
+    /**
+     * Cached readers: keys are either {@link Long}s (fingerprints of single
+     * Schemas), or {@link ResolvingKey}s for writer/reader Schema pairs.
+     */
+    protected final ConcurrentHashMap<Object, AvroStructureReader> _readers;
+
+    protected final AtomicLong _hits = new AtomicLong();
+
+    protected final AtomicLong _misses = new AtomicLong();
+
+    protected final AtomicLong _evictions = new AtomicLong();
+
+    public AvroReaderCache(int maxEntries)
+    {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Maximum number of entries must be positive; got "+maxEntries);
+        }
+        _maxEntries = maxEntries;
+        _readers = new ConcurrentHashMap<Object, AvroStructureReader>(Math.min(16, maxEntries), 0.8f, 4);
+    }
+
+    /**
+     * Accessor for the process-wide cache instance used by
+     * {@link com.fasterxml.jackson.dataformat.avro.AvroSchema#getReader()}.
+     */
+    public static AvroReaderCache sharedInstance() {
+        return SHARED;
+    }
+
+    /*
+    /**********************************************************************
+    /* Public API
+    /**********************************************************************
+     */
+
+    /**
+     * Method for locating reader for given Schema, if one has been created
+     * for an equivalent Schema; or, if not, creating and caching one.
+     */
+    public AvroStructureReader findReader(Schema schema)
+    {
+        final Long key = SchemaNormalization.parsingFingerprint64(schema);
+        AvroStructureReader reader = _readers.get(key);
+        if (reader != null) {
+            _hits.incrementAndGet();
+            return reader;
+        }
+        _misses.incrementAndGet();
+        return _add(key, new AvroReaderFactory().createReader(schema));
+    }
+
+    /**
+     * Method for locating resolving reader for given writer and reader Schema
+     * pair (see {@link AvroReaderFactory#createReader(Schema, Schema)});
+     * or, if none yet cached, creating and caching one.
+     */
+    public AvroStructureReader findReader(Schema writerSchema, Schema readerSchema)
+    {
+        // Note: reader schema default values matter, so can not use canonical form
+        // for it; writer schema only needs to match on names and types, however
+        final ResolvingKey key = new ResolvingKey(SchemaNormalization.parsingFingerprint64(writerSchema),
+                _fullFingerprint(readerSchema));
+        AvroStructureReader reader = _readers.get(key);
+        if (reader != null) {
+            _hits.incrementAndGet();
+            return reader;
+        }
+        _misses.incrementAndGet();
+        return _add(key, new AvroReaderFactory().createReader(writerSchema, readerSchema));
+    }
+
+    protected AvroStructureReader _add(Object key, AvroStructureReader reader)
+    {
+        if (_readers.size() >= _maxEntries) {
+            synchronized (this) {
+                if (_readers.size() >= _maxEntries) {
+                    _evictions.addAndGet(_readers.size());
+                    _readers.clear();
+                }
+            }
+        }
+        // Another thread may have beaten us to it; if so, use its instance
+        AvroStructureReader old = _readers.putIfAbsent(key, reader);
+        return (old == null) ? reader : old;
+    }
+
+    /**
+     * Method for removing all cached readers; statistics are not reset.
+     */
+    public void clear() {
+        _readers.clear();
+    }
+
+    /*
+    /**********************************************************************
+    /* Statistics
+    /**********************************************************************
+     */
+
+    public int size() { return _readers.size(); }
+
+    public int getMaxEntries() { return _maxEntries; }
+
+    /**
+     * Number of lookups that found an existing reader.
+     */
+    public long getHitCount() { return _hits.get(); }
+
+    /**
+     * Number of lookups that had to create a new reader.
+     */
+    public long getMissCount() { return _misses.get(); }
+
+    /**
+     * Number of entries flushed due to cache becoming full.
+     */
+    public long getEvictionCount() { return _evictions.get(); }
+
+    /*
+    /**********************************************************************
+    /* Helper methods, classes
+    /**********************************************************************
+     */
+
+    private static long _fullFingerprint(Schema schema) {
+        try {
+            return SchemaNormalization.fingerprint64(schema.toString().getBytes("UTF-8"));
+        } catch (java.io.UnsupportedEncodingException e) { // never occurs
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Key used for resolving readers: combination of fingerprints of
+     * writer and reader Schemas.
+     */
+    protected final static class ResolvingKey
+    {
+        private final long _writer, _reader;
+
+        public ResolvingKey(long writer, long reader) {
+            _writer = writer;
+            _reader = reader;
+        }
+
+        @Override
+        public int hashCode() {
+            return (int) (_writer ^ (_writer >>> 32)) * 31 + (int) (_reader ^ (_reader >>> 32));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o == this) return true;
+            if ((o == null) || (o.getClass() != getClass())) return false;
+            ResolvingKey other = (ResolvingKey) o;
+            return (_writer == other._writer) && (_reader == other._reader);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("{AvroReaderCache: size=%d/%d, hits=%d, misses=%d, evictions=%d}",
+                size(), _maxEntries, getHitCount(), getMissCount(), getEvictionCount());
+    }
+}
@@ -4,7 +4,12 @@ import java.util.*;
 
 import org.apache.avro.Schema;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.dataformat.avro.deser.AvroScalarReader.*;
+import com.fasterxml.jackson.dataformat.avro.deser.AvroSkipper.*;
 
 public class AvroReaderFactory
 {
@@ -17,12 +22,37 @@ public class AvroReaderFactory
     protected final static AvroScalarReader DECODER_NULL = new NullReader();
     protected final static AvroScalarReader DECODER_STRING = new StringReader();
 
+    protected final static AvroScalarReader DECODER_INT_AS_LONG = new IntAsLongReader();
+    protected final static AvroScalarReader DECODER_LONG_AS_DOUBLE = new LongAsDoubleReader();
+
+    protected final static AvroSkipper SKIP_NULL = new NullSkipper();
+    protected final static AvroSkipper SKIP_BOOLEAN = new BooleanSkipper();
+    protected final static AvroSkipper SKIP_VARINT = new VarIntSkipper();
+    protected final static AvroSkipper SKIP_FLOAT = new FixedSkipper(4);
+    protected final static AvroSkipper SKIP_DOUBLE = new FixedSkipper(8);
+    protected final static AvroSkipper SKIP_BYTES = new BytesSkipper();
+
     /**
      * To resolve cyclic types, need to keep track of resolved named
      * types.
      */
     protected final TreeMap<String, AvroStructureReader> _knownReaders
         = new TreeMap<String, AvroStructureReader>();
+
+    /**
+     * Resolved named types for resolving readers, keyed by combination of
+     * writer and reader type names.
+     *
+     * @since 2.7.10
+     */
+    protected final TreeMap<String, AvroStructureReader> _knownResolvingReaders
+        = new TreeMap<String, AvroStructureReader>();
+
+    /**
+     * @since 2.7.10
+     */
+    protected final TreeMap<String, AvroSkipper> _knownSkippers
+        = new TreeMap<String, AvroSkipper>();
     
     /*
     /**********************************************************************
@@ -104,6 +134,166 @@ public class AvroReaderFactory
         throw new IllegalStateException("Unrecognized Avro Schema type: "+type.getType());
     }
     
+    /**
+     * Method for creating a reader instance for reading content written
+     * using <code>writerSchema</code>, exposed as specified by
+     * <code>readerSchema</code>, following Avro schema resolution rules:
+     * fields not in reader schema are skipped, fields missing from writer
+     * schema are exposed using default values, and numeric values are promoted
+     * as necessary. Fields are exposed in the writer schema order, followed
+     * by defaulted ones.
+     *<p>
+     * Caller is expected to have verified that schemas are compatible,
+     * and to have applied aliases of reader schema to writer schema.
+     *
+     * @since 2.7.10
+     */
+    public AvroStructureReader createReader(Schema writerSchema, Schema readerSchema)
+    {
+        if (writerSchema.getType() == Schema.Type.UNION) {
+            return createUnionReader(writerSchema, readerSchema);
+        }
+        if (readerSchema.getType() == Schema.Type.UNION) {
+            Schema match = _findUnionMember(writerSchema, readerSchema);
+            if (match == null) {
+                return createReader(writerSchema);
+            }
+            readerSchema = match;
+        }
+        AvroStructureReader reader = _knownResolvingReaders.get(_typeName(writerSchema, readerSchema));
+        if (reader != null) {
+            return reader;
+        }
+        switch (writerSchema.getType()) {
+        case ARRAY:
+            return createArrayReader(writerSchema, readerSchema);
+        case MAP:
+            return createMapReader(writerSchema, readerSchema);
+        case RECORD:
+            return createRecordReader(writerSchema, readerSchema);
+        default:
+            return new ScalarReaderWrapper(createDecoder(writerSchema, readerSchema));
+        }
+    }
+
+    /**
+     * Method for creating resolving scalar decoder, if both schemas are
+     * scalar types; or, if not, returning null.
+     *
+     * @since 2.7.10
+     */
+    public AvroScalarReader createDecoder(Schema writerSchema, Schema readerSchema)
+    {
+        final Schema.Type type = writerSchema.getType();
+        if (type == Schema.Type.UNION) {
+            List<Schema> types = writerSchema.getTypes();
+            AvroScalarReader[] readers = new AvroScalarReader[types.size()];
+            int i = 0;
+            for (Schema schema : types) {
+                AvroScalarReader reader = createDecoder(schema, readerSchema);
+                if (reader == null) {
+                    return null;
+                }
+                readers[i++] = reader;
+            }
+            return new ScalarUnionReader(readers);
+        }
+        if (readerSchema.getType() == Schema.Type.UNION) {
+            Schema match = _findUnionMember(writerSchema, readerSchema);
+            // If there's no match, no resolution to do (and an error if such
+            // value is encountered), so just expose as is
+            if (match == null) {
+                return createDecoder(writerSchema);
+            }
+            readerSchema = match;
+        }
+        switch (type) {
+        case INT:
+            switch (readerSchema.getType()) {
+            case LONG:
+                return DECODER_INT_AS_LONG;
+            case FLOAT:
+            case DOUBLE:
+                return DECODER_LONG_AS_DOUBLE;
+            default:
+            }
+            break;
+        case LONG:
+            switch (readerSchema.getType()) {
+            case FLOAT:
+            case DOUBLE:
+                return DECODER_LONG_AS_DOUBLE;
+            default:
+            }
+            break;
+        // float to double needs no handling: all floating-point values
+        // are exposed as doubles anyway
+        // Similarly, enum symbols are exposed as Strings, so reader
+        // will see them as expected.
+        default:
+        }
+        return createDecoder(writerSchema);
+    }
+
+    /**
+     * Method for creating a skipper that can skip values of given type.
+     *
+     * @since 2.7.10
+     */
+    public AvroSkipper createSkipper(Schema schema)
+    {
+        switch (schema.getType()) {
+        case NULL:
+            return SKIP_NULL;
+        case BOOLEAN:
+            return SKIP_BOOLEAN;
+        case INT:
+        case LONG:
+        case ENUM:
+            return SKIP_VARINT;
+        case FLOAT:
+            return SKIP_FLOAT;
+        case DOUBLE:
+            return SKIP_DOUBLE;
+        case BYTES:
+        case STRING:
+            return SKIP_BYTES;
+        case FIXED:
+            return new FixedSkipper(schema.getFixedSize());
+        case ARRAY:
+            return new ArraySkipper(createSkipper(schema.getElementType()));
+        case MAP:
+            return new MapSkipper(createSkipper(schema.getValueType()));
+        case UNION:
+            {
+                List<Schema> types = schema.getTypes();
+                AvroSkipper[] skippers = new AvroSkipper[types.size()];
+                int i = 0;
+                for (Schema type : types) {
+                    skippers[i++] = createSkipper(type);
+                }
+                return new UnionSkipper(skippers);
+            }
+        case RECORD:
+            {
+                final String name = _typeName(schema);
+                AvroSkipper skipper = _knownSkippers.get(name);
+                if (skipper == null) {
+                    final List<Schema.Field> fields = schema.getFields();
+                    AvroSkipper[] fieldSkippers = new AvroSkipper[fields.size()];
+                    skipper = new RecordSkipper(fieldSkippers);
+                    _knownSkippers.put(name, skipper);
+                    int i = 0;
+                    for (Schema.Field field : fields) {
+                        fieldSkippers[i++] = createSkipper(field.schema());
+                    }
+                }
+                return skipper;
+            }
+        }
+        throw new IllegalStateException("Unrecognized Avro Schema type: "+schema.getType());
+    }
+
     /*
     /**********************************************************************
     /* Internal methods
@@ -115,9 +305,9 @@ public class AvroReaderFactory
         Schema elementType = schema.getElementType();
         AvroScalarReader scalar = createDecoder(elementType);
         if (scalar != null) {
-            return ArrayReader.scalar(scalar);
+            return ArrayReader.scalar(scalar, createSkipper(elementType));
         }
-        return ArrayReader.nonScalar(createReader(elementType));
+        return ArrayReader.nonScalar(createReader(elementType), createSkipper(elementType));
     }
 
     private AvroStructureReader createMapReader(Schema schema)
@@ -125,9 +315,9 @@ public class AvroReaderFactory
         Schema elementType = schema.getValueType();
         AvroScalarReader dec = createDecoder(elementType);
         if (dec != null) {
-            return new MapReader(dec);
+            return new MapReader(dec, createSkipper(elementType));
         }
-        return new MapReader(createReader(elementType));
+        return new MapReader(createReader(elementType), createSkipper(elementType));
     }
 
     private AvroStructureReader createRecordReader(Schema schema)
@@ -154,6 +344,218 @@ public class AvroReaderFactory
         return new UnionReader(typeReaders);
     }
 
+    private AvroStructureReader createArrayReader(Schema writerSchema, Schema readerSchema)
+    {
+        Schema writerElement = writerSchema.getElementType();
+        Schema readerElement = readerSchema.getElementType();
+        AvroScalarReader scalar = createDecoder(writerElement, readerElement);
+        if (scalar != null) {
+            return ArrayReader.scalar(scalar, createSkipper(writerElement));
+        }
+        return ArrayReader.nonScalar(createReader(writerElement, readerElement),
+                createSkipper(writerElement));
+    }
+
+    private AvroStructureReader createMapReader(Schema writerSchema, Schema readerSchema)
+    {
+        Schema writerValue = writerSchema.getValueType();
+        Schema readerValue = readerSchema.getValueType();
+        AvroScalarReader dec = createDecoder(writerValue, readerValue);
+        if (dec != null) {
+            return new MapReader(dec, createSkipper(writerValue));
+        }
+        return new MapReader(createReader(writerValue, readerValue), createSkipper(writerValue));
+    }
+
+    private AvroStructureReader createRecordReader(Schema writerSchema, Schema readerSchema)
+    {
+        final List<Schema.Field> writerFields = writerSchema.getFields();
+        // First: find fields reader has but writer does not (need defaults)
+        List<Schema.Field> defaulted = new ArrayList<Schema.Field>();
+        for (Schema.Field field : readerSchema.getFields()) {
+            if (writerSchema.getField(field.name()) == null) {
+                defaulted.add(field);
+            }
+        }
+        AvroFieldWrapper[] fieldReaders = new AvroFieldWrapper[writerFields.size() + defaulted.size()];
+        int[] fieldIndexes = new int[fieldReaders.length];
+        RecordReader reader = new RecordReader(fieldReaders, fieldIndexes);
+        _knownResolvingReaders.put(_typeName(writerSchema, readerSchema), reader);
+        int i = 0;
+        for (Schema.Field writerField : writerFields) {
+            Schema.Field readerField = readerSchema.getField(writerField.name());
+            if (readerField == null) { // not in reader schema; skip
+                fieldIndexes[i] = -1;
+                fieldReaders[i++] = new AvroFieldWrapper(writerField.name(),
+                        createSkipper(writerField.schema()));
+            } else {
+                fieldIndexes[i] = readerField.pos();
+                fieldReaders[i++] = createFieldReader(readerField.name(),
+                        writerField.schema(), readerField.schema());
+            }
+        }
+        for (Schema.Field field : defaulted) {
+            // nothing to skip for defaulted fields
+            fieldIndexes[i] = field.pos();
+            fieldReaders[i++] = new AvroFieldWrapper(field.name(),
+                    new DefaultValueReader(_defaultValue(field)), SKIP_NULL);
+        }
+        return reader;
+    }
+
+    private AvroStructureReader createUnionReader(Schema writerSchema, Schema readerSchema)
+    {
+        final List<Schema> types = writerSchema.getTypes();
+        AvroStructureReader[] typeReaders = new AvroStructureReader[types.size()];
+        int i = 0;
+        for (Schema type : types) {
+            typeReaders[i++] = createReader(type, readerSchema);
+        }
+        return new UnionReader(typeReaders);
+    }
+
+    private AvroFieldWrapper createFieldReader(String name, Schema writerType, Schema readerType)
+    {
+        AvroScalarReader scalar = createDecoder(writerType, readerType);
+        if (scalar != null) {
+            return new AvroFieldWrapper(name, scalar, createSkipper(writerType));
+        }
+        return new AvroFieldWrapper(name, createReader(writerType, readerType),
+                createSkipper(writerType));
+    }
+
+    /**
+     * Helper method for finding the member of reader union that value of
+     * writer type is to be resolved to: first one that matches exactly, or,
+     * if none does, the first one that writer type may be promoted to.
+     */
+    private Schema _findUnionMember(Schema writerType, Schema readerUnion)
+    {
+        final Schema.Type type = writerType.getType();
+        List<Schema> members = readerUnion.getTypes();
+        for (Schema member : members) {
+            if (member.getType() == type) {
+                switch (type) {
+                case RECORD:
+                case ENUM:
+                case FIXED:
+                    if (!_typeName(member).equals(_typeName(writerType))) {
+                        continue;
+                    }
+                default:
+                }
+                return member;
+            }
+        }
+        for (Schema member : members) {
+            switch (member.getType()) {
+            case LONG:
+                if (type == Schema.Type.INT) {
+                    return member;
+                }
+                break;
+            case FLOAT:
+            case DOUBLE:
+                if ((type == Schema.Type.INT) || (type == Schema.Type.LONG)
+                        || (type == Schema.Type.FLOAT)) {
+                    return member;
+                }
+                break;
+            default:
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Helper method for converting default value of given field (which Avro
+     * exposes as a Jackson 1.x tree) into a Jackson 2.x tree that can be
+     * exposed as tokens: mostly a 1-to-1 conversion, except that binary values
+     * (that Avro encodes as ISO-8859-1 Strings) are converted to actual
+     * binary nodes.
+     */
+    private JsonNode _defaultValue(Schema.Field field)
+    {
+        org.codehaus.jackson.JsonNode raw = field.defaultValue();
+        if (raw == null) {
+            throw new IllegalArgumentException("No default value for field '"+field.name()
+                    +"', missing from writer schema");
+        }
+        return _convertDefault(field.schema(), raw);
+    }
+
+    private JsonNode _convertDefault(Schema type, org.codehaus.jackson.JsonNode value)
+    {
+        final JsonNodeFactory nodes = JsonNodeFactory.instance;
+        switch (type.getType()) {
+        case UNION: // default must be of the first type
+            return _convertDefault(type.getTypes().get(0), value);
+        case BYTES:
+        case FIXED:
+            if (value.isTextual()) {
+                try {
+                    return nodes.binaryNode(value.getTextValue().getBytes("ISO-8859-1"));
+                } catch (java.io.UnsupportedEncodingException e) { // never occurs
+                    throw new IllegalStateException(e);
+                }
+            }
+            break;
+        case ARRAY:
+            if (value.isArray()) {
+                ArrayNode arr = nodes.arrayNode();
+                for (org.codehaus.jackson.JsonNode element : value) {
+                    arr.add(_convertDefault(type.getElementType(), element));
+                }
+                return arr;
+            }
+            break;
+        case MAP:
+            if (value.isObject()) {
+                ObjectNode ob = nodes.objectNode();
+                Iterator<Map.Entry<String, org.codehaus.jackson.JsonNode>> it = value.getFields();
+                while (it.hasNext()) {
+                    Map.Entry<String, org.codehaus.jackson.JsonNode> entry = it.next();
+                    ob.set(entry.getKey(), _convertDefault(type.getValueType(), entry.getValue()));
+                }
+                return ob;
+            }
+            break;
+        case RECORD:
+            if (value.isObject()) {
+                ObjectNode ob = nodes.objectNode();
+                for (Schema.Field field : type.getFields()) {
+                    org.codehaus.jackson.JsonNode fieldValue = value.get(field.name());
+                    if (fieldValue == null) {
+                        fieldValue = field.defaultValue();
+                    }
+                    if (fieldValue != null) {
+                        ob.set(field.name(), _convertDefault(field.schema(), fieldValue));
+                    }
+                }
+                return ob;
+            }
+            break;
+        default:
+        }
+        // Otherwise a scalar of some type
+        if (value.isTextual()) {
+            return nodes.textNode(value.getTextValue());
+        }
+        if (value.isBoolean()) {
+            return nodes.booleanNode(value.getBooleanValue());
+        }
+        if (value.isIntegralNumber()) {
+            if (value.isInt()) {
+                return nodes.numberNode(value.getIntValue());
+            }
+            return nodes.numberNode(value.getLongValue());
+        }
+        if (value.isNumber()) {
+            return nodes.numberNode(value.getDoubleValue());
+        }
+        return nodes.nullNode();
+    }
+
     private AvroFieldWrapper createFieldReader(Schema.Field field) {
         return createFieldReader(field.name(), field.schema());
     }
@@ -162,12 +564,16 @@ public class AvroReaderFactory
     {
         AvroScalarReader scalar = createDecoder(type);
         if (scalar != null) {
-            return new AvroFieldWrapper(name, scalar);
+            return new AvroFieldWrapper(name, scalar, createSkipper(type));
         }
-        return new AvroFieldWrapper(name, createReader(type));
+        return new AvroFieldWrapper(name, createReader(type), createSkipper(type));
     }
 
     private String _typeName(Schema schema) {
         return schema.getFullName();
     }
+
+    private String _typeName(Schema writerSchema, Schema readerSchema) {
+        return _typeName(writerSchema)+"/"+_typeName(readerSchema);
+    }
 }
@@ -1,7 +1,6 @@
 package com.fasterxml.jackson.dataformat.avro.deser;
 
 import java.io.IOException;
-import java.nio.ByteBuffer;
 import java.util.List;
 
 import com.fasterxml.jackson.core.JsonParseException;
@@ -20,6 +19,28 @@ public abstract class AvroScalarReader
     protected abstract JsonToken readValue(AvroParserImpl parser, BinaryDecoder decoder)
         throws IOException;
 
+    /**
+     * Accessor for the primitive type of values this reader decodes, if any:
+     * if non-null, multiple values may be decoded at once using
+     * {@link #readValues}.
+     *
+     * @since 2.7.10
+     */
+    protected Class<?> valueType() {
+        return null;
+    }
+
+    /**
+     * Method for decoding given number of values into given primitive array,
+     * which is of type that matches {@link #valueType()}.
+     *
+     * @since 2.7.10
+     */
+    protected void readValues(BinaryDecoder decoder, Object array, int offset, int count)
+        throws IOException {
+        throw new UnsupportedOperationException();
+    }
+
     /*
     /**********************************************************************
     /* Scalar lead value decoder implementations
@@ -59,9 +80,7 @@ public abstract class AvroScalarReader
     {
         @Override
         public JsonToken readValue(AvroParserImpl parser, BinaryDecoder decoder) throws IOException {
-            ByteBuffer bb = parser.borrowByteBuffer();
-            bb = decoder.readBytes(bb);
-            return parser.setBytes(bb);
+            return parser.decodeBytes(decoder, -1);
         }
     }
 
@@ -71,6 +90,18 @@ public abstract class AvroScalarReader
         public JsonToken readValue(AvroParserImpl parser, BinaryDecoder decoder) throws IOException {
             return parser.setNumber(decoder.readDouble());
         }
+
+        @Override
+        protected Class<?> valueType() { return Double.TYPE; }
+
+        @Override
+        protected void readValues(BinaryDecoder decoder, Object array, int offset, int count)
+            throws IOException {
+            final double[] values = (double[]) array;
+            for (int end = offset + count; offset < end; ++offset) {
+                values[offset] = decoder.readDouble();
+            }
+        }
     }
     
     protected final static class FloatReader extends AvroScalarReader {
@@ -78,6 +109,18 @@ public abstract class AvroScalarReader
         public JsonToken readValue(AvroParserImpl parser, BinaryDecoder decoder) throws IOException {
             return parser.setNumber(decoder.readFloat());
         }
+
+        @Override
+        protected Class<?> valueType() { return Float.TYPE; }
+
+        @Override
+        protected void readValues(BinaryDecoder decoder, Object array, int offset, int count)
+            throws IOException {
+            final float[] values = (float[]) array;
+            for (int end = offset + count; offset < end; ++offset) {
+                values[offset] = decoder.readFloat();
+            }
+        }
     }
     
     protected final static class IntReader extends AvroScalarReader
@@ -86,6 +129,18 @@ public abstract class AvroScalarReader
         public JsonToken readValue(AvroParserImpl parser, BinaryDecoder decoder) throws IOException {
             return parser.setNumber(decoder.readInt());
         }
+
+        @Override
+        protected Class<?> valueType() { return Integer.TYPE; }
+
+        @Override
+        protected void readValues(BinaryDecoder decoder, Object array, int offset, int count)
+            throws IOException {
+            final int[] values = (int[]) array;
+            for (int end = offset + count; offset < end; ++offset) {
+                values[offset] = decoder.readInt();
+            }
+        }
     }
     
     protected final static class LongReader extends AvroScalarReader
@@ -94,8 +149,73 @@ public abstract class AvroScalarReader
         public JsonToken readValue(AvroParserImpl parser, BinaryDecoder decoder) throws IOException {
             return parser.setNumber(decoder.readLong());
         }
+
+        @Override
+        protected Class<?> valueType() { return Long.TYPE; }
+
+        @Override
+        protected void readValues(BinaryDecoder decoder, Object array, int offset, int count)
+            throws IOException {
+            final long[] values = (long[]) array;
+            for (int end = offset + count; offset < end; ++offset) {
+                values[offset] = decoder.readLong();
+            }
+        }
     }
     
+    /**
+     * Reader used when writer schema has <code>int</code> but reader schema
+     * <code>long</code>.
+     *
+     * @since 2.7.10
+     */
+    protected final static class IntAsLongReader extends AvroScalarReader
+    {
+        @Override
+        public JsonToken readValue(AvroParserImpl parser, BinaryDecoder decoder) throws IOException {
+            return parser.setNumber((long) decoder.readInt());
+        }
+
+        @Override
+        protected Class<?> valueType() { return Long.TYPE; }
+
+        @Override
+        protected void readValues(BinaryDecoder decoder, Object array, int offset, int count)
+            throws IOException {
+            final long[] values = (long[]) array;
+            for (int end = offset + count; offset < end; ++offset) {
+                values[offset] = decoder.readInt();
+            }
+        }
+    }
+
+    /**
+     * Reader used when writer schema has <code>int</code> or <code>long</code>,
+     * but reader schema <code>float</code> or <code>double</code>.
+     *
+     * @since 2.7.10
+     */
+    protected final static class LongAsDoubleReader extends AvroScalarReader
+    {
+        @Override
+        public JsonToken readValue(AvroParserImpl parser, BinaryDecoder decoder) throws IOException {
+            // ints and longs have same encoding, so this works for both
+            return parser.setNumber((double) decoder.readLong());
+        }
+
+        @Override
+        protected Class<?> valueType() { return Double.TYPE; }
+
+        @Override
+        protected void readValues(BinaryDecoder decoder, Object array, int offset, int count)
+            throws IOException {
+            final double[] values = (double[]) array;
+            for (int end = offset + count; offset < end; ++offset) {
+                values[offset] = (double) decoder.readLong();
+            }
+        }
+    }
+
     protected final static class NullReader extends AvroScalarReader
     {
         @Override public JsonToken readValue(AvroParserImpl parser, BinaryDecoder decoder) {
@@ -108,7 +228,7 @@ public abstract class AvroScalarReader
         @Override
         public JsonToken readValue(AvroParserImpl parser, BinaryDecoder decoder) throws IOException
         {
-            return parser.setString(decoder.readString());
+            return parser.decodeString(decoder);
         }
     }
 
@@ -148,9 +268,7 @@ public abstract class AvroScalarReader
         public JsonToken readValue(AvroParserImpl parser, BinaryDecoder decoder)
             throws IOException
         {
-            byte[] data = new byte[_size];
-            decoder.readFixed(data);
-            return parser.setBytes(data);
+            return parser.decodeBytes(decoder, _size);
         }
     }
 }
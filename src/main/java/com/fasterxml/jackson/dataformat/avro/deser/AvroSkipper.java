@@ -0,0 +1,206 @@
+package com.fasterxml.jackson.dataformat.avro.deser;
+
+import java.io.IOException;
+
+import org.apache.avro.io.BinaryDecoder;
+
+/**
+ * Helper classes for skipping encoded values without decoding them,
+ * using length prefixes (and block sizes, where available) to avoid
+ * reading content. Instances are stateless and may be shared.
+ *<p>
+ * Besides skipping from a decoder, skippers can also describe the structure
+ * of values to {@link AvroValueScanner}, which finds the end of a value
+ * incrementally, as content becomes available.
+ *
+ * @since 2.7.10
+ */
+public abstract class AvroSkipper
+{
+    public abstract void skipValue(BinaryDecoder decoder) throws IOException;
+
+    /**
+     * Method called by scanner to start scanning of a value: either
+     * indicates what to read next, or pushes a nested scope.
+     */
+    protected abstract void startScan(AvroValueScanner scanner);
+
+    /*
+    /**********************************************************************
+    /* Skipper implementations
+    /**********************************************************************
+     */
+
+    protected final static class NullSkipper extends AvroSkipper
+    {
+        @Override
+        public void skipValue(BinaryDecoder decoder) { }
+
+        @Override
+        protected void startScan(AvroValueScanner scanner) { }
+    }
+
+    protected final static class BooleanSkipper extends AvroSkipper
+    {
+        @Override
+        public void skipValue(BinaryDecoder decoder) throws IOException {
+            decoder.readBoolean();
+        }
+
+        @Override
+        protected void startScan(AvroValueScanner scanner) {
+            scanner.skipBytes(1);
+        }
+    }
+
+    /**
+     * Skipper for variable-length zig-zag encoded values: ints, longs and
+     * enum indexes all use same encoding.
+     */
+    protected final static class VarIntSkipper extends AvroSkipper
+    {
+        @Override
+        public void skipValue(BinaryDecoder decoder) throws IOException {
+            decoder.readLong();
+        }
+
+        @Override
+        protected void startScan(AvroValueScanner scanner) {
+            scanner.readVarInt();
+        }
+    }
+
+    protected final static class FixedSkipper extends AvroSkipper
+    {
+        protected final int _size;
+
+        public FixedSkipper(int size) {
+            _size = size;
+        }
+
+        @Override
+        public void skipValue(BinaryDecoder decoder) throws IOException {
+            decoder.skipFixed(_size);
+        }
+
+        @Override
+        protected void startScan(AvroValueScanner scanner) {
+            scanner.skipBytes(_size);
+        }
+    }
+
+    /**
+     * Skipper for length-prefixed values: Strings and byte arrays have
+     * identical encoding.
+     */
+    protected final static class BytesSkipper extends AvroSkipper
+    {
+        @Override
+        public void skipValue(BinaryDecoder decoder) throws IOException {
+            decoder.skipBytes();
+        }
+
+        @Override
+        protected void startScan(AvroValueScanner scanner) {
+            scanner.readLength();
+        }
+    }
+
+    protected final static class ArraySkipper extends AvroSkipper
+    {
+        protected final AvroSkipper _elementSkipper;
+
+        public ArraySkipper(AvroSkipper elementSkipper) {
+            _elementSkipper = elementSkipper;
+        }
+
+        @Override
+        public void skipValue(BinaryDecoder decoder) throws IOException {
+            // Decoder skips blocks with byte size as is; for others, need to
+            // skip elements one by one
+            for (long count = decoder.skipArray(); count > 0L; count = decoder.skipArray()) {
+                for (long i = 0L; i < count; ++i) {
+                    _elementSkipper.skipValue(decoder);
+                }
+            }
+        }
+
+        @Override
+        protected void startScan(AvroValueScanner scanner) {
+            scanner.pushArray(_elementSkipper);
+        }
+    }
+
+    protected final static class MapSkipper extends AvroSkipper
+    {
+        protected final AvroSkipper _valueSkipper;
+
+        public MapSkipper(AvroSkipper valueSkipper) {
+            _valueSkipper = valueSkipper;
+        }
+
+        @Override
+        public void skipValue(BinaryDecoder decoder) throws IOException {
+            for (long count = decoder.skipMap(); count > 0L; count = decoder.skipMap()) {
+                for (long i = 0L; i < count; ++i) {
+                    decoder.skipString();
+                    _valueSkipper.skipValue(decoder);
+                }
+            }
+        }
+
+        @Override
+        protected void startScan(AvroValueScanner scanner) {
+            scanner.pushMap(_valueSkipper);
+        }
+    }
+
+    protected final static class RecordSkipper extends AvroSkipper
+    {
+        /**
+         * Skippers for fields; filled in after construction, to allow for
+         * recursive types
+         */
+        protected final AvroSkipper[] _fieldSkippers;
+
+        public RecordSkipper(AvroSkipper[] fieldSkippers) {
+            _fieldSkippers = fieldSkippers;
+        }
+
+        @Override
+        public void skipValue(BinaryDecoder decoder) throws IOException {
+            for (AvroSkipper skipper : _fieldSkippers) {
+                skipper.skipValue(decoder);
+            }
+        }
+
+        @Override
+        protected void startScan(AvroValueScanner scanner) {
+            scanner.pushRecord(_fieldSkippers);
+        }
+    }
+
+    protected final static class UnionSkipper extends AvroSkipper
+    {
+        protected final AvroSkipper[] _memberSkippers;
+
+        public UnionSkipper(AvroSkipper[] memberSkippers) {
+            _memberSkippers = memberSkippers;
+        }
+
+        @Override
+        public void skipValue(BinaryDecoder decoder) throws IOException {
+            int index = decoder.readIndex();
+            if (index < 0 || index >= _memberSkippers.length) {
+                throw new IOException(String.format
+                        ("Invalid index (%s); union only has %d types", index, _memberSkippers.length));
+            }
+            _memberSkippers[index].skipValue(decoder);
+        }
+
+        @Override
+        protected void startScan(AvroValueScanner scanner) {
+            scanner.readUnionIndex(_memberSkippers);
+        }
+    }
+}
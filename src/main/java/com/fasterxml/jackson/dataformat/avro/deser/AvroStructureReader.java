@@ -33,6 +33,16 @@ public abstract class AvroStructureReader
     public abstract AvroStructureReader newReader(AvroReadContext parent,
             AvroParserImpl parser, BinaryDecoder decoder);
 
+    /**
+     * Method for resetting state of an actual reader instance (one constructed
+     * using {@link #newReader}) so that it may be reused for reading another value
+     * of the same type, within same parent context. This is used to avoid
+     * constructing new reader instances for each structured value read.
+     *
+     * @since 2.7.10
+     */
+    public abstract void reset();
+
     @Override
     public abstract JsonToken nextToken() throws IOException;
 
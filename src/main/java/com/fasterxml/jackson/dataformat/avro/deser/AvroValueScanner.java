@@ -0,0 +1,305 @@
+package com.fasterxml.jackson.dataformat.avro.deser;
+
+import java.io.IOException;
+
+/**
+ * Resumable counterpart of {@link AvroSkipper}, used for finding the end of
+ * an encoded value when content becomes available in chunks: instead of
+ * recursing, position within the value (nested Arrays, Maps and Records,
+ * remaining entries of the current block, partially read length prefixes
+ * and so on) is kept in an explicit stack, so that scanning can continue
+ * from where it stopped once more content is available. This means that
+ * each byte of content is only scanned once, regardless of how it is split
+ * into chunks.
+ *<p>
+ * Instances are not thread-safe; they are reused for sequences of values
+ * by calling {@link #reset}.
+ *
+ * @since 2.7.10
+ */
+public class AvroValueScanner
+{
+    private final static int VAR_NONE = 0;
+    private final static int VAR_IGNORE = 1;
+    private final static int VAR_LENGTH = 2;
+    private final static int VAR_BLOCK_COUNT = 3;
+    private final static int VAR_BLOCK_SIZE = 4;
+    private final static int VAR_UNION_INDEX = 5;
+
+    private final static int SCOPE_ARRAY = 1;
+    private final static int SCOPE_MAP = 2;
+    private final static int SCOPE_RECORD = 3;
+
+    /*
+    /**********************************************************************
+    /* State
+    /**********************************************************************
+     */
+
+    /**
+     * Number of bytes to skip before anything else is done
+     */
+    protected long _skipRemaining;
+
+    /**
+     * Kind of variable-length value being read, if any; determines what is
+     * done with the value once fully read.
+     */
+    protected int _varType = VAR_NONE;
+
+    protected long _varValue;
+
+    protected int _varShift;
+
+    /**
+     * Member skippers of the union whose index is being read
+     */
+    protected AvroSkipper[] _unionMembers;
+
+    protected Scope[] _scopes = new Scope[8];
+
+    protected int _depth;
+
+    protected boolean _complete;
+
+    public AvroValueScanner() { }
+
+    /**
+     * Method for starting scanning of a new value of type described by
+     * given skipper; any state from previous value is discarded.
+     */
+    public void reset(AvroSkipper skipper)
+    {
+        _skipRemaining = 0L;
+        _varType = VAR_NONE;
+        _varValue = 0L;
+        _varShift = 0;
+        _unionMembers = null;
+        _depth = 0;
+        _complete = false;
+        skipper.startScan(this);
+    }
+
+    /**
+     * Accessor for checking whether the end of the value has been reached.
+     */
+    public boolean isComplete() {
+        return _complete;
+    }
+
+    /*
+    /**********************************************************************
+    /* Scanning
+    /**********************************************************************
+     */
+
+    /**
+     * Method for scanning given content, continuing from where previous
+     * call stopped.
+     *
+     * @return Offset after the last byte of the value, if value is complete
+     *    (see {@link #isComplete}); <code>end</code> if not
+     */
+    public int scan(byte[] buffer, int ptr, final int end) throws IOException
+    {
+        while (true) {
+            if (_skipRemaining > 0L) {
+                int count = (int) Math.min(_skipRemaining, (long) (end - ptr));
+                ptr += count;
+                _skipRemaining -= count;
+                if (_skipRemaining > 0L) {
+                    return ptr;
+                }
+            }
+            if (_varType != VAR_NONE) {
+                while (true) {
+                    if (ptr >= end) {
+                        return ptr;
+                    }
+                    int b = buffer[ptr++];
+                    _varValue |= ((long) (b & 0x7F)) << _varShift;
+                    if (b >= 0) {
+                        break;
+                    }
+                    _varShift += 7;
+                    if (_varShift > 63) {
+                        throw new IOException("Invalid long encoding");
+                    }
+                }
+                final int type = _varType;
+                final long value = (_varValue >>> 1) ^ -(_varValue & 1L);
+                _varType = VAR_NONE;
+                _varValue = 0L;
+                _varShift = 0;
+                _handleVarInt(type, value);
+                continue;
+            }
+            if (_depth == 0) {
+                _complete = true;
+                return ptr;
+            }
+            _advance(_scopes[_depth-1]);
+        }
+    }
+
+    /*
+    /**********************************************************************
+    /* Callbacks from skippers
+    /**********************************************************************
+     */
+
+    void skipBytes(int count) {
+        _skipRemaining = count;
+    }
+
+    void readVarInt() {
+        _varType = VAR_IGNORE;
+    }
+
+    void readLength() {
+        _varType = VAR_LENGTH;
+    }
+
+    void readUnionIndex(AvroSkipper[] members) {
+        _unionMembers = members;
+        _varType = VAR_UNION_INDEX;
+    }
+
+    void pushArray(AvroSkipper elementSkipper) {
+        _push(SCOPE_ARRAY).init(elementSkipper, null);
+    }
+
+    void pushMap(AvroSkipper valueSkipper) {
+        _push(SCOPE_MAP).init(valueSkipper, null);
+    }
+
+    void pushRecord(AvroSkipper[] fieldSkippers) {
+        _push(SCOPE_RECORD).init(null, fieldSkippers);
+    }
+
+    /*
+    /**********************************************************************
+    /* Internal methods
+    /**********************************************************************
+     */
+
+    private Scope _push(int type)
+    {
+        if (_depth == _scopes.length) {
+            Scope[] old = _scopes;
+            _scopes = new Scope[old.length << 1];
+            System.arraycopy(old, 0, _scopes, 0, old.length);
+        }
+        Scope scope = _scopes[_depth];
+        if (scope == null) {
+            scope = _scopes[_depth] = new Scope();
+        }
+        ++_depth;
+        scope.type = type;
+        return scope;
+    }
+
+    /**
+     * Method called when nothing is pending within innermost scope, to
+     * start the next value within it (or find out it is done)
+     */
+    private void _advance(Scope scope)
+    {
+        switch (scope.type) {
+        case SCOPE_RECORD:
+            if (scope.remaining < scope.fields.length) {
+                scope.fields[(int) scope.remaining++].startScan(this);
+            } else {
+                --_depth;
+            }
+            return;
+        case SCOPE_MAP:
+            if (scope.valueNext) {
+                scope.valueNext = false;
+                --scope.remaining;
+                scope.element.startScan(this);
+            } else if (scope.remaining > 0L) { // key first
+                scope.valueNext = true;
+                _varType = VAR_LENGTH;
+            } else {
+                _varType = VAR_BLOCK_COUNT;
+            }
+            return;
+        default: // array
+            if (scope.remaining > 0L) {
+                --scope.remaining;
+                scope.element.startScan(this);
+            } else {
+                _varType = VAR_BLOCK_COUNT;
+            }
+        }
+    }
+
+    private void _handleVarInt(int type, long value) throws IOException
+    {
+        switch (type) {
+        case VAR_LENGTH:
+        case VAR_BLOCK_SIZE:
+            if (value < 0L) {
+                throw new IOException("Malformed data: negative length "+value);
+            }
+            _skipRemaining = value;
+            return;
+        case VAR_BLOCK_COUNT:
+            if (value == 0L) { // end of Array/Map
+                --_depth;
+            } else if (value < 0L) {
+                // block with byte size: can skip the whole block
+                _varType = VAR_BLOCK_SIZE;
+            } else {
+                _scopes[_depth-1].remaining = value;
+            }
+            return;
+        case VAR_UNION_INDEX:
+            {
+                AvroSkipper[] members = _unionMembers;
+                _unionMembers = null;
+                if (value < 0L || value >= members.length) {
+                    throw new IOException(String.format
+                            ("Invalid index (%s); union only has %d types", value, members.length));
+                }
+                members[(int) value].startScan(this);
+            }
+            return;
+        }
+        // VAR_IGNORE: nothing to do
+    }
+
+    /**
+     * Position within an Array, Map or Record being scanned
+     */
+    protected final static class Scope
+    {
+        int type;
+
+        /**
+         * Element (Array) or value (Map) skipper
+         */
+        AvroSkipper element;
+
+        AvroSkipper[] fields;
+
+        /**
+         * For Arrays and Maps, number of entries remaining in the current
+         * block; for Records, index of the next field
+         */
+        long remaining;
+
+        /**
+         * For Maps, whether key of the current entry has been scanned
+         */
+        boolean valueNext;
+
+        void init(AvroSkipper element, AvroSkipper[] fields) {
+            this.element = element;
+            this.fields = fields;
+            remaining = 0L;
+            valueNext = false;
+        }
+    }
+}
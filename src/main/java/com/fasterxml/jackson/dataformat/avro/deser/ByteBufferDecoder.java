@@ -0,0 +1,256 @@
+package com.fasterxml.jackson.dataformat.avro.deser;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+
+import org.apache.avro.io.BinaryDecoder;
+
+/**
+ * {@link BinaryDecoder} implementation that decodes content directly from
+ * a {@link ByteBuffer}, heap or direct, without copying it into a buffer
+ * of its own. Used for buffers that do not expose a backing array (since
+ * for ones that do, the default array-backed decoder is used).
+ *<p>
+ * Decoder operates on a duplicate of the buffer passed, so position of
+ * the original buffer is not changed.
+ *<p>
+ * Sub-classes may decode content that does not fit in a single buffer,
+ * by overriding {@link #_loadMore} to replace the buffer once content
+ * of current one is (about to be) exhausted.
+ *
+ * @since 2.7.10
+ */
+class ByteBufferDecoder extends BinaryDecoder
+{
+    private final static Charset UTF8 = Charset.forName("UTF-8");
+
+    protected ByteBuffer _buffer;
+
+    /**
+     * Offset (within the whole input) of index 0 of {@link #_buffer}
+     */
+    protected long _bufferOffset;
+
+    /**
+     * Buffer used for copying String contents, when decoding from a
+     * direct buffer
+     */
+    private byte[] _scratch;
+
+    /**
+     * @param src Buffer to decode, from its position to its limit; offsets
+     *   reported are relative to its position
+     */
+    public ByteBufferDecoder(ByteBuffer src) {
+        _setBuffer(src.duplicate(), -src.position());
+    }
+
+    protected ByteBufferDecoder() { }
+
+    /**
+     * Accessor for offset of the next byte to decode, within the whole input.
+     */
+    public long getOffset() {
+        return _bufferOffset + _buffer.position();
+    }
+
+    /*
+    /**********************************************************
+    /* Decoder implementation: scalars
+    /**********************************************************
+     */
+
+    @Override
+    public void readNull() { }
+
+    @Override
+    public boolean readBoolean() throws IOException {
+        return _nextByte() != 0;
+    }
+
+    @Override
+    public int readInt() throws IOException
+    {
+        int b = _nextByte();
+        int n = b & 0x7F;
+        int shift = 7;
+        while ((b & 0x80) != 0) {
+            if (shift > 28) {
+                throw new IOException("Invalid int encoding");
+            }
+            b = _nextByte();
+            n |= (b & 0x7F) << shift;
+            shift += 7;
+        }
+        return (n >>> 1) ^ -(n & 1);
+    }
+
+    @Override
+    public long readLong() throws IOException
+    {
+        int b = _nextByte();
+        long n = b & 0x7F;
+        int shift = 7;
+        while ((b & 0x80) != 0) {
+            if (shift > 63) {
+                throw new IOException("Invalid long encoding");
+            }
+            b = _nextByte();
+            n |= (b & 0x7FL) << shift;
+            shift += 7;
+        }
+        return (n >>> 1) ^ -(n & 1L);
+    }
+
+    @Override
+    public float readFloat() throws IOException {
+        _need(4);
+        return _buffer.getFloat();
+    }
+
+    @Override
+    public double readDouble() throws IOException {
+        _need(8);
+        return _buffer.getDouble();
+    }
+
+    @Override
+    public String readString() throws IOException
+    {
+        final int len = readInt();
+        if (len <= 0) {
+            if (len == 0) {
+                return "";
+            }
+            throw new IOException("Malformed data: negative length "+len);
+        }
+        _need(len);
+        if (_buffer.hasArray()) {
+            int pos = _buffer.position();
+            String str = new String(_buffer.array(), _buffer.arrayOffset() + pos, len, UTF8);
+            _buffer.position(pos + len);
+            return str;
+        }
+        byte[] b = _scratch;
+        if ((b == null) || (b.length < len)) {
+            _scratch = b = new byte[Math.max(len, 64)];
+        }
+        _buffer.get(b, 0, len);
+        return new String(b, 0, len, UTF8);
+    }
+
+    /**
+     * Method for reading given number of bytes as a view of the underlying
+     * buffer, instead of copying them. View remains valid even if decoder
+     * moves to another buffer.
+     */
+    public ByteBuffer readView(int length) throws IOException
+    {
+        if (length < 0) {
+            throw new IOException("Malformed data: negative length "+length);
+        }
+        _need(length);
+        ByteBuffer view = _buffer.slice();
+        view.limit(length);
+        _buffer.position(_buffer.position() + length);
+        return view;
+    }
+
+    /*
+    /**********************************************************
+    /* Decoder implementation: low-level access used by
+    /* BinaryDecoder for Strings, bytes, fixed, blocks
+    /**********************************************************
+     */
+
+    @Override
+    protected void doReadBytes(byte[] bytes, int start, int length) throws IOException {
+        if (length < 0) {
+            throw new IOException("Malformed data: negative length "+length);
+        }
+        _need(length);
+        _buffer.get(bytes, start, length);
+    }
+
+    @Override
+    protected void doSkipBytes(long length) throws IOException {
+        if (length < 0L) {
+            throw new IOException("Malformed data: negative length "+length);
+        }
+        while (length > 0L) {
+            if (!_buffer.hasRemaining() && !_loadMore(1)) {
+                throw new EOFException();
+            }
+            int count = (int) Math.min(length, (long) _buffer.remaining());
+            _buffer.position(_buffer.position() + count);
+            length -= count;
+        }
+    }
+
+    @Override
+    public boolean isEnd() throws IOException {
+        return !_buffer.hasRemaining() && !_loadMore(1);
+    }
+
+    @Override
+    public InputStream inputStream()
+    {
+        return new InputStream() {
+            @Override
+            public int read() throws IOException {
+                return isEnd() ? -1 : (_buffer.get() & 0xFF);
+            }
+
+            @Override
+            public int read(byte[] b, int offset, int len) throws IOException {
+                if (isEnd()) {
+                    return -1;
+                }
+                len = Math.min(len, _buffer.remaining());
+                _buffer.get(b, offset, len);
+                return len;
+            }
+        };
+    }
+
+    /*
+    /**********************************************************
+    /* Internal methods
+    /**********************************************************
+     */
+
+    protected final void _setBuffer(ByteBuffer buffer, long offset) {
+        _buffer = buffer;
+        _buffer.order(ByteOrder.LITTLE_ENDIAN);
+        _bufferOffset = offset;
+    }
+
+    /**
+     * Method called when current buffer has fewer than specified number
+     * of bytes remaining: sub-classes that can, should replace buffer
+     * with one that has (at least) that many bytes, starting from the
+     * current position.
+     *
+     * @return True if buffer was replaced; false if no more content available
+     */
+    protected boolean _loadMore(int needed) throws IOException {
+        return false;
+    }
+
+    private int _nextByte() throws IOException {
+        if (!_buffer.hasRemaining() && !_loadMore(1)) {
+            throw new EOFException();
+        }
+        return _buffer.get();
+    }
+
+    private void _need(int count) throws IOException {
+        if ((_buffer.remaining() < count) && !_loadMore(count)) {
+            throw new EOFException();
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.fasterxml.jackson.dataformat.avro.deser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import org.apache.avro.AvroRuntimeException;
+import org.apache.avro.Schema;
+import org.apache.avro.file.DataFileStream;
+import org.apache.avro.generic.GenericDatumReader;
+
+/**
+ * {@link InputStream} that exposes contents of an Avro Object Container File
+ * as a simple concatenation of the (decompressed) binary-encoded datums it
+ * contains. Since datums never span blocks, this can be decoded just like
+ * a sequence of root-level values, using the Schema from the file header.
+ *<p>
+ * Blocks are read and decompressed (using codec named in the header) one at
+ * a time, only when the previous one has been fully consumed; so memory
+ * usage only depends on the block size, not on the file size.
+ *
+ * @since 2.7.10
+ */
+public class ContainerBlockInputStream extends InputStream
+{
+    protected final DataFileStream<Object> _blocks;
+
+    /**
+     * Current (decompressed) block, if any
+     */
+    protected ByteBuffer _block;
+
+    /**
+     * Constructor that will read and validate file header (including
+     * embedded Schema) from given stream.
+     */
+    public ContainerBlockInputStream(InputStream in) throws IOException
+    {
+        // Datum reader is only needed to satisfy API; it is never used for decoding
+        _blocks = new DataFileStream<Object>(in, new GenericDatumReader<Object>());
+    }
+
+    /**
+     * Accessor for the writer Schema embedded in the file header.
+     */
+    public Schema getSchema() {
+        return _blocks.getSchema();
+    }
+
+    /**
+     * Accessor for metadata value embedded in the file header (like
+     * "avro.codec"), if any; null if none.
+     */
+    public String getMetaString(String key) {
+        return _blocks.getMetaString(key);
+    }
+
+    /**
+     * Alternative to reading contents as a stream: method for reading the
+     * whole next block, for decoding separately (possibly by another thread).
+     * Should not be mixed with calls to <code>read()</code> methods.
+     *
+     * @return Copy of contents of the next (decompressed) block; or null if
+     *    there are no more blocks.
+     */
+    public byte[] nextBlock() throws IOException
+    {
+        if ((_block != null) && _block.hasRemaining()) {
+            throw new IllegalStateException("Can not read next block when current block only partially read");
+        }
+        _block = null;
+        try {
+            if (!_blocks.hasNext()) {
+                return null;
+            }
+            // must copy, as underlying buffer may be reused for the next block
+            ByteBuffer bb = _blocks.nextBlock();
+            byte[] result = new byte[bb.remaining()];
+            bb.get(result);
+            return result;
+        } catch (AvroRuntimeException e) {
+            throw _ioException(e);
+        }
+    }
+
+    /*
+    /**********************************************************
+    /* InputStream implementation
+    /**********************************************************
+     */
+
+    @Override
+    public int read() throws IOException
+    {
+        if (!_loadMore()) {
+            return -1;
+        }
+        return _block.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int len) throws IOException
+    {
+        if (len == 0) {
+            return 0;
+        }
+        if (!_loadMore()) {
+            return -1;
+        }
+        len = Math.min(len, _block.remaining());
+        _block.get(buffer, offset, len);
+        return len;
+    }
+
+    @Override
+    public long skip(long n) throws IOException
+    {
+        long skipped = 0L;
+        while ((skipped < n) && _loadMore()) {
+            int count = (int) Math.min(n - skipped, _block.remaining());
+            _block.position(_block.position() + count);
+            skipped += count;
+        }
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return (_block == null) ? 0 : _block.remaining();
+    }
+
+    @Override
+    public void close() throws IOException {
+        _block = null;
+        _blocks.close();
+    }
+
+    /*
+    /**********************************************************
+    /* Internal methods
+    /**********************************************************
+     */
+
+    /**
+     * Method called to ensure there is at least one byte available in the
+     * current block, loading following block(s) as necessary.
+     *
+     * @return True if there is content available; false if end of file reached
+     */
+    protected boolean _loadMore() throws IOException
+    {
+        while ((_block == null) || !_block.hasRemaining()) {
+            try {
+                if (!_blocks.hasNext()) {
+                    _block = null;
+                    return false;
+                }
+                _block = _blocks.nextBlock();
+            } catch (AvroRuntimeException e) {
+                throw _ioException(e);
+            }
+        }
+        return true;
+    }
+
+    protected IOException _ioException(AvroRuntimeException e)
+    {
+        // DataFileStream wraps I/O problems (and corrupt sync markers)
+        Throwable t = e.getCause();
+        if (t instanceof IOException) {
+            return (IOException) t;
+        }
+        return new IOException("Failed to read Avro container block: "+e.getMessage(), e);
+    }
+}
@@ -0,0 +1,134 @@
+package com.fasterxml.jackson.dataformat.avro.deser;
+
+import java.io.IOException;
+
+import org.apache.avro.io.BinaryDecoder;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Reader used for fields that reader schema has but writer schema does not:
+ * exposes the default value of the field (from reader schema) as tokens,
+ * without reading anything from the input.
+ *
+ * @since 2.7.10
+ */
+final class DefaultValueReader extends AvroStructureReader
+{
+    private final JsonNode _value;
+    private final AvroParserImpl _parser;
+
+    /**
+     * Token stream over the default value, if reading has started
+     */
+    private JsonParser _tokens;
+
+    /**
+     * Nesting level within the default value being exposed
+     */
+    private int _depth;
+
+    public DefaultValueReader(JsonNode value) {
+        this(null, value, null);
+    }
+
+    private DefaultValueReader(AvroReadContext parent,
+            JsonNode value, AvroParserImpl parser)
+    {
+        super(parent, TYPE_ROOT);
+        _value = value;
+        _parser = parser;
+    }
+
+    @Override
+    public DefaultValueReader newReader(AvroReadContext parent,
+            AvroParserImpl parser, BinaryDecoder decoder) {
+        return new DefaultValueReader(parent, _value, parser);
+    }
+
+    @Override
+    public void reset() {
+        _tokens = null;
+        _depth = 0;
+        _currToken = null;
+    }
+
+    @Override
+    public JsonToken nextToken() throws IOException
+    {
+        if (_tokens == null) {
+            _tokens = _value.traverse();
+        }
+        JsonToken t = _tokens.nextToken();
+        if (t == null) { // should never occur; but if it does, we are done
+            _parser.setAvroContext(getParent());
+            return (_currToken = null);
+        }
+        switch (t) {
+        case START_OBJECT:
+        case START_ARRAY:
+            ++_depth;
+            break;
+        case END_OBJECT:
+        case END_ARRAY:
+            --_depth;
+            break;
+        case VALUE_STRING:
+            _parser.setString(_tokens.getText());
+            break;
+        case VALUE_NUMBER_INT:
+            if (_tokens.getNumberType() == JsonParser.NumberType.INT) {
+                _parser.setNumber(_tokens.getIntValue());
+            } else {
+                _parser.setNumber(_tokens.getLongValue());
+            }
+            break;
+        case VALUE_NUMBER_FLOAT:
+            _parser.setNumber(_tokens.getDoubleValue());
+            break;
+        case VALUE_EMBEDDED_OBJECT:
+            _parser.setBytes(_tokens.getBinaryValue());
+            break;
+        default:
+        }
+        // Once we have returned the whole value, back to the parent
+        _parser.setAvroContext((_depth == 0) ? getParent() : this);
+        return (_currToken = t);
+    }
+
+    @Override
+    public JsonToken skipValue() throws IOException
+    {
+        if ((_tokens == null) || (_depth == 0)) {
+            return null;
+        }
+        _tokens.skipChildren();
+        --_depth;
+        _parser.setAvroContext((_depth == 0) ? getParent() : this);
+        return (_currToken = _tokens.getCurrentToken());
+    }
+
+    @Override
+    public String getCurrentName() {
+        if ((_tokens == null) || (_depth == 0)) {
+            return null;
+        }
+        return _tokens.getParsingContext().getCurrentName();
+    }
+
+    @Override
+    public String nextFieldName() throws IOException {
+        JsonToken t = nextToken();
+        if (t == JsonToken.FIELD_NAME) {
+            return getCurrentName();
+        }
+        return null;
+    }
+
+    @Override
+    protected void appendDesc(StringBuilder sb) {
+        sb.append('?');
+    }
+}
@@ -19,34 +19,73 @@ public final class MapReader extends AvroStructureReader
     protected final BinaryDecoder _decoder;
     protected final AvroParserImpl _parser;
 
+    /**
+     * Skipper for values, if values may be skipped without decoding
+     *
+     * @since 2.7.10
+     */
+    private final AvroSkipper _valueSkipper;
+
+    /**
+     * Reader instance for structured values; constructed lazily and reused
+     * for all values.
+     */
+    private AvroStructureReader _valueInstance;
+
     private String _currentName;
 
     protected int _state;
     protected long _count;
     
     public MapReader(AvroScalarReader reader) {
-        this(null, reader, null, null, null);
+        this(reader, null);
     }
 
     public MapReader(AvroStructureReader reader) {
-        this(null, null, reader, null, null);
+        this(reader, null);
     }
-    
+
+    /**
+     * @since 2.7.10
+     */
+    public MapReader(AvroScalarReader reader, AvroSkipper valueSkipper) {
+        this(null, reader, null, null, null, valueSkipper);
+    }
+
+    /**
+     * @since 2.7.10
+     */
+    public MapReader(AvroStructureReader reader, AvroSkipper valueSkipper) {
+        this(null, null, reader, null, null, valueSkipper);
+    }
+
     private MapReader(AvroReadContext parent,
             AvroScalarReader scalarReader,
             AvroStructureReader structReader,
-            BinaryDecoder decoder, AvroParserImpl parser) {
+            BinaryDecoder decoder, AvroParserImpl parser,
+            AvroSkipper valueSkipper) {
         super(parent, TYPE_OBJECT);
         _scalarReader = scalarReader;
         _structureReader = structReader;
         _decoder = decoder;
         _parser = parser;
+        _valueSkipper = valueSkipper;
     }
     
     @Override
     public MapReader newReader(AvroReadContext parent,
             AvroParserImpl parser, BinaryDecoder decoder) {
-        return new MapReader(parent, _scalarReader, _structureReader, decoder, parser);
+        return new MapReader(parent, _scalarReader, _structureReader, decoder, parser,
+                _valueSkipper);
+    }
+
+    @Override
+    public void reset() {
+        _state = STATE_START;
+        _index = 0;
+        _count = 0L;
+        _currentName = null;
+        _currToken = null;
     }
 
     @Override
@@ -57,9 +96,19 @@ public final class MapReader extends AvroStructureReader
     {
         switch (_state) {
         case STATE_START:
+            // root-level value may be missing altogether, if there is no content
+            if (getParent().inRoot() && _decoder.isEnd()) {
+                _state = STATE_DONE;
+                _parser.setAvroContext(getParent());
+                return (_currToken = null);
+            }
             _parser.setAvroContext(this);
-            _count = _decoder.readMapStart();
-            _state = (_count > 0) ? STATE_NAME : STATE_END;
+            // Note: count of the first block is only read when needed, to
+            // allow skipping of the whole map. This works since the first
+            // block is encoded same way as following ones.
+            _index = 0;
+            _count = 0L;
+            _state = STATE_NAME;
             return (_currToken = JsonToken.START_OBJECT);
         case STATE_NAME:
             if (_index < _count) {
@@ -72,24 +121,13 @@ public final class MapReader extends AvroStructureReader
             // more stuff?
             if (_count > 0L) {
                 _index = 0;
+                _state = STATE_VALUE;
                 _currentName = _decoder.readString();
                 return (_currToken = JsonToken.FIELD_NAME);
             }
             // otherwise fall through:
         case STATE_END:
-            final AvroReadContext parent = getParent();
-            // as per [dataformats-binary#38], may need to reset, instead of bailing out
-            // ... note, however, that we can't as of yet test it, alas.
-            if (parent.inRoot()) {
-                if (!_decoder.isEnd()) {
-                    _index = 0;
-                    _state = STATE_START;
-                    return (_currToken = JsonToken.END_OBJECT);
-                }
-            }
-            _state = STATE_DONE;
-            _parser.setAvroContext(parent);
-            return (_currToken = JsonToken.END_OBJECT);
+            return _nextAtEndObject();
         case STATE_VALUE:
             break;
         case STATE_DONE:
@@ -101,11 +139,63 @@ public final class MapReader extends AvroStructureReader
         if (_scalarReader != null) {
             return _scalarReader.readValue(_parser, _decoder);
         }
-        AvroStructureReader r = _structureReader.newReader(this, _parser, _decoder);
+        AvroStructureReader r = _valueInstance;
+        if (r == null) {
+            r = _structureReader.newReader(this, _parser, _decoder);
+            _valueInstance = r;
+        } else {
+            r.reset();
+        }
         _parser.setAvroContext(r);
         return (_currToken = r.nextToken());
     }
 
+    @Override
+    public JsonToken skipValue() throws IOException
+    {
+        if (_valueSkipper == null) {
+            return null;
+        }
+        switch (_state) {
+        case STATE_NAME:
+            // First, rest of the current block, if any
+            for (long i = _index; i < _count; ++i) {
+                _decoder.skipString();
+                _valueSkipper.skipValue(_decoder);
+            }
+            // and then rest of blocks: ones with byte size get skipped as is
+            for (long count = _decoder.skipMap(); count > 0L; count = _decoder.skipMap()) {
+                for (long i = 0L; i < count; ++i) {
+                    _decoder.skipString();
+                    _valueSkipper.skipValue(_decoder);
+                }
+            }
+            // fall through
+        case STATE_END:
+            return _nextAtEndObject();
+        default:
+        }
+        return null;
+    }
+
+    private JsonToken _nextAtEndObject() throws IOException
+    {
+        final AvroReadContext parent = getParent();
+        // as per [dataformats-binary#38], may need to reset, instead of bailing out
+        // ... note, however, that we can't as of yet test it, alas.
+        if (parent.inRoot()) {
+            if (!_decoder.isEnd()) {
+                _index = 0;
+                _count = 0L;
+                _state = STATE_START;
+                return (_currToken = JsonToken.END_OBJECT);
+            }
+        }
+        _state = STATE_DONE;
+        _parser.setAvroContext(parent);
+        return (_currToken = JsonToken.END_OBJECT);
+    }
+
     @Override
     public String nextFieldName() throws IOException {
         JsonToken t = nextToken();
@@ -0,0 +1,58 @@
+package com.fasterxml.jackson.dataformat.avro.deser;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * {@link ByteBufferDecoder} that decodes contents of a file, memory-mapped
+ * in windows of (by default) fixed size. This allows decoding of files larger
+ * than 2 gigabytes (maximum size of a single mapping); and when a value
+ * crosses window boundary, a new window is simply mapped starting at the
+ * current position, so there is no need to stitch values from multiple windows.
+ *<p>
+ * Note that Java does not provide a way to explicitly unmap mapped regions;
+ * they are released when garbage collected.
+ *
+ * @since 2.7.10
+ */
+final class MappedFileDecoder extends ByteBufferDecoder
+{
+    private final FileChannel _channel;
+
+    /**
+     * Length of the file, as of when decoder was created
+     */
+    private final long _fileLength;
+
+    private final int _windowSize;
+
+    public MappedFileDecoder(FileChannel channel, long offset, int windowSize)
+        throws IOException
+    {
+        if (windowSize < 1) {
+            throw new IllegalArgumentException("Invalid window size ("+windowSize+"): must be positive");
+        }
+        _channel = channel;
+        _fileLength = channel.size();
+        _windowSize = windowSize;
+        if ((offset < 0L) || (offset > _fileLength)) {
+            throw new IllegalArgumentException("Invalid offset ("+offset+"): file length "+_fileLength);
+        }
+        // start with an empty window; first read will map the real one
+        _setBuffer(ByteBuffer.allocate(0), offset);
+    }
+
+    @Override
+    protected boolean _loadMore(int needed) throws IOException
+    {
+        final long offset = getOffset();
+        final long left = _fileLength - offset;
+        if (left < needed) {
+            return false;
+        }
+        long size = Math.min(left, (long) Math.max(_windowSize, needed));
+        _setBuffer(_channel.map(FileChannel.MapMode.READ_ONLY, offset, size), offset);
+        return true;
+    }
+}
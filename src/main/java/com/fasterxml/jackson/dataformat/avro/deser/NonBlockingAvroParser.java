@@ -0,0 +1,304 @@
+package com.fasterxml.jackson.dataformat.avro.deser;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.fasterxml.jackson.core.*;
+import com.fasterxml.jackson.core.io.IOContext;
+import com.fasterxml.jackson.dataformat.avro.AvroSchema;
+
+/**
+ * Non-blocking ("async") variant of {@link AvroParserImpl}: instead of reading
+ * from an {@link InputStream}, content is fed by caller using
+ * {@link #feedInput}, and when parser needs more content to proceed, it
+ * returns {@link JsonToken#NOT_AVAILABLE} (after which caller is to feed more
+ * input, or call {@link #endOfInput}).
+ *<p>
+ * Since Avro decoding is driven by the Schema, completeness of a root-level
+ * value can be verified without decoding it, using a schema-derived
+ * {@link AvroValueScanner}: so instead of suspending decoding in the middle of
+ * a value, parser only starts decoding a root-level value once all of its
+ * content is available, and will then return all of its tokens without
+ * blocking. Scanning is resumable, so each byte fed is only scanned once.
+ *<p>
+ * Content fed is not copied, but decoded directly from the buffer caller
+ * passed, as long as values are contained within it; only the incomplete
+ * value at the end of a buffer (if any) is copied into an internal buffer,
+ * before {@link JsonToken#NOT_AVAILABLE} is returned. Because of this, caller
+ * must not modify contents of a buffer passed to {@link #feedInput} until
+ * parser needs more input (see {@link #needMoreInput}).
+ *<p>
+ * Note that since no value is decoded until it is complete, this is best
+ * suited for sequences of reasonably-sized root-level values (messages),
+ * not for single huge values.
+ *
+ * @since 2.7.10
+ */
+public class NonBlockingAvroParser extends AvroParserImpl
+{
+    private final static int INITIAL_BUFFER_SIZE = 4000;
+
+    /*
+    /**********************************************************
+    /* Input state
+    /**********************************************************
+     */
+
+    /**
+     * Buffer that contains content not yet consumed: either the one last fed
+     * by caller, or {@link #_copyBuffer}
+     */
+    protected byte[] _inputBuffer = NO_BYTES;
+
+    /**
+     * Offset of the first byte not yet consumed (by a root-level value
+     * decoded or being decoded)
+     */
+    protected int _inputPtr;
+
+    /**
+     * Offset after the last byte of fed content
+     */
+    protected int _inputEnd;
+
+    /**
+     * Offset of the first byte not yet scanned by {@link #_valueScanner}
+     */
+    protected int _scanPtr;
+
+    /**
+     * Internal buffer for content of root-level values split across
+     * buffers fed; allocated when first needed.
+     */
+    protected byte[] _copyBuffer = NO_BYTES;
+
+    /**
+     * Flag set when caller has indicated there will be no more input
+     */
+    protected boolean _endOfInput;
+
+    /**
+     * Total number of bytes fed
+     */
+    protected long _inputFed;
+
+    /*
+    /**********************************************************
+    /* Decoding state
+    /**********************************************************
+     */
+
+    /**
+     * Context at root level, between root-level values
+     */
+    protected RootReader _rootContext;
+
+    /**
+     * Reader for root-level values; reset for each value
+     */
+    protected AvroStructureReader _rootValueReader;
+
+    /**
+     * Skipper for root-level values, used for (re)starting
+     * {@link #_valueScanner}
+     */
+    protected AvroSkipper _valueSkipper;
+
+    /**
+     * Scanner used for finding out whether a complete root-level value
+     * is available
+     */
+    protected final AvroValueScanner _valueScanner = new AvroValueScanner();
+
+    public NonBlockingAvroParser(IOContext ctxt, int parserFeatures, int avroFeatures,
+            ObjectCodec codec)
+    {
+        super(ctxt, parserFeatures, avroFeatures, codec, NO_BYTES, 0, 0, false);
+    }
+
+    /*
+    /**********************************************************
+    /* Feeding API
+    /**********************************************************
+     */
+
+    /**
+     * Method for checking whether parser needs more input to proceed: this
+     * is the case if last call to {@link #nextToken} returned
+     * {@link JsonToken#NOT_AVAILABLE}, or if all input has been consumed
+     * and parser is not within a root-level value.
+     * Note that it is always legal to feed more input (until
+     * {@link #endOfInput} is called), even if this method returns false.
+     */
+    public boolean needMoreInput() {
+        if (_endOfInput) {
+            return false;
+        }
+        return (_currToken == JsonToken.NOT_AVAILABLE)
+                || ((_inputPtr >= _inputEnd) && _avroContext.inRoot());
+    }
+
+    /**
+     * Method for feeding more content. Content is not copied (unless needed
+     * for combining it with preceding incomplete content), so caller must not
+     * modify it until parser needs more input (see {@link #needMoreInput}).
+     */
+    public void feedInput(byte[] buf, int start, int end) throws IOException
+    {
+        if (_endOfInput) {
+            throw new IllegalStateException("Can not feed more input after calling endOfInput()");
+        }
+        final int len = end - start;
+        if (len < 0) {
+            throw new IllegalArgumentException("Input end ("+end+") may not be before start ("+start+")");
+        }
+        _inputFed += len;
+        // Common case: all previous content consumed, can use buffer as is
+        if (_inputPtr >= _inputEnd) {
+            _inputBuffer = buf;
+            _inputPtr = _scanPtr = start;
+            _inputEnd = end;
+            return;
+        }
+        // Otherwise need to combine with unconsumed content, in internal buffer
+        if ((_inputBuffer != _copyBuffer) || ((_inputEnd + len) > _copyBuffer.length)) {
+            _copyUnconsumed(len);
+        }
+        System.arraycopy(buf, start, _inputBuffer, _inputEnd, len);
+        _inputEnd += len;
+    }
+
+    /**
+     * Method called to indicate that there is no more input to feed;
+     * once remaining content has been parsed, parser will return
+     * <code>null</code> to indicate end of content.
+     */
+    public void endOfInput() {
+        _endOfInput = true;
+    }
+
+    /**
+     * Accessor for total number of bytes fed to this parser
+     */
+    public long getInputFed() {
+        return _inputFed;
+    }
+
+    /*
+    /**********************************************************
+    /* Overridden parsing methods
+    /**********************************************************
+     */
+
+    @Override
+    public JsonToken nextToken() throws IOException
+    {
+        if ((_rootValueReader == null) || !_avroContext.inRoot() || _closed) {
+            return super.nextToken();
+        }
+        _binaryValue = null;
+        return (_currToken = _startValue());
+    }
+
+    @Override
+    public String nextFieldName() throws IOException
+    {
+        if ((_rootValueReader == null) || !_avroContext.inRoot() || _closed) {
+            return super.nextFieldName();
+        }
+        // no field names at root level
+        nextToken();
+        return null;
+    }
+
+    @Override
+    public boolean nextFieldName(SerializableString sstr) throws IOException
+    {
+        if ((_rootValueReader == null) || !_avroContext.inRoot() || _closed) {
+            return super.nextFieldName(sstr);
+        }
+        nextToken();
+        return false;
+    }
+
+    @Override
+    protected void _initSchema(AvroSchema schema)
+    {
+        _rootContext = new RootReader();
+        _rootValueReader = schema.getReader().newReader(_rootContext, this, _decoder);
+        // note: must skip content as written, i.e. using writer schema
+        _valueSkipper = new AvroReaderFactory().createSkipper(schema.getAvroSchema());
+        _valueScanner.reset(_valueSkipper);
+        _avroContext = _rootContext;
+    }
+
+    @Override
+    protected void _releaseBuffers() throws IOException {
+        super._releaseBuffers();
+        _inputBuffer = _copyBuffer = NO_BYTES;
+        _inputPtr = _inputEnd = _scanPtr = 0;
+    }
+
+    /*
+    /**********************************************************
+    /* Internal methods
+    /**********************************************************
+     */
+
+    /**
+     * Method called at root level, to start decoding of the next root-level
+     * value, if all of its content is available.
+     */
+    protected JsonToken _startValue() throws IOException
+    {
+        final int available = _inputEnd - _inputPtr;
+        if (available == 0) {
+            return _endOfInput ? null : JsonToken.NOT_AVAILABLE;
+        }
+        // scanning continues from where it stopped, so only new content is scanned
+        _scanPtr = _valueScanner.scan(_inputBuffer, _scanPtr, _inputEnd);
+        if (!_valueScanner.isComplete()) {
+            if (_endOfInput) {
+                _reportInvalidEOF(": incomplete root-level value ("+available+" bytes)");
+            }
+            // caller may reuse its buffer once we return, so must retain the rest
+            if (_inputBuffer != _copyBuffer) {
+                _copyUnconsumed(0);
+            }
+            return JsonToken.NOT_AVAILABLE;
+        }
+        final int len = _scanPtr - _inputPtr;
+        _valueScanner.reset(_valueSkipper);
+        // will reconfigure, not replace, the decoder readers use
+        AvroSchema.decoder(_inputBuffer, _inputPtr, len, _decoder);
+        // and binary values are exposed as views of the buffer
+        _inputData = _inputBuffer;
+        _inputDataEnd = _scanPtr;
+        _inputPtr = _scanPtr;
+        _rootValueReader.reset();
+        _avroContext = _rootValueReader;
+        return _rootValueReader.nextToken();
+    }
+
+    /**
+     * Helper method for moving unconsumed content to the beginning of
+     * internal buffer, making sure there is room for given number of
+     * additional bytes.
+     */
+    protected void _copyUnconsumed(int extra)
+    {
+        final int remaining = _inputEnd - _inputPtr;
+        byte[] b = _copyBuffer;
+        // Can only reuse internal buffer when not within a value, since
+        // decoder may refer to its contents
+        if (((remaining + extra) > b.length) || !_avroContext.inRoot()) {
+            b = new byte[Math.max(INITIAL_BUFFER_SIZE,
+                    Math.max(b.length << 1, remaining + extra))];
+        }
+        System.arraycopy(_inputBuffer, _inputPtr, b, 0, remaining);
+        _copyBuffer = _inputBuffer = b;
+        _scanPtr -= _inputPtr;
+        _inputPtr = 0;
+        _inputEnd = remaining;
+    }
+}
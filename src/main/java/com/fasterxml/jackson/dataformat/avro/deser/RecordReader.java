@@ -15,43 +15,100 @@ final class RecordReader extends AvroStructureReader
     protected final static int STATE_DONE = 4;
 
     private final AvroFieldWrapper[] _fieldReaders;
+
+    /**
+     * Index of each field within (reader) Record Schema, in the same order
+     * as {@link #_fieldReaders}; -1 for fields that are skipped.
+     */
+    private final int[] _fieldIndexes;
     private final BinaryDecoder _decoder;
     private final AvroParserImpl _parser;
 
+    /**
+     * Reader instances for structured field values, constructed lazily
+     * and reused for subsequent values.
+     */
+    private final AvroStructureReader[] _valueReaders;
+
+    /**
+     * Whether values of all fields can be skipped without decoding
+     */
+    private final boolean _skippable;
+
     protected String _currentName;
 
+    protected int _currentIndex = -1;
+
     protected int _state;
     protected final int _count;
 
     public RecordReader(AvroFieldWrapper[] fieldReaders) {
-        this(null, fieldReaders, null, null);
+        this(fieldReaders, null);
+    }
+
+    /**
+     * @param fieldIndexes Index of each field within Record Schema,
+     *   if different from position in <code>fieldReaders</code>
+     *
+     * @since 2.7.10
+     */
+    public RecordReader(AvroFieldWrapper[] fieldReaders, int[] fieldIndexes) {
+        this(null, fieldReaders, fieldIndexes, null, null);
     }
 
     private RecordReader(AvroReadContext parent,
-            AvroFieldWrapper[] fieldReaders,
+            AvroFieldWrapper[] fieldReaders, int[] fieldIndexes,
             BinaryDecoder decoder, AvroParserImpl parser)
     {
         super(parent, TYPE_OBJECT);
         _fieldReaders = fieldReaders;
+        _fieldIndexes = fieldIndexes;
         _decoder = decoder;
         _parser = parser;
         _count = fieldReaders.length;
+        _valueReaders = (parser == null) ? null : new AvroStructureReader[_count];
+        boolean skippable = true;
+        for (AvroFieldWrapper field : fieldReaders) {
+            if ((field == null) || !field.canSkip()) {
+                skippable = false;
+                break;
+            }
+        }
+        _skippable = skippable;
     }
 
     @Override
     public RecordReader newReader(AvroReadContext parent,
             AvroParserImpl parser, BinaryDecoder decoder) {
-        return new RecordReader(parent, _fieldReaders, decoder, parser);
+        return new RecordReader(parent, _fieldReaders, _fieldIndexes, decoder, parser);
+    }
+
+    @Override
+    public void reset() {
+        _state = STATE_START;
+        _index = 0;
+        _currentName = null;
+        _currentIndex = -1;
+        _currToken = null;
     }
 
     @Override
     public String getCurrentName() { return _currentName; }
 
+    @Override
+    public int getCurrentFieldIndex() { return _currentIndex; }
+
     @Override
     public JsonToken nextToken() throws IOException
     {
         switch (_state) {
         case STATE_START:
+            // root-level value may be missing altogether, if there is no content
+            if (getParent().inRoot() && _decoder.isEnd()) {
+                _state = STATE_DONE;
+                _parser.setAvroContext(getParent());
+                return (_currToken = null);
+            }
             _parser.setAvroContext(this);
             _state = (_count > 0) ? STATE_NAME : STATE_END;
             {
@@ -60,10 +117,11 @@ final class RecordReader extends AvroStructureReader
                 return t;
             }
         case STATE_NAME:
-            if (_index >= _count) {
+            if (_skipFields() >= _count) {
                 return _nextAtEndObject();
             }
             _currentName = _fieldReaders[_index].getName();
+            _currentIndex = _fieldIndex(_index);
             _state = STATE_VALUE;
             {
                 JsonToken t = JsonToken.FIELD_NAME;
@@ -79,13 +137,107 @@ final class RecordReader extends AvroStructureReader
             throwIllegalState(_state);
         }
         _state = STATE_NAME;
-        AvroFieldWrapper field = _fieldReaders[_index];
-        ++_index;
-        JsonToken t = field.readValue(this, _parser, _decoder);
+        final int ix = _index++;
+        AvroFieldWrapper field = _fieldReaders[ix];
+        JsonToken t;
+        if (field.isStructured()) {
+            AvroStructureReader r = _valueReaders[ix];
+            if (r == null) {
+                r = field.newReader(this, _parser, _decoder);
+                _valueReaders[ix] = r;
+            } else {
+                r.reset();
+            }
+            t = r.nextToken();
+        } else {
+            t = field.readValue(this, _parser, _decoder);
+        }
         _currToken = t;
         return t;
     }        
 
+    /**
+     * Method for advancing directly to the value of the next exposed field,
+     * without exposing {@link JsonToken#FIELD_NAME} first: used by
+     * {@link AvroBeanDeserializer}. Only to be called when not positioned
+     * at a field value.
+     *
+     * @return Position of the field (within {@link #fieldReaders()}), if
+     *   there was one; -1 if there are no more fields (in which case
+     *   {@link JsonToken#END_OBJECT} has been returned)
+     */
+    protected int nextFieldValue() throws IOException
+    {
+        if (_state == STATE_NAME) {
+            final int ix = _skipFields();
+            if (ix < _count) {
+                _currentName = _fieldReaders[ix].getName();
+                _currentIndex = _fieldIndex(ix);
+                _state = STATE_VALUE;
+                nextToken();
+                return ix;
+            }
+        } else if (_state != STATE_END) {
+            throwIllegalState(_state);
+        }
+        _nextAtEndObject();
+        return -1;
+    }
+
+    /**
+     * Whether reader has returned {@link JsonToken#START_OBJECT} but no
+     * fields yet.
+     */
+    protected boolean atStart() {
+        return (_index == 0) && ((_state == STATE_NAME) || (_state == STATE_END));
+    }
+
+    /**
+     * Accessor for field readers, in order of fields in encoded content;
+     * shared by all reader instances for the same Schema.
+     */
+    protected AvroFieldWrapper[] fieldReaders() {
+        return _fieldReaders;
+    }
+
+    @Override
+    public JsonToken skipValue() throws IOException
+    {
+        if (!_skippable) {
+            return null;
+        }
+        if (_state == STATE_NAME) {
+            for (int ix = _index; ix < _count; ++ix) {
+                _fieldReaders[ix].skipValue(_decoder);
+            }
+            _index = _count;
+        } else if (_state != STATE_END) {
+            return null;
+        }
+        return _nextAtEndObject();
+    }
+
+    /**
+     * Helper method for skipping over any fields that are not to be exposed
+     * (when reading with a different reader Schema).
+     *
+     * @return Index of the next field to expose, if any; or field count
+     *   if no more fields to expose
+     */
+    private final int _skipFields() throws IOException
+    {
+        int ix = _index;
+        while ((ix < _count) && _fieldReaders[ix].isSkipped()) {
+            _fieldReaders[ix].skipValue(_decoder);
+            _index = ++ix;
+        }
+        return ix;
+    }
+
+    private final int _fieldIndex(int ix) {
+        return (_fieldIndexes == null) ? ix : _fieldIndexes[ix];
+    }
+
     private final JsonToken _nextAtEndObject() throws IOException
     {
         AvroReadContext parent = getParent();
@@ -106,9 +258,10 @@ final class RecordReader extends AvroStructureReader
     public String nextFieldName() throws IOException
     {
         if (_state == STATE_NAME) {
-            if (_index < _count) {
+            if (_skipFields() < _count) {
                 String name = _fieldReaders[_index].getName();
                 _currentName = name;
+                _currentIndex = _fieldIndex(_index);
                 _state = STATE_VALUE;
                 _currToken = JsonToken.FIELD_NAME;
                 return name;
@@ -0,0 +1,69 @@
+package com.fasterxml.jackson.dataformat.avro.deser;
+
+import java.util.Collection;
+
+import org.apache.avro.Schema;
+
+import com.fasterxml.jackson.dataformat.avro.AvroSchema;
+
+/**
+ * Sub-class of {@link AvroSchema} used for reading content written using
+ * one Schema (so-called "Writer Schema", which is what
+ * {@link #getAvroSchema()} returns) as if it had been written using another
+ * Schema (so-called "Reader Schema"), following Avro schema resolution rules.
+ * Instances are constructed using {@link AvroSchema#withReaderSchema}.
+ *
+ * @since 2.7.10
+ */
+public class ResolvingAvroSchema extends AvroSchema
+{
+    protected final Schema _readerSchema;
+
+    public ResolvingAvroSchema(Schema writerSchema, Schema readerSchema)
+    {
+        super(writerSchema);
+        _readerSchema = readerSchema;
+    }
+
+    public Schema getReaderSchema() { return _readerSchema; }
+
+    /**
+     * Projection of a resolving schema applies to the reader schema: fields
+     * not included are skipped, in addition to ones reader schema does not have.
+     */
+    @Override
+    public AvroSchema withProjection(Collection<String> fieldNames)
+    {
+        return new ResolvingAvroSchema(_avroSchema, _project(_readerSchema, fieldNames));
+    }
+
+    @Override
+    public AvroStructureReader getReader()
+    {
+        AvroStructureReader r = _reader.get();
+        if (r == null) {
+            r = AvroReaderCache.sharedInstance().findReader(_avroSchema, _readerSchema);
+            _reader.set(r);
+        }
+        return r;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("{ResolvingAvroSchema: name=%s}", _readerSchema.getFullName());
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode() ^ _readerSchema.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) return true;
+        if ((o == null) || o.getClass() != getClass()) return false;
+        ResolvingAvroSchema other = (ResolvingAvroSchema) o;
+        return _avroSchema.equals(other._avroSchema)
+                && _readerSchema.equals(other._readerSchema);
+    }
+}
@@ -34,6 +34,11 @@ final class ScalarReaderWrapper extends AvroStructureReader
         return new ScalarReaderWrapper(parent, parser, decoder, _wrappedReader, parent.inRoot());
     }
 
+    @Override
+    public void reset() {
+        _currToken = null;
+    }
+
     @Override
     public JsonToken nextToken() throws IOException
     {
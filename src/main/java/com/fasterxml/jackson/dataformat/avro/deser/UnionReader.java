@@ -16,6 +16,11 @@ final class UnionReader extends AvroStructureReader
     private final BinaryDecoder _decoder;
     private final AvroParserImpl _parser;
 
+    /**
+     * Reader instances for member types, constructed lazily and reused
+     */
+    private final AvroStructureReader[] _memberInstances;
+
     public UnionReader(AvroStructureReader[] memberReaders) {
         this(null, memberReaders, null, null);
     }
@@ -28,6 +33,7 @@ final class UnionReader extends AvroStructureReader
         _memberReaders = memberReaders;
         _decoder = decoder;
         _parser = parser;
+        _memberInstances = (parser == null) ? null : new AvroStructureReader[memberReaders.length];
     }
     
     @Override
@@ -36,6 +42,11 @@ final class UnionReader extends AvroStructureReader
         return new UnionReader(parent, _memberReaders, decoder, parser);
     }
 
+    @Override
+    public void reset() {
+        _currToken = null;
+    }
+
     @Override
     public JsonToken nextToken() throws IOException
     {
@@ -44,9 +55,15 @@ final class UnionReader extends AvroStructureReader
             throw new JsonParseException(_parser, String.format
                     ("Invalid index (%s); union only has %d types", index, _memberReaders.length));
         }
-        // important: remember to create new instance
-        // also: must pass our parent (not this instance)
-        AvroStructureReader reader = _memberReaders[index].newReader(_parent, _parser, _decoder);
+        // important: must pass our parent (not this instance); and reuse
+        // member instance if one already created
+        AvroStructureReader reader = _memberInstances[index];
+        if (reader == null) {
+            reader = _memberReaders[index].newReader(_parent, _parser, _decoder);
+            _memberInstances[index] = reader;
+        } else {
+            reader.reset();
+        }
         return (_currToken = reader.nextToken());
     }
 
@@ -0,0 +1,308 @@
+package com.fasterxml.jackson.dataformat.avro.registry;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaParseException;
+
+import com.fasterxml.jackson.dataformat.avro.AvroSchema;
+
+/**
+ * Thread-safe cache of Schemas (and their ids) fetched from a
+ * {@link SchemaRegistry}: each Schema is fetched and parsed just once,
+ * and since the same {@link AvroSchema} instance is returned for repeated
+ * lookups, readers for it are only constructed once as well.
+ *<p>
+ * Concurrent lookups of a Schema that is not yet cached result in just a
+ * single fetch ("single-flight" loading): other threads wait for its result,
+ * instead of all of them hitting the registry (as would otherwise happen on
+ * start-up, when no Schemas are cached). If fetching fails with an exception,
+ * all waiting threads get that exception, but failure is not cached.
+ * Lookups of unknown ids (and Schemas) are cached for a configurable time
+ * ("negative caching"), so that content with unknown ids does not result
+ * in a fetch per value. Number of such entries is bounded: once the limit
+ * is reached, expired entries are purged, and if none are, further unknown
+ * ids are not cached until some expire.
+ *
+ * @since 2.7.10
+ */
+public class CachingSchemaRegistry
+{
+    /**
+     * Default time, in milliseconds, for which unknown ids (and Schemas)
+     * are cached: 30 seconds.
+     */
+    public final static long DEFAULT_NEGATIVE_TTL_MSECS = 30000L;
+
+    /**
+     * Default maximum number of unknown ids (and, separately, Schemas)
+     * cached: 1000.
+     */
+    public final static int DEFAULT_MAX_NEGATIVE_ENTRIES = 1000;
+
+    protected final SchemaRegistry _registry;
+
+    protected final long _negativeTtl;
+
+    protected final int _maxNegativeEntries;
+
+    protected final ConcurrentHashMap<Integer, Future<AvroSchema>> _schemas
+        = new ConcurrentHashMap<Integer, Future<AvroSchema>>();
+
+    /**
+     * Ids of Schemas, keyed by fingerprint of Parsing Canonical Form
+     * (see {@link AvroSchema#getFingerprint})
+     */
+    protected final ConcurrentHashMap<Long, Future<Integer>> _ids
+        = new ConcurrentHashMap<Long, Future<Integer>>();
+
+    /**
+     * Expiration times of unknown ids
+     */
+    protected final ConcurrentHashMap<Integer, Long> _missingSchemas
+        = new ConcurrentHashMap<Integer, Long>();
+
+    /**
+     * Expiration times of unknown Schemas, keyed by fingerprint
+     */
+    protected final ConcurrentHashMap<Long, Long> _missingIds
+        = new ConcurrentHashMap<Long, Long>();
+
+    protected final AtomicLong _hits = new AtomicLong();
+
+    protected final AtomicLong _fetches = new AtomicLong();
+
+    protected final AtomicLong _negativeHits = new AtomicLong();
+
+    public CachingSchemaRegistry(SchemaRegistry registry) {
+        this(registry, DEFAULT_NEGATIVE_TTL_MSECS);
+    }
+
+    /**
+     * @param negativeTtl Time, in milliseconds, for which unknown ids (and
+     *    Schemas) are cached; 0 to disable negative caching
+     */
+    public CachingSchemaRegistry(SchemaRegistry registry, long negativeTtl) {
+        this(registry, negativeTtl, DEFAULT_MAX_NEGATIVE_ENTRIES);
+    }
+
+    /**
+     * @param negativeTtl Time, in milliseconds, for which unknown ids (and
+     *    Schemas) are cached; 0 to disable negative caching
+     * @param maxNegativeEntries Maximum number of unknown ids (and, separately,
+     *    Schemas) cached
+     */
+    public CachingSchemaRegistry(SchemaRegistry registry, long negativeTtl,
+            int maxNegativeEntries)
+    {
+        if (negativeTtl < 0L) {
+            throw new IllegalArgumentException("Negative TTL must not be negative; got "+negativeTtl);
+        }
+        if (maxNegativeEntries < 0) {
+            throw new IllegalArgumentException("Maximum negative entries must not be negative; got "
+                    +maxNegativeEntries);
+        }
+        _registry = registry;
+        _negativeTtl = negativeTtl;
+        _maxNegativeEntries = maxNegativeEntries;
+    }
+
+    public SchemaRegistry getRegistry() {
+        return _registry;
+    }
+
+    /*
+    /**********************************************************************
+    /* Public API
+    /**********************************************************************
+     */
+
+    /**
+     * Method for finding Schema with given id: from cache, if available;
+     * otherwise fetching it from registry.
+     *
+     * @return Schema with given id, if known; null if not
+     */
+    public AvroSchema findSchema(final int id) throws IOException
+    {
+        return _find(_schemas, _missingSchemas, id, new Callable<AvroSchema>() {
+            @Override
+            public AvroSchema call() throws IOException {
+                String def = _registry.fetchSchema(id);
+                return (def == null) ? null : _parseSchema(id, def);
+            }
+        });
+    }
+
+    /**
+     * Method for finding id of given Schema (or one with the same Parsing
+     * Canonical Form): from cache, if available; otherwise fetching it from
+     * registry.
+     *
+     * @return Id of the Schema, if registered; -1 if not
+     */
+    public int findId(final AvroSchema schema) throws IOException
+    {
+        Integer id = _find(_ids, _missingIds, schema.getFingerprint(), new Callable<Integer>() {
+            @Override
+            public Integer call() throws IOException {
+                int id = _registry.fetchId(schema.getAvroSchema());
+                return (id < 0) ? null : Integer.valueOf(id);
+            }
+        });
+        return (id == null) ? -1 : id.intValue();
+    }
+
+    /**
+     * Method for removing all cached entries, including negative ones;
+     * statistics are not reset.
+     */
+    public void clear() {
+        _schemas.clear();
+        _ids.clear();
+        _missingSchemas.clear();
+        _missingIds.clear();
+    }
+
+    /*
+    /**********************************************************************
+    /* Statistics
+    /**********************************************************************
+     */
+
+    /**
+     * Number of Schemas (and ids) cached.
+     */
+    public int size() { return _schemas.size() + _ids.size(); }
+
+    /**
+     * Number of lookups that found a cached (or being fetched) entry.
+     */
+    public long getHitCount() { return _hits.get(); }
+
+    /**
+     * Number of fetches from registry.
+     */
+    public long getFetchCount() { return _fetches.get(); }
+
+    /**
+     * Number of lookups that found a cached unknown id (or Schema).
+     */
+    public long getNegativeHitCount() { return _negativeHits.get(); }
+
+    @Override
+    public String toString() {
+        return String.format("{CachingSchemaRegistry: size=%d, hits=%d, fetches=%d, negativeHits=%d}",
+                size(), getHitCount(), getFetchCount(), getNegativeHitCount());
+    }
+
+    /*
+    /**********************************************************************
+    /* Helper methods
+    /**********************************************************************
+     */
+
+    /**
+     * Overridable method for constructing Schema from definition fetched
+     * from registry; may be overridden to, for example, construct resolving
+     * Schemas (see {@link AvroSchema#withReaderSchema}).
+     */
+    protected AvroSchema _parseSchema(int id, String definition) throws IOException
+    {
+        try {
+            return new AvroSchema(new Schema.Parser().setValidate(true).parse(definition));
+        } catch (SchemaParseException e) {
+            throw new IOException("Invalid definition for Schema with id "+id+": "+e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Overridable accessor for current time (in milliseconds), used for
+     * negative caching.
+     */
+    protected long _currentTime() {
+        return System.currentTimeMillis();
+    }
+
+    protected <K,V> V _find(ConcurrentHashMap<K, Future<V>> cache,
+            ConcurrentHashMap<K, Long> missing, K key, Callable<V> fetcher)
+        throws IOException
+    {
+        Long expiration = missing.get(key);
+        if (expiration != null) {
+            if (_currentTime() < expiration.longValue()) {
+                _negativeHits.incrementAndGet();
+                return null;
+            }
+            missing.remove(key, expiration);
+        }
+        Future<V> f = cache.get(key);
+        if (f == null) {
+            FutureTask<V> task = new FutureTask<V>(fetcher);
+            f = cache.putIfAbsent(key, task);
+            if (f == null) { // we got it, need to fetch
+                f = task;
+                _fetches.incrementAndGet();
+                task.run();
+            } else {
+                _hits.incrementAndGet();
+            }
+        } else {
+            _hits.incrementAndGet();
+        }
+        V value;
+        try {
+            value = f.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for Schema registry lookup");
+        } catch (ExecutionException e) {
+            // failures are not cached, so that the next lookup retries
+            cache.remove(key, f);
+            Throwable t = e.getCause();
+            if (t instanceof IOException) {
+                throw (IOException) t;
+            }
+            if (t instanceof RuntimeException) {
+                throw (RuntimeException) t;
+            }
+            if (t instanceof Error) {
+                throw (Error) t;
+            }
+            throw new IOException(t);
+        }
+        if (value == null) {
+            if (_negativeTtl > 0L) {
+                _addMissing(missing, key);
+            }
+            cache.remove(key, f);
+        }
+        return value;
+    }
+
+    /**
+     * Helper method for adding a negative entry, first purging expired ones
+     * if the limit has been reached. If none could be purged, entry is not
+     * added: limit may be exceeded slightly by concurrent additions, but
+     * not more than by number of threads.
+     */
+    protected <K> void _addMissing(ConcurrentHashMap<K, Long> missing, K key)
+    {
+        final long now = _currentTime();
+        if (missing.size() >= _maxNegativeEntries) {
+            for (Map.Entry<K, Long> entry : missing.entrySet()) {
+                if (now >= entry.getValue().longValue()) {
+                    missing.remove(entry.getKey(), entry.getValue());
+                }
+            }
+            if (missing.size() >= _maxNegativeEntries) {
+                return;
+            }
+        }
+        missing.put(key, now + _negativeTtl);
+    }
+}
@@ -0,0 +1,107 @@
+package com.fasterxml.jackson.dataformat.avro.registry;
+
+import java.io.*;
+
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaNormalization;
+
+/**
+ * {@link SchemaRegistry} implementation that reads Schemas from files in
+ * a directory, named by Schema id (like <code>42.avsc</code>); used for
+ * deployments without access to a registry service, and for testing.
+ * Files are read on each call; caching is left to {@link CachingSchemaRegistry}.
+ *
+ * @since 2.7.10
+ */
+public class FileSchemaRegistry implements SchemaRegistry
+{
+    public final static String SCHEMA_FILE_SUFFIX = ".avsc";
+
+    protected final File _directory;
+
+    public FileSchemaRegistry(File directory)
+    {
+        if (!directory.isDirectory()) {
+            throw new IllegalArgumentException("Not a directory: "+directory);
+        }
+        _directory = directory;
+    }
+
+    public File getDirectory() {
+        return _directory;
+    }
+
+    /**
+     * Method for writing given Schema in the file for given id, replacing
+     * existing file, if any.
+     */
+    public void register(int id, Schema schema) throws IOException
+    {
+        if (id < 0) {
+            throw new IllegalArgumentException("Schema id must not be negative; got "+id);
+        }
+        Writer w = new OutputStreamWriter(new FileOutputStream(_file(id)), "UTF-8");
+        try {
+            w.write(schema.toString(true));
+        } finally {
+            w.close();
+        }
+    }
+
+    @Override
+    public String fetchSchema(int id) throws IOException
+    {
+        File f = _file(id);
+        if (!f.isFile()) {
+            return null;
+        }
+        Reader r = new InputStreamReader(new FileInputStream(f), "UTF-8");
+        try {
+            StringBuilder sb = new StringBuilder();
+            char[] buf = new char[4000];
+            int count;
+            while ((count = r.read(buf)) >= 0) {
+                sb.append(buf, 0, count);
+            }
+            return sb.toString();
+        } finally {
+            r.close();
+        }
+    }
+
+    /**
+     * Implementation has to read and parse all Schema files in the directory,
+     * until a matching one is found; but since results are cached by
+     * {@link CachingSchemaRegistry}, this is only done once per Schema.
+     */
+    @Override
+    public int fetchId(Schema schema) throws IOException
+    {
+        final long fingerprint = SchemaNormalization.parsingFingerprint64(schema);
+        String[] names = _directory.list();
+        if (names == null) {
+            throw new IOException("Failed to list Schema files in "+_directory);
+        }
+        for (String name : names) {
+            if (!name.endsWith(SCHEMA_FILE_SUFFIX)) {
+                continue;
+            }
+            int id;
+            try {
+                id = Integer.parseInt(name.substring(0, name.length() - SCHEMA_FILE_SUFFIX.length()));
+            } catch (NumberFormatException e) { // some other file, skip
+                continue;
+            }
+            String def = fetchSchema(id);
+            if ((def != null)
+                    && SchemaNormalization.parsingFingerprint64(new Schema.Parser().parse(def)) == fingerprint) {
+                return id;
+            }
+        }
+        return -1;
+    }
+
+    protected File _file(int id) {
+        return new File(_directory, id + SCHEMA_FILE_SUFFIX);
+    }
+}
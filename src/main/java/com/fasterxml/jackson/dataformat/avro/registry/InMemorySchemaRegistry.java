@@ -0,0 +1,73 @@
+package com.fasterxml.jackson.dataformat.avro.registry;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.avro.Schema;
+import org.apache.avro.SchemaNormalization;
+
+/**
+ * {@link SchemaRegistry} implementation that keeps Schemas in memory;
+ * usually used for testing, or as a stand-in for a registry service when
+ * the set of Schemas is known up front.
+ *
+ * @since 2.7.10
+ */
+public class InMemorySchemaRegistry implements SchemaRegistry
+{
+    protected final Map<Integer, String> _schemas = new HashMap<Integer, String>();
+
+    /**
+     * Ids of registered Schemas, keyed by fingerprint of their Parsing
+     * Canonical Form
+     */
+    protected final Map<Long, Integer> _ids = new HashMap<Long, Integer>();
+
+    protected int _nextId = 1;
+
+    public InMemorySchemaRegistry() { }
+
+    /**
+     * Method for registering given Schema with the next free id; unless an
+     * equivalent Schema (one with the same Parsing Canonical Form) has already
+     * been registered, in which case its id is returned.
+     *
+     * @return Id of the Schema
+     */
+    public synchronized int register(Schema schema)
+    {
+        Integer id = _ids.get(SchemaNormalization.parsingFingerprint64(schema));
+        if (id != null) {
+            return id.intValue();
+        }
+        while (_schemas.containsKey(_nextId)) {
+            ++_nextId;
+        }
+        register(_nextId, schema);
+        return _nextId++;
+    }
+
+    /**
+     * Method for registering given Schema with given id, replacing the Schema
+     * registered with that id earlier, if any.
+     */
+    public synchronized void register(int id, Schema schema)
+    {
+        if (id < 0) {
+            throw new IllegalArgumentException("Schema id must not be negative; got "+id);
+        }
+        _schemas.put(id, schema.toString());
+        _ids.put(SchemaNormalization.parsingFingerprint64(schema), id);
+    }
+
+    @Override
+    public synchronized String fetchSchema(int id) {
+        return _schemas.get(id);
+    }
+
+    @Override
+    public synchronized int fetchId(Schema schema) {
+        Integer id = _ids.get(SchemaNormalization.parsingFingerprint64(schema));
+        return (id == null) ? -1 : id.intValue();
+    }
+}
@@ -0,0 +1,41 @@
+package com.fasterxml.jackson.dataformat.avro.registry;
+
+import java.io.IOException;
+
+import org.apache.avro.Schema;
+
+/**
+ * Interface for accessing a schema registry that assigns integer ids to
+ * Schemas, as used by "schema id framing" (magic byte <code>0x00</code>
+ * followed by 4-byte id of the Schema, before the value itself; see
+ * {@link com.fasterxml.jackson.dataformat.avro.AvroFactory#createSchemaIdParser(byte[], CachingSchemaRegistry)}).
+ *<p>
+ * Implementations are usually clients of a remote registry service, and
+ * are not expected to cache anything: instead they are wrapped in a
+ * {@link CachingSchemaRegistry}, which handles caching of Schemas (and
+ * readers for them), as well as concurrent lookups.
+ *
+ * @since 2.7.10
+ */
+public interface SchemaRegistry
+{
+    /**
+     * Method called to fetch definition (JSON representation) of Schema
+     * with given id.
+     *
+     * @return Schema definition, if id is known; null if not
+     *
+     * @throws IOException If registry could not be accessed
+     */
+    public String fetchSchema(int id) throws IOException;
+
+    /**
+     * Method called to fetch id of given Schema, or of one with the same
+     * Parsing Canonical Form.
+     *
+     * @return Id of the Schema, if registered; -1 if not
+     *
+     * @throws IOException If registry could not be accessed
+     */
+    public int fetchId(Schema schema) throws IOException;
+}
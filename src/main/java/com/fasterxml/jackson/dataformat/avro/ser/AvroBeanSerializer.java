@@ -0,0 +1,470 @@
+package com.fasterxml.jackson.dataformat.avro.ser;
+
+import java.io.IOException;
+import java.lang.reflect.Member;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.avro.Schema;
+import org.apache.avro.io.BinaryEncoder;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.impl.BeanAsArraySerializer;
+import com.fasterxml.jackson.databind.ser.impl.ObjectIdWriter;
+import com.fasterxml.jackson.databind.ser.impl.UnwrappingBeanSerializer;
+import com.fasterxml.jackson.databind.ser.std.BeanSerializerBase;
+import com.fasterxml.jackson.databind.ser.std.BooleanSerializer;
+import com.fasterxml.jackson.databind.ser.std.NumberSerializers;
+import com.fasterxml.jackson.databind.ser.std.StringSerializer;
+import com.fasterxml.jackson.databind.util.NameTransformer;
+import com.fasterxml.jackson.dataformat.avro.AvroCompiledModule;
+import com.fasterxml.jackson.dataformat.avro.AvroGenerator;
+import com.fasterxml.jackson.dataformat.avro.access.AccessorFactory;
+import com.fasterxml.jackson.dataformat.avro.access.BeanAccessor;
+
+/**
+ * Bean serializer variant that writes POJOs as Avro Records using their
+ * Schema: properties are matched to fields once per Schema (into an array
+ * indexed by field position), and values are then written in Schema order.
+ * Values of simple scalar properties (Strings, numbers, booleans, possibly
+ * nullable) are encoded directly, without going through
+ * {@link JsonGenerator}; other values are serialized using their standard
+ * serializers.
+ *<p>
+ * Direct encoding is only used when value is to be encoded as it is written
+ * (as root value, or as part of another directly encoded value); otherwise,
+ * as well as for non-Avro generators, serialization works the same as with
+ * the standard {@link com.fasterxml.jackson.databind.ser.BeanSerializer}.
+ *<p>
+ * If enabled, values to encode directly are accessed using a generated
+ * {@link BeanAccessor}, instead of reflection.
+ *
+ * @since 2.7.10
+ */
+public class AvroBeanSerializer extends BeanSerializerBase
+{
+    private static final long serialVersionUID = 1L;
+
+    protected final static int KIND_OTHER = 0;
+    protected final static int KIND_STRING = 1;
+    protected final static int KIND_INT = 2;
+    protected final static int KIND_LONG = 3;
+    protected final static int KIND_FLOAT = 4;
+    protected final static int KIND_DOUBLE = 5;
+    protected final static int KIND_BOOLEAN = 6;
+
+    /**
+     * Property binding for the most recently written Record type: since a
+     * POJO type is typically written using a single Schema, there is no need
+     * for bigger cache.
+     */
+    protected transient volatile RecordBinding _binding;
+
+    /**
+     * Whether to generate accessors for property values, instead of
+     * using reflection.
+     */
+    protected final boolean _generateAccessors;
+
+    /**
+     * Accessor for values of properties (indexed as {@link #_props}), if
+     * one has been generated.
+     */
+    protected transient volatile BeanAccessor _accessor;
+
+    protected transient volatile boolean _accessorResolved;
+
+    /*
+    /**********************************************************
+    /* Life-cycle
+    /**********************************************************
+     */
+
+    public AvroBeanSerializer(BeanSerializerBase src) {
+        this(src, AvroCompiledModule.DEFAULT_GENERATE_ACCESSORS);
+    }
+
+    public AvroBeanSerializer(BeanSerializerBase src, boolean generateAccessors) {
+        super(src);
+        _generateAccessors = generateAccessors;
+    }
+
+    protected AvroBeanSerializer(AvroBeanSerializer src, ObjectIdWriter objectIdWriter,
+            Object filterId) {
+        super(src, objectIdWriter, filterId);
+        _generateAccessors = src._generateAccessors;
+    }
+
+    protected AvroBeanSerializer(AvroBeanSerializer src, String[] toIgnore) {
+        super(src, toIgnore);
+        _generateAccessors = src._generateAccessors;
+    }
+
+    @Override
+    public JsonSerializer<Object> unwrappingSerializer(NameTransformer unwrapper) {
+        return new UnwrappingBeanSerializer(this, unwrapper);
+    }
+
+    @Override
+    public BeanSerializerBase withObjectIdWriter(ObjectIdWriter objectIdWriter) {
+        return new AvroBeanSerializer(this, objectIdWriter, _propertyFilterId);
+    }
+
+    @Override
+    public BeanSerializerBase withFilterId(Object filterId) {
+        return new AvroBeanSerializer(this, _objectIdWriter, filterId);
+    }
+
+    @Override
+    protected BeanSerializerBase withIgnorals(String[] toIgnore) {
+        return new AvroBeanSerializer(this, toIgnore);
+    }
+
+    @Override
+    protected BeanSerializerBase asArraySerializer() {
+        if ((_objectIdWriter == null) && (_anyGetterWriter == null)
+                && (_propertyFilterId == null)) {
+            return new BeanAsArraySerializer(this);
+        }
+        return this;
+    }
+
+    /*
+    /**********************************************************
+    /* Serialization
+    /**********************************************************
+     */
+
+    @Override
+    public void serialize(Object bean, JsonGenerator gen, SerializerProvider provider)
+        throws IOException
+    {
+        if (_objectIdWriter != null) {
+            gen.setCurrentValue(bean);
+            _serializeWithObjectId(bean, gen, provider, true);
+            return;
+        }
+        AvroWriteContext record = null;
+        if (gen instanceof AvroGenerator) {
+            record = ((AvroGenerator) gen).writeStartRecord();
+        }
+        if (record == null) {
+            gen.writeStartObject();
+        }
+        gen.setCurrentValue(bean);
+        if (_propertyFilterId != null) {
+            serializeFieldsFiltered(bean, gen, provider);
+        } else if ((record == null)
+                || ((_filteredProps != null) && (provider.getActiveView() != null))) {
+            serializeFields(bean, gen, provider);
+        } else {
+            _serializeRecord(bean, gen, provider, (StreamingObjectWriteContext) record);
+        }
+        gen.writeEndObject();
+    }
+
+    protected void _serializeRecord(Object bean, JsonGenerator gen, SerializerProvider provider,
+            StreamingObjectWriteContext record)
+        throws IOException
+    {
+        final RecordBinding b = _binding(record._schema);
+        final BeanPropertyWriter[] props = b.properties;
+        if (props == null) { // can not bind, but can still encode as fields are written
+            serializeFields(bean, gen, provider);
+            return;
+        }
+        final int[] kinds = b.kinds;
+        final int[] accessIndexes = b.accessIndexes;
+        final BeanAccessor accessor = b.accessor;
+        BeanPropertyWriter prop = null;
+        try {
+            for (int i = 0, len = props.length; i < len; ++i) {
+                prop = props[i];
+                if (prop == null) { // nulls are written for missing fields
+                    continue;
+                }
+                record.writeMissing(i);
+                final int kind = kinds[i];
+                if (kind != KIND_OTHER) {
+                    final int ax = accessIndexes[i];
+                    if ((ax >= 0) && b.primitives[i]) { // never null
+                        BinaryEncoder enc = record.encodeNext();
+                        if (b.valueIndexes[i] >= 0) {
+                            enc.writeIndex(b.valueIndexes[i]);
+                        }
+                        _encodePrimitive(kind, accessor, bean, ax, enc);
+                        continue;
+                    }
+                    final Object value = (ax < 0) ? prop.get(bean) : accessor.getValue(bean, ax);
+                    if (value != null) {
+                        BinaryEncoder enc = record.encodeNext();
+                        if (b.valueIndexes[i] >= 0) {
+                            enc.writeIndex(b.valueIndexes[i]);
+                        }
+                        _encode(kind, value, enc);
+                        continue;
+                    }
+                    // nulls are written using null serializer of the property, if any
+                }
+                prop.serializeAsField(bean, gen, provider);
+            }
+            // and properties with no matching field get reported (or ignored) as usual
+            for (BeanPropertyWriter p : b.unmatched) {
+                prop = p;
+                p.serializeAsField(bean, gen, provider);
+            }
+        } catch (Exception e) {
+            wrapAndThrow(provider, e, bean, prop.getName());
+        } catch (StackOverflowError e) {
+            JsonMappingException mapE = new JsonMappingException(gen,
+                    "Infinite recursion (StackOverflowError)", e);
+            mapE.prependPath(new JsonMappingException.Reference(bean, prop.getName()));
+            throw mapE;
+        }
+    }
+
+    protected RecordBinding _binding(Schema schema)
+    {
+        RecordBinding b = _binding;
+        if ((b == null) || (b.schema != schema)) {
+            b = new RecordBinding(schema, _props, _anyGetterWriter == null, _accessor());
+            _binding = b;
+        }
+        return b;
+    }
+
+    protected BeanAccessor _accessor()
+    {
+        if (!_accessorResolved) {
+            if (_generateAccessors) {
+                final BeanPropertyWriter[] props = _props;
+                Member[] members = new Member[props.length];
+                for (int i = 0; i < props.length; ++i) {
+                    members[i] = props[i].getMember().getMember();
+                }
+                _accessor = AccessorFactory.createAccessor(handledType(), members);
+            }
+            _accessorResolved = true;
+        }
+        return _accessor;
+    }
+
+    private final static void _encodePrimitive(int kind, BeanAccessor accessor, Object bean,
+            int index, BinaryEncoder enc)
+        throws IOException
+    {
+        switch (kind) {
+        case KIND_INT:
+            enc.writeInt(accessor.getIntValue(bean, index));
+            return;
+        case KIND_LONG:
+            enc.writeLong(accessor.getLongValue(bean, index));
+            return;
+        case KIND_FLOAT:
+            enc.writeFloat(accessor.getFloatValue(bean, index));
+            return;
+        case KIND_DOUBLE:
+            enc.writeDouble(accessor.getDoubleValue(bean, index));
+            return;
+        case KIND_BOOLEAN:
+            enc.writeBoolean(accessor.getBooleanValue(bean, index));
+            return;
+        }
+        throw new IllegalStateException("Internal error: unrecognized kind "+kind);
+    }
+
+    private final static void _encode(int kind, Object value, BinaryEncoder enc)
+        throws IOException
+    {
+        switch (kind) {
+        case KIND_STRING:
+            enc.writeString((String) value);
+            return;
+        case KIND_INT:
+            enc.writeInt(((Number) value).intValue());
+            return;
+        case KIND_LONG:
+            enc.writeLong(((Number) value).longValue());
+            return;
+        case KIND_FLOAT:
+            enc.writeFloat(((Number) value).floatValue());
+            return;
+        case KIND_DOUBLE:
+            enc.writeDouble(((Number) value).doubleValue());
+            return;
+        case KIND_BOOLEAN:
+            enc.writeBoolean(((Boolean) value).booleanValue());
+            return;
+        }
+        throw new IllegalStateException("Internal error: unrecognized kind "+kind);
+    }
+
+    @Override
+    public String toString() {
+        return "AvroBeanSerializer for "+handledType().getName();
+    }
+
+    /*
+    /**********************************************************
+    /* Helper classes
+    /**********************************************************
+     */
+
+    /**
+     * Container for properties to write as fields of a Record type, in
+     * the order of fields in the Schema, along with information on which
+     * values may be encoded directly.
+     */
+    protected final static class RecordBinding
+    {
+        public final Schema schema;
+
+        /**
+         * Property for each field; null for fields with no matching property.
+         * If the whole array is null, properties can not be bound to fields
+         * (due to any-getter or unwrapped properties).
+         */
+        public final BeanPropertyWriter[] properties;
+
+        /**
+         * For each field, kind of value if it can be encoded directly;
+         * or {@link #KIND_OTHER} if not.
+         */
+        public final int[] kinds;
+
+        /**
+         * For fields with union type, index of the type of non-null values;
+         * -1 for other fields
+         */
+        public final int[] valueIndexes;
+
+        /**
+         * Properties for which there is no matching field
+         */
+        public final BeanPropertyWriter[] unmatched;
+
+        /**
+         * Accessor to use for values encoded directly, if any
+         */
+        public final BeanAccessor accessor;
+
+        /**
+         * For values encoded directly, index of the property for
+         * {@link #accessor}, if values can be accessed using it; -1 if not.
+         */
+        public final int[] accessIndexes;
+
+        /**
+         * For values accessed using {@link #accessor}, whether type of values
+         * is a primitive type (which matches the kind of value)
+         */
+        public final boolean[] primitives;
+
+        public RecordBinding(Schema schema, BeanPropertyWriter[] beanProps, boolean canBind,
+                BeanAccessor accessor)
+        {
+            this.schema = schema;
+            this.accessor = accessor;
+            final List<Schema.Field> fields = schema.getFields();
+            final int len = fields.size();
+            kinds = new int[len];
+            valueIndexes = new int[len];
+            accessIndexes = new int[len];
+            primitives = new boolean[len];
+            for (BeanPropertyWriter prop : beanProps) {
+                if (prop.isUnwrapping()) {
+                    canBind = false;
+                }
+            }
+            if (!canBind) {
+                properties = null;
+                unmatched = null;
+                return;
+            }
+            properties = new BeanPropertyWriter[len];
+            List<BeanPropertyWriter> extra = new ArrayList<BeanPropertyWriter>();
+            for (int i = 0; i < len; ++i) {
+                accessIndexes[i] = -1;
+            }
+            for (int i = 0; i < beanProps.length; ++i) {
+                BeanPropertyWriter prop = beanProps[i];
+                Schema.Field field = schema.getField(prop.getName());
+                if (field == null) {
+                    extra.add(prop);
+                } else {
+                    properties[field.pos()] = prop;
+                    if ((accessor != null) && accessor.canRead(i)) {
+                        accessIndexes[field.pos()] = i;
+                    }
+                }
+            }
+            unmatched = extra.toArray(new BeanPropertyWriter[extra.size()]);
+            for (int i = 0; i < len; ++i) {
+                valueIndexes[i] = -1;
+                if (properties[i] == null) {
+                    continue;
+                }
+                Schema type = fields.get(i).schema();
+                if (type.getType() == Schema.Type.UNION) {
+                    // only handle "nullable" types; others are matched by Avro codec
+                    List<Schema> types = type.getTypes();
+                    if (types.size() != 2) {
+                        continue;
+                    }
+                    if (types.get(0).getType() == Schema.Type.NULL) {
+                        valueIndexes[i] = 1;
+                    } else if (types.get(1).getType() == Schema.Type.NULL) {
+                        valueIndexes[i] = 0;
+                    } else {
+                        continue;
+                    }
+                    type = types.get(valueIndexes[i]);
+                }
+                kinds[i] = _kind(properties[i], type);
+                if (kinds[i] == KIND_OTHER) {
+                    valueIndexes[i] = -1;
+                    accessIndexes[i] = -1;
+                } else if (accessIndexes[i] >= 0) {
+                    primitives[i] = accessor.getValueType(accessIndexes[i]).isPrimitive();
+                }
+            }
+        }
+
+        /**
+         * Helper method for figuring out whether value of given property can
+         * be encoded directly: this is the case if it would be written using
+         * standard serializer for matching scalar type (meaning output is
+         * known to be identical), without additional processing.
+         * Note that null values are always written using the standard
+         * handling, since properties may have custom null serializers.
+         */
+        private static int _kind(BeanPropertyWriter prop, Schema type)
+        {
+            if (!prop.hasSerializer() || prop.willSuppressNulls()
+                || (prop.getTypeSerializer() != null)) {
+                return KIND_OTHER;
+            }
+            final Class<?> serClass = prop.getSerializer().getClass();
+            switch (type.getType()) {
+            case STRING:
+                return (serClass == StringSerializer.class) ? KIND_STRING : KIND_OTHER;
+            case INT:
+                return (serClass == NumberSerializers.IntegerSerializer.class) ? KIND_INT : KIND_OTHER;
+            case LONG:
+                return (serClass == NumberSerializers.LongSerializer.class) ? KIND_LONG : KIND_OTHER;
+            case FLOAT:
+                return (serClass == NumberSerializers.FloatSerializer.class) ? KIND_FLOAT : KIND_OTHER;
+            case DOUBLE:
+                return (serClass == NumberSerializers.DoubleSerializer.class) ? KIND_DOUBLE : KIND_OTHER;
+            case BOOLEAN:
+                return (serClass == BooleanSerializer.class) ? KIND_BOOLEAN : KIND_OTHER;
+            default:
+            }
+            return KIND_OTHER;
+        }
+    }
+}
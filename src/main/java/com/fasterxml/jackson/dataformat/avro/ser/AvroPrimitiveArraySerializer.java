@@ -0,0 +1,92 @@
+package com.fasterxml.jackson.dataformat.avro.ser;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.*;
+import com.fasterxml.jackson.databind.jsonFormatVisitors.JsonFormatVisitorWrapper;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdArraySerializers;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.dataformat.avro.AvroGenerator;
+
+/**
+ * Serializer for primitive arrays (<code>int[]</code>, <code>long[]</code>,
+ * <code>float[]</code> and <code>double[]</code>) that writes them using
+ * bulk methods of {@link AvroGenerator} (like
+ * {@link AvroGenerator#writeArray(double[], int, int)}), without per-element
+ * calls. For other generators, as well as when elements need to be handled
+ * one by one (type information, unwrapping of single-element arrays),
+ * delegates to the standard serializer.
+ *
+ * @since 2.7.10
+ */
+public class AvroPrimitiveArraySerializer
+    extends StdSerializer<Object>
+    implements ContextualSerializer
+{
+    private static final long serialVersionUID = 1L;
+
+    protected final JsonSerializer<Object> _delegate;
+
+    @SuppressWarnings("unchecked")
+    public AvroPrimitiveArraySerializer(Class<?> arrayType) {
+        super(arrayType, false);
+        _delegate = (JsonSerializer<Object>) StdArraySerializers.findStandardImpl(arrayType);
+    }
+
+    @Override
+    public JsonSerializer<?> createContextual(SerializerProvider prov, BeanProperty property)
+        throws JsonMappingException
+    {
+        JsonSerializer<?> ser = _delegate;
+        if (ser instanceof ContextualSerializer) {
+            ser = ((ContextualSerializer) ser).createContextual(prov, property);
+        }
+        // If per-property settings (like @JsonFormat) apply, leave it to standard serializer
+        return (ser == _delegate) ? this : ser;
+    }
+
+    @Override
+    public boolean isEmpty(SerializerProvider prov, Object value) {
+        return _delegate.isEmpty(prov, value);
+    }
+
+    @Override
+    public void serialize(Object value, JsonGenerator gen, SerializerProvider provider)
+        throws IOException
+    {
+        if (!(gen instanceof AvroGenerator)
+                || provider.isEnabled(SerializationFeature.WRITE_SINGLE_ELEM_ARRAYS_UNWRAPPED)) {
+            _delegate.serialize(value, gen, provider);
+            return;
+        }
+        AvroGenerator g = (AvroGenerator) gen;
+        if (value instanceof double[]) {
+            double[] arr = (double[]) value;
+            g.writeArray(arr, 0, arr.length);
+        } else if (value instanceof long[]) {
+            long[] arr = (long[]) value;
+            g.writeArray(arr, 0, arr.length);
+        } else if (value instanceof int[]) {
+            int[] arr = (int[]) value;
+            g.writeArray(arr, 0, arr.length);
+        } else {
+            float[] arr = (float[]) value;
+            g.writeArray(arr, 0, arr.length);
+        }
+    }
+
+    @Override
+    public void serializeWithType(Object value, JsonGenerator gen, SerializerProvider provider,
+            TypeSerializer typeSer) throws IOException {
+        _delegate.serializeWithType(value, gen, provider, typeSer);
+    }
+
+    @Override
+    public void acceptJsonFormatVisitor(JsonFormatVisitorWrapper visitor, JavaType typeHint)
+        throws JsonMappingException {
+        _delegate.acceptJsonFormatVisitor(visitor, typeHint);
+    }
+}
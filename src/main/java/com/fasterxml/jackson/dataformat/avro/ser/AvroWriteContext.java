@@ -1,6 +1,11 @@
 package com.fasterxml.jackson.dataformat.avro.ser;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Array;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 
 import org.apache.avro.Schema;
 import org.apache.avro.Schema.Type;
@@ -57,8 +62,22 @@ public abstract class AvroWriteContext
         return NullContext.instance;
     }
     
-    public abstract AvroWriteContext createChildArrayContext() throws JsonMappingException;
-    public abstract AvroWriteContext createChildObjectContext() throws JsonMappingException;
+    public abstract AvroWriteContext createChildArrayContext() throws IOException;
+    public abstract AvroWriteContext createChildObjectContext() throws IOException;
+
+    /**
+     * Method called to create context for a Record value that is to be
+     * encoded directly (see {@link AvroBeanSerializer}), if that is possible:
+     * that is, if the value is of Record type and is to be encoded as soon as
+     * it is written (and not buffered).
+     *
+     * @return Context for the Record, if direct encoding is possible; null if not
+     *
+     * @since 2.7.10
+     */
+    public AvroWriteContext createChildRecordContext() throws IOException {
+        return null;
+    }
     
     @Override
     public final AvroWriteContext getParent() { return _parent; }
@@ -88,14 +107,97 @@ public abstract class AvroWriteContext
      */
     public abstract void writeNull() throws IOException;
 
+    /*
+    /**********************************************************
+    /* Typed write methods for primitive values: default implementations
+    /* box value and call writeValue(), contexts that encode values
+    /* directly override them to avoid boxing
+    /**********************************************************
+     */
+
+    /**
+     * @since 2.7.10
+     */
+    public void writeInt(int value) throws IOException {
+        writeValue(Integer.valueOf(value));
+    }
+
+    /**
+     * @since 2.7.10
+     */
+    public void writeLong(long value) throws IOException {
+        writeValue(Long.valueOf(value));
+    }
+
+    /**
+     * @since 2.7.10
+     */
+    public void writeFloat(float value) throws IOException {
+        writeValue(Float.valueOf(value));
+    }
+
+    /**
+     * @since 2.7.10
+     */
+    public void writeDouble(double value) throws IOException {
+        writeValue(Double.valueOf(value));
+    }
+
+    /**
+     * @since 2.7.10
+     */
+    public void writeBoolean(boolean value) throws IOException {
+        writeValue(value ? Boolean.TRUE : Boolean.FALSE);
+    }
+
+    /**
+     * Method for writing given slice of a primitive array (<code>int[]</code>,
+     * <code>long[]</code>, <code>float[]</code> or <code>double[]</code>) as
+     * an Array value. Default implementation writes a copy of the slice using
+     * {@link #writeValue}, to be encoded (without boxing) along with the
+     * enclosing value; contexts that encode values directly override this.
+     *
+     * @since 2.7.10
+     */
+    public void writeArray(Object array, int offset, int length) throws IOException {
+        writeValue(_copyOf(array, offset, length));
+    }
+
+    /**
+     * Method for writing a binary value read from given stream. Default
+     * implementation reads the whole value and writes it using {@link #writeValue};
+     * contexts that encode values directly override this to copy content
+     * in chunks.
+     *
+     * @param length Length of the value; or negative to read all content
+     *    of the stream
+     *
+     * @return Number of bytes read: if less than <code>length</code>, stream
+     *    ended prematurely, and value has not been (completely) written
+     *
+     * @since 2.7.10
+     */
+    public int writeBinary(InputStream in, int length) throws IOException {
+        byte[] data = _readBinary(in, length);
+        if ((length < 0) || (data.length == length)) {
+            writeValue(ByteBuffer.wrap(data));
+        }
+        return data.length;
+    }
+
     /**
      * Accessor called to link data being built with resulting object.
      */
     public abstract Object rawValue();
 
-    public void complete() throws IOException {
-        throw new IllegalStateException("Can not be called on "+getClass().getName());
-    }
+    /**
+     * Method called when value this context represents is complete: for root
+     * context, once the whole root value has been written; for others, when
+     * matching END_OBJECT or END_ARRAY has been written.
+     * Default implementation does nothing, as most contexts only link data
+     * to be output later on by the root context.
+     */
+    public void complete() throws IOException { }
 
     @Deprecated // remove from 2.9
     public void complete(BinaryEncoder encoder) throws IOException { complete(); }
@@ -120,6 +222,59 @@ public abstract class AvroWriteContext
 
     // // // Shared helper methods
 
+    /**
+     * Helper method for reading given number of bytes (or, if negative, all
+     * remaining content) from given stream; fewer if stream ends before that.
+     *
+     * @since 2.7.10
+     */
+    protected static byte[] _readBinary(InputStream in, int length) throws IOException
+    {
+        if (length < 0) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] buf = new byte[StreamingWriter.COPY_BUFFER_SIZE];
+            int count;
+            while ((count = in.read(buf)) >= 0) {
+                bytes.write(buf, 0, count);
+            }
+            return bytes.toByteArray();
+        }
+        byte[] data = new byte[length];
+        int offset = 0;
+        while (offset < length) {
+            int count = in.read(data, offset, length - offset);
+            if (count < 0) {
+                return Arrays.copyOf(data, offset);
+            }
+            offset += count;
+        }
+        return data;
+    }
+
+    /**
+     * @since 2.7.10
+     */
+    protected static Object _copyOf(Object array, int offset, int length)
+    {
+        Object result = Array.newInstance(array.getClass().getComponentType(), length);
+        System.arraycopy(array, offset, result, 0, length);
+        return result;
+    }
+
+    /**
+     * Helper method for accessing given slice of a primitive array, for
+     * immediate encoding: only copied if not the whole array.
+     *
+     * @since 2.7.10
+     */
+    protected static Object _slice(Object array, int offset, int length)
+    {
+        if ((offset == 0) && (length == Array.getLength(array))) {
+            return array;
+        }
+        return _copyOf(array, offset, length);
+    }
+
     protected GenericRecord _createRecord(Schema schema) throws JsonMappingException
     {
         // Quick check: if type is Union, need to find actual record type...
@@ -141,20 +296,7 @@ public abstract class AvroWriteContext
     protected GenericArray<Object> _createArray(Schema schema)
     {
         if (schema.getType() == Schema.Type.UNION) {
-            Schema match = null;
-            for (Schema s : schema.getTypes()) {
-                if (s.getType() == Schema.Type.ARRAY) {
-                    if (match != null) {
-                        throw new IllegalStateException("Multiple Array types, can not figure out which to use for: "
-                                +schema);
-                    }
-                    match = s;
-                }
-            }
-            if (match == null) {
-                throw new IllegalStateException("No Array type found in union type: "+schema);
-            }
-            schema = match;
+            schema = _arrayFromUnion(schema);
         }
         return new GenericData.Array<Object>(8, schema);
     }
@@ -172,6 +314,109 @@ public abstract class AvroWriteContext
         return new ObjectWriteContext(this, _generator, _createRecord(schema));
     }
 
+    /**
+     * Factory method used when {@link AvroGenerator.Feature#STREAMING_OUTPUT}
+     * is enabled: constructs context that encodes Record or Map value
+     * directly using given encoder.
+     *
+     * @since 2.7.10
+     */
+    protected AvroWriteContext _createStreamingObjectContext(Schema schema,
+            BinaryEncoder encoder, StreamingWriter writer) throws IOException
+    {
+        Type type = schema.getType();
+        if (type == Schema.Type.UNION) {
+            Schema match = _recordOrMapFromUnion(schema);
+            encoder.writeIndex(_unionIndex(schema, match));
+            schema = match;
+            type = schema.getType();
+        }
+        if (type == Schema.Type.MAP) {
+            return new StreamingMapWriteContext(this, _generator, schema, encoder, writer);
+        }
+        if (type != Schema.Type.RECORD) {
+            throw new IllegalStateException("Can not write START_OBJECT; schema type is "+type);
+        }
+        return new StreamingObjectWriteContext(this, _generator, schema, encoder, writer);
+    }
+
+    /**
+     * Factory method used when {@link AvroGenerator.Feature#STREAMING_OUTPUT}
+     * is enabled: constructs context that encodes Array value directly using
+     * given encoder.
+     *
+     * @since 2.7.10
+     */
+    protected AvroWriteContext _createStreamingArrayContext(Schema schema,
+            BinaryEncoder encoder, StreamingWriter writer) throws IOException
+    {
+        Type type = schema.getType();
+        if (type == Schema.Type.UNION) {
+            Schema match = _arrayFromUnion(schema);
+            encoder.writeIndex(_unionIndex(schema, match));
+            schema = match;
+            type = schema.getType();
+        }
+        if (type != Schema.Type.ARRAY) {
+            throw new IllegalStateException("Can not write START_ARRAY; schema type is "+type);
+        }
+        return new StreamingArrayWriteContext(this, _generator, schema, encoder, writer);
+    }
+
+    /**
+     * Helper method for checking whether values of given type are Records,
+     * either directly or as the only Record (or Map) type of a union.
+     *
+     * @since 2.7.10
+     */
+    protected static boolean _isRecord(Schema schema)
+    {
+        if (schema.getType() == Schema.Type.UNION) {
+            Schema match = null;
+            for (Schema s : schema.getTypes()) {
+                Schema.Type type = s.getType();
+                if (type == Schema.Type.RECORD || type == Schema.Type.MAP) {
+                    if (match != null) {
+                        return false;
+                    }
+                    match = s;
+                }
+            }
+            return (match != null) && (match.getType() == Schema.Type.RECORD);
+        }
+        return (schema.getType() == Schema.Type.RECORD);
+    }
+
+    protected Schema _arrayFromUnion(Schema unionSchema)
+    {
+        Schema match = null;
+        for (Schema s : unionSchema.getTypes()) {
+            if (s.getType() == Schema.Type.ARRAY) {
+                if (match != null) {
+                    throw new IllegalStateException("Multiple Array types, can not figure out which to use for: "
+                            +unionSchema);
+                }
+                match = s;
+            }
+        }
+        if (match == null) {
+            throw new IllegalStateException("No Array type found in union type: "+unionSchema);
+        }
+        return match;
+    }
+
+    protected static int _unionIndex(Schema unionSchema, Schema member)
+    {
+        int ix = 0;
+        for (Schema s : unionSchema.getTypes()) {
+            if (s == member) {
+                return ix;
+            }
+            ++ix;
+        }
+        throw new IllegalStateException("Type "+member+" not a member of union type: "+unionSchema);
+    }
+
     protected Schema _recordOrMapFromUnion(Schema unionSchema)
     {
         Schema match = null;
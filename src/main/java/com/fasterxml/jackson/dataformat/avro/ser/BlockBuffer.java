@@ -0,0 +1,114 @@
+package com.fasterxml.jackson.dataformat.avro.ser;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.apache.avro.io.BinaryEncoder;
+
+import com.fasterxml.jackson.dataformat.avro.AvroSchema;
+
+/**
+ * Simple growable byte buffer used by streaming Array and Map contexts
+ * to collect encoded entries of a block: this is needed since Avro requires
+ * entry count to be written before entries themselves. Contexts write out
+ * the block once it reaches configured size, so buffer only needs to hold
+ * one block worth of entries (plus the last entry).
+ *
+ * @since 2.7.10
+ */
+final class BlockBuffer extends OutputStream
+{
+    private final static int INITIAL_SIZE = 256;
+
+    /**
+     * Unbuffered encoder that writes directly into this buffer
+     */
+    private final BinaryEncoder _encoder;
+
+    private byte[] _buffer;
+
+    private int _length;
+
+    /**
+     * Number of entries (Array elements, Map entries) in the current block
+     */
+    private long _count;
+
+    public BlockBuffer() {
+        _buffer = new byte[INITIAL_SIZE];
+        _encoder = AvroSchema.encoder(this, false);
+    }
+
+    /**
+     * Accessor for the encoder to use for writing entries into this buffer
+     */
+    public BinaryEncoder encoder() { return _encoder; }
+
+    public long count() { return _count; }
+
+    public int size() { return _length; }
+
+    /**
+     * Method called before writing an entry of the block.
+     */
+    public void startEntry() {
+        ++_count;
+    }
+
+    /**
+     * Method for writing contents of the current block, if any, into given
+     * encoder, and clearing the buffer for the next block.
+     *
+     * @param withSize Whether to include size of the block in bytes, to allow
+     *    skipping: if so, entry count is written as negative number, followed
+     *    by the size
+     */
+    public void writeBlock(BinaryEncoder out, boolean withSize) throws IOException
+    {
+        if (_count > 0L) {
+            if (withSize) {
+                out.writeLong(-_count);
+                out.writeLong(_length);
+            } else {
+                out.writeLong(_count);
+            }
+            out.writeFixed(_buffer, 0, _length);
+        }
+        reset();
+    }
+
+    public void reset() {
+        _length = 0;
+        _count = 0L;
+    }
+
+    /*
+    /**********************************************************
+    /* OutputStream implementation
+    /**********************************************************
+     */
+
+    @Override
+    public void write(int b) {
+        if (_length >= _buffer.length) {
+            _expand(1);
+        }
+        _buffer[_length++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int offset, int len) {
+        if ((_length + len) > _buffer.length) {
+            _expand(len);
+        }
+        System.arraycopy(b, offset, _buffer, _length, len);
+        _length += len;
+    }
+
+    private void _expand(int needed) {
+        int newSize = Math.max(_buffer.length << 1, _length + needed);
+        byte[] b = new byte[newSize];
+        System.arraycopy(_buffer, 0, b, 0, _length);
+        _buffer = b;
+    }
+}
@@ -0,0 +1,214 @@
+package com.fasterxml.jackson.dataformat.avro.ser;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+import org.apache.avro.Schema;
+import org.apache.avro.file.CodecFactory;
+import org.apache.avro.file.DataFileWriter;
+import org.apache.avro.generic.GenericDatumWriter;
+
+/**
+ * {@link OutputStream} that collects binary-encoded datums written by
+ * {@link com.fasterxml.jackson.dataformat.avro.AvroGenerator}, and frames
+ * them as an Avro Object Container File: header (with Schema and codec name),
+ * followed by blocks of datums, each compressed with the codec and followed
+ * by the sync marker.
+ *<p>
+ * Generator calls {@link #endDatum} after each root-level value; datums are
+ * then appended to the current block, which is written out once its
+ * (uncompressed) size reaches configured block size, or when stream is
+ * {@link #finish}ed. Note that {@link #flush} does NOT force end of the
+ * current block, as that would produce tiny blocks for
+ * <code>SequenceWriter</code>s that flush after each value.
+ *
+ * @since 2.7.10
+ */
+public class ContainerBlockOutputStream extends OutputStream
+{
+    private final static int INITIAL_DATUM_SIZE = 256;
+
+    protected final OutputStream _target;
+
+    protected final CodecFactory _codec;
+
+    protected final int _blockSize;
+
+    /**
+     * Writer used for actual framing; constructed when Schema is known
+     * and the header is written.
+     */
+    protected DataFileWriter<Object> _writer;
+
+    protected Schema _schema;
+
+    /**
+     * Buffer for contents of the datum being written
+     */
+    protected byte[] _datum;
+
+    protected int _datumLength;
+
+    protected boolean _finished;
+
+    /**
+     * @param target Stream to write container file to; not closed by
+     *   {@link #finish}, only by {@link #close}
+     * @param codec Codec to use for compressing blocks; custom codecs may be
+     *   used by sub-classing {@link CodecFactory}
+     * @param blockSize Approximate size of uncompressed blocks, in bytes; between
+     *   32 and 2^30.
+     */
+    public ContainerBlockOutputStream(OutputStream target, CodecFactory codec, int blockSize)
+    {
+        if ((blockSize < 32) || (blockSize > (1 << 30))) {
+            throw new IllegalArgumentException("Invalid block size: "+blockSize);
+        }
+        _target = target;
+        _codec = codec;
+        _blockSize = blockSize;
+        _datum = new byte[INITIAL_DATUM_SIZE];
+    }
+
+    /**
+     * Method called to assign Schema of datums; must be called before the
+     * first datum is written, and can not be changed once header has been
+     * written.
+     */
+    public void setSchema(Schema schema)
+    {
+        if ((_writer != null) && !schema.equals(_schema)) {
+            throw new IllegalStateException("Can not change Schema of Avro container file once header is written");
+        }
+        _schema = schema;
+    }
+
+    public Schema getSchema() {
+        return _schema;
+    }
+
+    /**
+     * Method called by generator when a complete root-level value has been
+     * written: will be appended to the current block. Note that some values
+     * (like empty Records and <code>null</code>s) encode to no bytes at all,
+     * but are still datums.
+     */
+    public void endDatum() throws IOException
+    {
+        _initWriter().appendEncoded(ByteBuffer.wrap(_datum, 0, _datumLength));
+        _datumLength = 0;
+    }
+
+    /**
+     * Method called to write out the last block (if any), and flush the target
+     * stream; header is also written if no datums have been written. Target
+     * stream is not closed. Calling this method more than once has no effect.
+     */
+    public void finish() throws IOException
+    {
+        if (_finished) {
+            return;
+        }
+        if (_schema == null) { // can not write anything meaningful
+            _finished = true;
+            _target.flush();
+            return;
+        }
+        // generator ends all complete values; anything left is an incomplete value
+        if (_datumLength > 0) {
+            endDatum();
+        }
+        _finished = true;
+        // note: closes wrapper, which only flushes the target
+        _initWriter().close();
+    }
+
+    /*
+    /**********************************************************
+    /* OutputStream implementation
+    /**********************************************************
+     */
+
+    @Override
+    public void write(int b) {
+        if (_datumLength >= _datum.length) {
+            _expand(1);
+        }
+        _datum[_datumLength++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int offset, int len) {
+        if ((_datumLength + len) > _datum.length) {
+            _expand(len);
+        }
+        System.arraycopy(b, offset, _datum, _datumLength, len);
+        _datumLength += len;
+    }
+
+    /**
+     * Does not force output of the current block; see class description.
+     */
+    @Override
+    public void flush() { }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            finish();
+        } finally {
+            _target.close();
+        }
+    }
+
+    /*
+    /**********************************************************
+    /* Internal methods
+    /**********************************************************
+     */
+
+    protected DataFileWriter<Object> _initWriter() throws IOException
+    {
+        if (_writer == null) {
+            if (_schema == null) {
+                throw new IllegalStateException("No Schema assigned for Avro container file");
+            }
+            DataFileWriter<Object> w = new DataFileWriter<Object>(new GenericDatumWriter<Object>());
+            w.setCodec(_codec);
+            w.setSyncInterval(_blockSize);
+            w.create(_schema, new NonClosingOutputStream(_target));
+            _writer = w;
+        }
+        return _writer;
+    }
+
+    private void _expand(int needed) {
+        int newSize = Math.max(_datum.length << 1, _datumLength + needed);
+        byte[] b = new byte[newSize];
+        System.arraycopy(_datum, 0, b, 0, _datumLength);
+        _datum = b;
+    }
+
+    /**
+     * Wrapper needed since {@link DataFileWriter} insists on closing the
+     * stream it writes to, in order to write the last block.
+     */
+    private final static class NonClosingOutputStream extends FilterOutputStream
+    {
+        public NonClosingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int offset, int len) throws IOException {
+            out.write(b, offset, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.flush();
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.fasterxml.jackson.dataformat.avro.ser;
 
 import org.apache.avro.Schema;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.dataformat.avro.AvroGenerator;
 
 /**
@@ -27,6 +28,21 @@ abstract class KeyValueContext extends AvroWriteContext
         return !_expectValue;
     }
     
+    protected final void _verifyValueWrite() {
+        if (!_expectValue) {
+            throw new IllegalStateException("Expecting FIELD_NAME, not value");
+        }
+        _expectValue = false;
+    }
+
+    @SuppressWarnings("deprecation")
+    protected void _reportUnknownField(String name) {
+        if (!_generator.isEnabled(JsonGenerator.Feature.IGNORE_UNKNOWN)
+                && !_generator.isEnabled(AvroGenerator.Feature.IGNORE_UNKWNOWN)) {
+            throw new IllegalStateException("No field named '"+_currentName+"'");
+        }
+    }
+
     @Override
     public final void appendDesc(StringBuilder sb)
     {
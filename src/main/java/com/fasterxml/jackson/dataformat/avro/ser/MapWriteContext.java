@@ -37,7 +37,7 @@ public final class MapWriteContext
     @Override
     public final AvroWriteContext createChildArrayContext() {
         _verifyValueWrite();
-        AvroWriteContext child = new ArrayWriteContext(this, _generator, _createArray(_schema.getElementType()));
+        AvroWriteContext child = new ArrayWriteContext(this, _generator, _createArray(_schema.getValueType()));
         _data.put(_currentName, child.rawValue());
         return child;
     }
@@ -68,11 +68,4 @@ public final class MapWriteContext
         _verifyValueWrite();
         _data.put(_currentName, null);
     }
-
-    protected final void _verifyValueWrite() {
-        if (!_expectValue) {
-            throw new IllegalStateException("Expecting FIELD_NAME, not value");
-        }
-        _expectValue = false;
-    }
 }
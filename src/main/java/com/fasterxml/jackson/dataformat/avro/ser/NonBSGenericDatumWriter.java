@@ -1,7 +1,10 @@
 package com.fasterxml.jackson.dataformat.avro.ser;
 
 import java.io.IOException;
+import java.lang.reflect.Array;
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.avro.Schema;
@@ -18,6 +21,14 @@ import org.apache.avro.io.Encoder;
 public class NonBSGenericDatumWriter<D>
 	extends GenericDatumWriter<D>
 {
+	/**
+	 * Marker returned by {@link #primitiveIndex} if a primitive value can
+	 * not be encoded directly.
+	 *
+	 * @since 2.7.10
+	 */
+	final static int NO_MATCH = -2;
+
 	public NonBSGenericDatumWriter(Schema root) {
 		super(root);
 	}
@@ -39,6 +50,24 @@ public class NonBSGenericDatumWriter<D>
 				default:
 				}
 			}
+		} else if (_isPrimitiveArray(datum)) {
+			// written by AvroGenerator.writeArray() methods; can only match Array type
+			Integer ix = union.getIndexNamed(Type.ARRAY.getName());
+			if (ix != null) {
+				return ix.intValue();
+			}
+		} else if (datum instanceof ByteBuffer) {
+			// binary values are written as ByteBuffers, but may also match 'fixed' of same size
+			if (union.getIndexNamed(Type.BYTES.getName()) == null) {
+				final int size = ((ByteBuffer) datum).remaining();
+				List<Schema> schemas = union.getTypes();
+				for (int i = 0, len = schemas.size(); i < len; ++i) {
+					Schema s = schemas.get(i);
+					if ((s.getType() == Type.FIXED) && (s.getFixedSize() == size)) {
+						return i;
+					}
+				}
+			}
 		} else if( datum instanceof BigDecimal) {
 			List<Schema> schemas = union.getTypes();
 			for (int i = 0, len = schemas.size(); i < len; ++i) {
@@ -62,4 +91,155 @@ public class NonBSGenericDatumWriter<D>
 	        super.write(schema, datum, out);
 	    }
 	}
+
+	/**
+	 * Overridden to allow writing 'fixed' values from {@link ByteBuffer}s
+	 * (as written by {@link com.fasterxml.jackson.dataformat.avro.AvroGenerator#writeBinary}),
+	 * without copying contents.
+	 *
+	 * @since 2.7.10
+	 */
+	@Override
+	protected void writeFixed(Schema schema, Object datum, Encoder out) throws IOException {
+	    if (datum instanceof ByteBuffer) {
+	        ByteBuffer bb = (ByteBuffer) datum;
+	        verifyFixedSize(schema, bb.remaining());
+	        out.writeFixed(bb);
+	    } else {
+	        super.writeFixed(schema, datum, out);
+	    }
+	}
+
+	/**
+	 * Overridden to encode primitive arrays (written by
+	 * {@link com.fasterxml.jackson.dataformat.avro.AvroGenerator#writeArray(double[], int, int)}
+	 * and similar methods) without boxing elements, when element type matches.
+	 *
+	 * @since 2.7.10
+	 */
+	@Override
+	protected void writeArray(Schema schema, Object datum, Encoder out) throws IOException {
+	    if (!_isPrimitiveArray(datum)) {
+	        super.writeArray(schema, datum, out);
+	        return;
+	    }
+	    final Schema elemSchema = schema.getElementType();
+	    if (datum instanceof int[]) {
+	        final int[] values = (int[]) datum;
+	        final int ix = primitiveIndex(elemSchema, Type.INT);
+	        if (ix != NO_MATCH) {
+	            out.writeArrayStart();
+	            out.setItemCount(values.length);
+	            for (int i = 0; i < values.length; ++i) {
+	                out.startItem();
+	                if (ix >= 0) {
+	                    out.writeIndex(ix);
+	                }
+	                out.writeInt(values[i]);
+	            }
+	            out.writeArrayEnd();
+	            return;
+	        }
+	    } else if (datum instanceof long[]) {
+	        final long[] values = (long[]) datum;
+	        final int ix = primitiveIndex(elemSchema, Type.LONG);
+	        if (ix != NO_MATCH) {
+	            out.writeArrayStart();
+	            out.setItemCount(values.length);
+	            for (int i = 0; i < values.length; ++i) {
+	                out.startItem();
+	                if (ix >= 0) {
+	                    out.writeIndex(ix);
+	                }
+	                out.writeLong(values[i]);
+	            }
+	            out.writeArrayEnd();
+	            return;
+	        }
+	    } else if (datum instanceof float[]) {
+	        final float[] values = (float[]) datum;
+	        final int ix = primitiveIndex(elemSchema, Type.FLOAT);
+	        if (ix != NO_MATCH) {
+	            out.writeArrayStart();
+	            out.setItemCount(values.length);
+	            for (int i = 0; i < values.length; ++i) {
+	                out.startItem();
+	                if (ix >= 0) {
+	                    out.writeIndex(ix);
+	                }
+	                out.writeFloat(values[i]);
+	            }
+	            out.writeArrayEnd();
+	            return;
+	        }
+	    } else {
+	        final double[] values = (double[]) datum;
+	        final int ix = primitiveIndex(elemSchema, Type.DOUBLE);
+	        if (ix != NO_MATCH) {
+	            out.writeArrayStart();
+	            out.setItemCount(values.length);
+	            for (int i = 0; i < values.length; ++i) {
+	                out.startItem();
+	                if (ix >= 0) {
+	                    out.writeIndex(ix);
+	                }
+	                out.writeDouble(values[i]);
+	            }
+	            out.writeArrayEnd();
+	            return;
+	        }
+	    }
+	    // Element type does not match: write boxed values, as if written one by one
+	    super.writeArray(schema, _boxed(datum), out);
+	}
+
+	/**
+	 * Helper method for checking whether a primitive value of given type may be
+	 * encoded directly for given Schema.
+	 *
+	 * @return -1 if Schema is of given type; index of the matching type if Schema
+	 *    is a union that contains given type; or {@link #NO_MATCH} if neither
+	 *
+	 * @since 2.7.10
+	 */
+	static int primitiveIndex(Schema schema, Type type)
+	{
+	    final Type schemaType = schema.getType();
+	    if (schemaType == type) {
+	        return -1;
+	    }
+	    if (schemaType == Type.UNION) {
+	        // same as what GenericData.resolveUnion() would do for the wrapper
+	        Integer ix = schema.getIndexNamed(type.getName());
+	        if (ix != null) {
+	            return ix.intValue();
+	        }
+	    }
+	    return NO_MATCH;
+	}
+
+	/**
+	 * @since 2.7.10
+	 */
+	static void verifyFixedSize(Schema schema, int size)
+	{
+	    if (size != schema.getFixedSize()) {
+	        throw new IllegalStateException("Invalid length for value of fixed type '"
+	                +schema.getFullName()+"': expected "+schema.getFixedSize()+" bytes, got "+size);
+	    }
+	}
+
+	private static boolean _isPrimitiveArray(Object datum) {
+	    return (datum instanceof double[]) || (datum instanceof long[])
+	            || (datum instanceof int[]) || (datum instanceof float[]);
+	}
+
+	private static List<Object> _boxed(Object array) {
+	    final int len = Array.getLength(array);
+	    List<Object> result = new ArrayList<Object>(len);
+	    for (int i = 0; i < len; ++i) {
+	        result.add(Array.get(array, i));
+	    }
+	    return result;
+	}
 }
@@ -34,6 +34,24 @@ public class NopWriteContext extends AvroWriteContext
     @Override
     public void writeNull() { }
 
+    @Override
+    public void writeInt(int value) { }
+
+    @Override
+    public void writeLong(long value) { }
+
+    @Override
+    public void writeFloat(float value) { }
+
+    @Override
+    public void writeDouble(double value) { }
+
+    @Override
+    public void writeBoolean(boolean value) { }
+
+    @Override
+    public void writeArray(Object array, int offset, int length) { }
+
     @Override
     public void appendDesc(StringBuilder sb) {
         sb.append("(...)");
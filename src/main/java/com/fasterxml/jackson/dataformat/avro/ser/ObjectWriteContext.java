@@ -1,15 +1,10 @@
 package com.fasterxml.jackson.dataformat.avro.ser;
 
-import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.dataformat.avro.AvroGenerator;
 import org.apache.avro.Schema;
-import org.apache.avro.generic.GenericData;
 import org.apache.avro.generic.GenericRecord;
 
-import java.nio.ByteBuffer;
-import java.util.Arrays;
-
 public final class ObjectWriteContext
     extends KeyValueContext
 {
@@ -76,17 +71,8 @@ public final class ObjectWriteContext
     public void writeValue(Object value) throws JsonMappingException {
         _verifyValueWrite();
         if (_nextField != null) {
-            Schema schema = _nextField.schema();
-            if (schema.getType() == Schema.Type.FIXED) {
-                // 13-Nov-2014 josh: AvroGenerator wraps all binary values in ByteBuffers,
-                // but avro wants FIXED, so rewrap the array, copying if necessary
-                ByteBuffer bb = (ByteBuffer) value;
-                byte[] bytes = bb.array();
-                if (bb.arrayOffset() != 0 || bb.remaining() != bytes.length) {
-                    bytes = Arrays.copyOfRange(bytes, bb.arrayOffset(), bb.remaining());
-                }
-                value = new GenericData.Fixed(schema, bytes);
-            }
+            // note: binary values are ByteBuffers, which datum writer also accepts
+            // for FIXED fields, so no need to copy them
             _record.put(_nextField.pos(), value);
         }
     }
@@ -107,13 +93,6 @@ public final class ObjectWriteContext
         }
     }
 
-    protected final void _verifyValueWrite() {
-        if (!_expectValue) {
-            throw new IllegalStateException("Expecting FIELD_NAME, not value");
-        }
-        _expectValue = false;
-    }
-
     protected Schema.Field _findField() {
         if (_currentName == null) {
             throw new IllegalStateException("No current field name");
@@ -124,12 +103,4 @@ public final class ObjectWriteContext
         }
         return f;
     }
-
-    @SuppressWarnings("deprecation")
-    protected void _reportUnknownField(String name) {
-        if (!_generator.isEnabled(JsonGenerator.Feature.IGNORE_UNKNOWN)
-                && !_generator.isEnabled(AvroGenerator.Feature.IGNORE_UNKWNOWN)) {
-            throw new IllegalStateException("No field named '"+_currentName+"'");
-        }
-    }
 }
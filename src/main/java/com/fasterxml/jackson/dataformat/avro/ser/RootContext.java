@@ -1,12 +1,12 @@
 package com.fasterxml.jackson.dataformat.avro.ser;
 
 import java.io.IOException;
+import java.io.InputStream;
 
 import org.apache.avro.Schema;
 import org.apache.avro.generic.*;
 import org.apache.avro.io.BinaryEncoder;
 
-import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.dataformat.avro.AvroGenerator;
 
 class RootContext
@@ -26,6 +26,13 @@ class RootContext
      */
     private NonBSGenericDatumWriter<Object> _writer;
 
+    /**
+     * Lazily created helper used for encoding with
+     * {@link AvroGenerator.Feature#STREAMING_OUTPUT}: reused in case of
+     * root value sequences.
+     */
+    private StreamingWriter _streamingWriter;
+
     public RootContext(AvroGenerator generator, Schema schema, BinaryEncoder encoder) {
         super(TYPE_ROOT, null, generator, schema);
         _encoder = encoder;
@@ -35,7 +42,7 @@ class RootContext
     public Object rawValue() { return _rootValue; }
     
     @Override
-    public final AvroWriteContext createChildArrayContext() throws JsonMappingException
+    public final AvroWriteContext createChildArrayContext() throws IOException
     {
         // verify that root type is array (or compatible)
         switch (_schema.getType()) {
@@ -46,14 +53,28 @@ class RootContext
             throw new IllegalStateException("Can not write START_ARRAY; schema type is "
                     +_schema.getType());
         }
+        if (_generator.isEnabled(AvroGenerator.Feature.STREAMING_OUTPUT)) {
+            return _createStreamingArrayContext(_schema, _encoder, _streamingWriter());
+        }
         GenericArray<Object> arr = _createArray(_schema);
         _rootValue = arr;
         return new ArrayWriteContext(this, _generator, arr);
     }
     
     @Override
-    public final AvroWriteContext createChildObjectContext() throws JsonMappingException
+    public final AvroWriteContext createChildObjectContext() throws IOException
     {
+        if (_generator.isEnabled(AvroGenerator.Feature.STREAMING_OUTPUT)) {
+            switch (_schema.getType()) {
+            case RECORD:
+            case UNION:
+            case MAP:
+                return _createStreamingObjectContext(_schema, _encoder, _streamingWriter());
+            default:
+            }
+            throw new IllegalStateException("Can not write START_OBJECT; schema type is "
+                    +_schema.getType());
+        }
         // verify that root type is record (or compatible)
         switch (_schema.getType()) {
         case RECORD:
@@ -75,6 +96,16 @@ class RootContext
                 +_schema.getType());
     }
 
+    @Override
+    public AvroWriteContext createChildRecordContext() throws IOException
+    {
+        // Root value is encoded once complete, so can always encode directly
+        if (_isRecord(_schema)) {
+            return _createStreamingObjectContext(_schema, _encoder, _streamingWriter());
+        }
+        return null;
+    }
+
     @Override
     public void writeValue(Object value) throws IOException {
         // 19-Jan-2017, tatu: Implemented to allow/support root-level scalars, esp.
@@ -89,6 +120,46 @@ class RootContext
         _writer().write(value, _encoder);
     }
 
+    // Root-level scalars are encoded right away, so no need to box
+
+    @Override
+    public void writeInt(int value) throws IOException {
+        _streamingWriter().writeInt(_schema, value, _encoder);
+    }
+
+    @Override
+    public void writeLong(long value) throws IOException {
+        _streamingWriter().writeLong(_schema, value, _encoder);
+    }
+
+    @Override
+    public void writeFloat(float value) throws IOException {
+        _streamingWriter().writeFloat(_schema, value, _encoder);
+    }
+
+    @Override
+    public void writeDouble(double value) throws IOException {
+        _streamingWriter().writeDouble(_schema, value, _encoder);
+    }
+
+    @Override
+    public void writeBoolean(boolean value) throws IOException {
+        _streamingWriter().writeBoolean(_schema, value, _encoder);
+    }
+
+    @Override
+    public void writeArray(Object array, int offset, int length) throws IOException {
+        writeValue(_slice(array, offset, length));
+    }
+
+    @Override
+    public int writeBinary(InputStream in, int length) throws IOException {
+        if (length < 0) {
+            return super.writeBinary(in, length);
+        }
+        return _streamingWriter().writeBinary(_schema, in, length, _encoder);
+    }
+
     @Override
     public void writeNull() throws IOException {
         // 19-Jan-2017, tatu: ... is this even legal?
@@ -122,4 +193,13 @@ class RootContext
         }
         return w;
     }
+
+    private final StreamingWriter _streamingWriter() {
+        StreamingWriter w = _streamingWriter;
+        if (w == null){
+            w = new StreamingWriter(_writer());
+            _streamingWriter = w;
+        }
+        return w;
+    }
 }
@@ -0,0 +1,161 @@
+package com.fasterxml.jackson.dataformat.avro.ser;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.apache.avro.Schema;
+import org.apache.avro.io.BinaryEncoder;
+
+import com.fasterxml.jackson.dataformat.avro.AvroGenerator;
+
+/**
+ * Alternative to {@link ArrayWriteContext} used when
+ * {@link AvroGenerator.Feature#STREAMING_OUTPUT} is enabled: elements are
+ * encoded into a {@link BlockBuffer} as they are written, and output in
+ * blocks of (approximately) {@link AvroGenerator#getStreamingBlockSize()}
+ * bytes, so that whole array is never buffered.
+ *
+ * @since 2.7.10
+ */
+final class StreamingArrayWriteContext
+    extends AvroWriteContext
+{
+    protected final BinaryEncoder _encoder;
+
+    protected final StreamingWriter _writer;
+
+    protected final Schema _elementSchema;
+
+    protected final BlockBuffer _buffer;
+
+    /**
+     * Size of encoded entries after which current block is written out
+     */
+    protected final int _blockSize;
+
+    /**
+     * Whether blocks are to be preceded by their size in bytes
+     */
+    protected final boolean _writeBlockSizes;
+
+    public StreamingArrayWriteContext(AvroWriteContext parent, AvroGenerator generator,
+            Schema schema, BinaryEncoder encoder, StreamingWriter writer)
+    {
+        super(TYPE_ARRAY, parent, generator, schema);
+        _encoder = encoder;
+        _writer = writer;
+        _elementSchema = schema.getElementType();
+        _buffer = writer.allocBuffer();
+        _blockSize = generator.getStreamingBlockSize();
+        _writeBlockSizes = generator.isEnabled(AvroGenerator.Feature.WRITE_BLOCK_SIZES);
+    }
+
+    @Override
+    public Object rawValue() { return null; }
+
+    @Override
+    public final AvroWriteContext createChildArrayContext() throws IOException {
+        _startEntry();
+        return _createStreamingArrayContext(_elementSchema, _buffer.encoder(), _writer);
+    }
+
+    @Override
+    public final AvroWriteContext createChildObjectContext() throws IOException {
+        _startEntry();
+        return _createStreamingObjectContext(_elementSchema, _buffer.encoder(), _writer);
+    }
+
+    @Override
+    public AvroWriteContext createChildRecordContext() throws IOException {
+        return _isRecord(_elementSchema) ? createChildObjectContext() : null;
+    }
+
+    @Override
+    public void writeValue(Object value) throws IOException {
+        _startEntry();
+        _writer.writeValue(_elementSchema, value, _buffer.encoder());
+    }
+
+    @Override
+    public void writeString(String value) throws IOException {
+        writeValue(value);
+    }
+
+    @Override
+    public void writeInt(int value) throws IOException {
+        _startEntry();
+        _writer.writeInt(_elementSchema, value, _buffer.encoder());
+    }
+
+    @Override
+    public void writeLong(long value) throws IOException {
+        _startEntry();
+        _writer.writeLong(_elementSchema, value, _buffer.encoder());
+    }
+
+    @Override
+    public void writeFloat(float value) throws IOException {
+        _startEntry();
+        _writer.writeFloat(_elementSchema, value, _buffer.encoder());
+    }
+
+    @Override
+    public void writeDouble(double value) throws IOException {
+        _startEntry();
+        _writer.writeDouble(_elementSchema, value, _buffer.encoder());
+    }
+
+    @Override
+    public void writeBoolean(boolean value) throws IOException {
+        _startEntry();
+        _writer.writeBoolean(_elementSchema, value, _buffer.encoder());
+    }
+
+    @Override
+    public void writeArray(Object array, int offset, int length) throws IOException {
+        _startEntry();
+        _writer.writeValue(_elementSchema, _slice(array, offset, length), _buffer.encoder());
+    }
+
+    @Override
+    public int writeBinary(InputStream in, int length) throws IOException {
+        if (length < 0) {
+            return super.writeBinary(in, length);
+        }
+        _startEntry();
+        return _writer.writeBinary(_elementSchema, in, length, _buffer.encoder());
+    }
+
+    @Override
+    public void writeNull() throws IOException {
+        writeValue(null);
+    }
+
+    @Override
+    public void complete() throws IOException {
+        _buffer.writeBlock(_encoder, _writeBlockSizes);
+        // and then the end marker
+        _encoder.writeLong(0L);
+        _writer.releaseBuffer(_buffer);
+    }
+
+    /**
+     * Method called before writing an element: if previous elements already
+     * fill a block, that block is written first. Note that nested Arrays and
+     * Maps are always complete at this point, so they are never split.
+     */
+    private void _startEntry() throws IOException {
+        if (_buffer.size() >= _blockSize) {
+            _buffer.writeBlock(_encoder, _writeBlockSizes);
+        }
+        _buffer.startEntry();
+    }
+
+    @Override
+    public void appendDesc(StringBuilder sb)
+    {
+        sb.append('[');
+        sb.append(getCurrentIndex());
+        sb.append(']');
+    }
+}
@@ -0,0 +1,286 @@
+package com.fasterxml.jackson.dataformat.avro.ser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryEncoder;
+
+import com.fasterxml.jackson.dataformat.avro.AvroGenerator;
+
+/**
+ * Alternative to {@link ObjectWriteContext} used when
+ * {@link AvroGenerator.Feature#STREAMING_OUTPUT} is enabled: values are
+ * encoded as soon as they are written, as long as properties come in the
+ * Schema order. If a property is written out of order, it and all the
+ * following properties are buffered into a {@link GenericRecord}, and
+ * output when the Record is closed.
+ *
+ * @since 2.7.10
+ */
+final class StreamingObjectWriteContext
+    extends KeyValueContext
+{
+    protected final BinaryEncoder _encoder;
+
+    protected final StreamingWriter _writer;
+
+    protected final List<Schema.Field> _fields;
+
+    /**
+     * Position of the next field to be encoded (all fields before it have
+     * been output)
+     */
+    protected int _nextPos;
+
+    /**
+     * Definition of property that is to be written next, if any;
+     * null if property is to be skipped.
+     */
+    protected Schema.Field _nextField;
+
+    /**
+     * Record used for buffering remaining properties, once a property has
+     * been written out of Schema order; null if no buffering is needed.
+     */
+    protected GenericRecord _buffered;
+
+    public StreamingObjectWriteContext(AvroWriteContext parent, AvroGenerator generator,
+            Schema schema, BinaryEncoder encoder, StreamingWriter writer)
+    {
+        super(parent, generator, schema);
+        _encoder = encoder;
+        _writer = writer;
+        _fields = schema.getFields();
+    }
+
+    // Nothing is materialized
+    @Override
+    public Object rawValue() { return null; }
+
+    @Override
+    public final AvroWriteContext createChildArrayContext() throws IOException
+    {
+        _verifyValueWrite();
+        Schema.Field field = _nextField;
+        if (field == null) { // unknown, to ignore
+            return new NopWriteContext(TYPE_ARRAY, this, _generator);
+        }
+        if (_buffered == null) {
+            ++_nextPos;
+            return _createStreamingArrayContext(field.schema(), _encoder, _writer);
+        }
+        AvroWriteContext child = new ArrayWriteContext(this, _generator, _createArray(field.schema()));
+        _buffered.put(field.pos(), child.rawValue());
+        return child;
+    }
+
+    @Override
+    public final AvroWriteContext createChildObjectContext() throws IOException
+    {
+        _verifyValueWrite();
+        Schema.Field field = _nextField;
+        if (field == null) { // unknown, to ignore
+            return new NopWriteContext(TYPE_OBJECT, this, _generator);
+        }
+        if (_buffered == null) {
+            ++_nextPos;
+            return _createStreamingObjectContext(field.schema(), _encoder, _writer);
+        }
+        AvroWriteContext child = _createObjectContext(field.schema());
+        _buffered.put(field.pos(), child.rawValue());
+        return child;
+    }
+
+    @Override
+    public AvroWriteContext createChildRecordContext() throws IOException
+    {
+        Schema.Field field = _nextField;
+        if ((_buffered == null) && _expectValue && (field != null) && _isRecord(field.schema())) {
+            return createChildObjectContext();
+        }
+        return null;
+    }
+
+    @Override
+    public final boolean writeFieldName(String name)
+    {
+        _currentName = name;
+        _expectValue = true;
+        Schema.Field field = _schema.getField(name);
+        if (field == null) {
+            _reportUnknownField(name);
+            _nextField = null;
+            return false;
+        }
+        final int pos = field.pos();
+        if (pos < _nextPos) {
+            throw new IllegalStateException("Property '"+name+"' already written");
+        }
+        // Out of order? Need to start buffering
+        if ((pos != _nextPos) && (_buffered == null)) {
+            _buffered = new GenericData.Record(_schema);
+        }
+        _nextField = field;
+        return true;
+    }
+
+    @Override
+    public void writeValue(Object value) throws IOException {
+        _verifyValueWrite();
+        Schema.Field field = _nextField;
+        if (field != null) {
+            if (_buffered == null) {
+                ++_nextPos;
+                _writer.writeValue(field.schema(), value, _encoder);
+            } else {
+                _buffered.put(field.pos(), value);
+            }
+        }
+    }
+
+    @Override
+    public void writeString(String value) throws IOException {
+        writeValue(value);
+    }
+
+    @Override
+    public void writeInt(int value) throws IOException {
+        Schema.Field field = _nextEncodedField();
+        if (field != null) {
+            _writer.writeInt(field.schema(), value, _encoder);
+        } else if (_nextField != null) {
+            _buffered.put(_nextField.pos(), Integer.valueOf(value));
+        }
+    }
+
+    @Override
+    public void writeLong(long value) throws IOException {
+        Schema.Field field = _nextEncodedField();
+        if (field != null) {
+            _writer.writeLong(field.schema(), value, _encoder);
+        } else if (_nextField != null) {
+            _buffered.put(_nextField.pos(), Long.valueOf(value));
+        }
+    }
+
+    @Override
+    public void writeFloat(float value) throws IOException {
+        Schema.Field field = _nextEncodedField();
+        if (field != null) {
+            _writer.writeFloat(field.schema(), value, _encoder);
+        } else if (_nextField != null) {
+            _buffered.put(_nextField.pos(), Float.valueOf(value));
+        }
+    }
+
+    @Override
+    public void writeDouble(double value) throws IOException {
+        Schema.Field field = _nextEncodedField();
+        if (field != null) {
+            _writer.writeDouble(field.schema(), value, _encoder);
+        } else if (_nextField != null) {
+            _buffered.put(_nextField.pos(), Double.valueOf(value));
+        }
+    }
+
+    @Override
+    public void writeBoolean(boolean value) throws IOException {
+        Schema.Field field = _nextEncodedField();
+        if (field != null) {
+            _writer.writeBoolean(field.schema(), value, _encoder);
+        } else if (_nextField != null) {
+            _buffered.put(_nextField.pos(), value ? Boolean.TRUE : Boolean.FALSE);
+        }
+    }
+
+    @Override
+    public void writeNull() throws IOException {
+        writeValue(null);
+    }
+
+    @Override
+    public void complete() throws IOException
+    {
+        // Output whatever was buffered, as well as nulls for missing properties
+        writeMissing(_fields.size());
+    }
+
+    @Override
+    public void writeArray(Object array, int offset, int length) throws IOException {
+        Schema.Field field = _nextEncodedField();
+        if (field != null) {
+            _writer.writeValue(field.schema(), _slice(array, offset, length), _encoder);
+        } else if (_nextField != null) {
+            _buffered.put(_nextField.pos(), _copyOf(array, offset, length));
+        }
+    }
+
+    @Override
+    public int writeBinary(InputStream in, int length) throws IOException {
+        if (length < 0) { // need to read it all anyway
+            return super.writeBinary(in, length);
+        }
+        Schema.Field field = _nextEncodedField();
+        if (field != null) {
+            return _writer.writeBinary(field.schema(), in, length, _encoder);
+        }
+        byte[] data = _readBinary(in, length);
+        if ((_nextField != null) && (data.length == length)) {
+            _buffered.put(_nextField.pos(), ByteBuffer.wrap(data));
+        }
+        return data.length;
+    }
+
+    /**
+     * Helper method called before writing a scalar value: returns field
+     * to encode value for, if value is to be encoded right away; null if
+     * value is to be buffered (or ignored, if field is not known).
+     */
+    private Schema.Field _nextEncodedField()
+    {
+        _verifyValueWrite();
+        Schema.Field field = _nextField;
+        if ((field != null) && (_buffered == null)) {
+            ++_nextPos;
+            return field;
+        }
+        return null;
+    }
+
+    /*
+    /**********************************************************
+    /* Methods for AvroBeanSerializer
+    /**********************************************************
+     */
+
+    /**
+     * Method called to output values of fields before given position
+     * that have not yet been written: buffered values if any, and nulls
+     * for missing properties.
+     */
+    protected void writeMissing(int pos) throws IOException
+    {
+        final GenericRecord buffered = _buffered;
+        for (int i = _nextPos; i < pos; ++i) {
+            Object value = (buffered == null) ? null : buffered.get(i);
+            _writer.writeValue(_fields.get(i).schema(), value, _encoder);
+        }
+        if (pos > _nextPos) {
+            _nextPos = pos;
+        }
+    }
+
+    /**
+     * Method called when value of the field at the next position is to be
+     * encoded directly by caller, using encoder returned.
+     */
+    protected BinaryEncoder encodeNext() {
+        ++_nextPos;
+        return _encoder;
+    }
+}
@@ -0,0 +1,207 @@
+package com.fasterxml.jackson.dataformat.avro.ser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.avro.Schema;
+import org.apache.avro.io.Encoder;
+
+/**
+ * Helper object shared by all streaming write contexts of a single generator
+ * (see {@link com.fasterxml.jackson.dataformat.avro.AvroGenerator.Feature#STREAMING_OUTPUT}):
+ * encodes individual values, and recycles {@link BlockBuffer}s used for
+ * Arrays and Maps.
+ *
+ * @since 2.7.10
+ */
+final class StreamingWriter
+{
+    /**
+     * Size of chunks in which binary values are copied from input streams
+     */
+    final static int COPY_BUFFER_SIZE = 8000;
+
+    private final NonBSGenericDatumWriter<Object> _datumWriter;
+
+    private final ArrayList<BlockBuffer> _freeBuffers = new ArrayList<BlockBuffer>();
+
+    private byte[] _copyBuffer;
+
+    public StreamingWriter(NonBSGenericDatumWriter<Object> datumWriter) {
+        _datumWriter = datumWriter;
+    }
+
+    /**
+     * Method for encoding a single value of given type; value may also be
+     * a structured value (Record, array, Map) built by buffering contexts.
+     */
+    public void writeValue(Schema schema, Object value, Encoder out) throws IOException
+    {
+        _datumWriter.write(schema, value, out);
+    }
+
+    /*
+    /**********************************************************
+    /* Encoding of primitive values: done directly if value type matches
+    /* Schema type (or one of types of a union), otherwise by boxing
+    /* value and using datum writer
+    /**********************************************************
+     */
+
+    public void writeInt(Schema schema, int value, Encoder out) throws IOException
+    {
+        if (_startPrimitive(schema, Schema.Type.INT, out)) {
+            out.writeInt(value);
+        } else {
+            writeValue(schema, Integer.valueOf(value), out);
+        }
+    }
+
+    public void writeLong(Schema schema, long value, Encoder out) throws IOException
+    {
+        if (_startPrimitive(schema, Schema.Type.LONG, out)) {
+            out.writeLong(value);
+        } else {
+            writeValue(schema, Long.valueOf(value), out);
+        }
+    }
+
+    public void writeFloat(Schema schema, float value, Encoder out) throws IOException
+    {
+        if (_startPrimitive(schema, Schema.Type.FLOAT, out)) {
+            out.writeFloat(value);
+        } else {
+            writeValue(schema, Float.valueOf(value), out);
+        }
+    }
+
+    public void writeDouble(Schema schema, double value, Encoder out) throws IOException
+    {
+        if (_startPrimitive(schema, Schema.Type.DOUBLE, out)) {
+            out.writeDouble(value);
+        } else {
+            writeValue(schema, Double.valueOf(value), out);
+        }
+    }
+
+    public void writeBoolean(Schema schema, boolean value, Encoder out) throws IOException
+    {
+        if (_startPrimitive(schema, Schema.Type.BOOLEAN, out)) {
+            out.writeBoolean(value);
+        } else {
+            writeValue(schema, value ? Boolean.TRUE : Boolean.FALSE, out);
+        }
+    }
+
+    /**
+     * Helper method for checking whether a primitive value of given type
+     * can be encoded directly for given Schema: if so, also writes union
+     * index, if Schema is a union.
+     */
+    private static boolean _startPrimitive(Schema schema, Schema.Type type, Encoder out)
+        throws IOException
+    {
+        final int ix = NonBSGenericDatumWriter.primitiveIndex(schema, type);
+        if (ix == NonBSGenericDatumWriter.NO_MATCH) {
+            return false;
+        }
+        if (ix >= 0) {
+            out.writeIndex(ix);
+        }
+        return true;
+    }
+
+    /*
+    /**********************************************************
+    /* Encoding of binary values from streams
+    /**********************************************************
+     */
+
+    /**
+     * Method for encoding a <code>bytes</code> (or <code>fixed</code>) value
+     * of given length, copying contents from given stream in chunks.
+     *
+     * @return Number of bytes copied; less than <code>length</code> if stream
+     *    ended prematurely
+     */
+    public int writeBinary(Schema schema, InputStream in, int length, Encoder out)
+        throws IOException
+    {
+        if (schema.getType() == Schema.Type.UNION) {
+            int ix = _binaryIndex(schema, length);
+            if (ix >= 0) {
+                out.writeIndex(ix);
+                schema = schema.getTypes().get(ix);
+            }
+        }
+        switch (schema.getType()) {
+        case BYTES:
+            out.writeInt(length);
+            break;
+        case FIXED:
+            NonBSGenericDatumWriter.verifyFixedSize(schema, length);
+            break;
+        default: // not binary; let datum writer report the problem
+            byte[] data = AvroWriteContext._readBinary(in, length);
+            writeValue(schema, ByteBuffer.wrap(data), out);
+            return data.length;
+        }
+        byte[] buf = _copyBuffer;
+        if (buf == null) {
+            _copyBuffer = buf = new byte[COPY_BUFFER_SIZE];
+        }
+        int left = length;
+        while (left > 0) {
+            int count = in.read(buf, 0, Math.min(left, buf.length));
+            if (count < 0) {
+                break;
+            }
+            out.writeFixed(buf, 0, count);
+            left -= count;
+        }
+        return length - left;
+    }
+
+    /**
+     * Helper method for finding type of a union to use for a binary value
+     * of given length: <code>bytes</code> if included, otherwise
+     * <code>fixed</code> of the same size (if any).
+     */
+    private static int _binaryIndex(Schema union, int length)
+    {
+        Integer ix = union.getIndexNamed(Schema.Type.BYTES.getName());
+        if (ix != null) {
+            return ix.intValue();
+        }
+        List<Schema> types = union.getTypes();
+        for (int i = 0, len = types.size(); i < len; ++i) {
+            Schema s = types.get(i);
+            if ((s.getType() == Schema.Type.FIXED) && (s.getFixedSize() == length)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /*
+    /**********************************************************
+    /* Buffer recycling
+    /**********************************************************
+     */
+
+    public BlockBuffer allocBuffer() {
+        int ix = _freeBuffers.size();
+        if (ix == 0) {
+            return new BlockBuffer();
+        }
+        return _freeBuffers.remove(ix-1);
+    }
+
+    public void releaseBuffer(BlockBuffer b) {
+        b.reset();
+        _freeBuffers.add(b);
+    }
+}
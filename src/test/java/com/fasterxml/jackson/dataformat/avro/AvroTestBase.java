@@ -1,5 +1,6 @@
 package com.fasterxml.jackson.dataformat.avro;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -7,6 +8,11 @@ import java.util.List;
 
 import junit.framework.TestCase;
 
+import org.apache.avro.Schema;
+import org.apache.avro.file.CodecFactory;
+import org.apache.avro.file.DataFileWriter;
+import org.apache.avro.generic.GenericDatumWriter;
+
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.fasterxml.jackson.core.*;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -254,4 +260,27 @@ public abstract class AvroTestBase extends TestCase
     protected static String aposToQuotes(String json) {
         return json.replace("'", "\"");
     }
+
+    /**
+     * Helper method for checking whether Snappy codec can be used: it relies
+     * on a native library, which can not be loaded on all platforms and JDKs,
+     * so tests that need it are skipped if it is not available.
+     */
+    protected static boolean isSnappyAvailable()
+    {
+        try {
+            DataFileWriter<Object> w = new DataFileWriter<Object>(
+                    new GenericDatumWriter<Object>(Schema.create(Schema.Type.INT)));
+            w.setCodec(CodecFactory.snappyCodec());
+            w.create(Schema.create(Schema.Type.INT), new ByteArrayOutputStream());
+            w.append(Integer.valueOf(1));
+            w.close();
+            return true;
+        } catch (Exception e) {
+            ;
+        } catch (Error e) { // NoClassDefFoundError, UnsatisfiedLinkError, SnappyError
+            ;
+        }
+        return false;
+    }
 }
@@ -0,0 +1,288 @@
+package com.fasterxml.jackson.dataformat.avro;
+
+import java.io.*;
+
+import com.fasterxml.jackson.core.JsonGenerationException;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.SequenceWriter;
+
+import static org.junit.Assert.assertArrayEquals;
+
+/**
+ * Tests for streaming of binary values with
+ * {@link AvroParser#readBinaryValue(OutputStream)} and
+ * {@link AvroGenerator#writeBinary(InputStream, int)}.
+ */
+public class BinaryStreamingTest extends AvroTestBase
+{
+    final static String BLOB_SCHEMA_JSON = aposToQuotes("{\n"
+            +" 'type': 'record',\n"
+            +" 'name': 'Blob',\n"
+            +" 'fields': [\n"
+            +"   {'name':'name', 'type':'string'},\n"
+            +"   {'name':'data', 'type':['null','bytes']},\n"
+            +"   {'name':'hash', 'type':{'type':'fixed','name':'Hash','size':4}},\n"
+            +"   {'name':'id', 'type':'int'}\n"
+            +" ]\n"
+            +"}");
+
+    static class Blob {
+        public String name;
+        public byte[] data;
+        public byte[] hash;
+        public int id;
+
+        protected Blob() { }
+        public Blob(int id, int size) {
+            this.id = id;
+            name = "blob"+id;
+            data = _bytes(size, id);
+            hash = new byte[] { 1, 2, 3, (byte) id };
+        }
+    }
+
+    // Stream that keeps track of the biggest chunk written
+    static class ChunkTracker extends ByteArrayOutputStream {
+        public int maxChunk;
+
+        @Override
+        public synchronized void write(byte[] b, int off, int len) {
+            maxChunk = Math.max(maxChunk, len);
+            super.write(b, off, len);
+        }
+    }
+
+    // Stream that keeps track of the biggest chunk read
+    static class ChunkedInput extends ByteArrayInputStream {
+        public int maxChunk;
+
+        public ChunkedInput(byte[] data) {
+            super(data);
+        }
+
+        @Override
+        public synchronized int read(byte[] b, int off, int len) {
+            maxChunk = Math.max(maxChunk, len);
+            return super.read(b, off, len);
+        }
+    }
+
+    private final AvroMapper MAPPER = getMapper();
+
+    /*
+    /**********************************************************
+    /* Test methods, reading
+    /**********************************************************
+     */
+
+    public void testReadBinaryStreamed() throws Exception
+    {
+        AvroSchema schema = MAPPER.schemaFrom(BLOB_SCHEMA_JSON);
+        final int SIZE = 1000000;
+        byte[] doc = _writeBlobs(schema, SIZE, 3);
+
+        AvroParser p = MAPPER.getFactory().createParser(new ByteArrayInputStream(doc));
+        p.setSchema(schema);
+        for (int i = 0; i < 3; ++i) {
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            assertEquals("name", p.nextFieldName());
+            assertEquals("blob"+i, p.nextTextValue());
+            assertEquals("data", p.nextFieldName());
+            assertToken(JsonToken.VALUE_EMBEDDED_OBJECT, p.nextToken());
+            // stream first, skip second, access third as a whole
+            if (i == 0) {
+                ChunkTracker out = new ChunkTracker();
+                assertEquals(SIZE, p.readBinaryValue(out));
+                assertArrayEquals(_bytes(SIZE, i), out.toByteArray());
+                assertTrue(out.maxChunk < SIZE / 10);
+                try {
+                    p.getBinaryValue();
+                    fail("Should not pass");
+                } catch (JsonParseException e) {
+                    verifyException(e, "already read with readBinaryValue()");
+                }
+            } else if (i == 2) {
+                assertArrayEquals(_bytes(SIZE, i), (byte[]) p.getEmbeddedObject());
+                // can still be streamed, once read
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                assertEquals(SIZE, p.readBinaryValue(out));
+                assertArrayEquals(_bytes(SIZE, i), out.toByteArray());
+            }
+            assertEquals("hash", p.nextFieldName());
+            assertToken(JsonToken.VALUE_EMBEDDED_OBJECT, p.nextToken());
+            assertArrayEquals(new byte[] { 1, 2, 3, (byte) i }, p.getBinaryValue());
+            assertEquals("id", p.nextFieldName());
+            assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+            assertEquals(i, p.getIntValue());
+            assertToken(JsonToken.END_OBJECT, p.nextToken());
+        }
+        assertNull(p.nextToken());
+        p.close();
+    }
+
+    public void testAccessAfterClose() throws Exception
+    {
+        AvroSchema schema = MAPPER.schemaFrom(BLOB_SCHEMA_JSON);
+        byte[] doc = _writeBlobs(schema, 5000, 2);
+
+        AvroParser p = MAPPER.getFactory().createParser(new ByteArrayInputStream(doc));
+        p.setSchema(schema);
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertEquals("name", p.nextFieldName());
+        assertEquals("blob0", p.nextTextValue());
+        assertEquals("data", p.nextFieldName());
+        assertToken(JsonToken.VALUE_EMBEDDED_OBJECT, p.nextToken());
+        p.close();
+
+        // decoder released on close may be reused by another parser...
+        AvroParser p2 = MAPPER.getFactory().createParser(new ByteArrayInputStream(doc));
+        p2.setSchema(schema);
+        while (p2.nextToken() != null) { }
+        p2.close();
+
+        // ... but value must still be accessible
+        assertArrayEquals(_bytes(5000, 0), p.getBinaryValue());
+        assertArrayEquals(_bytes(5000, 0), (byte[]) p.getEmbeddedObject());
+        assertNull(p.nextToken());
+    }
+
+    public void testDatabindFromStream() throws Exception
+    {
+        AvroSchema schema = MAPPER.schemaFrom(BLOB_SCHEMA_JSON);
+        byte[] doc = _writeBlobs(schema, 20000, 2);
+        Blob blob = MAPPER.readerFor(Blob.class).with(schema)
+                .readValue(new ByteArrayInputStream(doc));
+        assertEquals("blob0", blob.name);
+        assertArrayEquals(_bytes(20000, 0), blob.data);
+        assertEquals(0, blob.id);
+    }
+
+    /*
+    /**********************************************************
+    /* Test methods, writing
+    /**********************************************************
+     */
+
+    public void testWriteBinaryStreamed() throws Exception
+    {
+        AvroSchema schema = MAPPER.schemaFrom(BLOB_SCHEMA_JSON);
+        final int SIZE = 300000;
+        byte[] exp = MAPPER.writer(schema).writeValueAsBytes(new Blob(7, SIZE));
+
+        for (boolean streaming : new boolean[] { false, true }) {
+            for (boolean knownLength : new boolean[] { false, true }) {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                AvroGenerator gen = MAPPER.getFactory().createGenerator(bytes);
+                gen.configure(AvroGenerator.Feature.STREAMING_OUTPUT, streaming);
+                gen.setSchema(schema);
+                gen.writeStartObject();
+                gen.writeStringField("name", "blob7");
+                gen.writeFieldName("data");
+                ChunkedInput in = new ChunkedInput(_bytes(SIZE, 7));
+                assertEquals(SIZE, gen.writeBinary(in, knownLength ? SIZE : -1));
+                gen.writeFieldName("hash");
+                assertEquals(4, gen.writeBinary(new ByteArrayInputStream(new byte[] { 1, 2, 3, 7 }), 4));
+                gen.writeNumberField("id", 7);
+                gen.writeEndObject();
+                gen.close();
+                assertArrayEquals(exp, bytes.toByteArray());
+                // content must be copied in chunks, if written directly
+                if (streaming && knownLength) {
+                    assertTrue(in.maxChunk < SIZE / 10);
+                }
+            }
+        }
+    }
+
+    public void testWriteBinaryInArrayAndRoot() throws Exception
+    {
+        AvroSchema schema = MAPPER.schemaFrom(aposToQuotes("{'type':'array','items':'bytes'}"));
+        byte[][] input = new byte[][] { _bytes(10, 1), _bytes(20000, 2) };
+        byte[] exp = MAPPER.writer(schema).writeValueAsBytes(input);
+
+        for (boolean streaming : new boolean[] { false, true }) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            AvroGenerator gen = MAPPER.getFactory().createGenerator(bytes);
+            gen.configure(AvroGenerator.Feature.STREAMING_OUTPUT, streaming);
+            gen.setSchema(schema);
+            gen.writeStartArray();
+            for (byte[] b : input) {
+                gen.writeBinary(new ByteArrayInputStream(b), b.length);
+            }
+            gen.writeEndArray();
+            gen.close();
+            assertArrayEquals(exp, bytes.toByteArray());
+        }
+
+        schema = MAPPER.schemaFrom(aposToQuotes("'bytes'"));
+        exp = MAPPER.writer(schema).writeValueAsBytes(input[1]);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        AvroGenerator gen = MAPPER.getFactory().createGenerator(bytes);
+        gen.setSchema(schema);
+        ChunkedInput in = new ChunkedInput(input[1]);
+        gen.writeBinary(in, input[1].length);
+        gen.close();
+        assertArrayEquals(exp, bytes.toByteArray());
+        assertTrue(in.maxChunk < input[1].length);
+    }
+
+    public void testWriteBinaryFailures() throws Exception
+    {
+        AvroSchema schema = MAPPER.schemaFrom(BLOB_SCHEMA_JSON);
+        for (boolean streaming : new boolean[] { false, true }) {
+            AvroGenerator gen = MAPPER.getFactory().createGenerator(new ByteArrayOutputStream());
+            gen.configure(AvroGenerator.Feature.STREAMING_OUTPUT, streaming);
+            gen.setSchema(schema);
+            gen.writeStartObject();
+            gen.writeStringField("name", "x");
+            gen.writeFieldName("data");
+            try {
+                gen.writeBinary(new ByteArrayInputStream(new byte[10]), 20);
+                fail("Should not pass");
+            } catch (JsonGenerationException e) {
+                verifyException(e, "Too few bytes available: missing 10 bytes (out of 20)");
+            }
+        }
+
+        AvroGenerator gen = MAPPER.getFactory().createGenerator(new ByteArrayOutputStream());
+        gen.enable(AvroGenerator.Feature.STREAMING_OUTPUT);
+        gen.setSchema(schema);
+        gen.writeStartObject();
+        gen.writeStringField("name", "x");
+        gen.writeNullField("data");
+        gen.writeFieldName("hash");
+        try {
+            gen.writeBinary(new ByteArrayInputStream(new byte[10]), 10);
+            fail("Should not pass");
+        } catch (IllegalStateException e) {
+            verifyException(e, "expected 4 bytes, got 10");
+        }
+    }
+
+    /*
+    /**********************************************************
+    /* Helper methods
+    /**********************************************************
+     */
+
+    private byte[] _writeBlobs(AvroSchema schema, int size, int count) throws Exception
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SequenceWriter w = MAPPER.writer(schema).writeValues(bytes);
+        for (int i = 0; i < count; ++i) {
+            w.write(new Blob(i, size));
+        }
+        w.close();
+        return bytes.toByteArray();
+    }
+
+    static byte[] _bytes(int len, int seed)
+    {
+        byte[] b = new byte[len];
+        for (int i = 0; i < len; ++i) {
+            b[i] = (byte) (i * 31 + seed);
+        }
+        return b;
+    }
+}
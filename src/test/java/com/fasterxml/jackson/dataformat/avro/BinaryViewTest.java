@@ -0,0 +1,269 @@
+package com.fasterxml.jackson.dataformat.avro;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.EncoderFactory;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import static org.junit.Assert.assertArrayEquals;
+
+/**
+ * Tests for accessing binary values without copying (see
+ * {@link AvroParser#getBinaryBuffer()}), and writing of <code>fixed</code>
+ * values from slices of byte arrays.
+ */
+public class BinaryViewTest extends AvroTestBase
+{
+    final static String MESSAGE_SCHEMA_JSON = aposToQuotes("{\n"
+            +" 'type': 'record',\n"
+            +" 'name': 'Message',\n"
+            +" 'fields': [\n"
+            +"   {'name':'id', 'type':{'type':'fixed','name':'UUID','size':16}},\n"
+            +"   {'name':'thumbnail', 'type':'bytes'},\n"
+            +"   {'name':'parent', 'type':['null','UUID']},\n"
+            +"   {'name':'related', 'type':{'type':'array','items':'UUID'}}\n"
+            +" ]\n"
+            +"}");
+
+    private final AvroMapper MAPPER = getMapper();
+
+    /*
+    /**********************************************************
+    /* Test methods, writing
+    /**********************************************************
+     */
+
+    public void testWriteFixedFromSlice() throws Exception
+    {
+        AvroSchema schema = MAPPER.schemaFrom(MESSAGE_SCHEMA_JSON);
+        byte[] data = _bytes(200);
+        byte[] exp = _writeGeneric(schema.getAvroSchema(), data);
+
+        for (boolean streaming : new boolean[] { false, true }) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            AvroGenerator gen = MAPPER.getFactory().createGenerator(bytes);
+            gen.configure(AvroGenerator.Feature.STREAMING_OUTPUT, streaming);
+            gen.setSchema(schema);
+            gen.writeStartObject();
+            gen.writeFieldName("id");
+            gen.writeBinary(data, 1, 16);
+            gen.writeFieldName("thumbnail");
+            gen.writeBinary(data, 20, data.length - 96);
+            gen.writeFieldName("parent");
+            gen.writeBinary(data, 2, 16);
+            gen.writeFieldName("related");
+            gen.writeStartArray();
+            gen.writeBinary(data, 3, 16);
+            gen.writeBinary(data, 4, 16);
+            gen.writeEndArray();
+            gen.writeEndObject();
+            gen.close();
+            assertArrayEquals(exp, bytes.toByteArray());
+        }
+
+        // but size must still match
+        AvroGenerator gen = MAPPER.getFactory().createGenerator(new ByteArrayOutputStream());
+        gen.setSchema(schema);
+        gen.writeStartObject();
+        gen.writeFieldName("id");
+        gen.writeBinary(data, 0, 15);
+        try {
+            gen.writeEndObject();
+            fail("Should not pass");
+        } catch (IllegalStateException e) {
+            verifyException(e, "expected 16 bytes, got 15");
+        }
+    }
+
+    /*
+    /**********************************************************
+    /* Test methods, reading
+    /**********************************************************
+     */
+
+    public void testViewsFromByteArray() throws Exception
+    {
+        AvroSchema schema = MAPPER.schemaFrom(MESSAGE_SCHEMA_JSON);
+        byte[] data = _bytes(4096);
+        byte[] doc = _writeGeneric(schema.getAvroSchema(), data);
+
+        JsonParser p = MAPPER.getFactory().createParser(doc);
+        p.setSchema(schema);
+        _verifyMessage((AvroParser) p, data, true);
+        p.close();
+
+        // views must actually refer to input
+        p = MAPPER.getFactory().createParser(doc);
+        p.setSchema(schema);
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_EMBEDDED_OBJECT, p.nextToken());
+        ByteBuffer view = ((AvroParser) p).getBinaryBuffer();
+        assertTrue(view.isReadOnly());
+        assertEquals(16, view.remaining());
+        assertEquals(data[1], view.get(0));
+        doc[0] = (byte) (data[1] + 1);
+        assertEquals(doc[0], view.get(0));
+        p.close();
+    }
+
+    public void testViewsFromDirectBuffer() throws Exception
+    {
+        AvroSchema schema = MAPPER.schemaFrom(MESSAGE_SCHEMA_JSON);
+        byte[] data = _bytes(4096);
+        byte[] doc = _writeGeneric(schema.getAvroSchema(), data);
+        ByteBuffer input = ByteBuffer.allocateDirect(doc.length);
+        input.put(doc);
+        input.flip();
+
+        AvroParser p = MAPPER.getFactory().createParser(input);
+        p.setSchema(schema);
+        _verifyMessage(p, data, true);
+        p.close();
+    }
+
+    public void testCopiesFromStream() throws Exception
+    {
+        AvroSchema schema = MAPPER.schemaFrom(MESSAGE_SCHEMA_JSON);
+        byte[] data = _bytes(4096);
+        byte[] doc = _writeGeneric(schema.getAvroSchema(), data);
+
+        AvroParser p = MAPPER.getFactory().createParser(new ByteArrayInputStream(doc));
+        p.setSchema(schema);
+        _verifyMessage(p, data, false);
+        p.close();
+    }
+
+    public void testTruncatedBinary() throws Exception
+    {
+        AvroSchema schema = MAPPER.schemaFrom(MESSAGE_SCHEMA_JSON);
+        byte[] doc = _writeGeneric(schema.getAvroSchema(), _bytes(4096));
+
+        JsonParser p = MAPPER.getFactory().createParser(Arrays.copyOf(doc, 200));
+        p.setSchema(schema);
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_EMBEDDED_OBJECT, p.nextToken());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        try {
+            p.nextToken();
+            fail("Should not pass");
+        } catch (EOFException e) {
+            ; // as expected
+        }
+        p.close();
+    }
+
+    public void testDatabind() throws Exception
+    {
+        AvroSchema schema = MAPPER.schemaFrom(MESSAGE_SCHEMA_JSON);
+        byte[] data = _bytes(4096);
+        byte[] doc = _writeGeneric(schema.getAvroSchema(), data);
+
+        Message msg = MAPPER.readerFor(Message.class).with(schema).readValue(doc);
+        assertArrayEquals(Arrays.copyOfRange(data, 1, 17), msg.id);
+        assertEquals(ByteBuffer.wrap(data, 20, 4000), msg.thumbnail);
+        assertArrayEquals(Arrays.copyOfRange(data, 2, 18), msg.parent);
+        assertEquals(2, msg.related.length);
+        assertArrayEquals(Arrays.copyOfRange(data, 4, 20), msg.related[1]);
+
+        // and back, should produce identical content
+        assertArrayEquals(doc, MAPPER.writer(schema).writeValueAsBytes(msg));
+    }
+
+    static class Message {
+        public byte[] id;
+        public ByteBuffer thumbnail;
+        public byte[] parent;
+        public byte[][] related;
+    }
+
+    /*
+    /**********************************************************
+    /* Helper methods
+    /**********************************************************
+     */
+
+    private void _verifyMessage(AvroParser p, byte[] data, boolean view) throws Exception
+    {
+        final int thumbLen = data.length - 96;
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertEquals("id", p.nextFieldName());
+        assertToken(JsonToken.VALUE_EMBEDDED_OBJECT, p.nextToken());
+        ByteBuffer bb = p.getBinaryBuffer();
+        assertTrue(bb.isReadOnly());
+        assertEquals(ByteBuffer.wrap(data, 1, 16), bb);
+
+        assertEquals("thumbnail", p.nextFieldName());
+        assertToken(JsonToken.VALUE_EMBEDDED_OBJECT, p.nextToken());
+        bb = p.getBinaryBuffer();
+        assertEquals(thumbLen, bb.remaining());
+        assertEquals(ByteBuffer.wrap(data, 20, thumbLen), bb);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertEquals(thumbLen, p.readBinaryValue(out));
+        assertArrayEquals(Arrays.copyOfRange(data, 20, 20 + thumbLen), out.toByteArray());
+        // can also be accessed as byte[], same as before
+        assertArrayEquals(out.toByteArray(), (byte[]) p.getEmbeddedObject());
+        assertArrayEquals(out.toByteArray(), p.getBinaryValue());
+        if (view) {
+            // view does not change position of the underlying buffer
+            assertEquals(thumbLen, p.getBinaryBuffer().remaining());
+        }
+
+        assertEquals("parent", p.nextFieldName());
+        assertToken(JsonToken.VALUE_EMBEDDED_OBJECT, p.nextToken());
+        assertEquals(ByteBuffer.wrap(data, 2, 16), p.getBinaryBuffer());
+
+        assertEquals("related", p.nextFieldName());
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        assertNull(p.getBinaryBuffer());
+        assertToken(JsonToken.VALUE_EMBEDDED_OBJECT, p.nextToken());
+        assertEquals(ByteBuffer.wrap(data, 3, 16), p.getBinaryBuffer());
+        assertToken(JsonToken.VALUE_EMBEDDED_OBJECT, p.nextToken());
+        assertArrayEquals(Arrays.copyOfRange(data, 4, 20), (byte[]) p.getEmbeddedObject());
+        assertToken(JsonToken.END_ARRAY, p.nextToken());
+        assertToken(JsonToken.END_OBJECT, p.nextToken());
+        assertNull(p.nextToken());
+    }
+
+    private static byte[] _bytes(int len)
+    {
+        byte[] b = new byte[len];
+        for (int i = 0; i < len; ++i) {
+            b[i] = (byte) (i * 7);
+        }
+        return b;
+    }
+
+    /**
+     * Helper method for writing a "Message" using slices of given data,
+     * using Avro generic API
+     */
+    private byte[] _writeGeneric(Schema schema, byte[] data) throws Exception
+    {
+        Schema uuid = schema.getField("id").schema();
+        GenericRecord rec = new GenericData.Record(schema);
+        rec.put("id", new GenericData.Fixed(uuid, Arrays.copyOfRange(data, 1, 17)));
+        rec.put("thumbnail", ByteBuffer.wrap(data, 20, data.length - 96));
+        rec.put("parent", new GenericData.Fixed(uuid, Arrays.copyOfRange(data, 2, 18)));
+        rec.put("related", Arrays.asList(new GenericData.Fixed(uuid, Arrays.copyOfRange(data, 3, 19)),
+                new GenericData.Fixed(uuid, Arrays.copyOfRange(data, 4, 20))));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        BinaryEncoder enc = EncoderFactory.get().binaryEncoder(bytes, null);
+        new GenericDatumWriter<GenericRecord>(schema).write(rec, enc);
+        enc.flush();
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,173 @@
+package com.fasterxml.jackson.dataformat.avro;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.*;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.SequenceWriter;
+
+/**
+ * Tests for reading content from {@link ByteBuffer}s, heap and direct.
+ */
+public class ByteBufferInputTest extends AvroTestBase
+{
+    final static String SCHEMA_JSON = aposToQuotes("{\n"
+            +" 'type': 'record',\n"
+            +" 'name': 'Values',\n"
+            +" 'fields': [\n"
+            +"   {'name':'str', 'type':'string'},\n"
+            +"   {'name':'i', 'type':'int'},\n"
+            +"   {'name':'l', 'type':'long'},\n"
+            +"   {'name':'f', 'type':'float'},\n"
+            +"   {'name':'d', 'type':'double'},\n"
+            +"   {'name':'b', 'type':'boolean'},\n"
+            +"   {'name':'bytes', 'type':'bytes'},\n"
+            +"   {'name':'hash', 'type':{'type':'fixed','name':'Hash','size':4}},\n"
+            +"   {'name':'color', 'type':{'type':'enum','name':'Color','symbols':['RED','GREEN']}},\n"
+            +"   {'name':'list', 'type':{'type':'array','items':'long'}},\n"
+            +"   {'name':'props', 'type':{'type':'map','values':['null','string']}}\n"
+            +" ]\n"
+            +"}");
+
+    static class Values {
+        public String str;
+        public int i;
+        public long l;
+        public float f;
+        public double d;
+        public boolean b;
+        public byte[] bytes;
+        public byte[] hash;
+        public String color;
+        public List<Long> list = new ArrayList<Long>();
+        public Map<String,String> props = new LinkedHashMap<String,String>();
+
+        protected Values() { }
+        public Values(int seed) {
+            str = "Value ä€ #"+seed;
+            i = -seed * 1000;
+            l = Long.MAX_VALUE - seed;
+            f = 0.25f * seed;
+            d = -1.5 * seed;
+            b = (seed & 1) == 0;
+            bytes = new byte[seed % 5];
+            hash = new byte[] { 1, 2, 3, (byte) seed };
+            color = b ? "RED" : "GREEN";
+            for (int j = 0; j < seed % 4; ++j) {
+                list.add(Long.MIN_VALUE + j);
+            }
+            props.put("a", null);
+            props.put("b", "x"+seed);
+        }
+    }
+
+    private final AvroMapper MAPPER = getMapper();
+
+    /*
+    /**********************************************************
+    /* Test methods
+    /**********************************************************
+     */
+
+    public void testHeapBuffer() throws Exception {
+        _testSingle(false, false);
+    }
+
+    public void testDirectBuffer() throws Exception {
+        _testSingle(true, false);
+    }
+
+    public void testReadOnlyBuffer() throws Exception {
+        _testSingle(false, true);
+    }
+
+    public void testSequenceFromDirect() throws Exception
+    {
+        AvroSchema schema = MAPPER.schemaFrom(SCHEMA_JSON);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SequenceWriter w = MAPPER.writer(schema).writeValues(bytes);
+        for (int i = 0; i < 10; ++i) {
+            w.write(new Values(i));
+        }
+        w.close();
+        ByteBuffer buf = _buffer(bytes.toByteArray(), true, false);
+        MappingIterator<JsonNode> it = MAPPER.readValues(buf, schema, JsonNode.class);
+        int count = 0;
+        while (it.hasNextValue()) {
+            JsonNode n = it.nextValue();
+            assertEquals(Long.MAX_VALUE - count, n.path("l").asLong());
+            ++count;
+        }
+        assertEquals(10, count);
+    }
+
+    // Corrupt length prefixes must fail with IOException, not with
+    // exceptions from buffer access
+    public void testNegativeLength() throws Exception
+    {
+        AvroSchema schema = MAPPER.schemaFrom(aposToQuotes("{'type':'map','values':'int'}"));
+        // block of 1 entry, key with zig-zag encoded length of -3
+        final byte[] doc = new byte[] { 2, 5, 'a', 'b', 'c', 2, 0 };
+        // direct and read-only buffers are decoded without access to array
+        for (boolean direct : new boolean[] { false, true }) {
+            JsonParser p = MAPPER.getFactory().createParser(_buffer(doc, direct, !direct));
+            p.setSchema(schema);
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            try {
+                p.nextToken();
+                fail("Should not pass");
+            } catch (IOException e) {
+                verifyException(e, "negative length");
+            }
+            p.close();
+        }
+    }
+
+    /*
+    /**********************************************************
+    /* Helper methods
+    /**********************************************************
+     */
+
+    private void _testSingle(boolean direct, boolean readOnly) throws Exception
+    {
+        AvroSchema schema = MAPPER.schemaFrom(SCHEMA_JSON);
+        for (int seed = 0; seed < 5; ++seed) {
+            Values input = new Values(seed);
+            byte[] encoded = MAPPER.writer(schema).writeValueAsBytes(input);
+            ByteBuffer buf = _buffer(encoded, direct, readOnly);
+            final int pos = buf.position();
+            Values result = MAPPER.readValue(buf, schema, Values.class);
+            assertEquals(pos, buf.position());
+            assertEquals(input.str, result.str);
+            assertEquals(input.i, result.i);
+            assertEquals(input.l, result.l);
+            assertEquals(input.f, result.f);
+            assertEquals(input.d, result.d);
+            assertEquals(input.b, result.b);
+            assertEquals(Arrays.toString(input.bytes), Arrays.toString(result.bytes));
+            assertEquals(Arrays.toString(input.hash), Arrays.toString(result.hash));
+            assertEquals(input.color, result.color);
+            assertEquals(input.list, result.list);
+            assertEquals(input.props, result.props);
+        }
+    }
+
+    // Add some leading and trailing garbage, to verify position, limit are honored
+    private ByteBuffer _buffer(byte[] content, boolean direct, boolean readOnly)
+    {
+        ByteBuffer buf = direct ? ByteBuffer.allocateDirect(content.length + 10)
+                : ByteBuffer.allocate(content.length + 10);
+        buf.put(new byte[] { 9, 9, 9, 9, 9 });
+        buf.put(content);
+        buf.put(new byte[] { 9, 9, 9, 9, 9 });
+        buf.position(5);
+        buf.limit(5 + content.length);
+        return readOnly ? buf.asReadOnlyBuffer() : buf;
+    }
+}
@@ -0,0 +1,198 @@
+package com.fasterxml.jackson.dataformat.avro;
+
+import java.io.ByteArrayOutputStream;
+import java.util.*;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.*;
+import com.fasterxml.jackson.databind.deser.DefaultDeserializationContext;
+import com.fasterxml.jackson.databind.exc.UnrecognizedPropertyException;
+import com.fasterxml.jackson.dataformat.avro.deser.AvroBeanDeserializer;
+
+/**
+ * Tests for "compiled" binding of POJOs, enabled with
+ * {@link AvroMapper#enableCompiledDeserializers()}.
+ */
+public class CompiledDeserializerTest extends AvroTestBase
+{
+    final static String WRITER_SCHEMA_JSON = aposToQuotes("{\n"
+            +" 'type': 'record',\n"
+            +" 'name': 'Item',\n"
+            +" 'fields': [\n"
+            +"   {'name':'id', 'type':'int'},\n"
+            +"   {'name':'removed', 'type':'string'},\n"
+            +"   {'name':'props', 'type':{'type':'map','values':'string'}},\n"
+            +"   {'name':'name', 'type':['null','string']}\n"
+            +" ]\n"
+            +"}");
+
+    final static String READER_SCHEMA_JSON = aposToQuotes("{\n"
+            +" 'type': 'record',\n"
+            +" 'name': 'Item',\n"
+            +" 'fields': [\n"
+            +"   {'name':'name', 'type':['null','string']},\n"
+            +"   {'name':'added', 'type':'long', 'default':3},\n"
+            +"   {'name':'props', 'type':{'type':'map','values':'string'}},\n"
+            +"   {'name':'id', 'type':'int'}\n"
+            +" ]\n"
+            +"}");
+
+    static class Item {
+        public int id;
+        public String removed;
+        public Map<String,String> props;
+        public String name;
+
+        protected Item() { }
+        public Item(int id, String name) {
+            this.id = id;
+            this.name = name;
+            removed = "x";
+            props = Collections.singletonMap("key", "value"+id);
+        }
+    }
+
+    static class NewItem {
+        public int id;
+        public long added;
+        public Map<String,String> props;
+        public String name;
+    }
+
+    static class PartialItem {
+        public int id;
+        public String name;
+    }
+
+    @JsonIgnoreProperties(ignoreUnknown=true)
+    static class IgnoringItem {
+        public int id;
+        public String name;
+    }
+
+    static class CreatorItem {
+        final int id;
+        final String name;
+
+        @JsonCreator
+        public CreatorItem(@JsonProperty("id") int id, @JsonProperty("name") String name,
+                @JsonProperty("removed") String removed,
+                @JsonProperty("props") Map<String,String> props) {
+            this.id = id;
+            this.name = name;
+        }
+    }
+
+    private final AvroMapper MAPPER = getMapper();
+
+    private final AvroMapper COMPILING_MAPPER = new AvroMapper().enableCompiledDeserializers();
+
+    /*
+    /**********************************************************
+    /* Test methods
+    /**********************************************************
+     */
+
+    public void testDeserializerReplaced() throws Exception
+    {
+        DeserializationContext ctxt = ((DefaultDeserializationContext) COMPILING_MAPPER.getDeserializationContext())
+                .createInstance(COMPILING_MAPPER.getDeserializationConfig(), null, null);
+        assertEquals(AvroBeanDeserializer.class,
+                ctxt.findRootValueDeserializer(ctxt.constructType(Employee.class)).getClass());
+    }
+
+    public void testNested() throws Exception
+    {
+        Employee boss = new Employee();
+        boss.name = "Boss";
+        boss.age = 60;
+        boss.emails = new String[] { "boss@example.com" };
+        Employee emp = new Employee();
+        emp.name = "Bob";
+        emp.age = 39;
+        emp.emails = new String[] { "bob@example.com", "b@example.com" };
+        emp.boss = boss;
+        byte[] data = MAPPER.writer(getEmployeeSchema()).writeValueAsBytes(emp);
+
+        Employee result = COMPILING_MAPPER.readerFor(Employee.class)
+                .with(getEmployeeSchema()).readValue(data);
+        assertEquals("Bob", result.name);
+        assertEquals(39, result.age);
+        assertEquals(Arrays.asList(emp.emails), Arrays.asList(result.emails));
+        assertNotNull(result.boss);
+        assertEquals("Boss", result.boss.name);
+        assertEquals(60, result.boss.age);
+        assertEquals(Arrays.asList(boss.emails), Arrays.asList(result.boss.emails));
+        assertNull(result.boss.boss);
+    }
+
+    public void testRootSequence() throws Exception
+    {
+        AvroSchema schema = MAPPER.schemaFrom(WRITER_SCHEMA_JSON);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SequenceWriter w = MAPPER.writer(schema).writeValues(bytes);
+        for (int i = 0; i < 20; ++i) {
+            w.write(new Item(i, ((i % 3) == 0) ? null : "Item"+i));
+        }
+        w.close();
+
+        MappingIterator<Item> it = COMPILING_MAPPER.readerFor(Item.class)
+                .with(schema).readValues(bytes.toByteArray());
+        int count = 0;
+        while (it.hasNextValue()) {
+            Item item = it.nextValue();
+            assertEquals(count, item.id);
+            assertEquals(((count % 3) == 0) ? null : "Item"+count, item.name);
+            assertEquals("x", item.removed);
+            assertEquals(Collections.singletonMap("key", "value"+count), item.props);
+            ++count;
+        }
+        assertEquals(20, count);
+    }
+
+    public void testWithReaderSchema() throws Exception
+    {
+        AvroSchema writerSchema = MAPPER.schemaFrom(WRITER_SCHEMA_JSON);
+        AvroSchema schema = writerSchema.withReaderSchema(MAPPER.schemaFrom(READER_SCHEMA_JSON));
+        byte[] data = MAPPER.writer(writerSchema).writeValueAsBytes(new Item(7, "Seven"));
+        NewItem result = COMPILING_MAPPER.readerFor(NewItem.class).with(schema).readValue(data);
+        assertEquals(7, result.id);
+        assertEquals("Seven", result.name);
+        assertEquals(3L, result.added);
+        assertEquals(Collections.singletonMap("key", "value7"), result.props);
+    }
+
+    public void testUnknownProperty() throws Exception
+    {
+        AvroSchema schema = MAPPER.schemaFrom(WRITER_SCHEMA_JSON);
+        byte[] data = MAPPER.writer(schema).writeValueAsBytes(new Item(1, "One"));
+        try {
+            COMPILING_MAPPER.readerFor(PartialItem.class).with(schema).readValue(data);
+            fail("Should not pass");
+        } catch (UnrecognizedPropertyException e) {
+            verifyException(e, "Unrecognized field \"removed\"");
+        }
+        IgnoringItem result = COMPILING_MAPPER.readerFor(IgnoringItem.class).with(schema).readValue(data);
+        assertEquals(1, result.id);
+        assertEquals("One", result.name);
+
+        // and same with feature disabled
+        PartialItem partial = COMPILING_MAPPER.readerFor(PartialItem.class).with(schema)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .readValue(data);
+        assertEquals(1, partial.id);
+        assertEquals("One", partial.name);
+    }
+
+    // Types with creators use the standard path
+    public void testFallbackForCreators() throws Exception
+    {
+        AvroSchema schema = MAPPER.schemaFrom(WRITER_SCHEMA_JSON);
+        byte[] data = MAPPER.writer(schema).writeValueAsBytes(new Item(3, "Three"));
+        CreatorItem result = COMPILING_MAPPER.readerFor(CreatorItem.class).with(schema).readValue(data);
+        assertEquals(3, result.id);
+        assertEquals("Three", result.name);
+    }
+}
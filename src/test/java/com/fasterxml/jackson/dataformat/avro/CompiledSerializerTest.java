@@ -0,0 +1,195 @@
+package com.fasterxml.jackson.dataformat.avro;
+
+import java.io.ByteArrayOutputStream;
+import java.util.*;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.*;
+import com.fasterxml.jackson.dataformat.avro.ser.AvroBeanSerializer;
+
+/**
+ * Tests for "compiled" writing of POJOs, enabled with
+ * {@link AvroMapper#enableCompiledSerializers()}: output must be identical
+ * to that of the standard serialization.
+ */
+public class CompiledSerializerTest extends AvroTestBase
+{
+    final static String ITEM_SCHEMA_JSON = aposToQuotes("{\n"
+            +" 'type': 'record',\n"
+            +" 'name': 'Item',\n"
+            +" 'fields': [\n"
+            +"   {'name':'id', 'type':'int'},\n"
+            +"   {'name':'name', 'type':['null','string']},\n"
+            +"   {'name':'props', 'type':{'type':'map','values':'string'}},\n"
+            +"   {'name':'size', 'type':['long','null']},\n"
+            +"   {'name':'ratio', 'type':'double'},\n"
+            +"   {'name':'score', 'type':'float'},\n"
+            +"   {'name':'enabled', 'type':'boolean'},\n"
+            +"   {'name':'note', 'type':['null','string']}\n"
+            +" ]\n"
+            +"}");
+
+    // properties in different order than fields in Schema; 'note' missing
+    @JsonPropertyOrder({ "enabled", "props", "name", "size", "id", "score", "ratio" })
+    static class Item {
+        public int id;
+        public String name;
+        public Map<String,String> props;
+        public Long size;
+        public double ratio;
+        public float score;
+        public Boolean enabled;
+
+        protected Item() { }
+        public Item(int id, String name) {
+            this.id = id;
+            this.name = name;
+            props = Collections.singletonMap("key", "value"+id);
+            size = ((id % 2) == 0) ? null : Long.valueOf(id * 1000L);
+            ratio = id / 4.0;
+            score = id * 0.5f;
+            enabled = ((id % 3) == 0);
+        }
+    }
+
+    static class ItemWithExtra extends Item {
+        public String extra = "x";
+
+        public ItemWithExtra(int id, String name) {
+            super(id, name);
+        }
+    }
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    static class NonNullItem extends Item {
+        public NonNullItem(int id, String name) {
+            super(id, name);
+        }
+    }
+
+    private final AvroMapper MAPPER = getMapper();
+
+    private final AvroMapper COMPILING_MAPPER = new AvroMapper().enableCompiledSerializers();
+
+    /*
+    /**********************************************************
+    /* Test methods
+    /**********************************************************
+     */
+
+    public void testSerializerReplaced() throws Exception
+    {
+        assertEquals(AvroBeanSerializer.class,
+                COMPILING_MAPPER.getSerializerProviderInstance()
+                    .findValueSerializer(Employee.class).getClass());
+    }
+
+    public void testNested() throws Exception
+    {
+        Employee boss = new Employee("Boss", 60, new String[] { "boss@example.com" }, null);
+        Employee emp = new Employee("Bob", 39, new String[] { "bob@example.com", "b@example.com" }, boss);
+        byte[] exp = MAPPER.writer(getEmployeeSchema()).writeValueAsBytes(emp);
+        byte[] act = COMPILING_MAPPER.writer(getEmployeeSchema()).writeValueAsBytes(emp);
+        assertEquals(Arrays.toString(exp), Arrays.toString(act));
+
+        Employee result = MAPPER.readerFor(Employee.class).with(getEmployeeSchema()).readValue(act);
+        assertEquals("Bob", result.name);
+        assertEquals("Boss", result.boss.name);
+        assertNull(result.boss.boss);
+    }
+
+    public void testScalarsAndUnions() throws Exception
+    {
+        AvroSchema schema = MAPPER.schemaFrom(ITEM_SCHEMA_JSON);
+        for (int i = 0; i < 6; ++i) {
+            Item item = new Item(i, ((i % 3) == 1) ? null : "Item"+i);
+            _verifySame(schema, item);
+        }
+        // and with properties omitted for null values:
+        _verifySame(schema, new NonNullItem(1, null));
+        _verifySame(schema, new NonNullItem(2, "Two"));
+    }
+
+    public void testComplexPojo() throws Exception
+    {
+        AvroSchema schema = MAPPER.schemaFor(MediaItem.class);
+        MediaItem item = new MediaItem(new MediaContent());
+        item.getContent().setUri("http://javaone.com/keynote.mpg");
+        item.getContent().setTitle("Javaone Keynote");
+        item.getContent().setPlayer(MediaContent.Player.JAVA);
+        item.getContent().addPerson("Bill Gates");
+        item.getContent().addPerson("Steve Jobs");
+        item.addPhoto(new Image("http://javaone.com/keynote_large.jpg", "Javaone Keynote",
+                1024, 768, Size.LARGE));
+        item.addPhoto(new Image("http://javaone.com/keynote_small.jpg", null,
+                320, 240, Size.SMALL));
+        _verifySame(schema, item);
+    }
+
+    public void testRootSequence() throws Exception
+    {
+        AvroSchema schema = MAPPER.schemaFrom(ITEM_SCHEMA_JSON);
+        ByteArrayOutputStream exp = new ByteArrayOutputStream();
+        ByteArrayOutputStream act = new ByteArrayOutputStream();
+        SequenceWriter w1 = MAPPER.writer(schema).writeValues(exp);
+        SequenceWriter w2 = COMPILING_MAPPER.writer(schema).writeValues(act);
+        for (int i = 0; i < 20; ++i) {
+            Item item = new Item(i, "Item"+i);
+            w1.write(item);
+            w2.write(item);
+        }
+        w1.close();
+        w2.close();
+        assertEquals(Arrays.toString(exp.toByteArray()), Arrays.toString(act.toByteArray()));
+    }
+
+    // Arrays of Records are only encoded directly with streaming output
+    public void testRootArray() throws Exception
+    {
+        AvroSchema schema = new AvroSchema(org.apache.avro.Schema.createArray(
+                MAPPER.schemaFrom(ITEM_SCHEMA_JSON).getAvroSchema()));
+        List<Item> items = new ArrayList<Item>();
+        for (int i = 0; i < 5; ++i) {
+            items.add(new Item(i, "Item"+i));
+        }
+        byte[] exp = MAPPER.writer(schema).writeValueAsBytes(items);
+        assertEquals(Arrays.toString(exp),
+                Arrays.toString(COMPILING_MAPPER.writer(schema).writeValueAsBytes(items)));
+        assertEquals(Arrays.toString(exp),
+                Arrays.toString(COMPILING_MAPPER.writer(schema)
+                        .with(AvroGenerator.Feature.STREAMING_OUTPUT)
+                        .writeValueAsBytes(items)));
+    }
+
+    public void testUnknownProperty() throws Exception
+    {
+        AvroSchema schema = MAPPER.schemaFrom(ITEM_SCHEMA_JSON);
+        ItemWithExtra item = new ItemWithExtra(3, "Three");
+        try {
+            COMPILING_MAPPER.writer(schema).writeValueAsBytes(item);
+            fail("Should not pass");
+        } catch (JsonMappingException e) {
+            verifyException(e, "No field named 'extra'");
+        }
+        byte[] exp = MAPPER.writer(schema).with(JsonGenerator.Feature.IGNORE_UNKNOWN)
+                .writeValueAsBytes(item);
+        byte[] act = COMPILING_MAPPER.writer(schema).with(JsonGenerator.Feature.IGNORE_UNKNOWN)
+                .writeValueAsBytes(item);
+        assertEquals(Arrays.toString(exp), Arrays.toString(act));
+    }
+
+    /*
+    /**********************************************************
+    /* Helper methods
+    /**********************************************************
+     */
+
+    private void _verifySame(AvroSchema schema, Object value) throws Exception
+    {
+        byte[] exp = MAPPER.writer(schema).writeValueAsBytes(value);
+        byte[] act = COMPILING_MAPPER.writer(schema).writeValueAsBytes(value);
+        assertEquals(Arrays.toString(exp), Arrays.toString(act));
+    }
+}
@@ -2,6 +2,12 @@ package com.fasterxml.jackson.dataformat.avro;
 
 import java.io.*;
 
+import org.apache.avro.io.BinaryEncoder;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
 import com.fasterxml.jackson.databind.MappingIterator;
 import com.fasterxml.jackson.databind.SequenceWriter;
 
@@ -104,6 +110,51 @@ public class ConcurrencyTest extends AvroTestBase
         it2.close();
     }
 
+    // Check that decoders, encoders are recycled after close, and that nested
+    // parsers do not share them
+    public void testCodecRecycling() throws Exception
+    {
+        // First, clear out any earlier state
+        AvroSchema.claimDecoder();
+        AvroSchema.claimEncoder();
+
+        byte[] doc = MAPPER.writer(EMPL_SCHEMA).writeValueAsBytes(_empl("a", 1));
+        BinaryEncoder enc = AvroSchema.claimEncoder();
+        assertNotNull(enc);
+        AvroSchema.releaseEncoder(enc);
+        assertEquals(doc.length, MAPPER.writer(EMPL_SCHEMA).writeValueAsBytes(_empl("a", 1)).length);
+        assertSame(enc, AvroSchema.claimEncoder());
+
+        JsonParser p1 = MAPPER.getFactory().createParser(doc);
+        p1.setSchema(EMPL_SCHEMA);
+        assertToken(JsonToken.START_OBJECT, p1.nextToken());
+        // nested parser must not get the same decoder
+        JsonParser p2 = MAPPER.getFactory().createParser(doc);
+        p2.setSchema(EMPL_SCHEMA);
+        assertToken(JsonToken.START_OBJECT, p2.nextToken());
+        assertToken(JsonToken.FIELD_NAME, p2.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p2.nextToken());
+        assertEquals("Empl1a", p2.getText());
+        p2.close();
+
+        assertToken(JsonToken.FIELD_NAME, p1.nextToken());
+        assertToken(JsonToken.VALUE_STRING, p1.nextToken());
+        assertEquals("Empl1a", p1.getText());
+        p1.close();
+        assertNotNull(AvroSchema.claimDecoder());
+        assertNull(AvroSchema.claimDecoder());
+
+        // and with recycling disabled, nothing is released
+        AvroFactory f = new AvroFactory();
+        f.disable(JsonFactory.Feature.USE_THREAD_LOCAL_FOR_BUFFER_RECYCLING);
+        AvroMapper mapper = new AvroMapper(f);
+        mapper.writer(EMPL_SCHEMA).writeValueAsBytes(_empl("b", 2));
+        Employee e = mapper.readerFor(Employee.class).with(EMPL_SCHEMA).readValue(doc);
+        assertEquals("Empl1a", e.name);
+        assertNull(AvroSchema.claimDecoder());
+        assertNull(AvroSchema.claimEncoder());
+    }
+
     private void _writeEmpl(SequenceWriter sw, String type, int index) throws IOException {
         sw.write(_empl(type, index));
     }
@@ -0,0 +1,167 @@
+package com.fasterxml.jackson.dataformat.avro;
+
+import java.io.*;
+
+import org.apache.avro.Schema;
+import org.apache.avro.file.CodecFactory;
+import org.apache.avro.file.DataFileWriter;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+
+/**
+ * Tests for reading Avro Object Container Files, using Schema embedded
+ * in the file header.
+ */
+public class ContainerFileReadTest extends AvroTestBase
+{
+    static class Employee {
+        public String name;
+        public int age;
+        public String[] emails;
+        public Employee boss;
+    }
+
+    private final AvroMapper MAPPER = getMapper();
+
+    /*
+    /**********************************************************
+    /* Test methods
+    /**********************************************************
+     */
+
+    public void testUncompressed() throws Exception {
+        _testRead(CodecFactory.nullCodec(), 1000);
+    }
+
+    public void testDeflate() throws Exception {
+        _testRead(CodecFactory.deflateCodec(6), 1000);
+    }
+
+    public void testSnappy() throws Exception {
+        if (!isSnappyAvailable()) { // native library not loadable on all platforms
+            return;
+        }
+        _testRead(CodecFactory.snappyCodec(), 100);
+    }
+
+    public void testEmpty() throws Exception
+    {
+        byte[] data = _write(CodecFactory.nullCodec(), 0);
+        JsonParser p = MAPPER.getFactory().createContainerParser(new ByteArrayInputStream(data));
+        assertNull(p.nextToken());
+        p.close();
+    }
+
+    public void testAsTokens() throws Exception
+    {
+        byte[] data = _write(CodecFactory.deflateCodec(1), 2);
+        JsonParser p = MAPPER.getFactory().createContainerParser(new ByteArrayInputStream(data));
+        assertNotNull(p.getSchema());
+        for (int i = 0; i < 2; ++i) {
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            assertEquals("name", p.nextFieldName());
+            assertEquals("Emp"+i, p.nextTextValue());
+            assertEquals("age", p.nextFieldName());
+            assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+            assertEquals(i, p.getIntValue());
+            assertEquals("emails", p.nextFieldName());
+            assertToken(JsonToken.START_ARRAY, p.nextToken());
+            p.skipChildren();
+            assertEquals("boss", p.nextFieldName());
+            assertToken(JsonToken.VALUE_NULL, p.nextToken());
+            assertToken(JsonToken.END_OBJECT, p.nextToken());
+        }
+        assertNull(p.nextToken());
+        p.close();
+    }
+
+    public void testFromFile() throws Exception
+    {
+        File f = File.createTempFile("jackson-avro", ".avro");
+        f.deleteOnExit();
+        try {
+            OutputStream out = new FileOutputStream(f);
+            out.write(_write(CodecFactory.deflateCodec(6), 250));
+            out.close();
+
+            MappingIterator<JsonNode> it = MAPPER.readerFor(JsonNode.class)
+                    .readValues(MAPPER.getFactory().createContainerParser(f));
+            int count = 0;
+            while (it.hasNextValue()) {
+                JsonNode n = it.nextValue();
+                assertEquals("Emp"+count, n.path("name").asText());
+                ++count;
+            }
+            it.close();
+            assertEquals(250, count);
+        } finally {
+            f.delete();
+        }
+    }
+
+    public void testNotContainerFile() throws Exception
+    {
+        try {
+            MAPPER.getFactory().createContainerParser(new ByteArrayInputStream(new byte[] { 1, 2, 3, 4 }));
+            fail("Should not pass");
+        } catch (IOException e) {
+            verifyException(e, "Not a data file");
+        }
+    }
+
+    /*
+    /**********************************************************
+    /* Helper methods
+    /**********************************************************
+     */
+
+    private void _testRead(CodecFactory codec, int count) throws Exception
+    {
+        byte[] data = _write(codec, count);
+        MappingIterator<Employee> it = MAPPER.readerFor(Employee.class)
+                .readValues(MAPPER.getFactory().createContainerParser(new ByteArrayInputStream(data)));
+        int i = 0;
+        while (it.hasNextValue()) {
+            Employee emp = it.nextValue();
+            assertEquals("Emp"+i, emp.name);
+            assertEquals(i, emp.age);
+            assertEquals(i % 3, emp.emails.length);
+            assertNull(emp.boss);
+            ++i;
+        }
+        it.close();
+        assertEquals(count, i);
+    }
+
+    private byte[] _write(CodecFactory codec, int count) throws IOException
+    {
+        Schema schema = new Schema.Parser().parse(EMPLOYEE_SCHEMA_JSON);
+        DataFileWriter<GenericRecord> w = new DataFileWriter<GenericRecord>(
+                new GenericDatumWriter<GenericRecord>(schema));
+        w.setCodec(codec);
+        // use small blocks, to get plenty of them
+        w.setSyncInterval(100);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        w.create(schema, bytes);
+        for (int i = 0; i < count; ++i) {
+            GenericRecord rec = new GenericData.Record(schema);
+            rec.put("name", "Emp"+i);
+            rec.put("age", i);
+            String[] emails = new String[i % 3];
+            for (int j = 0; j < emails.length; ++j) {
+                emails[j] = "emp"+i+"."+j+"@example.com";
+            }
+            rec.put("emails", java.util.Arrays.asList(emails));
+            rec.put("boss", null);
+            w.append(rec);
+        }
+        w.close();
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,211 @@
+package com.fasterxml.jackson.dataformat.avro;
+
+import java.io.*;
+import java.util.Collections;
+import java.util.Map;
+
+import org.apache.avro.file.CodecFactory;
+import org.apache.avro.file.DataFileConstants;
+import org.apache.avro.file.DataFileStream;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericRecord;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.SequenceWriter;
+
+/**
+ * Tests for writing Avro Object Container Files.
+ */
+public class ContainerFileWriteTest extends AvroTestBase
+{
+    static class Employee {
+        public String name;
+        public int age;
+        public String[] emails;
+        public Employee boss;
+
+        protected Employee() { }
+        public Employee(int i) {
+            name = "Emp"+i;
+            age = i;
+            emails = new String[i % 3];
+            for (int j = 0; j < emails.length; ++j) {
+                emails[j] = "emp"+i+"."+j+"@example.com";
+            }
+        }
+    }
+
+    /*
+    /**********************************************************
+    /* Test methods
+    /**********************************************************
+     */
+
+    public void testUncompressed() throws Exception {
+        _testWrite(getMapper(), CodecFactory.nullCodec(), 1000);
+    }
+
+    public void testDeflate() throws Exception {
+        _testWrite(getMapper(), CodecFactory.deflateCodec(6), 1000);
+    }
+
+    public void testSnappy() throws Exception {
+        if (!isSnappyAvailable()) { // native library not loadable on all platforms
+            return;
+        }
+        _testWrite(getMapper(), CodecFactory.snappyCodec(), 100);
+    }
+
+    public void testStreamingOutput() throws Exception {
+        AvroMapper mapper = new AvroMapper();
+        mapper.getFactory().enable(AvroGenerator.Feature.STREAMING_OUTPUT);
+        _testWrite(mapper, CodecFactory.deflateCodec(1), 500);
+    }
+
+    public void testEmpty() throws Exception
+    {
+        AvroMapper mapper = getMapper();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        JsonGenerator gen = mapper.getFactory().createContainerGenerator(bytes);
+        SequenceWriter w = mapper.writer(getEmployeeSchema()).writeValues(gen);
+        w.close();
+        // SequenceWriter does not close generators it did not create
+        gen.close();
+        DataFileStream<GenericRecord> in = new DataFileStream<GenericRecord>(
+                new ByteArrayInputStream(bytes.toByteArray()), new GenericDatumReader<GenericRecord>());
+        assertEquals(getEmployeeSchema().getAvroSchema(), in.getSchema());
+        assertFalse(in.hasNext());
+        in.close();
+    }
+
+    // Values that encode to no bytes are still datums
+    public void testEmptyDatums() throws Exception
+    {
+        AvroMapper mapper = getMapper();
+        AvroSchema schema = mapper.schemaFrom(aposToQuotes(
+                "{'type':'record','name':'Empty','fields':[]}"));
+        Map<String,Object> empty = Collections.emptyMap();
+        assertEquals(3, _countDatums(mapper, schema, empty, empty, empty));
+        assertEquals(2, _countDatums(mapper, mapper.schemaFrom(aposToQuotes("'null'")),
+                null, null));
+    }
+
+    // Root-level scalars are datums of their own
+    public void testScalarDatums() throws Exception
+    {
+        AvroMapper mapper = getMapper();
+        assertEquals(4, _countDatums(mapper, mapper.schemaFrom(aposToQuotes("'int'")),
+                1, 2, 3, 4));
+        assertEquals(2, _countDatums(mapper, mapper.schemaFrom(aposToQuotes("'string'")),
+                "a", "b"));
+    }
+
+    public void testTargetNotClosed() throws Exception
+    {
+        AvroMapper mapper = getMapper();
+        final boolean[] closed = new boolean[1];
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream() {
+            @Override
+            public void close() { closed[0] = true; }
+        };
+        JsonGenerator gen = mapper.getFactory().createContainerGenerator(bytes,
+                CodecFactory.deflateCodec(6), 1024);
+        gen.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        SequenceWriter w = mapper.writer(getEmployeeSchema()).writeValues(gen);
+        w.write(new Employee(1));
+        w.close();
+        gen.close();
+        assertFalse(closed[0]);
+        assertEquals(1, _countWithAvro(bytes.toByteArray()));
+    }
+
+    /*
+    /**********************************************************
+    /* Helper methods
+    /**********************************************************
+     */
+
+    private int _countDatums(AvroMapper mapper, AvroSchema schema, Object... values) throws Exception
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        JsonGenerator gen = mapper.getFactory().createContainerGenerator(bytes);
+        SequenceWriter w = mapper.writer(schema).writeValues(gen);
+        for (Object value : values) {
+            w.write(value);
+        }
+        w.close();
+        gen.close();
+        DataFileStream<Object> in = new DataFileStream<Object>(
+                new ByteArrayInputStream(bytes.toByteArray()), new GenericDatumReader<Object>());
+        int count = 0;
+        while (in.hasNext()) {
+            in.next();
+            ++count;
+        }
+        in.close();
+        return count;
+    }
+
+    private void _testWrite(AvroMapper mapper, CodecFactory codec, int count) throws Exception
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        // small blocks, to get plenty of them
+        JsonGenerator gen = mapper.getFactory().createContainerGenerator(bytes, codec, 200);
+        SequenceWriter w = mapper.writer(getEmployeeSchema()).writeValues(gen);
+        for (int i = 0; i < count; ++i) {
+            w.write(new Employee(i));
+        }
+        w.close();
+        gen.close();
+        byte[] data = bytes.toByteArray();
+
+        // First, verify with Avro itself
+        DataFileStream<GenericRecord> in = new DataFileStream<GenericRecord>(
+                new ByteArrayInputStream(data), new GenericDatumReader<GenericRecord>());
+        String codecName = in.getMetaString(DataFileConstants.CODEC);
+        // note: deflate codec's description includes level, name does not
+        assertTrue(codec.toString().startsWith((codecName == null) ? "null" : codecName));
+        int blocks = 0;
+        int i = 0;
+        while (in.hasNext()) {
+            ++blocks;
+            long blockCount = in.getBlockCount();
+            for (long j = 0; j < blockCount; ++j) {
+                GenericRecord rec = in.next();
+                assertEquals("Emp"+i, rec.get("name").toString());
+                assertEquals(i, rec.get("age"));
+                ++i;
+            }
+        }
+        in.close();
+        assertEquals(count, i);
+        assertTrue("Should have multiple blocks, got "+blocks, blocks > 1);
+
+        // and then with our own reader
+        MappingIterator<Employee> it = mapper.readerFor(Employee.class)
+                .readValues(mapper.getFactory().createContainerParser(new ByteArrayInputStream(data)));
+        i = 0;
+        while (it.hasNextValue()) {
+            Employee emp = it.nextValue();
+            assertEquals("Emp"+i, emp.name);
+            assertEquals(i % 3, emp.emails.length);
+            ++i;
+        }
+        it.close();
+        assertEquals(count, i);
+    }
+
+    private int _countWithAvro(byte[] data) throws IOException
+    {
+        DataFileStream<GenericRecord> in = new DataFileStream<GenericRecord>(
+                new ByteArrayInputStream(data), new GenericDatumReader<GenericRecord>());
+        int count = 0;
+        while (in.hasNext()) {
+            in.next();
+            ++count;
+        }
+        in.close();
+        return count;
+    }
+}
@@ -0,0 +1,130 @@
+package com.fasterxml.jackson.dataformat.avro;
+
+import java.util.*;
+
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Tests for accessing Record fields by their index in the Schema.
+ */
+public class FieldIndexTest extends AvroTestBase
+{
+    final static String WRITER_SCHEMA_JSON = aposToQuotes("{\n"
+            +" 'type': 'record',\n"
+            +" 'name': 'Item',\n"
+            +" 'fields': [\n"
+            +"   {'name':'id', 'type':'int'},\n"
+            +"   {'name':'removed', 'type':'string'},\n"
+            +"   {'name':'props', 'type':{'type':'map','values':'string'}},\n"
+            +"   {'name':'name', 'type':'string'}\n"
+            +" ]\n"
+            +"}");
+
+    // reordered, one field removed, one added
+    final static String READER_SCHEMA_JSON = aposToQuotes("{\n"
+            +" 'type': 'record',\n"
+            +" 'name': 'Item',\n"
+            +" 'fields': [\n"
+            +"   {'name':'name', 'type':'string'},\n"
+            +"   {'name':'added', 'type':'int', 'default':3},\n"
+            +"   {'name':'props', 'type':{'type':'map','values':'string'}},\n"
+            +"   {'name':'id', 'type':'int'}\n"
+            +" ]\n"
+            +"}");
+
+    static class Item {
+        public int id = 42;
+        public String removed = "x";
+        public Map<String,String> props = Collections.singletonMap("key", "value");
+        public String name = "Bob";
+    }
+
+    private final AvroMapper MAPPER = getMapper();
+
+    /*
+    /**********************************************************
+    /* Test methods
+    /**********************************************************
+     */
+
+    public void testFieldIndexes() throws Exception
+    {
+        Employee boss = new Employee();
+        boss.name = "Boss";
+        boss.emails = new String[0];
+        Employee emp = new Employee();
+        emp.name = "Bob";
+        emp.age = 39;
+        emp.emails = new String[] { "bob@example.com" };
+        emp.boss = boss;
+        byte[] data = MAPPER.writer(getEmployeeSchema()).writeValueAsBytes(emp);
+
+        AvroParser p = MAPPER.getFactory().createParser(data);
+        p.setSchema(getEmployeeSchema());
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertEquals(-1, p.getCurrentFieldIndex());
+        assertEquals(0, p.nextFieldIndex());
+        assertToken(JsonToken.FIELD_NAME, p.getCurrentToken());
+        assertEquals("name", p.getCurrentName());
+        assertEquals("Bob", p.nextTextValue());
+        assertEquals(0, p.getCurrentFieldIndex());
+        assertEquals(1, p.nextFieldIndex());
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        assertEquals(2, p.nextFieldIndex());
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        // not at a field name, so:
+        assertEquals(-1, p.nextFieldIndex());
+        assertToken(JsonToken.VALUE_STRING, p.getCurrentToken());
+        assertToken(JsonToken.END_ARRAY, p.nextToken());
+        assertEquals(3, p.nextFieldIndex());
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertEquals(0, p.nextFieldIndex());
+        assertEquals("Boss", p.nextTextValue());
+        p.skipChildren();
+        assertEquals(1, p.nextFieldIndex());
+        p.nextToken();
+        assertEquals(2, p.nextFieldIndex());
+        p.nextToken();
+        p.nextToken();
+        assertEquals(3, p.nextFieldIndex());
+        assertToken(JsonToken.VALUE_NULL, p.nextToken());
+        assertEquals(-1, p.nextFieldIndex());
+        assertToken(JsonToken.END_OBJECT, p.getCurrentToken());
+        assertEquals(-1, p.nextFieldIndex());
+        assertToken(JsonToken.END_OBJECT, p.getCurrentToken());
+        p.close();
+    }
+
+    // With reader Schema, indexes should be those of reader Schema
+    public void testFieldIndexesWithResolution() throws Exception
+    {
+        AvroSchema writerSchema = MAPPER.schemaFrom(WRITER_SCHEMA_JSON);
+        AvroSchema schema = writerSchema.withReaderSchema(MAPPER.schemaFrom(READER_SCHEMA_JSON));
+        byte[] data = MAPPER.writer(writerSchema).writeValueAsBytes(new Item());
+
+        AvroParser p = MAPPER.getFactory().createParser(data);
+        p.setSchema(schema);
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertEquals(3, p.nextFieldIndex());
+        assertEquals("id", p.getCurrentName());
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        assertEquals(42, p.getIntValue());
+        assertEquals(2, p.nextFieldIndex());
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        // Map keys are not Record fields
+        assertEquals(-1, p.nextFieldIndex());
+        assertToken(JsonToken.FIELD_NAME, p.getCurrentToken());
+        assertEquals("key", p.getCurrentName());
+        assertEquals("value", p.nextTextValue());
+        assertToken(JsonToken.END_OBJECT, p.nextToken());
+        assertEquals(0, p.nextFieldIndex());
+        assertEquals("Bob", p.nextTextValue());
+        assertEquals(1, p.nextFieldIndex());
+        assertEquals("added", p.getCurrentName());
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        assertEquals(3, p.getIntValue());
+        assertEquals(-1, p.nextFieldIndex());
+        assertToken(JsonToken.END_OBJECT, p.getCurrentToken());
+        p.close();
+    }
+}
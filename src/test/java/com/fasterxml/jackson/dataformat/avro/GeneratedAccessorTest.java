@@ -0,0 +1,270 @@
+package com.fasterxml.jackson.dataformat.avro;
+
+import java.lang.reflect.Member;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.*;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.deser.DefaultDeserializationContext;
+import com.fasterxml.jackson.dataformat.avro.access.AccessorFactory;
+import com.fasterxml.jackson.dataformat.avro.access.BeanAccessor;
+import com.fasterxml.jackson.dataformat.avro.deser.AvroBeanDeserializer;
+import com.fasterxml.jackson.dataformat.avro.ser.AvroBeanSerializer;
+
+/**
+ * Tests for generated accessors used for "compiled" reading and writing
+ * of POJOs (see {@link AvroCompiledModule}).
+ */
+public class GeneratedAccessorTest extends AvroTestBase
+{
+    final static String POINT_SCHEMA_JSON = aposToQuotes("{\n"
+            +" 'type': 'record',\n"
+            +" 'name': 'Point',\n"
+            +" 'fields': [\n"
+            +"   {'name':'x', 'type':'int'},\n"
+            +"   {'name':'y', 'type':'long'},\n"
+            +"   {'name':'label', 'type':['null','string']},\n"
+            +"   {'name':'weight', 'type':'float'},\n"
+            +"   {'name':'scale', 'type':['null','double']},\n"
+            +"   {'name':'visible', 'type':'boolean'},\n"
+            +"   {'name':'count', 'type':['null','int']},\n"
+            +"   {'name':'tags', 'type':{'type':'array','items':'string'}}\n"
+            +" ]\n"
+            +"}");
+
+    // mix of fields and accessor methods, primitives and wrappers
+    @JsonPropertyOrder({ "tags", "count", "visible", "scale", "weight", "label", "y", "x" })
+    public static class Point {
+        public int x;
+        public String label;
+        public double scale;
+        public Integer count;
+        public String[] tags;
+
+        private long _y;
+        private float _weight;
+        private boolean _visible;
+
+        public Point() { }
+        public Point(int x, long y, String label) {
+            this.x = x;
+            _y = y;
+            this.label = label;
+            _weight = x * 0.25f;
+            scale = y / 8.0;
+            _visible = (x % 2) == 0;
+            count = _visible ? null : Integer.valueOf(x * 3);
+            tags = new String[] { "t"+x };
+        }
+
+        public long getY() { return _y; }
+        public void setY(long y) { _y = y; }
+
+        public float getWeight() { return _weight; }
+        public Point setWeight(float w) { // "builder-style" setter
+            _weight = w;
+            return this;
+        }
+
+        public boolean isVisible() { return _visible; }
+        public void setVisible(boolean v) { _visible = v; }
+    }
+
+    public static class Bean {
+        public int value;
+        public final String name = "bean";
+        private String _secret;
+
+        public String getSecret() { return _secret; }
+        @SuppressWarnings("unused")
+        private void setSecret(String s) { _secret = s; }
+    }
+
+    private final AvroMapper MAPPER = getMapper();
+
+    /*
+    /**********************************************************
+    /* Test methods, accessors
+    /**********************************************************
+     */
+
+    public void testAccessorFactory() throws Exception
+    {
+        Member[] members = new Member[] {
+                Bean.class.getField("value"),
+                Bean.class.getField("name"),
+                Bean.class.getMethod("getSecret"),
+                Bean.class.getDeclaredMethod("setSecret", String.class),
+                null
+        };
+        BeanAccessor acc = AccessorFactory.createAccessor(Bean.class, members);
+        assertNotNull(acc);
+
+        assertTrue(acc.canRead(0));
+        assertTrue(acc.canWrite(0));
+        assertEquals(Integer.TYPE, acc.getValueType(0));
+        // final field can only be read
+        assertTrue(acc.canRead(1));
+        assertFalse(acc.canWrite(1));
+        assertTrue(acc.canRead(2));
+        assertFalse(acc.canWrite(2));
+        // private setter is not accessible
+        assertFalse(acc.canRead(3));
+        assertFalse(acc.canWrite(3));
+        assertFalse(acc.canRead(4));
+
+        Bean bean = new Bean();
+        acc.setIntValue(bean, 0, 42);
+        assertEquals(42, bean.value);
+        assertEquals(42, acc.getIntValue(bean, 0));
+        acc.setValue(bean, 0, Integer.valueOf(13));
+        assertEquals(Integer.valueOf(13), acc.getValue(bean, 0));
+        assertEquals("bean", acc.getValue(bean, 1));
+        bean._secret = "abc";
+        assertEquals("abc", acc.getValue(bean, 2));
+
+        try {
+            acc.getLongValue(bean, 0);
+            fail("Should not pass");
+        } catch (IllegalArgumentException e) {
+            verifyException(e, "Member #0 not accessible");
+        }
+        try {
+            acc.setValue(bean, 3, "x");
+            fail("Should not pass");
+        } catch (IllegalArgumentException e) {
+            verifyException(e, "Member #3 not accessible");
+        }
+    }
+
+    public void testNoAccessorForNonPublic() throws Exception
+    {
+        assertNull(AccessorFactory.createAccessor(Image.class,
+                new Member[] { Image.class.getMethod("getUri") }));
+        // nor if generation is disabled
+        AccessorFactory.setEnabled(false);
+        try {
+            assertFalse(AccessorFactory.isEnabled());
+            assertNull(AccessorFactory.createAccessor(Bean.class,
+                    new Member[] { Bean.class.getField("value") }));
+        } finally {
+            AccessorFactory.setEnabled(true);
+        }
+        assertNotNull(AccessorFactory.createAccessor(Bean.class,
+                new Member[] { Bean.class.getField("value") }));
+    }
+
+    /*
+    /**********************************************************
+    /* Test methods, compiled reading and writing
+    /**********************************************************
+     */
+
+    public void testRoundtrip() throws Exception
+    {
+        _testRoundtrip((AvroMapper) new AvroMapper().registerModule(new AvroCompiledModule()));
+        _testRoundtrip(new AvroMapper().enableCompiledSerializers().enableCompiledDeserializers());
+    }
+
+    public void testRoundtripWithoutAccessors() throws Exception
+    {
+        _testRoundtrip((AvroMapper) new AvroMapper().registerModule(new AvroCompiledModule(false)));
+        _testRoundtrip(new AvroMapper().enableCompiledSerializers(false)
+                .enableCompiledDeserializers(false));
+    }
+
+    // Accessor is resolved on first use, which may be concurrent
+    public void testConcurrentFirstUse() throws Exception
+    {
+        final int THREADS = 8;
+        final AvroMapper mapper = new AvroMapper().enableCompiledDeserializers();
+        final AvroSchema schema = MAPPER.schemaFrom(POINT_SCHEMA_JSON);
+        final byte[] doc = MAPPER.writer(schema).writeValueAsBytes(new Point(3, 7L, "p"));
+        final CountDownLatch start = new CountDownLatch(1);
+        ExecutorService exec = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<Point>> results = new ArrayList<Future<Point>>();
+            for (int i = 0; i < THREADS; ++i) {
+                results.add(exec.submit(new Callable<Point>() {
+                    @Override
+                    public Point call() throws Exception {
+                        start.await();
+                        return mapper.readerFor(Point.class).with(schema).readValue(doc);
+                    }
+                }));
+            }
+            start.countDown();
+            for (Future<Point> f : results) {
+                Point p = f.get(10, TimeUnit.SECONDS);
+                assertEquals(3, p.x);
+                assertEquals(7L, p.getY());
+                assertEquals("p", p.label);
+                assertEquals(Arrays.asList("t3"), Arrays.asList(p.tags));
+            }
+        } finally {
+            exec.shutdownNow();
+        }
+    }
+
+    public void testCompiledDeserializerDefaults() throws Exception
+    {
+        assertEquals(AvroCompiledModule.DEFAULT_GENERATE_ACCESSORS,
+                new AvroDeserializerModifier()._generateAccessors);
+        assertEquals(AvroBeanDeserializer.class, _deserializer(new AvroMapper()
+                .enableCompiledDeserializers(), Point.class).getClass());
+        assertEquals(AvroBeanDeserializer.class, _deserializer(new AvroMapper()
+                .enableCompiledDeserializers(false), Point.class).getClass());
+    }
+
+    public void testCompiledSerializerDefaults() throws Exception
+    {
+        assertEquals(AvroCompiledModule.DEFAULT_GENERATE_ACCESSORS,
+                new AvroBeanSerializerModifier()._generateAccessors);
+        assertEquals(AvroBeanSerializer.class, _serializer(new AvroMapper()
+                .enableCompiledSerializers(false), Point.class).getClass());
+        // partial modules must not be mistaken for each other, or for full module
+        AvroMapper mapper = new AvroMapper().enableCompiledDeserializers().enableCompiledSerializers();
+        assertEquals(AvroBeanSerializer.class, _serializer(mapper, Point.class).getClass());
+        assertEquals(AvroBeanDeserializer.class, _deserializer(mapper, Point.class).getClass());
+        mapper = new AvroMapper().enableCompiledDeserializers();
+        mapper.registerModule(new AvroCompiledModule());
+        assertEquals(AvroBeanSerializer.class, _serializer(mapper, Point.class).getClass());
+    }
+
+    private JsonSerializer<?> _serializer(AvroMapper mapper, Class<?> type) throws Exception {
+        return mapper.getSerializerProviderInstance().findValueSerializer(type);
+    }
+
+    private JsonDeserializer<?> _deserializer(AvroMapper mapper, Class<?> type) throws Exception
+    {
+        DeserializationContext ctxt = ((DefaultDeserializationContext) mapper.getDeserializationContext())
+                .createInstance(mapper.getDeserializationConfig(), null, null);
+        return ctxt.findRootValueDeserializer(mapper.constructType(type));
+    }
+
+    private void _testRoundtrip(AvroMapper mapper) throws Exception
+    {
+        AvroSchema schema = MAPPER.schemaFrom(POINT_SCHEMA_JSON);
+        for (int i = 0; i < 5; ++i) {
+            Point input = new Point(i, -1000L * i, ((i % 3) == 0) ? null : "p"+i);
+            byte[] exp = MAPPER.writer(schema).writeValueAsBytes(input);
+            byte[] act = mapper.writer(schema).writeValueAsBytes(input);
+            assertEquals(Arrays.toString(exp), Arrays.toString(act));
+
+            Point result = mapper.readerFor(Point.class).with(schema).readValue(act);
+            assertEquals(input.x, result.x);
+            assertEquals(input.getY(), result.getY());
+            assertEquals(input.label, result.label);
+            assertEquals(input.getWeight(), result.getWeight());
+            assertEquals(input.scale, result.scale);
+            assertEquals(input.isVisible(), result.isVisible());
+            assertEquals(input.count, result.count);
+            assertEquals(Arrays.asList(input.tags), Arrays.asList(result.tags));
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.fasterxml.jackson.dataformat.avro;
+
+import java.io.*;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.SequenceWriter;
+
+/**
+ * Tests for decoding memory-mapped files.
+ */
+public class MappedFileReadTest extends AvroTestBase
+{
+    private final AvroMapper MAPPER = getMapper();
+
+    /*
+    /**********************************************************
+    /* Test methods
+    /**********************************************************
+     */
+
+    public void testDefaultWindow() throws Exception {
+        _testRead(AvroFactory.DEFAULT_MAPPED_WINDOW_SIZE);
+    }
+
+    // and with tiny windows, to get values (and Strings) split between them
+    public void testSmallWindows() throws Exception {
+        _testRead(1);
+        _testRead(7);
+        _testRead(40);
+    }
+
+    public void testResumeFromOffset() throws Exception
+    {
+        File f = _write(10);
+        try {
+            JsonParser p = MAPPER.getFactory().createMappedParser(f, 0L, 16);
+            p.setSchema(getEmployeeSchema());
+            assertEquals(0L, p.getCurrentLocation().getByteOffset());
+            for (int i = 0; i < 4; ++i) {
+                assertToken(JsonToken.START_OBJECT, p.nextToken());
+                p.skipChildren();
+            }
+            final long offset = p.getCurrentLocation().getByteOffset();
+            assertTrue(offset > 0L);
+            p.close();
+
+            p = MAPPER.getFactory().createMappedParser(f, offset, 16);
+            p.setSchema(getEmployeeSchema());
+            MappingIterator<Employee> it = MAPPER.readerFor(Employee.class)
+                    .with(getEmployeeSchema()).readValues(p);
+            int i = 4;
+            while (it.hasNextValue()) {
+                assertEquals("Bob"+i, it.nextValue().name);
+                ++i;
+            }
+            assertEquals(10, i);
+            assertEquals(f.length(), p.getCurrentLocation().getByteOffset());
+            it.close();
+        } finally {
+            f.delete();
+        }
+    }
+
+    public void testTruncated() throws Exception
+    {
+        File f = _write(1);
+        try {
+            JsonParser p = MAPPER.getFactory().createMappedParser(f, 0L, 16);
+            p.setSchema(getEmployeeSchema());
+            long len = f.length();
+            p.close();
+            RandomAccessFile raf = new RandomAccessFile(f, "rw");
+            raf.setLength(len - 3);
+            raf.close();
+
+            p = MAPPER.getFactory().createMappedParser(f, 0L, 16);
+            p.setSchema(getEmployeeSchema());
+            try {
+                while (p.nextToken() != null) { }
+                fail("Should not pass");
+            } catch (EOFException e) {
+                ;
+            }
+            p.close();
+        } finally {
+            f.delete();
+        }
+    }
+
+    public void testNegativeLength() throws Exception
+    {
+        File f = File.createTempFile("avro-mapped", ".avro");
+        try {
+            // block of 1 entry, key with zig-zag encoded length of -3
+            OutputStream out = new FileOutputStream(f);
+            out.write(new byte[] { 2, 5, 'a', 'b', 'c', 2, 0 });
+            out.close();
+            JsonParser p = MAPPER.getFactory().createMappedParser(f, 0L, 16);
+            p.setSchema(MAPPER.schemaFrom(aposToQuotes("{'type':'map','values':'int'}")));
+            assertToken(JsonToken.START_OBJECT, p.nextToken());
+            try {
+                p.nextToken();
+                fail("Should not pass");
+            } catch (IOException e) {
+                verifyException(e, "negative length");
+            }
+            p.close();
+        } finally {
+            f.delete();
+        }
+    }
+
+    /*
+    /**********************************************************
+    /* Helper methods
+    /**********************************************************
+     */
+
+    private void _testRead(int windowSize) throws Exception
+    {
+        File f = _write(25);
+        try {
+            JsonParser p = MAPPER.getFactory().createMappedParser(f, 0L, windowSize);
+            p.setSchema(getEmployeeSchema());
+            MappingIterator<Employee> it = MAPPER.readerFor(Employee.class)
+                    .with(getEmployeeSchema()).readValues(p);
+            int i = 0;
+            while (it.hasNextValue()) {
+                Employee emp = it.nextValue();
+                assertEquals("Bob"+i, emp.name);
+                assertEquals(30 + i, emp.age);
+                assertEquals(i % 4, emp.emails.length);
+                if (emp.emails.length > 0) {
+                    assertEquals("bob"+i+".0@example.com", emp.emails[0]);
+                }
+                ++i;
+            }
+            assertEquals(25, i);
+            it.close();
+        } finally {
+            f.delete();
+        }
+    }
+
+    private File _write(int count) throws Exception
+    {
+        File f = File.createTempFile("avro-mapped", ".avro");
+        SequenceWriter w = MAPPER.writer(getEmployeeSchema())
+                .writeValues(new FileOutputStream(f));
+        for (int i = 0; i < count; ++i) {
+            Employee emp = new Employee();
+            emp.name = "Bob"+i;
+            emp.age = 30 + i;
+            emp.emails = new String[i % 4];
+            for (int j = 0; j < emp.emails.length; ++j) {
+                emp.emails[j] = "bob"+i+"."+j+"@example.com";
+            }
+            w.write(emp);
+        }
+        w.close();
+        return f;
+    }
+}
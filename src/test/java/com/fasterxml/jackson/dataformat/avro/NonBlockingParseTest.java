@@ -0,0 +1,317 @@
+package com.fasterxml.jackson.dataformat.avro;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.*;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.avro.deser.NonBlockingAvroParser;
+
+/**
+ * Tests for non-blocking parser, to which content is fed in chunks.
+ */
+public class NonBlockingParseTest extends AvroTestBase
+{
+    private final AvroMapper MAPPER = getMapper();
+
+    /*
+    /**********************************************************
+    /* Test methods
+    /**********************************************************
+     */
+
+    public void testByteByByte() throws Exception {
+        _testChunked(1);
+    }
+
+    public void testSmallChunks() throws Exception {
+        _testChunked(7);
+    }
+
+    public void testAllAtOnce() throws Exception {
+        _testChunked(Integer.MAX_VALUE);
+    }
+
+    public void testNeedMoreInput() throws Exception
+    {
+        byte[] data = _write(1);
+        NonBlockingAvroParser p = MAPPER.getFactory().createNonBlockingByteArrayParser();
+        p.setSchema(getEmployeeSchema());
+        assertTrue(p.needMoreInput());
+        assertToken(JsonToken.NOT_AVAILABLE, p.nextToken());
+        p.feedInput(data, 0, data.length - 1);
+        assertToken(JsonToken.NOT_AVAILABLE, p.nextToken());
+        assertTrue(p.needMoreInput());
+        p.feedInput(data, data.length - 1, data.length);
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertFalse(p.needMoreInput());
+        assertEquals("name", p.nextFieldName());
+        assertEquals("Bob0", p.nextTextValue());
+        while (p.nextToken() != JsonToken.END_OBJECT) { }
+        assertToken(JsonToken.NOT_AVAILABLE, p.nextToken());
+        p.endOfInput();
+        assertNull(p.nextToken());
+        assertEquals(data.length, p.getInputFed());
+        p.close();
+    }
+
+    public void testIncompleteAtEnd() throws Exception
+    {
+        byte[] data = _write(2);
+        NonBlockingAvroParser p = MAPPER.getFactory().createNonBlockingByteArrayParser();
+        p.setSchema(getEmployeeSchema());
+        p.feedInput(data, 0, data.length - 2);
+        p.endOfInput();
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        while (p.nextToken() != JsonToken.END_OBJECT) { }
+        try {
+            p.nextToken();
+            fail("Should not pass");
+        } catch (JsonParseException e) {
+            verifyException(e, "incomplete root-level value");
+        }
+        p.close();
+    }
+
+    public void testBinaryValues() throws Exception
+    {
+        AvroSchema schema = MAPPER.schemaFrom(aposToQuotes("'bytes'"));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SequenceWriter w = MAPPER.writer(schema).writeValues(bytes);
+        for (int i = 0; i < 10; ++i) {
+            w.write(new byte[] { (byte) i, (byte) (i * 2), 3 });
+        }
+        w.close();
+        byte[] data = bytes.toByteArray();
+
+        NonBlockingAvroParser p = MAPPER.getFactory().createNonBlockingByteArrayParser();
+        p.setSchema(schema);
+        int offset = 0;
+        int count = 0;
+        JsonToken t;
+        while ((t = p.nextToken()) != null) {
+            if (t == JsonToken.NOT_AVAILABLE) {
+                if (offset < data.length) {
+                    int end = Math.min(offset + 5, data.length);
+                    p.feedInput(data, offset, end);
+                    offset = end;
+                } else {
+                    p.endOfInput();
+                }
+                continue;
+            }
+            assertToken(JsonToken.VALUE_EMBEDDED_OBJECT, t);
+            assertEquals(Arrays.toString(new byte[] { (byte) count, (byte) (count * 2), 3 }),
+                    Arrays.toString(p.getBinaryValue()));
+            ++count;
+        }
+        assertEquals(10, count);
+        p.close();
+    }
+
+    // Large values fed in small chunks: scanning must resume where it
+    // stopped, instead of starting over for each chunk
+    public void testLargeArrayInSmallChunks() throws Exception
+    {
+        AvroSchema schema = MAPPER.schemaFrom("{\"type\":\"array\",\"items\":"
+                +EMPLOYEE_SCHEMA_JSON+"}");
+        List<Employee> value = new ArrayList<Employee>();
+        for (int i = 0; i < 10000; ++i) {
+            Employee boss = (i % 3 == 0) ? null
+                    : new Employee("Boss"+i, 50, new String[] { "boss"+i+"@example.com" }, null);
+            value.add(new Employee("Bob"+i, i, new String[] { "bob"+i+"@example.com" }, boss));
+        }
+        byte[] data = _writeTwice(schema, value);
+        assertTrue(data.length > 500000);
+        _verifyChunked(schema, data, 13);
+    }
+
+    public void testLargeMapInSmallChunks() throws Exception
+    {
+        AvroSchema schema = MAPPER.schemaFrom(aposToQuotes(
+                "{'type':'map','values':{'type':'array','items':'long'}}"));
+        Map<String,Object> value = new LinkedHashMap<String,Object>();
+        for (int i = 0; i < 20000; ++i) {
+            value.put("key"+i, new long[] { i, -i, 1000000L * i });
+        }
+        byte[] data = _writeTwice(schema, value);
+        assertTrue(data.length > 300000);
+        _verifyChunked(schema, data, 5);
+    }
+
+    // Blocks with byte size (negative count) are skipped as a whole
+    public void testArrayBlocksWithSize() throws Exception
+    {
+        AvroSchema schema = MAPPER.schemaFrom(aposToQuotes("{'type':'array','items':'int'}"));
+        // block of 2 elements (-2), 2 bytes, then block of 1 (1); end of Array
+        byte[] data = new byte[] { 3, 4, 2, 4, 2, 6, 0 };
+        NonBlockingAvroParser p = MAPPER.getFactory().createNonBlockingByteArrayParser();
+        p.setSchema(schema);
+        for (int i = 0; i < data.length - 1; ++i) {
+            p.feedInput(data, i, i + 1);
+            assertToken(JsonToken.NOT_AVAILABLE, p.nextToken());
+        }
+        p.feedInput(data, data.length - 1, data.length);
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        assertEquals(1, p.nextIntValue(0));
+        assertEquals(2, p.nextIntValue(0));
+        assertEquals(3, p.nextIntValue(0));
+        assertToken(JsonToken.END_ARRAY, p.nextToken());
+        p.endOfInput();
+        assertNull(p.nextToken());
+        p.close();
+    }
+
+    public void testNegativeLength() throws Exception
+    {
+        AvroSchema schema = MAPPER.schemaFrom(aposToQuotes("'string'"));
+        NonBlockingAvroParser p = MAPPER.getFactory().createNonBlockingByteArrayParser();
+        p.setSchema(schema);
+        p.feedInput(new byte[] { 5, 'a', 'b' }, 0, 3);
+        try {
+            p.nextToken();
+            fail("Should not pass");
+        } catch (IOException e) {
+            verifyException(e, "negative length");
+        }
+        p.close();
+    }
+
+    /*
+    /**********************************************************
+    /* Helper methods
+    /**********************************************************
+     */
+
+    private byte[] _writeTwice(AvroSchema schema, Object value) throws Exception
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SequenceWriter w = MAPPER.writer(schema).writeValues(bytes);
+        w.write(value);
+        w.write(value);
+        w.close();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Helper method for verifying that content fed in chunks produces same
+     * tokens as blocking parser; chunks are fed through a single buffer,
+     * overwritten whenever parser needs more input, to verify that parser
+     * retains whatever content it still needs.
+     */
+    private void _verifyChunked(AvroSchema schema, byte[] data, int chunkSize) throws Exception
+    {
+        JsonParser blocking = MAPPER.getFactory().createParser(data);
+        blocking.setSchema(schema);
+
+        NonBlockingAvroParser p = MAPPER.getFactory().createNonBlockingByteArrayParser();
+        p.setSchema(schema);
+        byte[] chunk = new byte[chunkSize];
+        int offset = 0;
+        int tokens = 0;
+        while (true) {
+            JsonToken t = p.nextToken();
+            if (t == JsonToken.NOT_AVAILABLE) {
+                assertTrue(p.needMoreInput());
+                if (offset < data.length) {
+                    Arrays.fill(chunk, (byte) 0xFF);
+                    int len = Math.min(chunkSize, data.length - offset);
+                    System.arraycopy(data, offset, chunk, 0, len);
+                    p.feedInput(chunk, 0, len);
+                    offset += len;
+                } else {
+                    p.endOfInput();
+                }
+                continue;
+            }
+            assertEquals(_desc(blocking, blocking.nextToken()), (t == null) ? null : _desc(p, t));
+            if (t == null) {
+                break;
+            }
+            ++tokens;
+        }
+        assertEquals(data.length, p.getInputFed());
+        assertTrue(tokens > 1000);
+        p.close();
+        blocking.close();
+    }
+
+    private void _testChunked(int chunkSize) throws Exception
+    {
+        byte[] data = _write(20);
+        List<String> expected = _tokens(MAPPER.getFactory().createParser(data));
+
+        NonBlockingAvroParser p = MAPPER.getFactory().createNonBlockingByteArrayParser();
+        p.setSchema(getEmployeeSchema());
+        List<String> actual = new ArrayList<String>();
+        int offset = 0;
+        while (true) {
+            JsonToken t = p.nextToken();
+            if (t == JsonToken.NOT_AVAILABLE) {
+                if (offset < data.length) {
+                    int end = (int) Math.min((long) offset + chunkSize, data.length);
+                    p.feedInput(data, offset, end);
+                    offset = end;
+                } else {
+                    p.endOfInput();
+                }
+                continue;
+            }
+            if (t == null) {
+                break;
+            }
+            actual.add(_desc(p, t));
+        }
+        p.close();
+        assertEquals(expected, actual);
+    }
+
+    private List<String> _tokens(JsonParser p) throws Exception
+    {
+        p.setSchema(getEmployeeSchema());
+        List<String> result = new ArrayList<String>();
+        JsonToken t;
+        while ((t = p.nextToken()) != null) {
+            result.add(_desc(p, t));
+        }
+        p.close();
+        return result;
+    }
+
+    private String _desc(JsonParser p, JsonToken t) throws Exception
+    {
+        if (t == null) {
+            return null;
+        }
+        if (t.isScalarValue() || (t == JsonToken.FIELD_NAME)) {
+            return t+":"+p.getText();
+        }
+        return t.toString();
+    }
+
+    private byte[] _write(int count) throws Exception
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SequenceWriter w = MAPPER.writer(getEmployeeSchema()).writeValues(bytes);
+        for (int i = 0; i < count; ++i) {
+            Employee emp = new Employee();
+            emp.name = "Bob"+i;
+            emp.age = 30 + i;
+            emp.emails = new String[i % 4];
+            for (int j = 0; j < emp.emails.length; ++j) {
+                emp.emails[j] = "bob"+i+"."+j+"@example.com";
+            }
+            if ((i % 3) == 1) {
+                emp.boss = new Employee();
+                emp.boss.name = "Boss"+i;
+                emp.boss.emails = new String[0];
+            }
+            w.write(emp);
+        }
+        w.close();
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,126 @@
+package com.fasterxml.jackson.dataformat.avro;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.avro.file.CodecFactory;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.SequenceWriter;
+
+/**
+ * Tests for reading Avro Object Container Files with blocks decoded in
+ * parallel.
+ */
+public class ParallelContainerReadTest extends AvroTestBase
+{
+    static class Point {
+        public int x, y;
+
+        protected Point() { }
+        public Point(int x, int y) {
+            this.x = x;
+            this.y = y;
+        }
+    }
+
+    static class StrictPoint {
+        public int x;
+    }
+
+    final static String POINT_SCHEMA_JSON = aposToQuotes("{'type':'record','name':'Point',"
+            +"'fields':[{'name':'x','type':'int'},{'name':'y','type':'int'}]}");
+
+    private final AvroMapper MAPPER = getMapper();
+
+    /*
+    /**********************************************************
+    /* Test methods
+    /**********************************************************
+     */
+
+    public void testOrdered() throws Exception
+    {
+        final int COUNT = 5000;
+        byte[] data = _write(COUNT);
+        ExecutorService exec = Executors.newFixedThreadPool(4);
+        try {
+            ParallelBlockIterator<Point> it = MAPPER.readContainerValuesInParallel(
+                    new ByteArrayInputStream(data), Point.class, exec, 3, true);
+            int i = 0;
+            while (it.hasNextValue()) {
+                Point p = it.nextValue();
+                assertEquals(i, p.x);
+                assertEquals(-i, p.y);
+                ++i;
+            }
+            it.close();
+            assertEquals(COUNT, i);
+        } finally {
+            exec.shutdown();
+        }
+    }
+
+    public void testUnordered() throws Exception
+    {
+        final int COUNT = 5000;
+        byte[] data = _write(COUNT);
+        // let's use iterator-owned executor
+        ParallelBlockIterator<Point> it = MAPPER.readContainerValuesInParallel(
+                new ByteArrayInputStream(data), Point.class, null, 8, false);
+        BitSet seen = new BitSet();
+        for (Point p : it.readAll()) {
+            assertFalse(seen.get(p.x));
+            seen.set(p.x);
+            assertEquals(-p.x, p.y);
+        }
+        assertEquals(COUNT, seen.cardinality());
+        assertEquals(COUNT, seen.nextClearBit(0));
+        // already closed once all read, but can be called again
+        it.close();
+    }
+
+    public void testEmpty() throws Exception
+    {
+        ParallelBlockIterator<Point> it = MAPPER.readContainerValuesInParallel(
+                new ByteArrayInputStream(_write(0)), Point.class, null, 2, true);
+        assertFalse(it.hasNext());
+    }
+
+    public void testBindingFailure() throws Exception
+    {
+        ParallelBlockIterator<StrictPoint> it = MAPPER.readContainerValuesInParallel(
+                new ByteArrayInputStream(_write(100)), StrictPoint.class, null, 2, true);
+        try {
+            it.hasNextValue();
+            fail("Should not pass");
+        } catch (JsonMappingException e) {
+            verifyException(e, "Unrecognized field");
+        }
+        // and should now be closed
+        assertFalse(it.hasNextValue());
+    }
+
+    /*
+    /**********************************************************
+    /* Helper methods
+    /**********************************************************
+     */
+
+    private byte[] _write(int count) throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        JsonGenerator gen = MAPPER.getFactory().createContainerGenerator(bytes,
+                CodecFactory.deflateCodec(1), 500);
+        SequenceWriter w = MAPPER.writer(MAPPER.schemaFrom(POINT_SCHEMA_JSON)).writeValues(gen);
+        for (int i = 0; i < count; ++i) {
+            w.write(new Point(i, -i));
+        }
+        w.close();
+        gen.close();
+        return bytes.toByteArray();
+    }
+}
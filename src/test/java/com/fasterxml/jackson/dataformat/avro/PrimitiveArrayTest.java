@@ -0,0 +1,264 @@
+package com.fasterxml.jackson.dataformat.avro;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.*;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.EncoderFactory;
+
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.dataformat.avro.deser.AvroParserImpl;
+
+import static org.junit.Assert.assertArrayEquals;
+
+/**
+ * Tests for bulk writing and reading of primitive arrays (see
+ * {@link AvroGenerator#writeArray(double[], int, int)} and
+ * {@link AvroParserImpl#readDoubleArray()}).
+ */
+public class PrimitiveArrayTest extends AvroTestBase
+{
+    final static String VECTORS_SCHEMA_JSON = aposToQuotes("{\n"
+            +" 'type': 'record',\n"
+            +" 'name': 'Vectors',\n"
+            +" 'fields': [\n"
+            +"   {'name':'ints', 'type':{'type':'array','items':'int'}},\n"
+            +"   {'name':'longs', 'type':['null',{'type':'array','items':'long'}]},\n"
+            +"   {'name':'floats', 'type':{'type':'array','items':'float'}},\n"
+            +"   {'name':'doubles', 'type':{'type':'array','items':['null','double']}}\n"
+            +" ]\n"
+            +"}");
+
+    static class Vectors {
+        public int[] ints;
+        public long[] longs;
+        public float[] floats;
+        public double[] doubles;
+
+        protected Vectors() { }
+        public Vectors(int size) {
+            ints = new int[size];
+            longs = new long[size];
+            floats = new float[size];
+            doubles = new double[size];
+            for (int i = 0; i < size; ++i) {
+                ints[i] = i * ((i % 2) == 0 ? 3 : -3);
+                longs[i] = i * 1000000000000L;
+                floats[i] = i * 0.5f;
+                doubles[i] = -i / 8.0;
+            }
+        }
+    }
+
+    private final AvroMapper MAPPER = getMapper();
+
+    /*
+    /**********************************************************
+    /* Test methods, writing
+    /**********************************************************
+     */
+
+    public void testWriteSameAsGeneric() throws Exception
+    {
+        AvroSchema schema = MAPPER.schemaFrom(VECTORS_SCHEMA_JSON);
+        Vectors input = new Vectors(50);
+        byte[] exp = _writeGeneric(schema.getAvroSchema(), input);
+
+        assertArrayEquals(exp, MAPPER.writer(schema).writeValueAsBytes(input));
+        assertArrayEquals(exp, MAPPER.writer(schema)
+                .with(AvroGenerator.Feature.STREAMING_OUTPUT)
+                .writeValueAsBytes(input));
+        assertArrayEquals(exp, new AvroMapper().enableCompiledSerializers().writer(schema)
+                .with(AvroGenerator.Feature.STREAMING_OUTPUT)
+                .writeValueAsBytes(input));
+    }
+
+    public void testWriteSlice() throws Exception
+    {
+        AvroSchema schema = MAPPER.schemaFrom(aposToQuotes("{'type':'array','items':'long'}"));
+        long[] values = new long[] { 1L, 2L, 3L, -4L, 5L };
+        byte[] exp = MAPPER.writer(schema).writeValueAsBytes(new long[] { 2L, 3L, -4L });
+
+        for (boolean streaming : new boolean[] { false, true }) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            AvroGenerator gen = (AvroGenerator) MAPPER.getFactory().createGenerator(bytes);
+            gen.setSchema(schema);
+            if (streaming) {
+                gen.enable(AvroGenerator.Feature.STREAMING_OUTPUT);
+            }
+            gen.writeArray(values, 1, 3);
+            gen.close();
+            assertArrayEquals(exp, bytes.toByteArray());
+        }
+
+        AvroGenerator gen = (AvroGenerator) MAPPER.getFactory().createGenerator(new ByteArrayOutputStream());
+        gen.setSchema(schema);
+        try {
+            gen.writeArray(values, 3, 3);
+            fail("Should not pass");
+        } catch (IllegalArgumentException e) {
+            verifyException(e, "invalid argument(s)");
+        }
+    }
+
+    /*
+    /**********************************************************
+    /* Test methods, reading
+    /**********************************************************
+     */
+
+    public void testRoundtrip() throws Exception
+    {
+        AvroSchema schema = MAPPER.schemaFrom(VECTORS_SCHEMA_JSON);
+        Vectors input = new Vectors(600);
+        byte[] bytes = MAPPER.writer(schema).writeValueAsBytes(input);
+        _verify(input, MAPPER.readerFor(Vectors.class).with(schema).<Vectors>readValue(bytes));
+        _verify(input, new AvroMapper().enableCompiledDeserializers()
+                .readerFor(Vectors.class).with(schema).<Vectors>readValue(bytes));
+
+        // and encoded in multiple blocks, some with byte sizes
+        byte[] blocked = _writeGeneric(schema.getAvroSchema(), input, true);
+        _verify(input, MAPPER.readerFor(Vectors.class).with(schema).<Vectors>readValue(blocked));
+    }
+
+    public void testParserBulkRead() throws Exception
+    {
+        AvroSchema schema = MAPPER.schemaFrom(VECTORS_SCHEMA_JSON);
+        Vectors input = new Vectors(3);
+        byte[] bytes = MAPPER.writer(schema).writeValueAsBytes(input);
+
+        AvroParserImpl p = (AvroParserImpl) MAPPER.getFactory().createParser(bytes);
+        p.setSchema(schema);
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertEquals("ints", p.nextFieldName());
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        // wrong type: nothing read
+        assertNull(p.readLongArray());
+        assertToken(JsonToken.START_ARRAY, p.getCurrentToken());
+        assertTrue(Arrays.equals(input.ints, p.readIntArray()));
+        assertToken(JsonToken.END_ARRAY, p.getCurrentToken());
+
+        assertEquals("longs", p.nextFieldName());
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        assertTrue(Arrays.equals(input.longs, p.readLongArray()));
+        assertToken(JsonToken.END_ARRAY, p.getCurrentToken());
+
+        // only after START_ARRAY
+        assertEquals("floats", p.nextFieldName());
+        assertNull(p.readFloatArray());
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        assertToken(JsonToken.VALUE_NUMBER_FLOAT, p.nextToken());
+        assertNull(p.readFloatArray());
+        assertToken(JsonToken.VALUE_NUMBER_FLOAT, p.getCurrentToken());
+        assertToken(JsonToken.VALUE_NUMBER_FLOAT, p.nextToken());
+        assertToken(JsonToken.VALUE_NUMBER_FLOAT, p.nextToken());
+        assertToken(JsonToken.END_ARRAY, p.nextToken());
+
+        // union elements can not be read in bulk
+        assertEquals("doubles", p.nextFieldName());
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        assertNull(p.readDoubleArray());
+        assertToken(JsonToken.VALUE_NUMBER_FLOAT, p.nextToken());
+        assertToken(JsonToken.VALUE_NUMBER_FLOAT, p.nextToken());
+        assertToken(JsonToken.VALUE_NUMBER_FLOAT, p.nextToken());
+        assertToken(JsonToken.END_ARRAY, p.nextToken());
+        assertToken(JsonToken.END_OBJECT, p.nextToken());
+        assertNull(p.nextToken());
+        p.close();
+    }
+
+    public void testReadPromoted() throws Exception
+    {
+        AvroSchema writerSchema = MAPPER.schemaFrom(aposToQuotes("{'type':'array','items':'int'}"));
+        int[] input = new int[] { 1, -2, 3000000 };
+        byte[] bytes = MAPPER.writer(writerSchema).writeValueAsBytes(input);
+
+        AvroSchema longSchema = writerSchema.withReaderSchema(
+                MAPPER.schemaFrom(aposToQuotes("{'type':'array','items':'long'}")));
+        assertTrue(Arrays.equals(new long[] { 1L, -2L, 3000000L },
+                MAPPER.readerFor(long[].class).with(longSchema).<long[]>readValue(bytes)));
+        AvroSchema doubleSchema = writerSchema.withReaderSchema(
+                MAPPER.schemaFrom(aposToQuotes("{'type':'array','items':'double'}")));
+        assertTrue(Arrays.equals(new double[] { 1.0, -2.0, 3000000.0 },
+                MAPPER.readerFor(double[].class).with(doubleSchema).<double[]>readValue(bytes)));
+        // and without bulk reading, if target type differs
+        assertTrue(Arrays.equals(new double[] { 1.0, -2.0, 3000000.0 },
+                MAPPER.readerFor(double[].class).with(writerSchema).<double[]>readValue(bytes)));
+    }
+
+    public void testReadLargeAndTruncated() throws Exception
+    {
+        AvroSchema schema = MAPPER.schemaFrom(aposToQuotes("{'type':'array','items':'long'}"));
+        long[] input = new long[10000];
+        for (int i = 0; i < input.length; ++i) {
+            input[i] = i * 7L;
+        }
+        byte[] bytes = MAPPER.writer(schema).writeValueAsBytes(input);
+        assertArrayEquals(input, MAPPER.readerFor(long[].class).with(schema).<long[]>readValue(bytes));
+
+        // block claiming a billion elements, but with only two present: must fail
+        // on missing content, not try to allocate for the claimed count first
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryEncoder enc = EncoderFactory.get().binaryEncoder(out, null);
+        enc.writeLong(1000000000L);
+        enc.writeLong(1L);
+        enc.writeLong(2L);
+        enc.flush();
+        try {
+            MAPPER.readerFor(long[].class).with(schema).readValue(out.toByteArray());
+            fail("Should not pass");
+        } catch (IOException e) {
+            ; // fine, either EOF or mapping problem
+        }
+    }
+
+    /*
+    /**********************************************************
+    /* Helper methods
+    /**********************************************************
+     */
+
+    private void _verify(Vectors exp, Vectors act)
+    {
+        assertArrayEquals(exp.ints, act.ints);
+        assertArrayEquals(exp.longs, act.longs);
+        assertTrue(Arrays.equals(exp.floats, act.floats));
+        assertTrue(Arrays.equals(exp.doubles, act.doubles));
+    }
+
+    private byte[] _writeGeneric(Schema schema, Vectors input) throws Exception {
+        return _writeGeneric(schema, input, false);
+    }
+
+    private byte[] _writeGeneric(Schema schema, Vectors input, boolean blocking) throws Exception
+    {
+        GenericRecord rec = new GenericData.Record(schema);
+        List<Object> ints = new ArrayList<Object>();
+        List<Object> longs = new ArrayList<Object>();
+        List<Object> floats = new ArrayList<Object>();
+        List<Object> doubles = new ArrayList<Object>();
+        for (int i = 0; i < input.ints.length; ++i) {
+            ints.add(input.ints[i]);
+            longs.add(input.longs[i]);
+            floats.add(input.floats[i]);
+            doubles.add(input.doubles[i]);
+        }
+        rec.put("ints", ints);
+        rec.put("longs", longs);
+        rec.put("floats", floats);
+        rec.put("doubles", doubles);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        BinaryEncoder enc = blocking
+                ? new EncoderFactory().configureBlockSize(64).blockingBinaryEncoder(bytes, null)
+                : EncoderFactory.get().binaryEncoder(bytes, null);
+        new GenericDatumWriter<GenericRecord>(schema).write(rec, enc);
+        enc.flush();
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,171 @@
+package com.fasterxml.jackson.dataformat.avro;
+
+import java.util.*;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.SequenceWriter;
+
+/**
+ * Tests for projection reads, in which fields not needed are skipped
+ * without decoding.
+ */
+public class ProjectionTest extends AvroTestBase
+{
+    final static String WIDE_SCHEMA_JSON = aposToQuotes("{\n"
+            +" 'type': 'record',\n"
+            +" 'name': 'Wide',\n"
+            +" 'fields': [\n"
+            +"   {'name':'a', 'type':'string'},\n"
+            +"   {'name':'b', 'type':'int'},\n"
+            +"   {'name':'c', 'type':'double'},\n"
+            +"   {'name':'d', 'type':{'type':'array','items':{'type':'map','values':'long'}}},\n"
+            +"   {'name':'e', 'type':['null','string','float']},\n"
+            +"   {'name':'f', 'type':{'type':'fixed','name':'Hash','size':4}},\n"
+            +"   {'name':'g', 'type':{'type':'enum','name':'Color','symbols':['RED','GREEN']}},\n"
+            +"   {'name':'h', 'type':{'type':'record','name':'Inner','fields':[\n"
+            +"      {'name':'x','type':'boolean'},{'name':'y','type':'bytes'}]}},\n"
+            +"   {'name':'id', 'type':'long'},\n"
+            +"   {'name':'z', 'type':'string'}\n"
+            +" ]\n"
+            +"}");
+
+    static class Wide {
+        public String a;
+        public int b;
+        public double c;
+        public List<Map<String,Long>> d = new ArrayList<Map<String,Long>>();
+        public Object e;
+        public byte[] f;
+        public String g;
+        public Map<String,Object> h = new LinkedHashMap<String,Object>();
+        public long id;
+        public String z;
+
+        protected Wide() { }
+        public Wide(int i) {
+            a = "a"+i;
+            b = i;
+            c = i * 0.5;
+            for (int j = 0; j < i % 3; ++j) {
+                Map<String,Long> m = new LinkedHashMap<String,Long>();
+                m.put("k"+j, (long) j);
+                d.add(m);
+            }
+            e = ((i & 1) == 0) ? "e"+i : null;
+            f = new byte[] { 1, 2, 3, (byte) i };
+            g = ((i & 1) == 0) ? "RED" : "GREEN";
+            h.put("x", Boolean.TRUE);
+            h.put("y", new byte[i % 5]);
+            id = 1000L + i;
+            z = "z"+i;
+        }
+    }
+
+    static class Narrow {
+        @JsonProperty("id")
+        public long ident;
+        public String z;
+    }
+
+    private final AvroMapper MAPPER = getMapper();
+
+    /*
+    /**********************************************************
+    /* Test methods
+    /**********************************************************
+     */
+
+    public void testProjectionFromBean() throws Exception
+    {
+        final AvroSchema schema = MAPPER.schemaFrom(WIDE_SCHEMA_JSON);
+        final byte[] avro = _write(schema, 10);
+
+        AvroSchema projected = MAPPER.projectionFor(Narrow.class, schema);
+        MappingIterator<Narrow> it = MAPPER.readerFor(Narrow.class)
+                .with(projected)
+                .readValues(avro);
+        int count = 0;
+        while (it.hasNextValue()) {
+            Narrow n = it.nextValue();
+            assertEquals(1000L + count, n.ident);
+            assertEquals("z"+count, n.z);
+            ++count;
+        }
+        it.close();
+        assertEquals(10, count);
+    }
+
+    public void testSkippedFieldsNotExposed() throws Exception
+    {
+        final AvroSchema schema = MAPPER.schemaFrom(WIDE_SCHEMA_JSON);
+        final byte[] avro = _write(schema, 1);
+
+        JsonParser p = MAPPER.getFactory().createParser(avro);
+        p.setSchema(schema.withProjection(Arrays.asList("b", "h", "z")));
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertEquals("b", p.nextFieldName());
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        assertEquals(0, p.getIntValue());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertEquals("h", p.getCurrentName());
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_TRUE, p.nextToken());
+        assertToken(JsonToken.FIELD_NAME, p.nextToken());
+        assertToken(JsonToken.VALUE_EMBEDDED_OBJECT, p.nextToken());
+        assertToken(JsonToken.END_OBJECT, p.nextToken());
+        assertEquals("z", p.nextFieldName());
+        assertEquals("z0", p.nextTextValue());
+        assertToken(JsonToken.END_OBJECT, p.nextToken());
+        assertNull(p.nextToken());
+        p.close();
+    }
+
+    public void testProjectionOfResolvingSchema() throws Exception
+    {
+        final AvroSchema schema = MAPPER.schemaFrom(WIDE_SCHEMA_JSON);
+        final byte[] avro = _write(schema, 3);
+
+        // Reader schema drops most fields but adds one with default; then project
+        AvroSchema readerSchema = MAPPER.schemaFrom(aposToQuotes(
+                "{'type':'record','name':'Wide','fields':["
+                +"{'name':'id','type':'long'},{'name':'z','type':'string'},{'name':'a','type':'string'},"
+                +"{'name':'extra','type':'int','default':7}]}"));
+        AvroSchema projected = schema.withReaderSchema(readerSchema)
+                .withProjection(Arrays.asList("id", "extra"));
+        MappingIterator<JsonNode> it = MAPPER.readerFor(JsonNode.class)
+                .with(projected)
+                .readValues(avro);
+        int count = 0;
+        while (it.hasNextValue()) {
+            JsonNode n = it.nextValue();
+            assertEquals(2, n.size());
+            assertEquals(1000L + count, n.path("id").asLong());
+            assertEquals(7, n.path("extra").asInt());
+            ++count;
+        }
+        assertEquals(3, count);
+    }
+
+    public void testNonPojoTypes() throws Exception
+    {
+        final AvroSchema schema = MAPPER.schemaFrom(WIDE_SCHEMA_JSON);
+        assertSame(schema, MAPPER.projectionFor(Map.class, schema));
+        assertSame(schema, MAPPER.projectionFor(JsonNode.class, schema));
+    }
+
+    private byte[] _write(AvroSchema schema, int count) throws Exception
+    {
+        java.io.ByteArrayOutputStream bytes = new java.io.ByteArrayOutputStream();
+        SequenceWriter w = MAPPER.writerFor(Wide.class).with(schema).writeValues(bytes);
+        for (int i = 0; i < count; ++i) {
+            w.write(new Wide(i));
+        }
+        w.close();
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,67 @@
+package com.fasterxml.jackson.dataformat.avro;
+
+import org.apache.avro.Schema;
+
+import com.fasterxml.jackson.dataformat.avro.deser.AvroReaderCache;
+import com.fasterxml.jackson.dataformat.avro.deser.AvroStructureReader;
+
+/**
+ * Tests for {@link AvroReaderCache}, to verify that readers get shared
+ * between equivalent schema instances.
+ */
+public class ReaderCacheTest extends AvroTestBase
+{
+    private final AvroMapper MAPPER = getMapper();
+
+    public void testSharingAcrossSchemaInstances() throws Exception
+    {
+        AvroSchema s1 = MAPPER.schemaFrom(EMPLOYEE_SCHEMA_JSON);
+        AvroSchema s2 = MAPPER.schemaFrom(EMPLOYEE_SCHEMA_JSON);
+        assertNotSame(s1.getAvroSchema(), s2.getAvroSchema());
+        assertSame(s1.getReader(), s2.getReader());
+
+        // and still works for reading, too
+        Employee empl = new Employee("Bob", 39, new String[] { "bob@foo.com" }, null);
+        byte[] avro = MAPPER.writer(s1).writeValueAsBytes(empl);
+        Employee result = MAPPER.readerFor(Employee.class).with(s2).readValue(avro);
+        assertEquals("Bob", result.name);
+        assertEquals(39, result.age);
+    }
+
+    public void testStatistics() throws Exception
+    {
+        AvroReaderCache cache = new AvroReaderCache(10);
+        Schema schema = MAPPER.schemaFrom(EMPLOYEE_SCHEMA_JSON).getAvroSchema();
+        AvroStructureReader r1 = cache.findReader(schema);
+        assertEquals(1, cache.size());
+        assertEquals(0L, cache.getHitCount());
+        assertEquals(1L, cache.getMissCount());
+
+        // Non-essential differences (like docs) do not matter
+        Schema schema2 = new Schema.Parser().parse(aposToQuotes(
+                "{'type':'record','name':'Employee','doc':'Some docs','fields':["
+                +"{'name':'name','type':'string'},"
+                +"{'name':'age','type':'int'},"
+                +"{'name':'emails','type':{'type':'array','items':'string'}},"
+                +"{'name':'boss','type':['Employee','null']}"
+                +"]}"));
+        assertSame(r1, cache.findReader(schema2));
+        assertEquals(1L, cache.getHitCount());
+        assertEquals(1L, cache.getMissCount());
+    }
+
+    public void testEviction() throws Exception
+    {
+        AvroReaderCache cache = new AvroReaderCache(3);
+        for (int i = 0; i < 5; ++i) {
+            cache.findReader(new Schema.Parser().parse(aposToQuotes(
+                    "{'type':'fixed','name':'Fixed"+i+"','size':"+(i+1)+"}")));
+        }
+        assertEquals(5L, cache.getMissCount());
+        assertEquals(3L, cache.getEvictionCount());
+        assertEquals(2, cache.size());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,98 @@
+package com.fasterxml.jackson.dataformat.avro;
+
+import java.io.ByteArrayOutputStream;
+import java.util.*;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.SequenceWriter;
+
+/**
+ * Tests to verify that reuse of structure reader instances (for nested
+ * Records, Array elements and union members) works with varying content.
+ */
+public class ReaderReuseTest extends AvroTestBase
+{
+    final static String TEAM_SCHEMA_JSON = aposToQuotes("{\n"
+            +" 'type': 'record',\n"
+            +" 'name': 'Team',\n"
+            +" 'fields': [\n"
+            +"   {'name':'members', 'type' : { 'type' : 'array', 'items': {\n"
+            +"      'type': 'record', 'name': 'Employee', 'fields': [\n"
+            +"        {'name': 'name', 'type': 'string'},\n"
+            +"        {'name': 'age', 'type': 'int'},\n"
+            +"        {'name': 'emails', 'type': {'type': 'array', 'items': 'string'}},\n"
+            +"        {'name': 'boss', 'type': ['Employee','null']}\n"
+            +"      ]}\n"
+            +"   }},\n"
+            +"   {'name':'roles', 'type' : { 'type' : 'map', 'values': {'type':'array','items':'string'}}}\n"
+            +" ]\n"
+            +"}");
+
+    static class Team {
+        public List<Employee> members = new ArrayList<Employee>();
+        public Map<String, List<String>> roles = new LinkedHashMap<String, List<String>>();
+    }
+
+    private final AvroMapper MAPPER = getMapper();
+
+    public void testNestedRecordsAndArrays() throws Exception
+    {
+        AvroSchema schema = MAPPER.schemaFrom(TEAM_SCHEMA_JSON);
+        ByteArrayOutputStream b = new ByteArrayOutputStream();
+        SequenceWriter sw = MAPPER.writerFor(Team.class).with(schema).writeValues(b);
+        final int COUNT = 20;
+        for (int i = 0; i < COUNT; ++i) {
+            sw.write(_team(i));
+        }
+        sw.close();
+
+        MappingIterator<Team> it = MAPPER.readerFor(Team.class).with(schema)
+                .readValues(b.toByteArray());
+        for (int i = 0; i < COUNT; ++i) {
+            assertTrue(it.hasNextValue());
+            Team result = it.nextValue();
+            Team exp = _team(i);
+            assertEquals(exp.members.size(), result.members.size());
+            for (int j = 0; j < exp.members.size(); ++j) {
+                _verify(exp.members.get(j), result.members.get(j));
+            }
+            assertEquals(exp.roles, result.roles);
+        }
+        assertFalse(it.hasNextValue());
+        it.close();
+    }
+
+    private Team _team(int index)
+    {
+        Team t = new Team();
+        // vary both number of members and depth of boss chains
+        Employee boss = null;
+        for (int i = 0; i < (index % 4); ++i) {
+            boss = new Employee("Boss#"+i, 50+i, new String[] { "boss"+i+"@company.com" }, boss);
+        }
+        for (int i = 0; i < (index % 5); ++i) {
+            String[] emails = new String[i];
+            for (int j = 0; j < i; ++j) {
+                emails[j] = "e"+j+"@company.com";
+            }
+            t.members.add(new Employee("Worker#"+i, 20+i, emails, ((i & 1) == 0) ? boss : null));
+        }
+        for (int i = 0; i < (index % 3); ++i) {
+            t.roles.put("role"+i, Arrays.asList("a"+i, "b"+i));
+        }
+        return t;
+    }
+
+    private void _verify(Employee exp, Employee act)
+    {
+        if (exp == null) {
+            assertNull(act);
+            return;
+        }
+        assertNotNull(act);
+        assertEquals(exp.name, act.name);
+        assertEquals(exp.age, act.age);
+        assertEquals(Arrays.asList(exp.emails), Arrays.asList(act.emails));
+        _verify(exp.boss, act.boss);
+    }
+}
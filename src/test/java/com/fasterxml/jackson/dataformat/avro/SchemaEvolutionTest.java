@@ -0,0 +1,204 @@
+package com.fasterxml.jackson.dataformat.avro;
+
+import java.util.*;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.avro.deser.ResolvingAvroSchema;
+
+/**
+ * Tests for reading content with a "Reader Schema" that differs from
+ * the "Writer Schema" content was written with.
+ */
+public class SchemaEvolutionTest extends AvroTestBase
+{
+    final static String WRITER_SCHEMA_JSON = aposToQuotes("{\n"
+            +" 'type': 'record',\n"
+            +" 'name': 'Customer',\n"
+            +" 'fields': [\n"
+            +"   {'name':'id', 'type':'int'},\n"
+            +"   {'name':'name', 'type':'string'},\n"
+            +"   {'name':'notes', 'type':{'type':'array','items':{\n"
+            +"      'type':'record','name':'Note','fields':[\n"
+            +"        {'name':'text','type':'string'},\n"
+            +"        {'name':'tags','type':{'type':'map','values':'string'}}\n"
+            +"      ]}}},\n"
+            +"   {'name':'score', 'type':'float'},\n"
+            +"   {'name':'secret', 'type':['null','bytes']},\n"
+            +"   {'name':'visits', 'type':['null','int']}\n"
+            +" ]\n"
+            +"}");
+
+    // Reordered; 'notes', 'secret' removed, 'id' promoted to long, 'score'
+    // to double; 'visits' to nullable long; new fields with defaults
+    final static String READER_SCHEMA_JSON = aposToQuotes("{\n"
+            +" 'type': 'record',\n"
+            +" 'name': 'Customer',\n"
+            +" 'fields': [\n"
+            +"   {'name':'name', 'type':'string'},\n"
+            +"   {'name':'score', 'type':'double'},\n"
+            +"   {'name':'id', 'type':'long'},\n"
+            +"   {'name':'visits', 'type':['null','long']},\n"
+            +"   {'name':'country', 'type':'string', 'default':'FI'},\n"
+            +"   {'name':'address', 'type':{'type':'record','name':'Address','fields':[\n"
+            +"        {'name':'street','type':'string'},\n"
+            +"        {'name':'zip','type':'int'}\n"
+            +"      ]}, 'default':{'street':'Main St','zip':12345}},\n"
+            +"   {'name':'flags', 'type':{'type':'array','items':'boolean'}, 'default':[true,false]},\n"
+            +"   {'name':'key', 'type':'bytes', 'default':'\\u0001\\u0002'}\n"
+            +" ]\n"
+            +"}");
+
+    static class CustomerV1 {
+        public int id;
+        public String name;
+        public List<Note> notes = new ArrayList<Note>();
+        public float score;
+        public byte[] secret;
+        public Integer visits;
+    }
+
+    static class Note {
+        public String text;
+        public Map<String,String> tags = new LinkedHashMap<String,String>();
+
+        protected Note() { }
+        public Note(String t, String tag) {
+            text = t;
+            tags.put("tag", tag);
+        }
+    }
+
+    static class CustomerV2 {
+        public long id;
+        public String name;
+        public double score;
+        public Long visits;
+        public String country;
+        public Address address;
+        public boolean[] flags;
+        public byte[] key;
+    }
+
+    static class Address {
+        public String street;
+        public int zip;
+    }
+
+    private final AvroMapper MAPPER = getMapper();
+
+    /*
+    /**********************************************************
+    /* Test methods
+    /**********************************************************
+     */
+
+    public void testResolution() throws Exception
+    {
+        final AvroSchema writerSchema = MAPPER.schemaFrom(WRITER_SCHEMA_JSON);
+        final AvroSchema readerSchema = MAPPER.schemaFrom(READER_SCHEMA_JSON);
+        final AvroSchema schema = writerSchema.withReaderSchema(readerSchema);
+        assertEquals(ResolvingAvroSchema.class, schema.getClass());
+
+        CustomerV1 input = new CustomerV1();
+        input.id = 42;
+        input.name = "Bob";
+        input.notes.add(new Note("first", "a"));
+        input.notes.add(new Note("second", "b"));
+        input.score = 0.25f;
+        input.secret = new byte[] { 1, 2, 3 };
+        input.visits = 3;
+        byte[] avro = MAPPER.writer(writerSchema).writeValueAsBytes(input);
+
+        CustomerV2 result = MAPPER.readerFor(CustomerV2.class)
+                .with(schema)
+                .readValue(avro);
+        assertEquals(42L, result.id);
+        assertEquals("Bob", result.name);
+        assertEquals(0.25, result.score);
+        assertEquals(Long.valueOf(3L), result.visits);
+        assertEquals("FI", result.country);
+        assertNotNull(result.address);
+        assertEquals("Main St", result.address.street);
+        assertEquals(12345, result.address.zip);
+        assertNotNull(result.flags);
+        assertEquals(2, result.flags.length);
+        assertTrue(result.flags[0]);
+        assertFalse(result.flags[1]);
+        assertNotNull(result.key);
+        assertEquals(2, result.key.length);
+        assertEquals(1, result.key[0]);
+        assertEquals(2, result.key[1]);
+
+        // and nulls work as well
+        input.visits = null;
+        input.secret = null;
+        avro = MAPPER.writer(writerSchema).writeValueAsBytes(input);
+        result = MAPPER.readerFor(CustomerV2.class)
+                .with(schema)
+                .readValue(avro);
+        assertNull(result.visits);
+        assertEquals("Bob", result.name);
+    }
+
+    public void testResolutionAsTree() throws Exception
+    {
+        final AvroSchema writerSchema = MAPPER.schemaFrom(WRITER_SCHEMA_JSON);
+        final AvroSchema schema = writerSchema.withReaderSchema(MAPPER.schemaFrom(READER_SCHEMA_JSON));
+        CustomerV1 input = new CustomerV1();
+        input.id = 1;
+        input.name = "Foo";
+        input.score = 1.5f;
+        byte[] avro = MAPPER.writer(writerSchema).writeValueAsBytes(input);
+
+        JsonNode tree = MAPPER.readerFor(JsonNode.class).with(schema).readValue(avro);
+        // note: fields from writer schema first, in its order; then defaulted ones
+        assertEquals(aposToQuotes("{'id':1,'name':'Foo','score':1.5,'visits':null,'country':'FI',"
+                +"'address':{'street':'Main St','zip':12345},'flags':[true,false],'key':'AQI='}"),
+                new ObjectMapper().writeValueAsString(tree));
+        assertTrue(tree.get("id").isLong());
+    }
+
+    public void testAliases() throws Exception
+    {
+        final AvroSchema writerSchema = MAPPER.schemaFrom(aposToQuotes(
+                "{'type':'record','name':'Point','fields':[{'name':'x','type':'int'},{'name':'y','type':'int'}]}"));
+        final AvroSchema readerSchema = MAPPER.schemaFrom(aposToQuotes(
+                "{'type':'record','name':'Point','fields':[{'name':'y','type':'int'},"
+                +"{'name':'horizontal','type':'int','aliases':['x']}]}"));
+        Map<String,Object> point = new LinkedHashMap<String,Object>();
+        point.put("x", 3);
+        point.put("y", 4);
+        byte[] avro = MAPPER.writer(writerSchema).writeValueAsBytes(point);
+        JsonNode tree = MAPPER.readerFor(JsonNode.class)
+                .with(writerSchema.withReaderSchema(readerSchema))
+                .readValue(avro);
+        assertEquals(3, tree.path("horizontal").asInt());
+        assertEquals(4, tree.path("y").asInt());
+    }
+
+    public void testIncompatible() throws Exception
+    {
+        final AvroSchema writerSchema = MAPPER.schemaFrom(WRITER_SCHEMA_JSON);
+        // new field without default: can not resolve
+        final AvroSchema readerSchema = MAPPER.schemaFrom(aposToQuotes(
+                "{'type':'record','name':'Customer','fields':[{'name':'extra','type':'string'}]}"));
+        try {
+            writerSchema.withReaderSchema(readerSchema);
+            fail("Should not pass");
+        } catch (JsonProcessingException e) {
+            verifyException(e, "Incompatible writer/reader schemas");
+        }
+    }
+
+    public void testReaderCaching() throws Exception
+    {
+        AvroSchema s1 = MAPPER.schemaFrom(WRITER_SCHEMA_JSON)
+                .withReaderSchema(MAPPER.schemaFrom(READER_SCHEMA_JSON));
+        AvroSchema s2 = MAPPER.schemaFrom(WRITER_SCHEMA_JSON)
+                .withReaderSchema(MAPPER.schemaFrom(READER_SCHEMA_JSON));
+        assertEquals(s1, s2);
+        assertSame(s1.getReader(), s2.getReader());
+    }
+}
@@ -0,0 +1,326 @@
+package com.fasterxml.jackson.dataformat.avro;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.avro.Schema;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.dataformat.avro.registry.CachingSchemaRegistry;
+import com.fasterxml.jackson.dataformat.avro.registry.FileSchemaRegistry;
+import com.fasterxml.jackson.dataformat.avro.registry.InMemorySchemaRegistry;
+import com.fasterxml.jackson.dataformat.avro.registry.SchemaRegistry;
+
+/**
+ * Tests for reading and writing content in "schema id framing", with
+ * Schemas located using {@link CachingSchemaRegistry}.
+ */
+public class SchemaRegistryTest extends AvroTestBase
+{
+    // Registry that counts fetches, and may be made to block or fail them
+    static class CountingRegistry implements SchemaRegistry
+    {
+        final SchemaRegistry _delegate;
+        final AtomicInteger schemaFetches = new AtomicInteger();
+        final AtomicInteger idFetches = new AtomicInteger();
+        volatile CountDownLatch block;
+        volatile boolean fail;
+
+        CountingRegistry(SchemaRegistry delegate) {
+            _delegate = delegate;
+        }
+
+        @Override
+        public String fetchSchema(int id) throws IOException {
+            schemaFetches.incrementAndGet();
+            if (block != null) {
+                try {
+                    block.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+            }
+            if (fail) {
+                throw new IOException("Registry not available");
+            }
+            return _delegate.fetchSchema(id);
+        }
+
+        @Override
+        public int fetchId(Schema schema) throws IOException {
+            idFetches.incrementAndGet();
+            return _delegate.fetchId(schema);
+        }
+    }
+
+    // Cache with controllable clock, for testing negative caching
+    static class ClockedRegistry extends CachingSchemaRegistry
+    {
+        long now = 1000L;
+
+        ClockedRegistry(SchemaRegistry r, long negativeTtl) {
+            super(r, negativeTtl);
+        }
+
+        ClockedRegistry(SchemaRegistry r, long negativeTtl, int maxNegative) {
+            super(r, negativeTtl, maxNegative);
+        }
+
+        int missingCount() {
+            return _missingSchemas.size();
+        }
+
+        @Override
+        protected long _currentTime() {
+            return now;
+        }
+    }
+
+    private final AvroMapper MAPPER = getMapper();
+
+    /*
+    /**********************************************************
+    /* Test methods, framing
+    /**********************************************************
+     */
+
+    public void testRoundtrip() throws Exception
+    {
+        AvroSchema schema = getEmployeeSchema();
+        InMemorySchemaRegistry mem = new InMemorySchemaRegistry();
+        mem.register(MAPPER.schemaFrom(aposToQuotes("{'type':'array','items':'int'}")).getAvroSchema());
+        assertEquals(2, mem.register(schema.getAvroSchema()));
+        // registering equivalent Schema again returns same id
+        assertEquals(2, mem.register(MAPPER.schemaFrom(EMPLOYEE_SCHEMA_JSON).getAvroSchema()));
+        CachingSchemaRegistry registry = new CachingSchemaRegistry(mem);
+
+        Employee input = new Employee("Bob", 39, new String[] { "bob@foo" }, null);
+        byte[] doc = MAPPER.writeWithSchemaId(input, schema, registry);
+        byte[] plain = MAPPER.writer(schema).writeValueAsBytes(input);
+        assertEquals(plain.length + AvroSchema.SCHEMA_ID_HEADER_LENGTH, doc.length);
+        assertEquals(0, doc[0]);
+        assertEquals(0, doc[1]);
+        assertEquals(0, doc[2]);
+        assertEquals(0, doc[3]);
+        assertEquals(2, doc[4]);
+
+        Employee result = MAPPER.readWithSchemaId(doc, registry, Employee.class);
+        assertEquals("Bob", result.name);
+        assertEquals(39, result.age);
+        result = MAPPER.readerFor(Employee.class).readValue(MAPPER.getFactory()
+                .createSchemaIdParser(new ByteArrayInputStream(doc), registry));
+        assertEquals("Bob", result.name);
+
+        // Schema instances (and thereby readers) are reused
+        AvroParser p = MAPPER.getFactory().createSchemaIdParser(doc, registry);
+        AvroSchema found = p.getSchema();
+        p.close();
+        assertSame(found, registry.findSchema(2));
+        assertSame(found.getReader(), registry.findSchema(2).getReader());
+    }
+
+    public void testUnknownIdAndSchema() throws Exception
+    {
+        CachingSchemaRegistry registry = new CachingSchemaRegistry(new InMemorySchemaRegistry());
+        AvroSchema schema = getEmployeeSchema();
+        try {
+            MAPPER.writeWithSchemaId(new Employee(), schema, registry);
+            fail("Should not pass");
+        } catch (JsonMappingException e) {
+            verifyException(e, "Schema 'Employee'");
+            verifyException(e, "not registered");
+        }
+
+        byte[] doc = new byte[] { 0, 0, 0, 1, 7, 0 };
+        try {
+            MAPPER.readWithSchemaId(doc, registry, Employee.class);
+            fail("Should not pass");
+        } catch (JsonParseException e) {
+            verifyException(e, "No Schema found for id 263");
+        }
+        doc[0] = 1;
+        try {
+            MAPPER.readWithSchemaId(doc, registry, Employee.class);
+            fail("Should not pass");
+        } catch (JsonParseException e) {
+            verifyException(e, "expected magic byte 0x00, got 0x01");
+        }
+    }
+
+    /*
+    /**********************************************************
+    /* Test methods, caching
+    /**********************************************************
+     */
+
+    public void testCaching() throws Exception
+    {
+        InMemorySchemaRegistry mem = new InMemorySchemaRegistry();
+        AvroSchema schema = getEmployeeSchema();
+        mem.register(5, schema.getAvroSchema());
+        CountingRegistry counting = new CountingRegistry(mem);
+        CachingSchemaRegistry registry = new CachingSchemaRegistry(counting);
+
+        byte[] doc = MAPPER.writeWithSchemaId(new Employee("Bob", 39, new String[0], null),
+                schema, registry);
+        assertEquals(5, registry.findId(schema));
+        for (int i = 0; i < 5; ++i) {
+            assertEquals("Bob", MAPPER.readWithSchemaId(doc, registry, Employee.class).name);
+        }
+        assertEquals(1, counting.schemaFetches.get());
+        assertEquals(1, counting.idFetches.get());
+        assertEquals(2, registry.getFetchCount());
+        assertEquals(5, registry.getHitCount());
+
+        registry.clear();
+        assertEquals("Bob", MAPPER.readWithSchemaId(doc, registry, Employee.class).name);
+        assertEquals(2, counting.schemaFetches.get());
+    }
+
+    public void testSingleFlightLoading() throws Exception
+    {
+        final int THREADS = 8;
+        InMemorySchemaRegistry mem = new InMemorySchemaRegistry();
+        final int id = mem.register(getEmployeeSchema().getAvroSchema());
+        CountingRegistry counting = new CountingRegistry(mem);
+        counting.block = new CountDownLatch(1);
+        final CachingSchemaRegistry registry = new CachingSchemaRegistry(counting);
+
+        ExecutorService exec = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<AvroSchema>> results = new ArrayList<Future<AvroSchema>>();
+            for (int i = 0; i < THREADS; ++i) {
+                results.add(exec.submit(new Callable<AvroSchema>() {
+                    @Override
+                    public AvroSchema call() throws IOException {
+                        return registry.findSchema(id);
+                    }
+                }));
+            }
+            // wait until all lookups are either fetching or waiting for fetch
+            while (registry.getFetchCount() + registry.getHitCount() < THREADS) {
+                Thread.sleep(1L);
+            }
+            counting.block.countDown();
+            AvroSchema first = results.get(0).get(5, TimeUnit.SECONDS);
+            assertNotNull(first);
+            for (Future<AvroSchema> f : results) {
+                assertSame(first, f.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            exec.shutdownNow();
+        }
+        assertEquals(1, counting.schemaFetches.get());
+    }
+
+    public void testNegativeCaching() throws Exception
+    {
+        InMemorySchemaRegistry mem = new InMemorySchemaRegistry();
+        CountingRegistry counting = new CountingRegistry(mem);
+        ClockedRegistry registry = new ClockedRegistry(counting, 1000L);
+
+        assertNull(registry.findSchema(3));
+        assertNull(registry.findSchema(3));
+        assertEquals(1, counting.schemaFetches.get());
+        assertEquals(1, registry.getNegativeHitCount());
+
+        // registered, but not visible until negative entry expires
+        mem.register(3, getEmployeeSchema().getAvroSchema());
+        registry.now += 999L;
+        assertNull(registry.findSchema(3));
+        registry.now += 1L;
+        assertNotNull(registry.findSchema(3));
+        assertEquals(2, counting.schemaFetches.get());
+
+        // and with negative caching disabled, every lookup fetches
+        registry = new ClockedRegistry(counting, 0L);
+        assertNull(registry.findSchema(4));
+        assertNull(registry.findSchema(4));
+        assertEquals(4, counting.schemaFetches.get());
+    }
+
+    public void testNegativeCachingBounded() throws Exception
+    {
+        CountingRegistry counting = new CountingRegistry(new InMemorySchemaRegistry());
+        ClockedRegistry registry = new ClockedRegistry(counting, 1000L, 100);
+
+        for (int id = 0; id < 10000; ++id) {
+            assertNull(registry.findSchema(id));
+        }
+        assertEquals(100, registry.missingCount());
+        // entries that were cached still are; others are fetched again
+        assertNull(registry.findSchema(5));
+        assertEquals(10000, counting.schemaFetches.get());
+        assertNull(registry.findSchema(500));
+        assertEquals(10001, counting.schemaFetches.get());
+
+        // once expired, entries are purged when new ones are added
+        registry.now += 1000L;
+        for (int id = 20000; id < 20050; ++id) {
+            assertNull(registry.findSchema(id));
+        }
+        assertEquals(50, registry.missingCount());
+        assertNull(registry.findSchema(20010));
+        assertEquals(10051, counting.schemaFetches.get());
+    }
+
+    public void testFailuresNotCached() throws Exception
+    {
+        InMemorySchemaRegistry mem = new InMemorySchemaRegistry();
+        mem.register(1, getEmployeeSchema().getAvroSchema());
+        CountingRegistry counting = new CountingRegistry(mem);
+        CachingSchemaRegistry registry = new CachingSchemaRegistry(counting);
+
+        counting.fail = true;
+        try {
+            registry.findSchema(1);
+            fail("Should not pass");
+        } catch (IOException e) {
+            verifyException(e, "Registry not available");
+        }
+        counting.fail = false;
+        assertNotNull(registry.findSchema(1));
+        assertEquals(2, counting.schemaFetches.get());
+    }
+
+    /*
+    /**********************************************************
+    /* Test methods, file-based registry
+    /**********************************************************
+     */
+
+    public void testFileRegistry() throws Exception
+    {
+        File dir = File.createTempFile("avro-registry", "");
+        assertTrue(dir.delete());
+        assertTrue(dir.mkdir());
+        try {
+            FileSchemaRegistry files = new FileSchemaRegistry(dir);
+            AvroSchema schema = getEmployeeSchema();
+            files.register(12, MAPPER.schemaFrom(aposToQuotes("'string'")).getAvroSchema());
+            files.register(42, schema.getAvroSchema());
+            assertTrue(new File(dir, "42.avsc").isFile());
+
+            CachingSchemaRegistry registry = new CachingSchemaRegistry(new FileSchemaRegistry(dir));
+            assertEquals(42, registry.findId(schema));
+            assertEquals(schema.getAvroSchema(), registry.findSchema(42).getAvroSchema());
+            assertNull(registry.findSchema(13));
+
+            byte[] doc = MAPPER.writeWithSchemaId(new Employee("Bob", 39, new String[0], null),
+                    schema, registry);
+            assertEquals(42, doc[4]);
+            assertEquals("Bob", MAPPER.readWithSchemaId(doc, registry, Employee.class).name);
+        } finally {
+            for (File f : dir.listFiles()) {
+                f.delete();
+            }
+            dir.delete();
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.fasterxml.jackson.dataformat.avro;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.avro.SchemaNormalization;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import static org.junit.Assert.assertArrayEquals;
+
+/**
+ * Tests for reading and writing content in Avro "single-object encoding"
+ * (see {@link AvroFactory#createSingleObjectParser(byte[])} and
+ * {@link AvroGenerator.Feature#WRITE_SINGLE_OBJECT_HEADER}).
+ */
+public class SingleObjectEncodingTest extends AvroTestBase
+{
+    static class EmployeeV2 {
+        public String name;
+        public int age;
+        public String[] emails;
+        public EmployeeV2 boss;
+        public String title;
+    }
+
+    /*
+    /**********************************************************
+    /* Test methods, writing
+    /**********************************************************
+     */
+
+    public void testWriteHeader() throws Exception
+    {
+        AvroMapper mapper = newMapper();
+        AvroSchema schema = mapper.schemaFrom(EMPLOYEE_SCHEMA_JSON);
+        long fp = SchemaNormalization.parsingFingerprint64(schema.getAvroSchema());
+        assertEquals(fp, schema.getFingerprint());
+
+        Employee empl = new Employee("Bob", 39, new String[] { "bob@foo" }, null);
+        byte[] plain = mapper.writer(schema).writeValueAsBytes(empl);
+
+        for (boolean streaming : new boolean[] { false, true }) {
+            ObjectWriter w = mapper.writer(schema)
+                    .with(AvroGenerator.Feature.WRITE_SINGLE_OBJECT_HEADER);
+            if (streaming) {
+                w = w.with(AvroGenerator.Feature.STREAMING_OUTPUT);
+            }
+            byte[] doc = w.writeValueAsBytes(empl);
+            assertEquals(AvroSchema.SINGLE_OBJECT_HEADER_LENGTH + plain.length, doc.length);
+            assertEquals((byte) 0xC3, doc[0]);
+            assertEquals((byte) 0x01, doc[1]);
+            // fingerprint is little-endian
+            for (int i = 0; i < 8; ++i) {
+                assertEquals((byte) (fp >>> (8 * i)), doc[2 + i]);
+            }
+            assertArrayEquals(plain, Arrays.copyOfRange(doc, AvroSchema.SINGLE_OBJECT_HEADER_LENGTH, doc.length));
+        }
+    }
+
+    /*
+    /**********************************************************
+    /* Test methods, reading
+    /**********************************************************
+     */
+
+    public void testRoundtrip() throws Exception
+    {
+        AvroMapper mapper = newMapper();
+        AvroSchema schema = mapper.schemaFrom(EMPLOYEE_SCHEMA_JSON);
+        assertEquals(schema.getFingerprint(), mapper.registerSchema(schema));
+
+        Employee boss = new Employee("Boss", 60, new String[0], null);
+        byte[] doc = mapper.writer(schema)
+                .with(AvroGenerator.Feature.WRITE_SINGLE_OBJECT_HEADER)
+                .writeValueAsBytes(new Employee("Bob", 39, new String[] { "bob@foo" }, boss));
+
+        _verify(mapper.readSingleObject(doc, Employee.class));
+        _verify(mapper.readerFor(Employee.class)
+                .<Employee>readValue(mapper.getFactory().createSingleObjectParser(new ByteArrayInputStream(doc))));
+        ByteBuffer direct = ByteBuffer.allocateDirect(doc.length);
+        direct.put(doc).flip();
+        _verify(mapper.readerFor(Employee.class)
+                .<Employee>readValue(mapper.getFactory().createSingleObjectParser(direct)));
+
+        // Schema (and its reader) located is the one registered
+        AvroParser p = mapper.getFactory().createSingleObjectParser(doc);
+        assertSame(schema, p.getSchema());
+        p.close();
+    }
+
+    public void testReaderSchema() throws Exception
+    {
+        AvroMapper mapper = newMapper();
+        AvroSchema writerSchema = mapper.schemaFrom(EMPLOYEE_SCHEMA_JSON);
+        AvroSchema readerSchema = mapper.schemaFrom(aposToQuotes("{\n"
+                +" 'type': 'record',\n"
+                +" 'name': 'Employee',\n"
+                +" 'fields': [\n"
+                +"   {'name':'name', 'type':'string'},\n"
+                +"   {'name':'age', 'type':'long'},\n"
+                +"   {'name':'boss', 'type':['Employee','null']},\n"
+                +"   {'name':'title', 'type':'string', 'default':'none'}\n"
+                +" ]\n"
+                +"}"));
+        mapper.registerSchema(writerSchema.withReaderSchema(readerSchema));
+
+        byte[] doc = mapper.writer(writerSchema)
+                .with(AvroGenerator.Feature.WRITE_SINGLE_OBJECT_HEADER)
+                .writeValueAsBytes(new Employee("Bob", 39, new String[] { "bob@foo" }, null));
+        EmployeeV2 result = mapper.readSingleObject(doc, EmployeeV2.class);
+        assertEquals("Bob", result.name);
+        assertEquals(39, result.age);
+        assertNull(result.emails);
+        assertEquals("none", result.title);
+    }
+
+    public void testCustomResolver() throws Exception
+    {
+        AvroMapper mapper = newMapper();
+        final AvroSchema schema = mapper.schemaFrom(EMPLOYEE_SCHEMA_JSON);
+        final AtomicInteger calls = new AtomicInteger();
+        mapper.getFactory().setSchemaResolver(new SchemaResolver() {
+            @Override
+            public AvroSchema findSchema(long fingerprint) {
+                calls.incrementAndGet();
+                return (fingerprint == schema.getFingerprint()) ? schema : null;
+            }
+        });
+        byte[] doc = mapper.writer(schema)
+                .with(AvroGenerator.Feature.WRITE_SINGLE_OBJECT_HEADER)
+                .writeValueAsBytes(new Employee("Bob", 39, new String[0], null));
+        assertEquals("Bob", mapper.readSingleObject(doc, Employee.class).name);
+        assertEquals(1, calls.get());
+
+        try {
+            mapper.registerSchema(schema);
+            fail("Should not pass");
+        } catch (IllegalStateException e) {
+            verifyException(e, "Can not register Schemas");
+        }
+    }
+
+    public void testInvalidHeader() throws Exception
+    {
+        AvroMapper mapper = newMapper();
+        AvroSchema schema = mapper.schemaFrom(EMPLOYEE_SCHEMA_JSON);
+        byte[] doc = mapper.writer(schema)
+                .with(AvroGenerator.Feature.WRITE_SINGLE_OBJECT_HEADER)
+                .writeValueAsBytes(new Employee("Bob", 39, new String[0], null));
+
+        // not registered
+        try {
+            mapper.readSingleObject(doc, Employee.class);
+            fail("Should not pass");
+        } catch (JsonParseException e) {
+            verifyException(e, String.format("No Schema found for fingerprint 0x%016X",
+                    schema.getFingerprint()));
+        }
+
+        mapper.registerSchema(schema);
+        doc[1] = 0x02;
+        try {
+            mapper.readSingleObject(doc, Employee.class);
+            fail("Should not pass");
+        } catch (JsonParseException e) {
+            verifyException(e, "expected marker bytes 0xC3 0x01, got 0xC3 0x02");
+        }
+    }
+
+    /*
+    /**********************************************************
+    /* Helper methods
+    /**********************************************************
+     */
+
+    private void _verify(Employee result)
+    {
+        assertEquals("Bob", result.name);
+        assertEquals(39, result.age);
+        assertEquals(Arrays.asList("bob@foo"), Arrays.asList(result.emails));
+        assertNotNull(result.boss);
+        assertEquals("Boss", result.boss.name);
+        assertNull(result.boss.boss);
+    }
+}
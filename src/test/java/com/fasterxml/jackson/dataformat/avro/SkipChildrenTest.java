@@ -0,0 +1,176 @@
+package com.fasterxml.jackson.dataformat.avro;
+
+import java.io.ByteArrayOutputStream;
+import java.util.*;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.EncoderFactory;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+
+/**
+ * Tests to verify that <code>skipChildren()</code> skips structured values
+ * correctly, including content written with block byte sizes.
+ */
+public class SkipChildrenTest extends AvroTestBase
+{
+    final static String SCHEMA_JSON = aposToQuotes("{\n"
+            +" 'type': 'record',\n"
+            +" 'name': 'Container',\n"
+            +" 'fields': [\n"
+            +"   {'name':'first', 'type':'string'},\n"
+            +"   {'name':'list', 'type':{'type':'array','items':{\n"
+            +"      'type':'record','name':'Entry','fields':[\n"
+            +"        {'name':'key','type':'string'},\n"
+            +"        {'name':'values','type':{'type':'map','values':['null','double','string']}}\n"
+            +"      ]}}},\n"
+            +"   {'name':'props', 'type':{'type':'map','values':{'type':'array','items':'int'}}},\n"
+            +"   {'name':'nested', 'type':'Entry'},\n"
+            +"   {'name':'last', 'type':'long'}\n"
+            +" ]\n"
+            +"}");
+
+    @JsonIgnoreProperties(ignoreUnknown=true)
+    static class FirstAndLast {
+        public String first;
+        public long last;
+    }
+
+    static class OnlyLast {
+        public long last;
+    }
+
+    private final AvroMapper MAPPER = getMapper();
+
+    /*
+    /**********************************************************
+    /* Test methods
+    /**********************************************************
+     */
+
+    public void testSkipWithDefaultEncoding() throws Exception {
+        _testSkip(false);
+    }
+
+    public void testSkipWithBlockSizes() throws Exception {
+        _testSkip(true);
+    }
+
+    public void testIgnoreUnknown() throws Exception
+    {
+        AvroSchema schema = MAPPER.schemaFrom(SCHEMA_JSON);
+        for (boolean blocking : new boolean[] { false, true }) {
+            byte[] avro = _write(schema.getAvroSchema(), blocking);
+            FirstAndLast result = MAPPER.readerFor(FirstAndLast.class)
+                    .with(schema)
+                    .readValue(avro);
+            assertEquals("start", result.first);
+            assertEquals(Long.MAX_VALUE, result.last);
+
+            OnlyLast result2 = MAPPER.readerFor(OnlyLast.class)
+                    .with(schema)
+                    .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                    .readValue(avro);
+            assertEquals(Long.MAX_VALUE, result2.last);
+        }
+    }
+
+    public void testMultiBlockMapRead() throws Exception
+    {
+        // not skipping, but need to verify that all blocks are read correctly
+        AvroSchema schema = MAPPER.schemaFrom(SCHEMA_JSON);
+        byte[] avro = _write(schema.getAvroSchema(), true);
+        Map<?,?> result = MAPPER.readerFor(Map.class)
+                .with(schema)
+                .readValue(avro);
+        assertEquals(5, result.size());
+        assertEquals(100, ((List<?>) result.get("list")).size());
+        assertEquals(50, ((Map<?,?>) result.get("props")).size());
+    }
+
+    private void _testSkip(boolean blocking) throws Exception
+    {
+        AvroSchema schema = MAPPER.schemaFrom(SCHEMA_JSON);
+        byte[] avro = _write(schema.getAvroSchema(), blocking);
+
+        JsonParser p = MAPPER.getFactory().createParser(avro);
+        p.setSchema(schema);
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertEquals("first", p.nextFieldName());
+        assertEquals("start", p.nextTextValue());
+
+        assertEquals("list", p.nextFieldName());
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        p.skipChildren();
+        assertToken(JsonToken.END_ARRAY, p.getCurrentToken());
+
+        assertEquals("props", p.nextFieldName());
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        p.skipChildren();
+        assertToken(JsonToken.END_OBJECT, p.getCurrentToken());
+
+        // read record partially, skip the map in it
+        assertEquals("nested", p.nextFieldName());
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertEquals("key", p.nextFieldName());
+        assertEquals("key999", p.nextTextValue());
+        assertEquals("values", p.nextFieldName());
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        p.skipChildren();
+        assertToken(JsonToken.END_OBJECT, p.getCurrentToken());
+        assertToken(JsonToken.END_OBJECT, p.nextToken());
+
+        assertEquals("last", p.nextFieldName());
+        assertToken(JsonToken.VALUE_NUMBER_INT, p.nextToken());
+        assertEquals(Long.MAX_VALUE, p.getLongValue());
+        assertToken(JsonToken.END_OBJECT, p.nextToken());
+        assertNull(p.nextToken());
+        p.close();
+    }
+
+    private byte[] _write(Schema schema, boolean blocking) throws Exception
+    {
+        Schema entrySchema = schema.getField("list").schema().getElementType();
+        GenericRecord rec = new GenericData.Record(schema);
+        rec.put("first", "start");
+        List<GenericRecord> list = new ArrayList<GenericRecord>();
+        for (int i = 0; i < 100; ++i) {
+            list.add(_entry(entrySchema, i));
+        }
+        rec.put("list", list);
+        Map<String, List<Integer>> props = new LinkedHashMap<String, List<Integer>>();
+        for (int i = 0; i < 50; ++i) {
+            props.put("prop"+i, Arrays.asList(i, i * 1000, -i));
+        }
+        rec.put("props", props);
+        rec.put("nested", _entry(entrySchema, 999));
+        rec.put("last", Long.MAX_VALUE);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        BinaryEncoder enc = blocking
+                ? new EncoderFactory().configureBlockSize(64).blockingBinaryEncoder(bytes, null)
+                : EncoderFactory.get().binaryEncoder(bytes, null);
+        new GenericDatumWriter<GenericRecord>(schema).write(rec, enc);
+        enc.flush();
+        return bytes.toByteArray();
+    }
+
+    private GenericRecord _entry(Schema entrySchema, int i)
+    {
+        GenericRecord entry = new GenericData.Record(entrySchema);
+        entry.put("key", "key"+i);
+        Map<String,Object> values = new LinkedHashMap<String,Object>();
+        values.put("a", null);
+        values.put("b", i * 0.25);
+        values.put("c", "value#"+i);
+        entry.put("values", values);
+        return entry;
+    }
+}
@@ -0,0 +1,309 @@
+package com.fasterxml.jackson.dataformat.avro;
+
+import java.io.ByteArrayOutputStream;
+import java.util.*;
+
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.io.DecoderFactory;
+
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+
+import static org.junit.Assert.assertArrayEquals;
+
+/**
+ * Tests to verify that {@link AvroGenerator.Feature#STREAMING_OUTPUT}
+ * produces identical output to default, buffering, output mode
+ * (unless Arrays and Maps are big enough to be split in multiple blocks).
+ */
+public class StreamingOutputTest extends AvroTestBase
+{
+    // Properties in reverse order compared to schema
+    @JsonPropertyOrder({ "boss", "emails", "age", "name" })
+    static class ReversedEmployee
+    {
+        public String name;
+        public int age;
+        public String[] emails;
+        public ReversedEmployee boss;
+
+        public ReversedEmployee() { }
+        public ReversedEmployee(String n, int a, String[] e, ReversedEmployee b) {
+            name = n;
+            age = a;
+            emails = e;
+            boss = b;
+        }
+    }
+
+    // Middle properties out of order
+    @JsonPropertyOrder({ "name", "emails", "age", "boss" })
+    static class PartialEmployee
+    {
+        public String name;
+        public int age;
+        public String[] emails;
+        public PartialEmployee boss;
+    }
+
+    final static String MAP_RECORD_SCHEMA_JSON = aposToQuotes("{\n"
+            +" 'type': 'record',\n"
+            +" 'name': 'MapContainer',\n"
+            +" 'fields': [\n"
+            +"   {'name':'props', 'type' : { 'type' : 'map',\n"
+            +"      'values': ['null','int','string',{'type':'array','items':'string'},\n"
+            +"         {'type':'map','values':'string'}]\n"
+            +"   }}\n"
+            +" ]\n"
+            +"}");
+
+    static class MapContainer {
+        public Map<String, Object> props;
+    }
+
+    final static String PRIMITIVES_SCHEMA_JSON = aposToQuotes("{\n"
+            +" 'type': 'record',\n"
+            +" 'name': 'Primitives',\n"
+            +" 'fields': [\n"
+            +"   {'name':'i', 'type':'int'},\n"
+            +"   {'name':'l', 'type':['null','long']},\n"
+            +"   {'name':'f', 'type':'float'},\n"
+            +"   {'name':'d', 'type':'double'},\n"
+            +"   {'name':'b', 'type':['boolean','null']},\n"
+            +"   {'name':'values', 'type':{'type':'array','items':'double'}},\n"
+            +"   {'name':'counts', 'type':{'type':'map','values':['null','long']}}\n"
+            +" ]\n"
+            +"}");
+
+    @JsonPropertyOrder({ "i", "l", "f", "d", "b", "values", "counts" })
+    static class Primitives {
+        public int i = -3;
+        public long l = 1234567890123L;
+        public float f = 0.25f;
+        public double d = -1.5;
+        public boolean b = true;
+        public double[] values = new double[] { 1.0, 0.5, -2.75 };
+        public Map<String,Long> counts = new LinkedHashMap<String,Long>();
+        {
+            counts.put("x", 1L);
+            counts.put("y", null);
+            counts.put("z", Long.MIN_VALUE);
+        }
+    }
+
+    // and to check buffering of primitive values
+    @JsonPropertyOrder({ "i", "d", "f", "l", "b", "counts", "values" })
+    static class ReversedPrimitives extends Primitives { }
+
+    final static String BLOCKS_SCHEMA_JSON = aposToQuotes("{\n"
+            +" 'type': 'record',\n"
+            +" 'name': 'Blocks',\n"
+            +" 'fields': [\n"
+            +"   {'name':'names', 'type':{'type':'array','items':'string'}},\n"
+            +"   {'name':'counts', 'type':{'type':'map','values':'long'}},\n"
+            +"   {'name':'id', 'type':'int'}\n"
+            +" ]\n"
+            +"}");
+
+    @JsonPropertyOrder({ "names", "counts", "id" })
+    static class Blocks {
+        public List<String> names = new ArrayList<String>();
+        public Map<String,Long> counts = new LinkedHashMap<String,Long>();
+        public int id;
+
+        protected Blocks() { }
+        public Blocks(int size) {
+            for (int i = 0; i < size; ++i) {
+                names.add("name#"+i);
+                counts.put("key#"+i, i * 1000L);
+            }
+            id = size;
+        }
+    }
+
+    static class BlocksId {
+        public int id;
+    }
+
+    private final AvroMapper MAPPER = getMapper();
+
+    private final AvroMapper STREAMING_MAPPER = new AvroMapper(new AvroFactory()
+            .enable(AvroGenerator.Feature.STREAMING_OUTPUT));
+
+    /*
+    /**********************************************************
+    /* Test methods
+    /**********************************************************
+     */
+
+    public void testSimpleRecord() throws Exception
+    {
+        Employee boss = new Employee("Bossman", 55, new String[] { "boss@company.com" }, null);
+        Employee empl = new Employee("Worker", 24, new String[] { "a@b.com", "c@d.com" }, boss);
+        byte[] exp = MAPPER.writer(getEmployeeSchema()).writeValueAsBytes(empl);
+        byte[] act = STREAMING_MAPPER.writer(getEmployeeSchema()).writeValueAsBytes(empl);
+        assertArrayEquals(exp, act);
+
+        Employee result = MAPPER.readerFor(Employee.class)
+                .with(getEmployeeSchema())
+                .readValue(act);
+        assertEquals("Worker", result.name);
+        assertEquals(2, result.emails.length);
+        assertEquals("Bossman", result.boss.name);
+        assertNull(result.boss.boss);
+    }
+
+    public void testOutOfOrderProperties() throws Exception
+    {
+        Employee boss = new Employee("Bossman", 55, new String[] { "boss@company.com" }, null);
+        Employee empl = new Employee("Worker", 24, new String[0], boss);
+        byte[] exp = MAPPER.writer(getEmployeeSchema()).writeValueAsBytes(empl);
+
+        ReversedEmployee rev = new ReversedEmployee("Worker", 24, new String[0],
+                new ReversedEmployee("Bossman", 55, new String[] { "boss@company.com" }, null));
+        assertArrayEquals(exp, STREAMING_MAPPER.writer(getEmployeeSchema()).writeValueAsBytes(rev));
+
+        PartialEmployee partial = new PartialEmployee();
+        partial.name = "Worker";
+        partial.age = 24;
+        partial.emails = new String[0];
+        partial.boss = new PartialEmployee();
+        partial.boss.name = "Bossman";
+        partial.boss.age = 55;
+        partial.boss.emails = new String[] { "boss@company.com" };
+        assertArrayEquals(exp, STREAMING_MAPPER.writer(getEmployeeSchema()).writeValueAsBytes(partial));
+    }
+
+    public void testMapWithUnionValues() throws Exception
+    {
+        AvroSchema schema = MAPPER.schemaFrom(MAP_RECORD_SCHEMA_JSON);
+        MapContainer input = new MapContainer();
+        input.props = new LinkedHashMap<String,Object>();
+        input.props.put("a", "foo");
+        input.props.put("b", 42);
+        input.props.put("c", null);
+        input.props.put("d", Arrays.asList("x", "y", "z"));
+        input.props.put("e", Collections.singletonMap("key", "value"));
+
+        byte[] exp = MAPPER.writer(schema).writeValueAsBytes(input);
+        byte[] act = STREAMING_MAPPER.writer(schema).writeValueAsBytes(input);
+        assertArrayEquals(exp, act);
+
+        MapContainer result = MAPPER.readerFor(MapContainer.class)
+                .with(schema)
+                .readValue(act);
+        assertEquals(input.props, result.props);
+    }
+
+    public void testPrimitiveValues() throws Exception
+    {
+        AvroSchema schema = MAPPER.schemaFrom(PRIMITIVES_SCHEMA_JSON);
+        byte[] exp = MAPPER.writer(schema).writeValueAsBytes(new Primitives());
+        assertArrayEquals(exp, STREAMING_MAPPER.writer(schema).writeValueAsBytes(new Primitives()));
+        assertArrayEquals(exp, STREAMING_MAPPER.writer(schema).writeValueAsBytes(new ReversedPrimitives()));
+
+        Primitives result = MAPPER.readerFor(Primitives.class)
+                .with(schema)
+                .readValue(exp);
+        assertEquals(-3, result.i);
+        assertEquals(1234567890123L, result.l);
+        assertEquals(-2.75, result.values[2]);
+        assertEquals(new Primitives().counts, result.counts);
+
+        // as well as root-level values
+        schema = MAPPER.schemaFrom(aposToQuotes("['null','double']"));
+        exp = MAPPER.writer(schema).writeValueAsBytes(Double.valueOf(0.125));
+        assertArrayEquals(exp, STREAMING_MAPPER.writer(schema).writeValueAsBytes(Double.valueOf(0.125)));
+        assertEquals(Double.valueOf(0.125), MAPPER.readerFor(Double.class).with(schema).readValue(exp));
+    }
+
+    public void testRootArray() throws Exception
+    {
+        AvroSchema schema = MAPPER.schemaFrom(aposToQuotes(
+                "{'type':'array','items':{'type':'array','items':'long'}}"));
+        long[][] input = new long[][] { { 1L, 2L }, { }, { 3L, -1000000000000L } };
+        byte[] exp = MAPPER.writer(schema).writeValueAsBytes(input);
+        byte[] act = STREAMING_MAPPER.writer(schema).writeValueAsBytes(input);
+        assertArrayEquals(exp, act);
+    }
+
+    public void testRootSequence() throws Exception
+    {
+        final int COUNT = 100;
+        ObjectWriter w = STREAMING_MAPPER.writerFor(Employee.class).with(getEmployeeSchema());
+        ByteArrayOutputStream b1 = new ByteArrayOutputStream();
+        ByteArrayOutputStream b2 = new ByteArrayOutputStream();
+        SequenceWriter sw1 = MAPPER.writerFor(Employee.class).with(getEmployeeSchema()).writeValues(b1);
+        SequenceWriter sw2 = w.writeValues(b2);
+        for (int i = 0; i < COUNT; ++i) {
+            Employee e = new Employee("Worker#"+i, i, new String[] { "w"+i+"@company.com" }, null);
+            sw1.write(e);
+            sw2.write(e);
+        }
+        sw1.close();
+        sw2.close();
+        assertArrayEquals(b1.toByteArray(), b2.toByteArray());
+    }
+
+    public void testBlockedOutput() throws Exception
+    {
+        AvroSchema schema = MAPPER.schemaFrom(BLOCKS_SCHEMA_JSON);
+        Blocks input = new Blocks(50);
+        byte[] single = MAPPER.writer(schema).writeValueAsBytes(input);
+
+        for (boolean withSizes : new boolean[] { false, true }) {
+            AvroMapper mapper = new AvroMapper(new AvroFactory()
+                    .enable(AvroGenerator.Feature.STREAMING_OUTPUT)
+                    .configure(AvroGenerator.Feature.WRITE_BLOCK_SIZES, withSizes)
+                    .setStreamingBlockSize(32));
+            byte[] blocked = mapper.writer(schema).writeValueAsBytes(input);
+            // entry counts (and sizes) for each block make output longer
+            assertTrue(blocked.length > single.length);
+
+            Blocks result = MAPPER.readerFor(Blocks.class).with(schema).readValue(blocked);
+            assertEquals(input.names, result.names);
+            assertEquals(input.counts, result.counts);
+            assertEquals(50, result.id);
+
+            // Avro itself must agree
+            GenericRecord rec = new GenericDatumReader<GenericRecord>(schema.getAvroSchema())
+                    .read(null, DecoderFactory.get().binaryDecoder(blocked, null));
+            assertEquals(50, ((GenericData.Array<?>) rec.get("names")).size());
+            assertEquals(50, ((Map<?,?>) rec.get("counts")).size());
+            assertEquals(Integer.valueOf(50), rec.get("id"));
+
+            // and skipping of blocks (using sizes if available) has to work too
+            AvroSchema idSchema = schema.withReaderSchema(MAPPER.schemaFrom(aposToQuotes(
+                    "{'type':'record','name':'Blocks','fields':[{'name':'id','type':'int'}]}")));
+            BlocksId id = MAPPER.readerFor(BlocksId.class).with(idSchema).readValue(blocked);
+            assertEquals(50, id.id);
+        }
+    }
+
+    public void testBlocksWrittenIncrementally() throws Exception
+    {
+        AvroSchema schema = MAPPER.schemaFrom(aposToQuotes("{'type':'array','items':'long'}"));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        AvroGenerator gen = STREAMING_MAPPER.getFactory().createGenerator(bytes);
+        gen.disable(AvroGenerator.Feature.AVRO_BUFFERING);
+        gen.setStreamingBlockSize(1000);
+        gen.setSchema(schema);
+        gen.writeStartArray();
+        for (int i = 0; i < 1000; ++i) {
+            gen.writeNumber(i * 1000000000L);
+        }
+        // most of content must have been output already
+        int written = bytes.size();
+        assertTrue(written > 5000);
+        gen.writeEndArray();
+        gen.close();
+        assertTrue(bytes.size() - written < 1000);
+
+        long[] result = MAPPER.readerFor(long[].class).with(schema).readValue(bytes.toByteArray());
+        assertEquals(1000, result.length);
+        assertEquals(999000000000L, result[999]);
+    }
+}
@@ -0,0 +1,141 @@
+package com.fasterxml.jackson.dataformat.avro;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+
+import com.fasterxml.jackson.core.JsonToken;
+
+/**
+ * Tests for accessing String values without constructing {@link String}s:
+ * as characters, or as raw UTF-8 bytes.
+ */
+public class TextAccessTest extends AvroTestBase
+{
+    final static String SCHEMA_JSON = aposToQuotes("{\n"
+            +" 'type': 'record',\n"
+            +" 'name': 'Texts',\n"
+            +" 'fields': [\n"
+            +"   {'name':'values', 'type':{'type':'array','items':'string'}},\n"
+            +"   {'name':'color', 'type':{'type':'enum','name':'Color','symbols':['RED','GREEN']}}\n"
+            +" ]\n"
+            +"}");
+
+    static class Texts {
+        public String[] values;
+        public String color = "GREEN";
+
+        protected Texts() { }
+        public Texts(String... v) { values = v; }
+    }
+
+    private final AvroMapper MAPPER = getMapper();
+
+    private final AvroSchema SCHEMA = _schema();
+
+    private final static String[] VALUES = new String[] {
+        "", "abc", "Ä-umlaut", "euro: €", "pair: 😀!",
+        _longString(9000) // longer than initial buffer
+    };
+
+    /*
+    /**********************************************************
+    /* Test methods
+    /**********************************************************
+     */
+
+    public void testTextCharacters() throws Exception
+    {
+        AvroParser p = _parser();
+        for (String exp : VALUES) {
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            assertTrue(p.hasTextCharacters());
+            assertEquals(exp, new String(p.getTextCharacters(), p.getTextOffset(), p.getTextLength()));
+            // and then String should match too
+            assertEquals(exp, p.getText());
+        }
+        assertToken(JsonToken.END_ARRAY, p.nextToken());
+        p.nextToken();
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        // enum values are not decoded from content
+        assertFalse(p.hasTextCharacters());
+        assertEquals("GREEN", new String(p.getTextCharacters(), p.getTextOffset(), p.getTextLength()));
+        p.close();
+    }
+
+    public void testTextWithWriter() throws Exception
+    {
+        AvroParser p = _parser();
+        for (String exp : VALUES) {
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            StringWriter w = new StringWriter();
+            assertEquals(exp.length(), p.getText(w));
+            assertEquals(exp, w.toString());
+        }
+        p.close();
+    }
+
+    public void testRawUtf8() throws Exception
+    {
+        AvroParser p = _parser();
+        for (String exp : VALUES) {
+            assertToken(JsonToken.VALUE_STRING, p.nextToken());
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            int count = p.getTextUtf8(bytes);
+            assertEquals(bytes.size(), count);
+            assertEquals(exp, bytes.toString("UTF-8"));
+        }
+        assertToken(JsonToken.END_ARRAY, p.nextToken());
+        p.nextToken();
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        assertEquals(5, p.getTextUtf8(bytes));
+        assertEquals("GREEN", bytes.toString("UTF-8"));
+        p.close();
+    }
+
+    // Value must remain accessible even after parser is closed
+    public void testTextAfterClose() throws Exception
+    {
+        AvroParser p = _parser();
+        p.nextToken();
+        p.nextToken();
+        assertToken(JsonToken.VALUE_STRING, p.nextToken());
+        p.close();
+        assertEquals(VALUES[2], p.getText());
+    }
+
+    /*
+    /**********************************************************
+    /* Helper methods
+    /**********************************************************
+     */
+
+    // positions parser right before the first String value
+    private AvroParser _parser() throws Exception
+    {
+        byte[] data = MAPPER.writer(SCHEMA).writeValueAsBytes(new Texts(VALUES));
+        AvroParser p = MAPPER.getFactory().createParser(data);
+        p.setSchema(SCHEMA);
+        assertToken(JsonToken.START_OBJECT, p.nextToken());
+        assertEquals("values", p.nextFieldName());
+        assertToken(JsonToken.START_ARRAY, p.nextToken());
+        return p;
+    }
+
+    private AvroSchema _schema() {
+        try {
+            return MAPPER.schemaFrom(SCHEMA_JSON);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static String _longString(int len)
+    {
+        StringBuilder sb = new StringBuilder(len);
+        for (int i = 0; i < len; ++i) {
+            sb.append((char) ((i % 3 == 0) ? ('a' + (i % 26)) : (0x100 + i)));
+        }
+        return sb.toString();
+    }
+}
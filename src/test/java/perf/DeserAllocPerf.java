@@ -0,0 +1,99 @@
+package perf;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.management.ManagementFactory;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.SequenceWriter;
+
+/**
+ * Micro-benchmark for checking allocation rate of decoding: reports
+ * number of bytes allocated per item, both for streaming (token) reads
+ * and data-binding, over a root-level sequence of items.
+ *<p>
+ * Relies on HotSpot-specific <code>com.sun.management.ThreadMXBean</code>
+ * for allocation counts.
+ */
+public final class DeserAllocPerf extends PerfBase
+{
+    private final int ITEMS = 10000;
+
+    private final com.sun.management.ThreadMXBean THREAD_BEAN;
+
+    private DeserAllocPerf() {
+        THREAD_BEAN = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    }
+
+    public void test() throws Exception
+    {
+        final MediaItem item = buildItem();
+        // Let's make it bit bigger, to make array element readers count
+        for (int i = 0; i < 20; ++i) {
+            item.addPhoto(new Image("http://javaone.com/keynote_"+i+".jpg", "Javaone Keynote", 320, 240, Size.SMALL));
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        SequenceWriter sw = itemWriter.writeValues(bytes);
+        for (int i = 0; i < ITEMS; ++i) {
+            sw.write(item);
+        }
+        sw.close();
+        final byte[] avro = bytes.toByteArray();
+
+        System.out.println("Warmed up: data size is "+avro.length+" bytes; "+ITEMS+" items");
+        System.out.println();
+
+        int round = 0;
+        while (true) {
+            String msg;
+            long allocated;
+            round = (++round % 2);
+
+            switch (round) {
+            case 0:
+                msg = "Tokens, Avro/Jackson";
+                allocated = testTokens(avro);
+                break;
+            case 1:
+                msg = "Deserialize, Avro/Jackson";
+                allocated = testDeser(avro);
+                break;
+            default:
+                throw new Error("Internal error");
+            }
+            System.out.printf("Test '%s' -> %.1f bytes allocated per item\n",
+                    msg, ((double) allocated) / ITEMS);
+            Thread.sleep(100L);
+        }
+    }
+
+    protected long testTokens(byte[] input) throws Exception
+    {
+        final long start = _allocated();
+        JsonParser p = avroMapper.getFactory().createParser(input);
+        p.setSchema(itemSchema);
+        while (p.nextToken() != null) { }
+        p.close();
+        return _allocated() - start;
+    }
+
+    protected long testDeser(byte[] input) throws Exception
+    {
+        final long start = _allocated();
+        MappingIterator<MediaItem> it = itemReader.readValues(input);
+        while (it.hasNextValue()) {
+            it.nextValue();
+        }
+        it.close();
+        return _allocated() - start;
+    }
+
+    private long _allocated() {
+        return THREAD_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    public static void main(String[] args) throws Exception
+    {
+        new DeserAllocPerf().test();
+    }
+}
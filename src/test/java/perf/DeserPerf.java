@@ -6,6 +6,7 @@ import org.apache.avro.io.BinaryDecoder;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.avro.AvroMapper;
 
 /**
  * Micro-benchmark for comparing performance of bean deserialization
@@ -40,6 +41,9 @@ public final class DeserPerf extends PerfBase
         System.out.println();
 
         final ObjectReader avroReader = itemReader;
+        final ObjectReader compiledReader = new AvroMapper().enableCompiledDeserializers()
+                .readerFor(MediaItem.class)
+                .with(itemSchema);
         final ObjectMapper jsonMapper = new ObjectMapper();
         final ObjectReader jsonReader = jsonMapper.readerFor(MediaItem.class);
         
@@ -49,7 +53,7 @@ public final class DeserPerf extends PerfBase
 
             long curr = System.currentTimeMillis();
             String msg;
-            round = (++round % 3);
+            round = (++round % 4);
 
 //if (true) round = 2; 
             
@@ -68,6 +72,10 @@ public final class DeserPerf extends PerfBase
                 msg = "Deserialize, JSON/Jackson";
                 sum += testDeser(jsonReader, jsonMapper.writeValueAsBytes(item), REPS);
                 break;
+            case 3:
+                msg = "Deserialize, Avro/Jackson-compiled";
+                sum += testDeser(compiledReader, avro, REPS);
+                break;
 
             default:
                 throw new Error("Internal error");
@@ -8,6 +8,8 @@ import org.apache.avro.io.BinaryEncoder;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.avro.AvroMapper;
 
 public final class SerPerf extends PerfBase
 {
@@ -41,14 +43,18 @@ public final class SerPerf extends PerfBase
         final GenericRecord itemRecord = itemToRecord(item);
         final ObjectWriter jsonWriter = new ObjectMapper()
             .writerFor(MediaItem.class);
+        final ObjectWriter compiledWriter = new AvroMapper().enableCompiledSerializers()
+            .writerFor(MediaItem.class)
+            .with(SerializationFeature.WRITE_ENUMS_USING_INDEX)
+            .with(itemSchema);
         
         while (true) {
 //            Thread.sleep(150L);
             ++i;
-            int round = (i % 3);
+            int round = (i % 4);
 
             // override?
-            round = 0;
+//            round = 0;
 
             long curr = System.currentTimeMillis();
             int len;
@@ -71,6 +77,11 @@ public final class SerPerf extends PerfBase
                 len = testObjectSer(jsonWriter, item, REPS+REPS, result);
                 sum += len;
                 break;
+            case 3:
+                msg = "Serialize, Avro/Jackson-compiled";
+                len = testObjectSer(compiledWriter, item, REPS+REPS, result);
+                sum += len;
+                break;
             default:
                 throw new Error("Internal error");
             }